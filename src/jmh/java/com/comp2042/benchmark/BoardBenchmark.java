@@ -0,0 +1,162 @@
+package com.comp2042.benchmark;
+
+import com.comp2042.BitboardBoard;
+import com.comp2042.Board;
+import com.comp2042.PointInt;
+import com.comp2042.SimpleBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    public enum Implementation {
+        SIMPLE, BITBOARD;
+
+        Board create() {
+            return this == SIMPLE ? new SimpleBoard(BoardFill.ROWS, BoardFill.COLS) : new BitboardBoard(BoardFill.ROWS, BoardFill.COLS);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FilledBoard {
+
+        @Param
+        public Implementation implementation;
+
+        @Param
+        public BoardFill fill;
+
+        Board board;
+
+        @Setup
+        public void setUp() {
+            board = implementation.create();
+            fill.fill(board, 42L);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Simulation {
+
+        public static final int PIECES = 100;
+
+        @Param
+        public Implementation implementation;
+
+        Board board;
+        Random random;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            board = implementation.create();
+            board.newGame();
+            random = new Random(7L);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Garbage {
+
+        public static final int ROWS = 20;
+
+        @Param
+        public Implementation implementation;
+
+        Board board;
+        Random random;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            board = implementation.create();
+            random = new Random(7L);
+        }
+    }
+
+    @Benchmark
+    public PointInt ghostPosition(FilledBoard state) {
+        Board board = state.board;
+        if (board instanceof SimpleBoard simple) {
+            return simple.getGhostPosition();
+        }
+        return ((BitboardBoard) board).getGhostPosition();
+    }
+
+    @Benchmark
+    public boolean moveLeftRight(FilledBoard state) {
+        Board board = state.board;
+        return board.moveBrickLeft() & board.moveBrickRight();
+    }
+
+    @Benchmark
+    public boolean rotate(FilledBoard state) {
+        return state.board.rotateLeftBrick();
+    }
+
+    /**
+     * Pushes ROWS garbage rows in under a fresh game, as dig mode does all game long.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Garbage.ROWS)
+    public boolean garbageRows(Garbage state) {
+        Board board = state.board;
+        board.newGame();
+        boolean fits = true;
+        for (int i = 0; i < Garbage.ROWS; i++) {
+            fits &= board.addGarbageRow(state.random.nextInt(BoardFill.COLS));
+        }
+        return fits;
+    }
+
+    /**
+     * Macro benchmark: plays PIECES pieces with random rotation/column and hard drop through the Board API.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Simulation.PIECES)
+    public int simulateHardDrops(Simulation state) {
+        Board board = state.board;
+        Random random = state.random;
+        int lines = 0;
+        for (int piece = 0; piece < Simulation.PIECES; piece++) {
+            int rotations = random.nextInt(4);
+            for (int i = 0; i < rotations; i++) {
+                board.rotateLeftBrick();
+            }
+            int shift = random.nextInt(BoardFill.COLS) - BoardFill.COLS / 2;
+            for (int i = 0; i < Math.abs(shift); i++) {
+                if (shift < 0) {
+                    board.moveBrickLeft();
+                } else {
+                    board.moveBrickRight();
+                }
+            }
+            while (board.moveBrickDown()) {
+                // hard drop
+            }
+            board.mergeBrickToBackground();
+            lines += board.clearRows().getLinesRemoved();
+            if (board.createNewBrick()) {
+                board.newGame();
+            }
+        }
+        return lines;
+    }
+}
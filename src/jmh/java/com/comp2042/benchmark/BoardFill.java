@@ -0,0 +1,90 @@
+package com.comp2042.benchmark;
+
+import com.comp2042.Board;
+
+import java.util.Random;
+
+/**
+ * Board states shared by the benchmarks. Matrices are generated from a fixed seed so runs are comparable.
+ */
+public enum BoardFill {
+    EMPTY(0),
+    HALF(12),
+    NEAR_TOP(21);
+
+    static final int ROWS = 25;
+    static final int COLS = 10;
+
+    private final int filledRows;
+
+    BoardFill(int filledRows) {
+        this.filledRows = filledRows;
+    }
+
+    /**
+     * Bottom rows filled with random garbage; every row keeps at least one gap so nothing clears.
+     */
+    public int[][] matrix(long seed) {
+        Random random = new Random(seed);
+        int[][] matrix = new int[ROWS][COLS];
+        for (int r = ROWS - filledRows; r < ROWS; r++) {
+            int gap = random.nextInt(COLS);
+            for (int c = 0; c < COLS; c++) {
+                if (c != gap && random.nextInt(10) < 8) {
+                    matrix[r][c] = 1 + random.nextInt(7);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Same as {@link #matrix(long)} but with the given number of complete rows at the bottom.
+     */
+    public int[][] matrixWithFullRows(long seed, int fullRows) {
+        int[][] matrix = matrix(seed);
+        for (int r = ROWS - Math.min(fullRows, filledRows); r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                matrix[r][c] = 1 + (c % 7);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Drops pieces at random columns until the stack reaches this fill level, then spawns a fresh brick.
+     */
+    public void fill(Board board, long seed) {
+        Random random = new Random(seed);
+        board.newGame();
+        while (stackHeight(board.getBoardMatrix()) < filledRows) {
+            int shift = random.nextInt(COLS) - COLS / 2;
+            for (int i = 0; i < Math.abs(shift); i++) {
+                if (shift < 0) {
+                    board.moveBrickLeft();
+                } else {
+                    board.moveBrickRight();
+                }
+            }
+            while (board.moveBrickDown()) {
+                // drop
+            }
+            board.mergeBrickToBackground();
+            board.clearRows();
+            if (board.createNewBrick()) {
+                board.newGame();
+            }
+        }
+    }
+
+    static int stackHeight(int[][] matrix) {
+        for (int r = 0; r < matrix.length; r++) {
+            for (int c = 0; c < matrix[r].length; c++) {
+                if (matrix[r][c] != 0) {
+                    return matrix.length - r;
+                }
+            }
+        }
+        return 0;
+    }
+}
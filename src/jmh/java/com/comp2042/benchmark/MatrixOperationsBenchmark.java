@@ -0,0 +1,76 @@
+package com.comp2042.benchmark;
+
+import com.comp2042.ClearRow;
+import com.comp2042.MatrixOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatrixOperationsBenchmark {
+
+    // T piece, spawn orientation
+    private static final int[][] SHAPE = {
+            {0, 0, 0, 0},
+            {6, 6, 6, 0},
+            {0, 6, 0, 0},
+            {0, 0, 0, 0}
+    };
+
+    @Param
+    public BoardFill fill;
+
+    private int[][] board;
+    private int[][] boardWithClears;
+    private int landingY;
+
+    @Setup
+    public void setUp() {
+        board = fill.matrix(42L);
+        boardWithClears = fill.matrixWithFullRows(42L, 2);
+        landingY = 0;
+        while (!MatrixOperations.intersect(board, SHAPE, 3, landingY + 1)) {
+            landingY++;
+        }
+    }
+
+    @Benchmark
+    public boolean intersectAtSpawn() {
+        return MatrixOperations.intersect(board, SHAPE, 3, 0);
+    }
+
+    @Benchmark
+    public boolean intersectAtLanding() {
+        return MatrixOperations.intersect(board, SHAPE, 3, landingY + 1);
+    }
+
+    @Benchmark
+    public int[][] merge() {
+        return MatrixOperations.merge(board, SHAPE, 3, landingY);
+    }
+
+    @Benchmark
+    public ClearRow checkRemovingNoClears() {
+        return MatrixOperations.checkRemoving(board);
+    }
+
+    @Benchmark
+    public ClearRow checkRemovingWithClears() {
+        return MatrixOperations.checkRemoving(boardWithClears);
+    }
+}
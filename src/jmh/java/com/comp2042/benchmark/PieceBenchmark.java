@@ -0,0 +1,85 @@
+package com.comp2042.benchmark;
+
+import com.comp2042.SrsKickTable;
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceBenchmark {
+
+    private BrickGenerator generator;
+    private BrickGenerator bagGenerator;
+    private BrickGenerator historyGenerator;
+    private Brick tBrick;
+    private Brick iBrick;
+    private int from;
+
+    @Setup
+    public void setUp() {
+        generator = new RandomBrickGenerator();
+        bagGenerator = RandomizerType.SEVEN_BAG.create(42L);
+        historyGenerator = RandomizerType.HISTORY.create(42L);
+        // the generator only hands out Brick instances, so pull until both kick tables are covered
+        while (tBrick == null || iBrick == null) {
+            Brick brick = generator.getBrick();
+            String name = brick.getClass().getSimpleName();
+            if (name.startsWith("IBrick")) {
+                iBrick = brick;
+            } else if (!name.startsWith("OBrick")) {
+                tBrick = brick;
+            }
+        }
+    }
+
+    @Benchmark
+    public Brick randomGeneratorGetBrick() {
+        return generator.getBrick();
+    }
+
+    @Benchmark
+    public Brick sevenBagGetBrick() {
+        return bagGenerator.getBrick();
+    }
+
+    @Benchmark
+    public Brick historyGetBrick() {
+        return historyGenerator.getBrick();
+    }
+
+    @Benchmark
+    public int[] kicksJlstz() {
+        from = (from + 1) & 3;
+        return SrsKickTable.getKicks(tBrick.getType(), from, (from + 1) & 3);
+    }
+
+    @Benchmark
+    public int[] kicksI() {
+        from = (from + 1) & 3;
+        return SrsKickTable.getKicks(iBrick.getType(), from, (from + 1) & 3);
+    }
+
+    @Benchmark
+    public int[] kicks180() {
+        from = (from + 1) & 3;
+        return SrsKickTable.getKicks(tBrick.getType(), from, (from + 2) & 3);
+    }
+}
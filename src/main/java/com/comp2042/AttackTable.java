@@ -0,0 +1,29 @@
+package com.comp2042;
+
+/**
+ * How many garbage lines a line clear sends to the opponent in versus mode, following the usual
+ * guideline tables: a multi-line bonus for the clear itself plus a combo bonus for clearing on
+ * consecutive pieces.
+ */
+public final class AttackTable {
+
+    // indexed by lines cleared: single, double, triple, tetris
+    private static final int[] LINES = {0, 0, 1, 2, 4};
+    // indexed by Score.getCombo() - 1, i.e. how many clears in a row came before this one
+    private static final int[] COMBO = {0, 1, 1, 2, 2, 3, 3, 4, 4, 4, 5};
+
+    private AttackTable() {
+    }
+
+    /**
+     * @param combo Score.getCombo() after this clear was counted (1 for the first clear in a row)
+     */
+    public static int attack(int linesCleared, int combo) {
+        if (linesCleared <= 0) {
+            return 0;
+        }
+        int lines = LINES[Math.min(linesCleared, LINES.length - 1)];
+        int chain = combo <= 0 ? 0 : COMBO[Math.min(combo - 1, COMBO.length - 1)];
+        return lines + chain;
+    }
+}
@@ -0,0 +1,83 @@
+package com.comp2042;
+
+import java.util.Arrays;
+
+/**
+ * Trigger-to-playback latency of sound effects, as seen by SoundManager.
+ *
+ * A sample is the time from the game asking for a sound to the clip being handed to the audio
+ * mixer. A sound triggered before its preload finished is not waited for; it counts as dropped.
+ * The last SAMPLE_WINDOW samples are kept for percentiles; counts and the maximum cover everything.
+ */
+public final class AudioLatencyStats {
+
+    private static final int SAMPLE_WINDOW = 256;
+
+    private final long[] samples = new long[SAMPLE_WINDOW];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    private long steals;
+    private long dropped;
+
+    synchronized void recordPlayback(long latencyNanos) {
+        samples[(int) (count % SAMPLE_WINDOW)] = latencyNanos;
+        count++;
+        totalNanos += latencyNanos;
+        maxNanos = Math.max(maxNanos, latencyNanos);
+    }
+
+    /**
+     * A voice that was still playing got cut off to make room for a new sound.
+     */
+    synchronized void recordSteal() {
+        steals++;
+    }
+
+    /**
+     * A sound could not be played at all (missing file, no audio device, or still loading).
+     */
+    synchronized void recordDropped() {
+        dropped++;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getSteals() {
+        return steals;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * @param percentile 0-100, over the most recent samples
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        int n = (int) Math.min(count, SAMPLE_WINDOW);
+        if (n == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * n) - 1;
+        return sorted[Math.max(0, Math.min(n - 1, index))] / 1e6;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d sounds, latency mean %.2f ms, p95 %.2f ms, max %.2f ms, %d stolen, %d dropped",
+                count, getMeanMillis(), getPercentileMillis(95), getMaxMillis(), steals, dropped);
+    }
+}
@@ -0,0 +1,229 @@
+package com.comp2042;
+
+import com.comp2042.logic.ai.PlacementSearch;
+import com.comp2042.logic.ai.SearchInputPolicy;
+import com.comp2042.logic.ai.SearchSettings;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.StackPane;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ResourceBundle;
+
+/**
+ * Battle mode: 4 to 16 boards, up to two of them played from the keyboard and the rest by bots,
+ * all sending each other garbage.
+ *
+ * Every board is a BattleSeat running its engine on its own virtual thread; this screen only
+ * forwards keys to the seats and, once per frame, hands the newest frame of every seat to a single
+ * BattleRenderer canvas. With one human both key sets drive player 1.
+ */
+public class BattleController implements Initializable, ScreenLifecycle {
+
+    private static final Integer[] PLAYER_COUNTS = {4, 6, 8, 12, 16};
+    private static final int DEFAULT_PLAYERS = 8;
+    private static final Integer[] HUMAN_COUNTS = {0, 1, 2};
+    private static final int DEFAULT_HUMANS = 1;
+    private static final double CANVAS_WIDTH = 1376;
+    private static final double CANVAS_HEIGHT = 670;
+    // bots wait this many ticks before playing each piece, from the slowest seat to the fastest
+    private static final int SLOWEST_BOT_TICKS = 55;
+    private static final int FASTEST_BOT_TICKS = 20;
+    // a lighter search than the default; at a piece every few hundred ms it does not need more
+    private static final SearchSettings BOT_SEARCH = new SearchSettings(2, 20, 8, true);
+
+    @FXML
+    private AnchorPane rootPane;
+    @FXML
+    private StackPane boardHost;
+    @FXML
+    private ComboBox<Integer> playerCountBox;
+    @FXML
+    private ComboBox<Integer> humanCountBox;
+    @FXML
+    private ComboBox<Targeting> targetingBox;
+
+    private BattleSeat[] seats = new BattleSeat[0];
+    private BattleSeat.Frame[] frames = new BattleSeat.Frame[0];
+    private BattleRenderer renderer;
+    private int humans;
+
+    private final AnimationTimer renderLoop = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            renderFrame();
+        }
+    };
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        playerCountBox.getItems().setAll(PLAYER_COUNTS);
+        playerCountBox.setValue(DEFAULT_PLAYERS);
+        humanCountBox.getItems().setAll(HUMAN_COUNTS);
+        humanCountBox.setValue(DEFAULT_HUMANS);
+        targetingBox.getItems().setAll(Targeting.values());
+        targetingBox.setValue(Targeting.EVEN);
+        startBattle();
+        Platform.runLater(this::installKeyHandler);
+    }
+
+    @FXML
+    private void startBattle() {
+        stopSeats();
+        int players = playerCountBox.getValue();
+        humans = Math.min(humanCountBox.getValue(), players);
+        Targeting targeting = targetingBox.getValue();
+
+        // everyone is dealt the same pieces, as in versus mode
+        long seed = System.nanoTime();
+        VersusLink[] links = VersusLink.connect(players, GameController.BOARD_COLS, seed);
+        String[] names = new String[players];
+        seats = new BattleSeat[players];
+        frames = new BattleSeat.Frame[players];
+        for (int i = 0; i < players; i++) {
+            links[i].setTargeting(targeting);
+            InputPolicy bot = null;
+            if (i < humans) {
+                names[i] = "P" + (i + 1);
+            } else {
+                names[i] = "Bot " + (i + 1);
+                int pace = SLOWEST_BOT_TICKS - (SLOWEST_BOT_TICKS - FASTEST_BOT_TICKS) * (i - humans)
+                        / Math.max(1, players - humans - 1);
+                bot = new PacedInputPolicy(new SearchInputPolicy(new PlacementSearch(BOT_SEARCH)), pace);
+            }
+            Board board = new BitboardBoard(GameController.BOARD_ROWS, GameController.BOARD_COLS,
+                    GameDifficulty.MEDIUM.getRandomizer().create(seed));
+            seats[i] = new BattleSeat(i, board, GameDifficulty.MEDIUM, links[i], bot);
+        }
+        renderer = new BattleRenderer(names, GameController.BOARD_ROWS, GameController.BOARD_COLS,
+                CANVAS_WIDTH, CANVAS_HEIGHT);
+        boardHost.getChildren().setAll(renderer.getCanvas());
+        for (BattleSeat seat : seats) {
+            seat.start();
+        }
+        renderLoop.start();
+        rootPane.requestFocus();
+    }
+
+    @FXML
+    private void backToMenu() {
+        try {
+            // the navigator disposes this screen, stopping every board
+            SceneNavigator.show(SceneNavigator.MODE_MENU);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        renderLoop.stop();
+        stopSeats();
+    }
+
+    private void stopSeats() {
+        for (BattleSeat seat : seats) {
+            seat.stop();
+        }
+    }
+
+    private void renderFrame() {
+        int alive = 0;
+        int lastAlive = -1;
+        for (int i = 0; i < seats.length; i++) {
+            frames[i] = seats[i].latestFrame();
+            if (!frames[i].isGameOver()) {
+                alive++;
+                lastAlive = i;
+            }
+        }
+        int winner = alive == 1 ? lastAlive : -1;
+        for (int i = 0; i < seats.length; i++) {
+            renderer.draw(i, frames[i], i == winner);
+        }
+    }
+
+    private void installKeyHandler() {
+        Scene scene = rootPane.getScene();
+        if (scene == null) {
+            return;
+        }
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handleKey);
+        scene.addEventFilter(KeyEvent.KEY_RELEASED, this::handleKeyRelease);
+        rootPane.requestFocus();
+    }
+
+    private void handleKey(KeyEvent event) {
+        KeyCode key = event.getCode();
+        if (key == KeyCode.P || key == KeyCode.ESCAPE) {
+            sendToAll(BattleSeat.PAUSE);
+            event.consume();
+            return;
+        }
+        if (key == KeyCode.N) {
+            sendToAll(BattleSeat.NEW_GAME);
+            event.consume();
+            return;
+        }
+        int seat = seatFor(key);
+        int code = pressCode(key);
+        if (seat >= 0 && code >= 0) {
+            seats[seat].input(code);
+            event.consume();
+        }
+    }
+
+    // releasing a direction key stops that board's auto-repeat (DAS/ARR)
+    private void handleKeyRelease(KeyEvent event) {
+        KeyCode key = event.getCode();
+        int seat = seatFor(key);
+        if (seat < 0) {
+            return;
+        }
+        if (key == KeyCode.A || key == KeyCode.LEFT) {
+            seats[seat].input(BattleSeat.RELEASE_LEFT);
+        } else if (key == KeyCode.D || key == KeyCode.RIGHT) {
+            seats[seat].input(BattleSeat.RELEASE_RIGHT);
+        }
+    }
+
+    private void sendToAll(int code) {
+        for (BattleSeat seat : seats) {
+            seat.input(code);
+        }
+    }
+
+    // left key set (as in versus): player 1; right key set: player 2, or player 1 if playing alone
+    private int seatFor(KeyCode key) {
+        switch (key) {
+            case A: case D: case W: case E: case Q: case S: case SPACE: case TAB:
+                return humans >= 1 ? 0 : -1;
+            case LEFT: case RIGHT: case UP: case K: case L: case DOWN: case ENTER: case H:
+                return humans >= 2 ? 1 : humans == 1 ? 0 : -1;
+            default:
+                return -1;
+        }
+    }
+
+    private static int pressCode(KeyCode key) {
+        switch (key) {
+            case A: case LEFT: return BattleSeat.PRESS_LEFT;
+            case D: case RIGHT: return BattleSeat.PRESS_RIGHT;
+            case W: case UP: return BattleSeat.ROTATE;
+            case E: case K: return BattleSeat.ROTATE_RIGHT;
+            case Q: case L: return BattleSeat.ROTATE_180;
+            case S: case DOWN: return BattleSeat.SOFT_DROP;
+            case SPACE: case ENTER: return BattleSeat.HARD_DROP;
+            case TAB: case H: return BattleSeat.HOLD;
+            default: return -1;
+        }
+    }
+}
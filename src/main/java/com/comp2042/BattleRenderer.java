@@ -0,0 +1,220 @@
+package com.comp2042;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+
+/**
+ * Draws every board of a battle into one Canvas, laid out in a grid with the cell size picked to
+ * fill the canvas.
+ *
+ * As in CanvasBoardRenderer, what is on screen is remembered per cell and only cells whose color
+ * changed are repainted, so a frame costs a few fillRects per board however many boards there are.
+ * Each board also gets a header (name, lines, last target) and a meter on its left showing the
+ * garbage waiting to come in; both are only redrawn when they change. Everything here runs on
+ * the FX thread.
+ */
+public class BattleRenderer {
+
+    private static final Color BACKGROUND = Color.web("#111111");
+    private static final Color EMPTY_CELL = Color.web("#232323");
+    private static final Color GHOST_COLOR = Color.web("#5a5a5a");
+    private static final Color PENDING_COLOR = Color.web("#E53935");
+    private static final Color HEADER_COLOR = Color.web("#d0d0d0");
+    private static final Color WINNER_COLOR = Color.web("#FFD54F");
+    private static final Color KO_SHADE = Color.web("#000000", 0.65);
+    private static final Color KO_TEXT = Color.web("#E53935");
+    private static final int NOT_PAINTED = Integer.MIN_VALUE;
+
+    // what the header says besides the lines and target
+    private static final int HEADER_PLAYING = 0;
+    private static final int HEADER_PAUSED = 1;
+    private static final int HEADER_KNOCKED_OUT = 2;
+    private static final int HEADER_WINNER = 3;
+
+    // board slot sizes in cells, besides the board itself
+    private static final double METER_WIDTH = 0.7;
+    private static final double HEADER_HEIGHT = 1.8;
+    private static final double MARGIN = 1.0;
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final String[] names;
+    private final int rows;
+    private final int cols;
+    private final double cell;
+    private final double[] originX;
+    private final double[] originY;
+
+    private final int[][] painted;
+    private final long[] drawnSequence;
+    private final int[] drawnPending;
+    private final int[] drawnHeaderState;
+    private final int[] drawnLines;
+    private final int[] drawnTarget;
+    private final boolean[] drawnKnockedOut;
+
+    public BattleRenderer(String[] names, int rows, int cols, double width, double height) {
+        int boards = names.length;
+        this.names = names;
+        this.rows = rows;
+        this.cols = cols;
+        this.canvas = new Canvas(width, height);
+        this.gc = canvas.getGraphicsContext2D();
+        canvas.setMouseTransparent(true);
+
+        // try every number of grid columns and keep whichever gives the biggest cells
+        double slotW = cols + METER_WIDTH + MARGIN;
+        double slotH = rows + HEADER_HEIGHT + MARGIN;
+        double bestCell = 0;
+        int gridCols = 1;
+        for (int g = 1; g <= boards; g++) {
+            int gridRows = (boards + g - 1) / g;
+            double size = Math.min(width / (g * slotW), height / (gridRows * slotH));
+            if (size > bestCell) {
+                bestCell = size;
+                gridCols = g;
+            }
+        }
+        this.cell = Math.floor(bestCell);
+        int gridRows = (boards + gridCols - 1) / gridCols;
+        double left = (width - gridCols * slotW * cell) / 2;
+        double top = (height - gridRows * slotH * cell) / 2;
+
+        originX = new double[boards];
+        originY = new double[boards];
+        painted = new int[boards][rows * cols];
+        drawnSequence = new long[boards];
+        drawnPending = new int[boards];
+        drawnHeaderState = new int[boards];
+        drawnLines = new int[boards];
+        drawnTarget = new int[boards];
+        drawnKnockedOut = new boolean[boards];
+        for (int b = 0; b < boards; b++) {
+            originX[b] = Math.floor(left + (b % gridCols) * slotW * cell + (METER_WIDTH + MARGIN / 2) * cell);
+            originY[b] = Math.floor(top + (b / gridCols) * slotH * cell + (HEADER_HEIGHT + MARGIN / 2) * cell);
+            drawnSequence[b] = -1;
+            drawnPending[b] = -1;
+            drawnLines[b] = -1;
+            Arrays.fill(painted[b], NOT_PAINTED);
+        }
+
+        gc.setFill(BACKGROUND);
+        gc.fillRect(0, 0, width, height);
+        gc.setFont(Font.font("System", Math.max(9, cell * 1.1)));
+        gc.setTextBaseline(VPos.CENTER);
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Brings one board up to date with a frame; does nothing if it is the frame drawn last time.
+     * @param winner whether this board is the last one standing
+     * @return the number of cells repainted
+     */
+    public int draw(int board, BattleSeat.Frame frame, boolean winner) {
+        int headerState = winner ? HEADER_WINNER
+                : frame.isPaused() ? HEADER_PAUSED
+                : frame.isGameOver() ? HEADER_KNOCKED_OUT
+                : HEADER_PLAYING;
+        // the header text is only built when something it shows changed, not every frame
+        boolean headerChanged = headerState != drawnHeaderState[board]
+                || frame.getLinesCleared() != drawnLines[board]
+                || frame.getLastTarget() != drawnTarget[board];
+        if (frame.getSequence() == drawnSequence[board] && !headerChanged) {
+            return 0;
+        }
+        drawnSequence[board] = frame.getSequence();
+
+        if (drawnKnockedOut[board] && !frame.isGameOver()) {
+            // back from a KO (new game): the shade covers everything, so start over
+            Arrays.fill(painted[board], NOT_PAINTED);
+        }
+        int repainted = 0;
+        if (!drawnKnockedOut[board] || !frame.isGameOver()) {
+            repainted = paintCells(board, frame.getCells());
+        }
+        if (frame.isGameOver() && !drawnKnockedOut[board]) {
+            paintKnockedOut(board);
+        }
+        drawnKnockedOut[board] = frame.isGameOver();
+
+        if (frame.getPendingLines() != drawnPending[board]) {
+            paintMeter(board, frame.getPendingLines());
+            drawnPending[board] = frame.getPendingLines();
+        }
+        if (headerChanged) {
+            paintHeader(board, header(board, frame, winner), winner);
+            drawnHeaderState[board] = headerState;
+            drawnLines[board] = frame.getLinesCleared();
+            drawnTarget[board] = frame.getLastTarget();
+        }
+        return repainted;
+    }
+
+    private int paintCells(int board, int[] cells) {
+        int[] onScreen = painted[board];
+        double gap = cell >= 6 ? 1 : 0;
+        int repainted = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int value = cells[i];
+            if (value == onScreen[i]) {
+                continue;
+            }
+            onScreen[i] = value;
+            gc.setFill(value == 0 ? EMPTY_CELL : value == BattleSeat.GHOST ? GHOST_COLOR : GuiController.getFillColor(value));
+            gc.fillRect(originX[board] + (i % cols) * cell, originY[board] + (i / cols) * cell, cell - gap, cell - gap);
+            repainted++;
+        }
+        return repainted;
+    }
+
+    private void paintKnockedOut(int board) {
+        gc.setFill(KO_SHADE);
+        gc.fillRect(originX[board], originY[board], cols * cell, rows * cell);
+        gc.setFill(KO_TEXT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.fillText("KO", originX[board] + cols * cell / 2, originY[board] + rows * cell / 2);
+    }
+
+    private void paintMeter(int board, int pendingLines) {
+        double x = originX[board] - METER_WIDTH * cell;
+        double width = METER_WIDTH * cell - 2;
+        double shown = Math.min(pendingLines, rows) * cell;
+        gc.setFill(BACKGROUND);
+        gc.fillRect(x, originY[board], width, rows * cell);
+        gc.setFill(PENDING_COLOR);
+        gc.fillRect(x, originY[board] + rows * cell - shown, width, shown);
+    }
+
+    private void paintHeader(int board, String header, boolean winner) {
+        double y = originY[board] - HEADER_HEIGHT * cell;
+        gc.setFill(BACKGROUND);
+        gc.fillRect(originX[board] - METER_WIDTH * cell, y, (cols + METER_WIDTH) * cell, HEADER_HEIGHT * cell);
+        gc.setFill(winner ? WINNER_COLOR : HEADER_COLOR);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText(header, originX[board] - METER_WIDTH * cell, y + HEADER_HEIGHT * cell / 2, (cols + METER_WIDTH) * cell);
+    }
+
+    private String header(int board, BattleSeat.Frame frame, boolean winner) {
+        StringBuilder text = new StringBuilder(names[board]);
+        if (winner) {
+            text.append("  WINS");
+        } else if (frame.isPaused()) {
+            text.append("  paused");
+        } else {
+            text.append("  ").append(frame.getLinesCleared()).append('L');
+            if (frame.getLastTarget() >= 0 && !frame.isGameOver()) {
+                text.append(" > ").append(names[frame.getLastTarget()]);
+            }
+        }
+        return text.toString();
+    }
+}
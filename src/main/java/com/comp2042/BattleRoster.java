@@ -0,0 +1,44 @@
+package com.comp2042;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * What the players of one versus or battle game can see of each other while picking a target:
+ * who is still in and how tall everyone's stack is.
+ *
+ * Each player's engine writes only its own slots and reads everyone else's, so the writes are
+ * plain release stores (lazySet) and no player ever waits for another.
+ */
+final class BattleRoster {
+
+    private final AtomicIntegerArray alive;
+    private final AtomicIntegerArray stackHeights;
+
+    BattleRoster(int players) {
+        alive = new AtomicIntegerArray(players);
+        stackHeights = new AtomicIntegerArray(players);
+        for (int p = 0; p < players; p++) {
+            alive.set(p, 1);
+        }
+    }
+
+    int size() {
+        return alive.length();
+    }
+
+    boolean isAlive(int player) {
+        return alive.get(player) != 0;
+    }
+
+    void setAlive(int player, boolean isAlive) {
+        alive.lazySet(player, isAlive ? 1 : 0);
+    }
+
+    int getStackHeight(int player) {
+        return stackHeights.get(player);
+    }
+
+    void setStackHeight(int player, int height) {
+        stackHeights.lazySet(player, height);
+    }
+}
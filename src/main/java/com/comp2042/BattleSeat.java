@@ -0,0 +1,312 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickShape;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One board of a battle: a GameController with no view of its own, ticked 60 times a second by
+ * its own virtual thread, so a busy board (or a bot thinking) never holds up the others or the
+ * screen.
+ *
+ * Nothing on the engine thread is touched from outside. Keys come in through an SpscIntQueue the
+ * FX thread fills with input(), and the board goes out as Frames through a triple buffer: the
+ * engine fills its back frame and swaps it into the middle slot, and the renderer swaps the middle
+ * slot with its front frame whenever there is a newer one. Each side only ever writes the frame it
+ * holds, so neither waits for the other and the renderer never sees a half-written board.
+ *
+ * A frame is only published when something in it changed, so a board sitting between gravity
+ * steps costs the engine thread nothing but the tick itself.
+ */
+public final class BattleSeat {
+
+    // key inputs, sent from the FX thread
+    public static final int PRESS_LEFT = 0;
+    public static final int RELEASE_LEFT = 1;
+    public static final int PRESS_RIGHT = 2;
+    public static final int RELEASE_RIGHT = 3;
+    public static final int ROTATE = 4;
+    public static final int ROTATE_RIGHT = 5;
+    public static final int ROTATE_180 = 6;
+    public static final int SOFT_DROP = 7;
+    public static final int HARD_DROP = 8;
+    public static final int HOLD = 9;
+    public static final int PAUSE = 10;
+    public static final int NEW_GAME = 11;
+
+    /** Frame cell value for the ghost piece; other values are colors as on the board, 0 for empty. */
+    public static final int GHOST = -1;
+
+    private static final int INPUT_CAPACITY = 64;
+    // after a stall, drop the backlog instead of running seconds of ticks back to back
+    private static final long MAX_LAG_NANOS = 10 * GameTickScheduler.TICK_NANOS;
+
+    private static final MoveEvent ROTATE_EVENT = new MoveEvent(EventType.ROTATE, EventSource.USER);
+    private static final MoveEvent ROTATE_RIGHT_EVENT = new MoveEvent(EventType.ROTATE_RIGHT, EventSource.USER);
+    private static final MoveEvent ROTATE_180_EVENT = new MoveEvent(EventType.ROTATE_180, EventSource.USER);
+    private static final MoveEvent DOWN_EVENT = new MoveEvent(EventType.DOWN, EventSource.USER);
+
+    /**
+     * What one board looked like after a tick. Owned by whichever side currently holds it.
+     */
+    public static final class Frame {
+        private final int[] cells;
+        private long sequence;
+        private int linesCleared;
+        private int score;
+        private int pendingLines;
+        private int lastTarget = -1;
+        private boolean gameOver;
+        private boolean paused;
+
+        Frame(int rows, int cols) {
+            cells = new int[rows * cols];
+        }
+
+        /**
+         * Row-major cells, locked blocks with the falling piece and its ghost drawn in.
+         */
+        public int[] getCells() { return cells; }
+        /** Counts up by one for every frame the engine publishes; 0 before the first. */
+        public long getSequence() { return sequence; }
+        public int getLinesCleared() { return linesCleared; }
+        public int getScore() { return score; }
+        public int getPendingLines() { return pendingLines; }
+        public int getLastTarget() { return lastTarget; }
+        public boolean isGameOver() { return gameOver; }
+        public boolean isPaused() { return paused; }
+    }
+
+    private final int index;
+    private final int rows;
+    private final int cols;
+    private final Board board;
+    private final GameController game;
+    private final VersusLink link;
+    private final InputPolicy bot;
+    private final SpscIntQueue inputs = new SpscIntQueue(INPUT_CAPACITY);
+
+    private final AtomicReference<Frame> middle;
+    // engine thread only
+    private Frame back;
+    private long published;
+    // what the last published frame showed of the piece and the garbage exchange
+    private BrickShape publishedShape;
+    private int publishedX;
+    private int publishedY;
+    private int publishedPending;
+    private int publishedTarget;
+    // renderer only
+    private Frame front;
+
+    private volatile boolean running;
+
+    /**
+     * @param link this seat's end of the battle's garbage exchange, or null to play alone
+     * @param bot plays the board, or null for a human player driven by input()
+     */
+    public BattleSeat(int index, Board board, GameDifficulty difficulty, VersusLink link, InputPolicy bot) {
+        int[][] matrix = board.getBoardMatrix();
+        this.index = index;
+        this.rows = matrix.length;
+        this.cols = matrix[0].length;
+        this.board = board;
+        this.link = link;
+        this.bot = bot;
+        this.game = new GameController(new NullGameView(), difficulty, board);
+        game.setVersusLink(link);
+        back = new Frame(rows, cols);
+        front = new Frame(rows, cols);
+        middle = new AtomicReference<>(new Frame(rows, cols));
+    }
+
+    /**
+     * Starts the engine thread. The game must not be touched from any other thread after this.
+     */
+    public void start() {
+        running = true;
+        Thread.ofVirtual().name("battle-" + (index + 1)).start(this::run);
+    }
+
+    /**
+     * Asks the engine thread to finish; it does so within a tick.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Queues a key input (PRESS_LEFT ... NEW_GAME) for the next tick. Must only be called from
+     * one thread, normally the FX thread.
+     * @return false if the queue was full and the input was dropped
+     */
+    public boolean input(int code) {
+        return inputs.offer(code);
+    }
+
+    public boolean isBot() {
+        return bot != null;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * The newest frame the engine has published. Must only be called from one thread, normally
+     * the FX thread; the frame stays valid until the next call.
+     */
+    public Frame latestFrame() {
+        // the engine may be rewriting a frame it just swapped out while we look at its sequence,
+        // so this is only a hint; a wrong guess shows the newer frame one call later
+        if (middle.get().sequence > front.sequence) {
+            front = middle.getAndSet(front);
+        }
+        return front;
+    }
+
+    private void run() {
+        GameTickScheduler scheduler = game.getTickScheduler();
+        try {
+            if (bot != null) {
+                bot.onNewGame(game);
+            }
+            publish();
+            long nextTick = System.nanoTime();
+            while (running) {
+                boolean changed = applyInputs();
+                if (!game.isGameOver() && !game.isPaused()) {
+                    if (bot != null) {
+                        bot.beforeTick(game);
+                    }
+                    scheduler.runTicks(1);
+                }
+                // poll every tick so the flag never carries over into a later frame
+                changed |= scheduler.pollStateChanged();
+                if (changed || frameOutdated()) {
+                    publish();
+                }
+
+                nextTick += GameTickScheduler.TICK_NANOS;
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (wait < -MAX_LAG_NANOS) {
+                    nextTick = System.nanoTime();
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error in battle board " + (index + 1) + ": " + e.getMessage());
+            running = false;
+        }
+    }
+
+    private boolean applyInputs() {
+        boolean any = false;
+        int code;
+        while ((code = inputs.poll()) != SpscIntQueue.EMPTY) {
+            apply(code);
+            any = true;
+        }
+        return any;
+    }
+
+    private void apply(int code) {
+        if (code == NEW_GAME) {
+            game.createNewGame();
+            if (bot != null) {
+                bot.onNewGame(game);
+            }
+            return;
+        }
+        if (game.isGameOver()) {
+            return;
+        }
+        if (code == PAUSE) {
+            game.togglePause();
+            return;
+        }
+        if (game.isPaused()) {
+            return;
+        }
+        GameTickScheduler scheduler = game.getTickScheduler();
+        switch (code) {
+            case PRESS_LEFT: scheduler.pressShift(-1); break;
+            case RELEASE_LEFT: scheduler.releaseShift(-1); break;
+            case PRESS_RIGHT: scheduler.pressShift(1); break;
+            case RELEASE_RIGHT: scheduler.releaseShift(1); break;
+            case ROTATE: game.onRotateEvent(ROTATE_EVENT); break;
+            case ROTATE_RIGHT: game.onRotateEvent(ROTATE_RIGHT_EVENT); break;
+            case ROTATE_180: game.onRotateEvent(ROTATE_180_EVENT); break;
+            case SOFT_DROP: game.onDownEvent(DOWN_EVENT); break;
+            case HARD_DROP: game.hardDrop(); break;
+            case HOLD: game.holdCurrentBrick(); break;
+            default: break;
+        }
+    }
+
+    // catches what the scheduler doesn't report: a bot's moves and garbage sent by other boards
+    private boolean frameOutdated() {
+        if (link != null && (link.getPendingLines() != publishedPending || link.getLastTarget() != publishedTarget)) {
+            return true;
+        }
+        return board.getCurrentShape() != publishedShape
+                || board.getBrickX() != publishedX
+                || board.getBrickY() != publishedY;
+    }
+
+    // engine thread: snapshot the board into the back frame and swap it into the middle slot
+    private void publish() {
+        Frame frame = back;
+        int[] cells = frame.cells;
+        for (int r = 0; r < rows; r++) {
+            board.readRow(r, cells, r * cols);
+        }
+        BrickShape shape = board.getCurrentShape();
+        int x = board.getBrickX();
+        int y = board.getBrickY();
+        if (!game.isGameOver()) {
+            // ghost first so the piece wins where they overlap
+            drawShape(cells, shape, x, board.getGhostY(), GHOST);
+            drawShape(cells, shape, x, y, shape.getColor());
+        }
+        publishedShape = shape;
+        publishedX = x;
+        publishedY = y;
+        Score score = game.getScore();
+        frame.linesCleared = score.getLinesCleared();
+        frame.score = score.getScore();
+        frame.pendingLines = link != null ? link.getPendingLines() : 0;
+        frame.lastTarget = link != null ? link.getLastTarget() : -1;
+        publishedPending = frame.pendingLines;
+        publishedTarget = frame.lastTarget;
+        frame.gameOver = game.isGameOver();
+        frame.paused = game.isPaused();
+        frame.sequence = ++published;
+        back = middle.getAndSet(frame);
+    }
+
+    // the ghost only goes into empty cells; the piece itself overwrites whatever is there
+    private void drawShape(int[] cells, BrickShape shape, int x, int y, int value) {
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int row = y + shape.getCellRow(i);
+            int col = x + shape.getCellCol(i);
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                continue;
+            }
+            int cell = row * cols + col;
+            if (value != GHOST || cells[cell] == 0) {
+                cells[cell] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Board implementation that keeps occupancy as one int bitmask per row instead of an int[][] grid.
+ * Pieces come with precomputed row masks (see BrickShape), so collision checks become a few
+ * shift-and-AND operations per piece row, which makes it suitable
+ * for bots and replays that need to run far more moves per second than the GUI ever will.
+ *
+ * Each row word stores board column c at bit (c + WALL_BITS). The bits outside the playfield are
+ * permanently set so they act as walls, which means a piece that slides off either side collides
+ * the same way it would hit a locked block. Colors live in a separate byte plane that is only
+ * read when a matrix has to be handed to the view.
+ *
+ * Both are ring buffers: logical row r lives in slot (base + r) mod height. A garbage row coming
+ * in from the bottom just advances base and refills the slot the old top row leaves behind, and
+ * clearing a row only moves the rows on its shorter side (none at all for the bottom row)
+ * before rotating base to close the gap.
+ */
+public class BitboardBoard implements Board {
+
+    // Padding on the low side of every row word; must be >= the widest piece matrix.
+    private static final int WALL_BITS = 4;
+    private static final int MAX_COLUMNS = Integer.SIZE - 2 * WALL_BITS;
+
+    private final int width;
+    private final int height;
+    private final int wallMask;
+    private final int fullRowMask;
+    private final int[] rows;
+    private final byte[] colors;
+    private final BrickGenerator brickGenerator;
+    private final Score score;
+    private final BoardChangeSet changeSet = new BoardChangeSet();
+    private final SurfaceProfile surface;
+    private final long emptyHash;
+    private long boardHash;
+    // slot of logical row 0 in rows and colors
+    private int base;
+    // rows merged into since the last clearRows; only these can have become full
+    private int touchedTop;
+    private int touchedBottom;
+    private final int[] clearedScratch;
+
+    private Brick currentBrick;
+    private int orientation;
+    private int offsetX;
+    private int offsetY;
+    private Brick nextBrick;
+    // Cached landing row, see getGhostY()
+    private int ghostY;
+    private boolean ghostValid;
+
+    // Same (rows, cols) argument order as SimpleBoard so the two are interchangeable.
+    public BitboardBoard(int rows, int cols) {
+        this(rows, cols, new RandomBrickGenerator());
+    }
+
+    public BitboardBoard(int rows, int cols, BrickGenerator brickGenerator) {
+        if (cols <= 0 || cols > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Bitboard supports 1.." + MAX_COLUMNS + " columns, got " + cols);
+        }
+        this.width = cols;
+        this.height = rows;
+        this.fullRowMask = ((1 << width) - 1) << WALL_BITS;
+        this.wallMask = ~fullRowMask;
+        this.rows = new int[height];
+        this.colors = new byte[height * width];
+        this.clearedScratch = new int[height];
+        this.brickGenerator = brickGenerator;
+        this.score = new Score();
+        this.emptyHash = ZobristKeys.emptyBoard(height);
+        this.surface = new SurfaceProfile(height, width,
+                (row, col) -> (this.rows[slot(row)] & (1 << (col + WALL_BITS))) != 0);
+        clearPlayfield();
+        nextBrick = brickGenerator.getBrick();
+    }
+
+    @Override
+    public boolean moveBrickDown() {
+        return tryMove(0, 1);
+    }
+
+    @Override
+    public boolean moveBrickLeft() {
+        return tryMove(-1, 0);
+    }
+
+    @Override
+    public boolean moveBrickRight() {
+        return tryMove(1, 0);
+    }
+
+    @Override
+    public int dropToBottom() {
+        int distance = getGhostY() - offsetY;
+        offsetY += distance;
+        return distance;
+    }
+
+    @Override
+    public boolean rotateLeftBrick() {
+        return rotate(1);
+    }
+
+    @Override
+    public boolean rotateRightBrick() {
+        return rotate(3);
+    }
+
+    @Override
+    public boolean rotateBrick180() {
+        return rotate(2);
+    }
+
+    private boolean rotate(int turns) {
+        int from = orientation;
+        int to = (from + turns) % currentBrick.getOrientationCount();
+
+        int[] kicks = SrsKickTable.getKicks(currentBrick.getType(), from, to);
+        for (int i = 0; i < kicks.length; i++) {
+            int testX = offsetX + SrsKickTable.kickX(kicks[i]);
+            int testY = offsetY + SrsKickTable.kickY(kicks[i]);
+            if (!collides(currentBrick.getShape(to), testX, testY)) {
+                applyRotation(to, testX, testY);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean createNewBrick() {
+        Brick brick = nextBrick;
+        nextBrick = brickGenerator.getBrick();
+        spawn(brick);
+        return collides(currentBrick.getShape(orientation), offsetX, offsetY);
+    }
+
+    @Override
+    public int[][] getBoardMatrix() {
+        int[][] matrix = new int[height][width];
+        for (int r = 0; r < height; r++) {
+            int slot = slot(r);
+            if ((rows[slot] & fullRowMask) == 0) {
+                continue;
+            }
+            int start = slot * width;
+            for (int c = 0; c < width; c++) {
+                matrix[r][c] = colors[start + c];
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public void readRow(int row, int[] target, int offset) {
+        int slot = slot(row);
+        if ((rows[slot] & fullRowMask) == 0) {
+            Arrays.fill(target, offset, offset + width, 0);
+            return;
+        }
+        int start = slot * width;
+        for (int c = 0; c < width; c++) {
+            target[offset + c] = colors[start + c];
+        }
+    }
+
+    @Override
+    public ViewData getViewData() {
+        return new ViewData(
+                currentBrick.getShape(orientation).toMatrix(),
+                offsetX,
+                offsetY,
+                nextBrick.getShape(0).toMatrix(),
+                getGhostPosition()
+        );
+    }
+
+    @Override
+    public void mergeBrickToBackground() {
+        BrickShape shape = currentBrick.getShape(orientation);
+        changeSet.reset();
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int targetY = offsetY + shape.getCellRow(i);
+            int targetX = offsetX + shape.getCellCol(i);
+            if (targetY < 0 || targetY >= height || targetX < 0 || targetX >= width) {
+                continue;
+            }
+            int bit = 1 << (targetX + WALL_BITS);
+            int slot = slot(targetY);
+            if ((rows[slot] & bit) == 0) {
+                long oldContent = rowContent(targetY);
+                boardHash ^= ZobristKeys.rowTerm(oldContent, targetY)
+                        ^ ZobristKeys.rowTerm(oldContent ^ ZobristKeys.column(targetX), targetY);
+                surface.addCell(targetY, targetX);
+            }
+            rows[slot] |= bit;
+            colors[slot * width + targetX] = (byte) shape.getColor();
+            changeSet.addCell(targetY, targetX, shape.getColor());
+            touchedTop = Math.min(touchedTop, targetY);
+            touchedBottom = Math.max(touchedBottom, targetY);
+        }
+        ghostValid = false;
+    }
+
+    /**
+     * Only the rows written by the merges since the last call are checked. The returned ClearRow
+     * carries no matrix (this board has no int[][] to share); use getBoardMatrix() for one.
+     */
+    @Override
+    public ClearRow clearRows() {
+        int clearedCount = 0;
+        for (int r = touchedTop; r <= touchedBottom; r++) {
+            if (rows[slot(r)] == -1) {
+                clearedScratch[clearedCount++] = r;
+            }
+        }
+        touchedTop = height;
+        touchedBottom = -1;
+        changeSet.setClearedRowCount(clearedCount);
+        if (clearedCount == 0) {
+            return new ClearRow(0, null, 0, List.of());
+        }
+
+        // every row above the lowest cleared one may move, so re-term that whole range
+        int lowestCleared = clearedScratch[clearedCount - 1];
+        rehashRows(0, lowestCleared);
+        // top down, so the rows still to be removed keep their index
+        List<Integer> clearedRows = new ArrayList<>(clearedCount);
+        for (int i = 0; i < clearedCount; i++) {
+            removeRow(clearedScratch[i]);
+            clearedRows.add(clearedScratch[i]);
+        }
+        rehashRows(0, lowestCleared);
+        surface.rowsCleared(clearedScratch[0], clearedCount);
+        ghostValid = false;
+        return new ClearRow(clearedCount, null, 50 * clearedCount * clearedCount, clearedRows);
+    }
+
+    @Override
+    public boolean addGarbageRow(int holeColumn) {
+        if (holeColumn < 0 || holeColumn >= width) {
+            throw new IllegalArgumentException("Hole column " + holeColumn + " is off the board");
+        }
+        boolean fits = (rows[slot(0)] & fullRowMask) == 0;
+        // empty rows above the stack hash the same before and after the move
+        int stackTop = height;
+        for (int c = 0; c < width; c++) {
+            stackTop = Math.min(stackTop, surface.getColumnTop(c));
+        }
+        int firstMoved = Math.max(0, stackTop - 1);
+        rehashRows(firstMoved, height - 1);
+        // the old top row's slot comes round as the new bottom row
+        int slot = base;
+        base = base + 1 == height ? 0 : base + 1;
+        rows[slot] = wallMask | (fullRowMask & ~(1 << (holeColumn + WALL_BITS)));
+        Arrays.fill(colors, slot * width, (slot + 1) * width, (byte) GARBAGE_COLOR);
+        colors[slot * width + holeColumn] = 0;
+        rehashRows(firstMoved, height - 1);
+        surface.rowPushedUp(holeColumn);
+        // rows merged but not yet checked moved up with everything else
+        if (touchedBottom > 0) {
+            touchedTop = Math.max(0, touchedTop - 1);
+            touchedBottom--;
+        } else {
+            touchedTop = height;
+            touchedBottom = -1;
+        }
+        ghostValid = false;
+        // the board moved up one row, so one row up always clears the overlap unless that is off the top
+        BrickShape shape = currentBrick.getShape(orientation);
+        if (collides(shape, offsetX, offsetY)) {
+            if (collides(shape, offsetX, offsetY - 1)) {
+                return false;
+            }
+            offsetY--;
+        }
+        return fits;
+    }
+
+    @Override
+    public BoardChangeSet getLastChangeSet() {
+        return changeSet;
+    }
+
+    @Override
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    @Override
+    public Score getScore() {
+        return score;
+    }
+
+    @Override
+    public void newGame() {
+        clearPlayfield();
+        changeSet.reset();
+        ghostValid = false;
+        score.reset();
+        createNewBrick();
+    }
+
+    @Override
+    public ViewData getNextBrickViewData() {
+        int[][] preview = nextBrick.getShape(0).toMatrix();
+        return new ViewData(preview, 0, 0, preview);
+    }
+
+    @Override
+    public ViewData getCurrentBrickViewData() {
+        return getViewData();
+    }
+
+    @Override
+    public Brick getCurrentBrick() {
+        return currentBrick;
+    }
+
+    @Override
+    public BrickShape getCurrentShape() {
+        return currentBrick.getShape(orientation);
+    }
+
+    @Override
+    public int getBrickX() {
+        return offsetX;
+    }
+
+    @Override
+    public int getBrickY() {
+        return offsetY;
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        return nextBrick;
+    }
+
+    @Override
+    public List<Brick> getPreview(int count) {
+        List<Brick> preview = new ArrayList<>(count);
+        if (count > 0) {
+            preview.add(nextBrick);
+            preview.addAll(brickGenerator.getPreview(count - 1));
+        }
+        return preview;
+    }
+
+    @Override
+    public void setCurrentBrick(Brick brick) {
+        spawn(brick);
+    }
+
+    @Override
+    public boolean isBrickGrounded() {
+        return collides(currentBrick.getShape(orientation), offsetX, offsetY + 1);
+    }
+
+    @Override
+    public int getColumnHeight(int col) {
+        return surface.getColumnHeight(col);
+    }
+
+    @Override
+    public int getHoleCount(int col) {
+        return surface.getHoleCount(col);
+    }
+
+    public PointInt getGhostPosition() {
+        return new PointInt(offsetX, getGhostY());
+    }
+
+    /**
+     * Landing row of the current brick, read off the surface profile in O(piece width).
+     * Cached until it moves sideways, rotates, or the rows change.
+     */
+    @Override
+    public int getGhostY() {
+        if (!ghostValid) {
+            BrickShape shape = currentBrick.getShape(orientation);
+            int distance = surface.dropDistance(shape, offsetX, offsetY);
+            int landingY = offsetY + Math.max(distance, 0);
+            if (distance < 0) {
+                // tucked under an overhang: fall back to stepping down
+                while (!collides(shape, offsetX, landingY + 1)) {
+                    landingY++;
+                }
+            }
+            ghostY = landingY;
+            ghostValid = true;
+        }
+        return ghostY;
+    }
+
+    private boolean tryMove(int dx, int dy) {
+        if (collides(currentBrick.getShape(orientation), offsetX + dx, offsetY + dy)) {
+            return false;
+        }
+        offsetX += dx;
+        offsetY += dy;
+        if (dx != 0) {
+            ghostValid = false;
+        }
+        return true;
+    }
+
+    private void applyRotation(int to, int x, int y) {
+        orientation = to;
+        offsetX = x;
+        offsetY = y;
+        ghostValid = false;
+    }
+
+    private void spawn(Brick brick) {
+        currentBrick = brick;
+        orientation = 0;
+        // Center the brick horizontally, matching SimpleBoard's spawn column
+        offsetX = brick.getShape(0).getSpawnX(width);
+        offsetY = 0;
+        ghostValid = false;
+    }
+
+    private boolean collides(BrickShape shape, int x, int y) {
+        int shift = x + WALL_BITS;
+        if (shift < 0 || shift + shape.getSize() > Integer.SIZE) {
+            return true;
+        }
+        for (int r = shape.getMinRow(); r <= shape.getMaxRow(); r++) {
+            int mask = shape.getRowMask(r);
+            if (mask == 0) {
+                continue;
+            }
+            int targetY = y + r;
+            if (targetY < 0 || targetY >= height) {
+                return true;
+            }
+            if ((rows[slot(targetY)] & (mask << shift)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void clearPlayfield() {
+        base = 0;
+        touchedTop = height;
+        touchedBottom = -1;
+        Arrays.fill(rows, wallMask);
+        Arrays.fill(colors, (byte) 0);
+        surface.reset();
+        boardHash = emptyHash;
+    }
+
+    private int slot(int row) {
+        int slot = base + row;
+        return slot >= height ? slot - height : slot;
+    }
+
+    // takes a logical row out, moving whichever side of it is shorter; the top row comes back empty
+    private void removeRow(int row) {
+        if (row < height - 1 - row) {
+            for (int r = row; r > 0; r--) {
+                copyRow(r - 1, r);
+            }
+        } else {
+            // shift the rows below up over it, then rotate so the bottom slot they vacated is on top
+            for (int r = row; r < height - 1; r++) {
+                copyRow(r + 1, r);
+            }
+            base = base == 0 ? height - 1 : base - 1;
+        }
+        int top = slot(0);
+        rows[top] = wallMask;
+        Arrays.fill(colors, top * width, (top + 1) * width, (byte) 0);
+    }
+
+    private void copyRow(int from, int to) {
+        int fromSlot = slot(from);
+        int toSlot = slot(to);
+        rows[toSlot] = rows[fromSlot];
+        System.arraycopy(colors, fromSlot * width, colors, toSlot * width, width);
+    }
+
+    private long rowContent(int row) {
+        return ZobristKeys.rowContent((rows[slot(row)] & fullRowMask) >>> WALL_BITS);
+    }
+
+    // XORs the terms of rows [from, to] in or out of the board hash
+    private void rehashRows(int from, int to) {
+        for (int r = from; r <= to; r++) {
+            boardHash ^= ZobristKeys.rowTerm(rowContent(r), r);
+        }
+    }
+}
@@ -1,27 +1,70 @@
 package com.comp2042;
 
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickShape;
+
+import java.util.List;
 
 public interface Board {
 
+    /**
+     * Color code of garbage cells (pieces use 1-7).
+     */
+    int GARBAGE_COLOR = 8;
+
     boolean moveBrickDown();
 
     boolean moveBrickLeft();
 
     boolean moveBrickRight();
 
+    /**
+     * Moves the current brick straight down to the row it would land on (the ghost row).
+     * @return how many rows it fell, 0 if it was already resting on something
+     */
+    int dropToBottom();
+
+    /**
+     * Turns the current brick to its next orientation (counter-clockwise), trying each kick from
+     * SrsKickTable until one fits.
+     * @return false if no kick fits and the brick stays as it was
+     */
     boolean rotateLeftBrick();
 
+    /**
+     * Turns the current brick the other way (clockwise); kicks as for rotateLeftBrick.
+     */
+    boolean rotateRightBrick();
+
+    /**
+     * Turns the current brick half way round in one move; kicks as for rotateLeftBrick.
+     */
+    boolean rotateBrick180();
+
     boolean createNewBrick();
 
     int[][] getBoardMatrix();
 
+    /**
+     * Copies one row of locked cells (colors, 0 for empty) into {@code target} from {@code offset},
+     * for callers that snapshot the board every frame and can't afford getBoardMatrix()'s copy.
+     */
+    void readRow(int row, int[] target, int offset);
+
     ViewData getViewData();
 
     void mergeBrickToBackground();
 
     ClearRow clearRows();
 
+    /**
+     * Pushes a garbage row in from the bottom: the stack moves up one row and the new bottom row
+     * is filled except for one hole. The falling brick is pushed up with it if it would overlap.
+     * @return false if that pushed blocks off the top or left the falling brick no room, i.e. the
+     *         player topped out
+     */
+    boolean addGarbageRow(int holeColumn);
+
     Score getScore();
 
     void newGame();
@@ -32,7 +75,61 @@ public interface Board {
 
     Brick getCurrentBrick();
 
+    /**
+     * The current brick in its current orientation. Together with getBrickX and getBrickY this
+     * tells where the piece is without building a ViewData.
+     */
+    BrickShape getCurrentShape();
+
+    /**
+     * Column of the current brick's shape matrix (its left edge, which may be off the board).
+     */
+    int getBrickX();
+
+    /**
+     * Row of the current brick's shape matrix (its top edge).
+     */
+    int getBrickY();
+
+    /**
+     * Row the current brick would land on if dropped now (where the ghost is drawn).
+     */
+    int getGhostY();
+
+    /**
+     * The piece that spawns after the current one (the one shown in the preview).
+     */
+    Brick getNextBrick();
+
+    /**
+     * The next {@code count} pieces to spawn, starting with getNextBrick(). Not limited to what
+     * the GUI shows, so bots can look further ahead.
+     */
+    List<Brick> getPreview(int count);
+
     void setCurrentBrick(Brick brick);
 
     boolean isBrickGrounded();
+
+    /**
+     * Height of a column's stack, counted from the floor to its top block; 0 for an empty column.
+     * Kept up to date on merge and clear, see SurfaceProfile.
+     */
+    int getColumnHeight(int col);
+
+    /**
+     * Empty cells under a column's top block.
+     */
+    int getHoleCount(int col);
+
+    /**
+     * Cells written and rows cleared by the most recent merge/clear; reused between locks.
+     */
+    BoardChangeSet getLastChangeSet();
+
+    /**
+     * Zobrist hash of the locked cells (occupancy only), kept up to date on merge and clear.
+     * Equal boards give equal hashes across Board implementations; see ZobristKeys.
+     */
+    long getBoardHash();
 }
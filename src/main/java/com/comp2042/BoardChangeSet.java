@@ -0,0 +1,68 @@
+package com.comp2042;
+
+import java.util.Arrays;
+
+/**
+ * Compact record of what the last lock did to the background: the cells written by the merge and
+ * how many rows were cleared afterwards. Views use it to update only those cells instead of
+ * re-reading the whole board.
+ *
+ * The board reuses one instance, so read it right after the lock and do not keep a reference.
+ * Cell coordinates are as written by the merge; once rows have been cleared they no longer line
+ * up with the board, so consumers should fall back to a full refresh when hasClearedRows() is true.
+ */
+public final class BoardChangeSet {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] cols = new int[INITIAL_CAPACITY];
+    private int[] colors = new int[INITIAL_CAPACITY];
+    private int cellCount;
+    private int clearedRowCount;
+
+    public void reset() {
+        cellCount = 0;
+        clearedRowCount = 0;
+    }
+
+    public void addCell(int row, int col, int color) {
+        if (cellCount == rows.length) {
+            rows = Arrays.copyOf(rows, cellCount * 2);
+            cols = Arrays.copyOf(cols, cellCount * 2);
+            colors = Arrays.copyOf(colors, cellCount * 2);
+        }
+        rows[cellCount] = row;
+        cols[cellCount] = col;
+        colors[cellCount] = color;
+        cellCount++;
+    }
+
+    public void setClearedRowCount(int clearedRowCount) {
+        this.clearedRowCount = clearedRowCount;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getCellRow(int index) {
+        return rows[index];
+    }
+
+    public int getCellCol(int index) {
+        return cols[index];
+    }
+
+    public int getCellColor(int index) {
+        return colors[index];
+    }
+
+    public int getClearedRowCount() {
+        return clearedRowCount;
+    }
+
+    public boolean hasClearedRows() {
+        return clearedRowCount > 0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.comp2042;
 
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickShape;
 
 public class BrickRotator {
 
@@ -13,21 +14,31 @@ public class BrickRotator {
 
     public NextShapeInfo getNextShape() {
         int nextShape = currentShape;
-        nextShape = (++nextShape) % brick.getShapeMatrix().size();
-        return new NextShapeInfo(brick.getShapeMatrix().get(nextShape), nextShape);
+        nextShape = (++nextShape) % brick.getOrientationCount();
+        return new NextShapeInfo(brick.getShape(nextShape).toMatrix(), nextShape);
     }
 
+    /**
+     * Returns a copy of the current orientation matrix, for views.
+     * Engine code should use {@link #getCurrentBrickShape()} instead.
+     */
     public int[][] getCurrentShape() {
-        return brick.getShapeMatrix().get(currentShape);
+        return brick.getShape(currentShape).toMatrix();
     }
 
-    public int[][] getShapeAt(int orientation) {
-        int normalized = normalizeOrientation(orientation);
-        return brick.getShapeMatrix().get(normalized);
+    /**
+     * Shared, immutable table entry for the current orientation.
+     */
+    public BrickShape getCurrentBrickShape() {
+        return brick.getShape(currentShape);
+    }
+
+    public BrickShape getShapeAt(int orientation) {
+        return brick.getShape(normalizeOrientation(orientation));
     }
 
     public int getOrientationCount() {
-        return brick.getShapeMatrix().size();
+        return brick.getOrientationCount();
     }
 
     public void setCurrentShape(int currentShape) {
@@ -44,7 +55,7 @@ public class BrickRotator {
     }
 
     private int normalizeOrientation(int orientation) {
-        int size = brick.getShapeMatrix().size();
+        int size = brick.getOrientationCount();
         int mod = orientation % size;
         return mod < 0 ? mod + size : mod;
     }
@@ -0,0 +1,221 @@
+package com.comp2042;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws the board, active piece and ghost onto a single Canvas instead of a grid of Rectangle nodes.
+ *
+ * The renderer remembers what is currently painted in every cell. Updates only mark cells dirty,
+ * and {@link #render()} repaints just the dirty cells whose visible state actually changed, so a
+ * typical move touches a handful of cells and no scene-graph nodes at all.
+ */
+public class CanvasBoardRenderer {
+
+    private static final int EMPTY = 0;
+    private static final int GHOST = -1;
+    private static final Color GHOST_COLOR = Color.web("#FFFFFF", 0.22);
+    private static final double CELL_ARC = 9;
+    private static final double PREVIEW_ARC = 6;
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final int rows;
+    private final int cols;
+    private final double cellSize;
+    private final double stride;
+
+    private final int[][] background;
+    private final int[][] overlay;
+    private final int[][] painted;
+    private final boolean[][] dirty;
+    private final int[] dirtyCells;
+    private int dirtyCount;
+
+    // packed row * cols + col of the cells the piece and ghost currently cover
+    private final int[] pieceCells = new int[16];
+    private int pieceCellCount;
+    private final int[] ghostCells = new int[16];
+    private int ghostCellCount;
+
+    public CanvasBoardRenderer(int rows, int cols, double cellSize, double gap) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cellSize = cellSize;
+        this.stride = cellSize + gap;
+        this.canvas = new Canvas(cols * stride, rows * stride);
+        this.gc = canvas.getGraphicsContext2D();
+        this.background = new int[rows][cols];
+        this.overlay = new int[rows][cols];
+        this.painted = new int[rows][cols];
+        this.dirty = new boolean[rows][cols];
+        this.dirtyCells = new int[rows * cols];
+        canvas.setMouseTransparent(true);
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Takes a full board snapshot and marks every cell whose color differs from the last one.
+     */
+    public void setBackground(int[][] board) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (background[r][c] != board[r][c]) {
+                    background[r][c] = board[r][c];
+                    markDirty(r, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates a single background cell, e.g. from a BoardChangeSet.
+     */
+    public void setCell(int row, int col, int color) {
+        if (background[row][col] != color) {
+            background[row][col] = color;
+            markDirty(row, col);
+        }
+    }
+
+    /**
+     * Places the falling piece and its ghost. Cells they leave and cells they enter become dirty.
+     */
+    public void setActivePiece(int[][] shape, int x, int y, int ghostY) {
+        clearOverlay(pieceCells, pieceCellCount);
+        clearOverlay(ghostCells, ghostCellCount);
+        pieceCellCount = 0;
+        ghostCellCount = 0;
+        if (shape == null) {
+            return;
+        }
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] == 0) {
+                    continue;
+                }
+                int col = x + j;
+                if (col < 0 || col >= cols) {
+                    continue;
+                }
+                int ghostRow = ghostY + i;
+                if (ghostRow >= 0 && ghostRow < rows) {
+                    ghostCells[ghostCellCount++] = ghostRow * cols + col;
+                }
+                int row = y + i;
+                if (row >= 0 && row < rows) {
+                    pieceCells[pieceCellCount++] = row * cols + col;
+                }
+            }
+        }
+        // ghost first so the piece wins where they overlap
+        for (int i = 0; i < ghostCellCount; i++) {
+            setOverlay(ghostCells[i], GHOST);
+        }
+        for (int i = 0; i < pieceCellCount; i++) {
+            int cell = pieceCells[i];
+            int r = cell / cols;
+            int c = cell % cols;
+            setOverlay(cell, shape[r - y][c - x]);
+        }
+    }
+
+    /**
+     * Repaints dirty cells whose visible state changed.
+     *
+     * @return the number of cells actually repainted
+     */
+    public int render() {
+        int repainted = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            int r = cell / cols;
+            int c = cell % cols;
+            dirty[r][c] = false;
+            int wanted = overlay[r][c] != EMPTY ? overlay[r][c] : background[r][c];
+            if (wanted != painted[r][c]) {
+                paintCell(r, c, wanted);
+                painted[r][c] = wanted;
+                repainted++;
+            }
+        }
+        dirtyCount = 0;
+        return repainted;
+    }
+
+    /**
+     * Draws a small next/hold preview, centering the filled cells in the canvas.
+     */
+    public static void drawPreview(Canvas target, int[][] shape, double cellSize, double gap) {
+        GraphicsContext g = target.getGraphicsContext2D();
+        g.clearRect(0, 0, target.getWidth(), target.getHeight());
+        if (shape == null) {
+            return;
+        }
+        int top = shape.length, bottom = -1, left = Integer.MAX_VALUE, right = -1;
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] != 0) {
+                    top = Math.min(top, i);
+                    bottom = Math.max(bottom, i);
+                    left = Math.min(left, j);
+                    right = Math.max(right, j);
+                }
+            }
+        }
+        if (bottom < 0) {
+            return;
+        }
+        double stride = cellSize + gap;
+        double originX = (target.getWidth() - ((right - left + 1) * stride - gap)) / 2.0;
+        double originY = (target.getHeight() - ((bottom - top + 1) * stride - gap)) / 2.0;
+        for (int i = top; i <= bottom; i++) {
+            for (int j = left; j <= right; j++) {
+                if (shape[i][j] != 0) {
+                    g.setFill(GuiController.getFillColor(shape[i][j]));
+                    g.fillRoundRect(originX + (j - left) * stride, originY + (i - top) * stride,
+                            cellSize, cellSize, PREVIEW_ARC, PREVIEW_ARC);
+                }
+            }
+        }
+    }
+
+    private void paintCell(int r, int c, int value) {
+        double px = c * stride;
+        double py = r * stride;
+        gc.clearRect(px, py, cellSize, cellSize);
+        if (value == GHOST) {
+            gc.setFill(GHOST_COLOR);
+            gc.fillRoundRect(px, py, cellSize, cellSize, PREVIEW_ARC, PREVIEW_ARC);
+        } else if (value != EMPTY) {
+            gc.setFill(GuiController.getFillColor(value));
+            gc.fillRoundRect(px, py, cellSize, cellSize, CELL_ARC, CELL_ARC);
+        }
+    }
+
+    private void clearOverlay(int[] cells, int count) {
+        for (int i = 0; i < count; i++) {
+            setOverlay(cells[i], EMPTY);
+        }
+    }
+
+    private void setOverlay(int cell, int value) {
+        int r = cell / cols;
+        int c = cell % cols;
+        if (overlay[r][c] != value) {
+            overlay[r][c] = value;
+            markDirty(r, c);
+        }
+    }
+
+    private void markDirty(int r, int c) {
+        if (!dirty[r][c]) {
+            dirty[r][c] = true;
+            dirtyCells[dirtyCount++] = r * cols + c;
+        }
+    }
+}
@@ -15,15 +15,22 @@ public final class ClearRow {
         this.linesRemoved = linesRemoved;
         this.newMatrix = newMatrix;
         this.scoreBonus = scoreBonus;
-        this.clearedRows = Collections.unmodifiableList(new ArrayList<>(clearedRows));
+        // most locks clear nothing, so skip the defensive copy in that case
+        this.clearedRows = clearedRows.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(clearedRows));
     }
 
     public int getLinesRemoved() {
         return linesRemoved;
     }
 
+    /**
+     * Copy of the board after the clear, or null from boards that keep no int[][]
+     * (BitboardBoard); Board.getBoardMatrix() works for every board.
+     */
     public int[][] getNewMatrix() {
-        return MatrixOperations.copy(newMatrix);
+        return newMatrix == null ? null : MatrixOperations.copy(newMatrix);
     }
 
     public int getScoreBonus() {
@@ -1,16 +1,13 @@
 package com.comp2042;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.stage.Stage;
 import javafx.scene.layout.VBox;
 
 import java.io.IOException;
 import java.util.function.Consumer;
 
-public class DifficultyController {
+public class DifficultyController implements ScreenLifecycle {
 
     @FXML
     private VBox menuRoot;
@@ -34,26 +31,26 @@ public class DifficultyController {
         startGameWithDifficulty(GameDifficulty.HARD);
     }
 
+    @FXML
+    private void startInstant() {
+        startGameWithDifficulty(GameDifficulty.INSTANT);
+    }
+
     @FXML
     private void backToMain() {
         // Return to main menu scene
         try {
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-
             if (returnScene != null) {
-                stage.setScene(returnScene);
-                stage.show();
-                if (onReturn != null) {
-                    onReturn.run();
+                // returning hides this screen, which clears the callbacks
+                Runnable returned = onReturn;
+                SceneNavigator.returnTo(returnScene);
+                if (returned != null) {
+                    returned.run();
                 }
                 return;
             }
 
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/mainMenu.fxml"));
-            Parent root = loader.load();
-            Scene scene = new Scene(root, 800, 600);
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.MAIN_MENU);
         } catch (IOException e) {
             // fallback: ignore
             e.printStackTrace();
@@ -62,36 +59,37 @@ public class DifficultyController {
 
     private void startGameWithDifficulty(GameDifficulty difficulty) {
         try {
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-
             if (onDifficultySelected != null) {
+                Scene back = returnScene;
+                Runnable returned = onReturn;
                 onDifficultySelected.accept(difficulty);
-                if (returnScene != null) {
-                    stage.setScene(returnScene);
-                    stage.show();
+                if (back != null) {
+                    SceneNavigator.returnTo(back);
                 }
-                if (onReturn != null) {
-                    onReturn.run();
+                if (returned != null) {
+                    returned.run();
                 }
                 return;
             }
 
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gameLayout.fxml"));
-            Parent gameRoot = loader.load();
-            Scene gameScene = new Scene(gameRoot, 800, 600);
-
-            GuiController guiController = loader.getController();
-            new GameController(guiController, difficulty);
-
-            stage.setScene(gameScene);
-            stage.show();
-
-            gameRoot.requestFocus();
+            SceneNavigator.<GuiController>show(SceneNavigator.GAME, guiController -> {
+                long seed = System.nanoTime();
+                GameController game = new GameController(guiController, difficulty, seed);
+                game.setReplayRecorder(ReplayRecorder.createInReplayDir(ReplayHeader.forGame(seed, difficulty), "solo"));
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    @Override
+    public void onHide() {
+        // this menu is cached; the next visitor brings its own return path
+        returnScene = null;
+        onDifficultySelected = null;
+        onReturn = null;
+    }
+
     public void setReturnScene(Scene returnScene) {
         this.returnScene = returnScene;
     }
@@ -0,0 +1,83 @@
+package com.comp2042;
+
+import java.util.Random;
+
+/**
+ * Dig ("cheese") rules: the game starts with a few rows of garbage at the bottom of the well and
+ * another row rises every {@code intervalTicks} ticks, so the player has to keep digging down
+ * through holes before the stack reaches the top.
+ *
+ * Messiness is the chance that a row's hole is in a different column from the row below it:
+ * 0 gives one straight well to dig down, 1 a ragged cheese board where every row needs its own
+ * clear. The hole columns come from this object's own Random; replays record each garbage row
+ * (ReplayEvent.GARBAGE) instead of re-deriving them, so they play back without a DigMode.
+ */
+public final class DigMode {
+
+    public static final int DEFAULT_START_ROWS = 8;
+    public static final int DEFAULT_INTERVAL_TICKS = 4 * GameTickScheduler.TICKS_PER_SECOND;
+    public static final double DEFAULT_MESSINESS = 0.7;
+
+    private final int cols;
+    private final int startRows;
+    private final int intervalTicks;
+    private final double messiness;
+    private final Random random;
+    private int ticksLeft;
+    private int hole = -1;
+
+    public DigMode(int cols, long seed) {
+        this(cols, DEFAULT_START_ROWS, DEFAULT_INTERVAL_TICKS, DEFAULT_MESSINESS, seed);
+    }
+
+    public DigMode(int cols, int startRows, int intervalTicks, double messiness, long seed) {
+        if (cols < 2 || intervalTicks < 1 || messiness < 0 || messiness > 1) {
+            throw new IllegalArgumentException("Invalid dig settings: cols " + cols + ", interval "
+                    + intervalTicks + ", messiness " + messiness);
+        }
+        this.cols = cols;
+        this.startRows = startRows;
+        this.intervalTicks = intervalTicks;
+        this.messiness = messiness;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Fills in the starting garbage and restarts the timer; called by GameController for every new
+     * game, which redraws the board once the rows are in.
+     */
+    void start(GameController game) {
+        hole = -1;
+        ticksLeft = intervalTicks;
+        for (int i = 0; i < startRows && !game.isGameOver(); i++) {
+            game.pushGarbageRow(nextHole());
+        }
+    }
+
+    /**
+     * Counts one tick and pushes a row in when the interval is up.
+     * @return true if a row went in
+     */
+    boolean tick(GameController game) {
+        if (--ticksLeft > 0) {
+            return false;
+        }
+        ticksLeft = intervalTicks;
+        game.addGarbageRow(nextHole());
+        return true;
+    }
+
+    public int getIntervalTicks() {
+        return intervalTicks;
+    }
+
+    private int nextHole() {
+        if (hole < 0) {
+            hole = random.nextInt(cols);
+        } else if (random.nextDouble() < messiness) {
+            // any column but the current one
+            hole = (hole + 1 + random.nextInt(cols - 1)) % cols;
+        }
+        return hole;
+    }
+}
@@ -1,5 +1,6 @@
 package com.comp2042;
 
 public enum EventType {
-    DOWN, LEFT, RIGHT, ROTATE
+    // ROTATE turns counter-clockwise (Board.rotateLeftBrick), ROTATE_RIGHT clockwise
+    DOWN, LEFT, RIGHT, ROTATE, ROTATE_RIGHT, ROTATE_180
 }
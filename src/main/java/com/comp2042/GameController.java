@@ -2,33 +2,112 @@ package com.comp2042;
 
 import com.comp2042.logic.bricks.Brick;
 
-public class GameController implements InputEventListener {
+public class GameController implements InputEventListener, GameTickScheduler.Engine {
 
-    private Board board = new SimpleBoard(25, 10);
-    private final GuiController viewGuiController;
+    public static final int BOARD_ROWS = 25;
+    public static final int BOARD_COLS = 10;
+
+    private final Board board;
+    private final int cols;
+    private final GameView viewGuiController;
+    // a plain NullGameView throws the board away, so don't copy it out for one
+    private final boolean headless;
     private boolean isPaused;
     private GameDifficulty difficulty;
     private Brick holdBrickData = null;
     private boolean canHold = true; 
-    private Long lockStartTime = null;
-    private static final long LOCK_DELAY_MILLIS = 500L;
+    // gravity, lock delay and auto-repeat all run on fixed ticks from here
+    private final GameTickScheduler tickScheduler;
+    private long piecesLocked;
+    private boolean gameOver;
+    private ReplayRecorder recorder;
+    private DigMode digMode;
+    private VersusLink versusLink;
     
-    public GameController(GuiController c) {
+    public GameController(GameView c) {
         this(c, GameDifficulty.MEDIUM);
     }
 
-    public GameController(GuiController c, GameDifficulty difficulty) {
+    public GameController(GameView c, GameDifficulty difficulty) {
+        this(c, difficulty, System.nanoTime());
+    }
+
+    /**
+     * Deals pieces from the difficulty's randomizer with the given seed, so two games started
+     * with the same seed see the same sequence (versus mode relies on this).
+     */
+    public GameController(GameView c, GameDifficulty difficulty, long seed) {
+        this(c, difficulty, new SimpleBoard(BOARD_ROWS, BOARD_COLS, difficulty.getRandomizer().create(seed)));
+    }
+
+    /**
+     * Lets callers pick the Board implementation, e.g. a BitboardBoard for bots and replays.
+     * Pass a NullGameView to run without JavaFX.
+     */
+    public GameController(GameView c, GameDifficulty difficulty, Board board) {
+        this.board = board;
+        this.cols = board.getBoardMatrix()[0].length;
         this.difficulty = difficulty;
         viewGuiController = c;
+        headless = c.getClass() == NullGameView.class;
+        tickScheduler = new GameTickScheduler(this, difficulty);
         board.createNewBrick();
         viewGuiController.showNextShape(board.getNextBrickViewData());
         viewGuiController.setEventListener(this);
+        viewGuiController.setTickScheduler(tickScheduler);
         viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData(), difficulty);
-        viewGuiController.bindScore(board.getScore().scoreProperty());
-        viewGuiController.bindLinesCleared(board.getScore().linesClearedProperty());
+        viewGuiController.bindScore(board.getScore());
+    }
+
+    /**
+     * Starts writing every input into a replay. The recorder should be attached right after
+     * construction, before any input, or playback will not line up.
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+        tickScheduler.setReplayRecorder(recorder);
+    }
+
+    public ReplayRecorder getReplayRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Plays this game (and every new game after it) as a dig game: the starting garbage goes in
+     * right away and more rises on the mode's timer. Attach any recorder first so the garbage is
+     * recorded; null turns it off for the next game.
+     */
+    public void setDigMode(DigMode digMode) {
+        this.digMode = digMode;
+        if (digMode != null) {
+            digMode.start(this);
+            refreshBoard();
+        }
+    }
+
+    /**
+     * Connects this game to an opponent: line clears send garbage through the link and garbage
+     * coming back is pushed in on locks that clear nothing. Keeps working across new games.
+     */
+    public void setVersusLink(VersusLink versusLink) {
+        this.versusLink = versusLink;
+    }
+
+    public VersusLink getVersusLink() {
+        return versusLink;
+    }
+
+    @Override
+    public void dispose() {
+        if (recorder != null) {
+            // hand the rest of the replay to the writer; nothing will be recorded after this
+            recorder.flush();
+            setReplayRecorder(null);
+        }
     }
 
     public void togglePause() {
+        record(ReplayEvent.PAUSE);
         isPaused = !isPaused;
         viewGuiController.updatePauseState(isPaused);
     }
@@ -41,30 +120,124 @@ public class GameController implements InputEventListener {
     }
 
 
+    @Override
+    public ViewData getViewData() {
+        return board.getViewData();
+    }
+
+    public GameTickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * The piece in the hold slot, or null if nothing has been held yet.
+     */
+    public Brick getHeldBrick() {
+        return holdBrickData;
+    }
+
+    public long getPiecesLocked() {
+        return piecesLocked;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    /**
+     * Height of the tallest column.
+     */
+    public int getStackHeight() {
+        int height = 0;
+        for (int col = 0; col < cols; col++) {
+            height = Math.max(height, board.getColumnHeight(col));
+        }
+        return height;
+    }
+
     @Override
     public DownData onDownEvent(MoveEvent event) {
+        record(ReplayEvent.SOFT_DROP);
+        if (!isPaused) {
+            // soft drop only moves; a grounded piece is locked by the tick scheduler once the lock delay runs out
+            board.moveBrickDown();
+        }
+        return new DownData(null, board.getViewData());
+    }
+
+    @Override
+    public boolean gravityStep() {
+        return !isPaused && board.moveBrickDown();
+    }
+
+    @Override
+    public boolean dropToBottom() {
+        return !isPaused && board.dropToBottom() > 0;
+    }
+
+    @Override
+    public boolean afterTick() {
+        if (versusLink != null) {
+            versusLink.receive(tickScheduler.getTickCount());
+        }
+        return digMode != null && !isPaused && !gameOver && digMode.tick(this);
+    }
+
+    /**
+     * Pushes a garbage row in under the stack with its one empty cell in the given column.
+     * Ends the game if that tops the player out.
+     */
+    public void addGarbageRow(int holeColumn) {
+        pushGarbageRow(holeColumn);
+        refreshBoard();
+    }
+
+    /**
+     * addGarbageRow without redrawing the board, for callers that push several rows at once and
+     * refresh the view once afterwards.
+     */
+    void pushGarbageRow(int holeColumn) {
+        if (gameOver) {
+            return;
+        }
+        record(ReplayEvent.GARBAGE, holeColumn);
+        if (!board.addGarbageRow(holeColumn)) {
+            endGame();
+        }
+    }
+
+    @Override
+    public boolean shift(int direction) {
         if (isPaused) {
-            return new DownData(null, board.getViewData());
+            return false;
         }
-        boolean canMove = board.moveBrickDown();
-        ClearRow clearRow = null;
-        long now = System.currentTimeMillis();
+        return direction < 0 ? board.moveBrickLeft() : board.moveBrickRight();
+    }
 
-        if (canMove) {
-            lockStartTime = null;
-        } else {
-            if (lockStartTime == null) {
-                lockStartTime = now;
-            }
-            if (now - lockStartTime >= LOCK_DELAY_MILLIS) {
-                clearRow = lockCurrentPiece();
-            }
+    @Override
+    public boolean isPieceGrounded() {
+        return !isPaused && board.isBrickGrounded();
+    }
+
+    @Override
+    public void lockPiece() {
+        ClearRow clearRow = lockCurrentPiece();
+        if (clearRow.getLinesRemoved() > 0) {
+            viewGuiController.showLineClearPopup(clearRow);
         }
-        return new DownData(clearRow, board.getViewData());
     }
 
     @Override
     public ViewData onLeftEvent(MoveEvent event) {
+        record(ReplayEvent.LEFT);
         if (board.moveBrickLeft()) {
             restartLockDelayIfGrounded();
         }
@@ -73,15 +246,34 @@ public class GameController implements InputEventListener {
 
     @Override
     public ViewData onRightEvent(MoveEvent event) {
+        record(ReplayEvent.RIGHT);
         if (board.moveBrickRight()) {
             restartLockDelayIfGrounded();
         }
         return board.getViewData();
     }
 
+    /**
+     * Rotates by the event's type: ROTATE (counter-clockwise), ROTATE_RIGHT or ROTATE_180.
+     */
     @Override
     public ViewData onRotateEvent(MoveEvent event) {
-        if (board.rotateLeftBrick()) {
+        boolean rotated;
+        switch (event.getEventType()) {
+            case ROTATE_RIGHT:
+                record(ReplayEvent.ROTATE_RIGHT);
+                rotated = board.rotateRightBrick();
+                break;
+            case ROTATE_180:
+                record(ReplayEvent.ROTATE_180);
+                rotated = board.rotateBrick180();
+                break;
+            default:
+                record(ReplayEvent.ROTATE);
+                rotated = board.rotateLeftBrick();
+                break;
+        }
+        if (rotated) {
             restartLockDelayIfGrounded();
         }
         return board.getViewData();
@@ -89,6 +281,7 @@ public class GameController implements InputEventListener {
 
     @Override
     public ViewData holdCurrentBrick() {
+        record(ReplayEvent.HOLD);
         if (!canHold) return board.getViewData(); // can't hold twice in a row
 
         // Get currently held brick or null if empty
@@ -112,11 +305,11 @@ public class GameController implements InputEventListener {
         // IMPORTANT: Reset canHold to true so we can hold the NEW brick
         // This allows continuous holding of pieces
         canHold = true;
-        lockStartTime = null;
+        tickScheduler.onPieceLocked();
         
         // Update the hold display with the shape we stored
         if (holdBrickData != null) {
-            int[][] shape = holdBrickData.getShapeMatrix().get(0);
+            int[][] shape = holdBrickData.getShape(0).toMatrix();
             ViewData holdDisplay = new ViewData(shape, 0, 0, shape);
             viewGuiController.updateHoldDisplay(holdDisplay);
         }
@@ -129,28 +322,35 @@ public class GameController implements InputEventListener {
 
 
     public void hardDrop() {
+        record(ReplayEvent.HARD_DROP);
         if (isPaused) return;
 
-        // Keep moving down until cannot
-        boolean moved = true;
-        while (moved) {
-            moved = board.moveBrickDown();
-        }
+        // straight to the ghost row, without stepping through the rows in between
+        board.dropToBottom();
 
         // The brick stops -> lock it
         ClearRow clearRow = lockCurrentPiece();
         if (clearRow != null && clearRow.getLinesRemoved() > 0) {
             viewGuiController.showLineClearPopup(clearRow);
         }
-        lockStartTime = null;
+        tickScheduler.onPieceLocked();
     }
 
 
     @Override
     public void createNewGame() {
+        record(ReplayEvent.NEW_GAME);
         board.newGame();
-        lockStartTime = null;
-        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        tickScheduler.reset();
+        piecesLocked = 0;
+        gameOver = false;
+        if (versusLink != null) {
+            versusLink.reset();
+        }
+        if (digMode != null) {
+            digMode.start(this);
+        }
+        refreshBoard();
     }
 
     @Override
@@ -180,42 +380,90 @@ public class GameController implements InputEventListener {
         board.mergeBrickToBackground();
         ClearRow clearRow = board.clearRows();
         applyScoring(clearRow);
+        piecesLocked++;
 
         boolean isCollision = board.createNewBrick();
         if (isCollision) {
-            viewGuiController.gameOver();
+            endGame();
         } else {
             viewGuiController.showNextShape(board.getNextBrickViewData());
         }
 
         canHold = true;
-        lockStartTime = null;
-        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        int garbageRows = 0;
+        if (versusLink != null && !gameOver && clearRow.getLinesRemoved() == 0) {
+            // garbage waits for a lock that clears nothing, and goes in under the new piece
+            garbageRows = versusLink.insertDue(this, tickScheduler.getTickCount());
+        }
+        BoardChangeSet changes = board.getLastChangeSet();
+        if (changes.hasClearedRows() || garbageRows > 0) {
+            // one redraw for the clear or for all the garbage rows together
+            refreshBoard();
+        } else {
+            // nothing shifted, so only the merged cells need repainting
+            viewGuiController.refreshChangedCells(changes);
+        }
+        if (versusLink != null && !gameOver) {
+            versusLink.publishStackHeight(getStackHeight());
+        }
         return clearRow;
     }
 
+    private void refreshBoard() {
+        if (!headless) {
+            viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        }
+    }
+
+    private void endGame() {
+        gameOver = true;
+        tickScheduler.stop();
+        if (versusLink != null) {
+            versusLink.knockedOut();
+        }
+        if (recorder != null) {
+            recorder.record(ReplayEvent.GAME_OVER, tickScheduler.getTickCount(), board.getScore().getScore());
+            recorder.flush();
+        }
+        viewGuiController.gameOver();
+    }
+
     private void applyScoring(ClearRow clearRow) {
         if (clearRow.getLinesRemoved() > 0) {
-            SoundManager.playLineClearSound();
+            viewGuiController.playLineClearSound();
 
             int baseScore = calculateLineScore(clearRow.getLinesRemoved());
             board.getScore().add(baseScore);
             board.getScore().addLinesCleared(clearRow.getLinesRemoved());
 
             board.getScore().addCombo();
-            if (board.getScore().comboProperty().get() > 1) {
+            if (board.getScore().getCombo() > 1) {
                 board.getScore().add(baseScore);
             }
+            if (versusLink != null) {
+                versusLink.send(AttackTable.attack(clearRow.getLinesRemoved(), board.getScore().getCombo()),
+                        tickScheduler.getTickCount());
+            }
         } else {
             board.getScore().resetCombo();
         }
     }
 
-    private void restartLockDelayIfGrounded() {
-        if (board.isBrickGrounded()) {
-            lockStartTime = System.currentTimeMillis();
-        } else {
-            lockStartTime = null;
+    // inputs are recorded before they are applied, so an input that ends the game comes before GAME_OVER
+    private void record(ReplayEvent event) {
+        if (recorder != null) {
+            recorder.record(event, tickScheduler.getTickCount());
+        }
+    }
+
+    private void record(ReplayEvent event, int argument) {
+        if (recorder != null) {
+            recorder.record(event, tickScheduler.getTickCount(), argument);
         }
     }
+
+    private void restartLockDelayIfGrounded() {
+        // an airborne piece has no running lock delay, so resetting is the same either way
+        tickScheduler.resetLockDelay();
+    }
 }
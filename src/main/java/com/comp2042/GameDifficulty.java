@@ -1,17 +1,36 @@
 package com.comp2042;
 
+import com.comp2042.logic.bricks.RandomizerType;
+
 public enum GameDifficulty {
-    EASY(800),      // 800ms per drop - slowest
-    MEDIUM(400),    // 400ms per drop - medium speed
-    HARD(200);      // 200ms per drop - fastest
+    EASY(800, RandomizerType.SEVEN_BAG),      // 800ms per drop - slowest
+    MEDIUM(400, RandomizerType.SEVEN_BAG),    // 400ms per drop - medium speed
+    HARD(200, RandomizerType.HISTORY),        // 200ms per drop - fastest, no bag to count on
+    INSTANT(0, RandomizerType.HISTORY);       // 20G - pieces land the tick they appear, only the lock delay is left
 
     private final int dropDelayMillis;
+    private final RandomizerType randomizer;
 
-    GameDifficulty(int dropDelayMillis) {
+    GameDifficulty(int dropDelayMillis, RandomizerType randomizer) {
         this.dropDelayMillis = dropDelayMillis;
+        this.randomizer = randomizer;
     }
 
     public int getDropDelayMillis() {
         return dropDelayMillis;
     }
+
+    /**
+     * True for 20G: every tick puts the piece on its landing row instead of moving it one row down.
+     */
+    public boolean isInstantGravity() {
+        return dropDelayMillis == 0;
+    }
+
+    /**
+     * Which piece randomizer games on this difficulty deal from.
+     */
+    public RandomizerType getRandomizer() {
+        return randomizer;
+    }
 }
@@ -0,0 +1,11 @@
+package com.comp2042;
+
+/**
+ * Which menu entry a game was started from. Scores are kept per mode and difficulty.
+ * The ordinal is stored in the score log, so new modes go at the end.
+ */
+public enum GameMode {
+    BASIC,
+    VERSUS,
+    DIG
+}
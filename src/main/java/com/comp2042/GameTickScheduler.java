@@ -0,0 +1,257 @@
+package com.comp2042;
+
+/**
+ * Fixed-timestep clock for the game logic. Gravity, lock delay and auto-repeat (DAS/ARR) are all
+ * counted in logical ticks instead of wall-clock millis, so the outcome only depends on how many
+ * ticks ran, not on when frames happened to be drawn.
+ *
+ * The GUI feeds it {@code System.nanoTime()} stamps from an AnimationTimer via {@link #advance(long)};
+ * anything without a screen (bots, replays) can call {@link #runTicks(int)} as fast as it likes.
+ */
+public class GameTickScheduler {
+
+    public static final int TICKS_PER_SECOND = 60;
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    // 30 ticks = 500ms, the same lock delay GameController used to measure with currentTimeMillis
+    public static final int LOCK_DELAY_TICKS = 30;
+    // delayed auto shift: how long a direction is held before it starts repeating, then one shift every ARR ticks
+    public static final int DAS_TICKS = 10;
+    public static final int ARR_TICKS = 2;
+
+    // after a stall (window drag, GC pause) drop the backlog instead of replaying seconds of gravity at once
+    private static final int MAX_CATCH_UP_TICKS = 10;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * The game-side operations the scheduler drives. Implemented by GameController.
+     */
+    public interface Engine {
+
+        /** Moves the piece down one row; returns false if it is resting on something. */
+        boolean gravityStep();
+
+        /** Moves the piece straight to its landing row; returns false if it was already there. */
+        boolean dropToBottom();
+
+        /** Shifts the piece one column (-1 left, +1 right); returns true if it moved. */
+        boolean shift(int direction);
+
+        boolean isPieceGrounded();
+
+        /** Locks the piece in place and spawns the next one. */
+        void lockPiece();
+
+        /**
+         * Runs whatever else happens on a timer (e.g. rising garbage) after gravity and locking.
+         * Returns true if it changed the board or piece.
+         */
+        boolean afterTick();
+    }
+
+    private final Engine engine;
+    private int gravityTicks;
+    // 20G: the piece is put on its landing row every tick instead of falling row by row
+    private boolean instantGravity;
+    private int gravityCounter;
+    private int lockCounter;
+    private int heldDirection;
+    private int heldTicks;
+    private long tickCount;
+    private boolean stopped;
+    private boolean stateChanged;
+
+    private long lastTimestamp = NO_TIMESTAMP;
+    private long accumulator;
+    private ReplayRecorder recorder;
+
+    public GameTickScheduler(Engine engine, GameDifficulty difficulty) {
+        this.engine = engine;
+        setGravity(difficulty);
+    }
+
+    /**
+     * Runs however many whole ticks fit into the time since the previous call.
+     * @return the number of ticks executed
+     */
+    public int advance(long nowNanos) {
+        if (lastTimestamp == NO_TIMESTAMP) {
+            lastTimestamp = nowNanos;
+            return 0;
+        }
+        accumulator += nowNanos - lastTimestamp;
+        lastTimestamp = nowNanos;
+
+        int ticks = 0;
+        while (accumulator >= TICK_NANOS && !stopped) {
+            accumulator -= TICK_NANOS;
+            tick();
+            ticks++;
+            if (ticks == MAX_CATCH_UP_TICKS) {
+                accumulator = 0;
+                break;
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * Runs ticks back to back without looking at the clock, e.g. for headless simulation.
+     */
+    public void runTicks(int count) {
+        for (int i = 0; i < count && !stopped; i++) {
+            tick();
+        }
+    }
+
+    private void tick() {
+        tickCount++;
+
+        if (heldDirection != 0) {
+            heldTicks++;
+            if (heldTicks >= DAS_TICKS && (heldTicks - DAS_TICKS) % ARR_TICKS == 0) {
+                shift(heldDirection);
+            }
+        }
+
+        if (instantGravity) {
+            if (engine.dropToBottom()) {
+                stateChanged = true;
+            }
+        } else if (++gravityCounter >= gravityTicks) {
+            gravityCounter = 0;
+            if (engine.gravityStep()) {
+                stateChanged = true;
+            }
+        }
+
+        if (engine.isPieceGrounded()) {
+            if (++lockCounter >= LOCK_DELAY_TICKS) {
+                engine.lockPiece();
+                onPieceLocked();
+                stateChanged = true;
+            }
+        } else {
+            lockCounter = 0;
+        }
+
+        if (engine.afterTick()) {
+            stateChanged = true;
+        }
+    }
+
+    private void shift(int direction) {
+        if (engine.shift(direction)) {
+            lockCounter = 0;
+            stateChanged = true;
+        }
+    }
+
+    /**
+     * A direction key went down. Shifts once right away and starts the DAS countdown;
+     * repeated presses from OS key auto-repeat are ignored.
+     */
+    public void pressShift(int direction) {
+        if (heldDirection == direction) {
+            return;
+        }
+        record(direction < 0 ? ReplayEvent.PRESS_LEFT : ReplayEvent.PRESS_RIGHT, 0);
+        heldDirection = direction;
+        heldTicks = 0;
+        shift(direction);
+    }
+
+    public void releaseShift(int direction) {
+        if (heldDirection == direction) {
+            record(direction < 0 ? ReplayEvent.RELEASE_LEFT : ReplayEvent.RELEASE_RIGHT, 0);
+            heldDirection = 0;
+            heldTicks = 0;
+        }
+    }
+
+    /**
+     * Called when a successful move or rotation should give the piece a fresh lock delay.
+     */
+    public void resetLockDelay() {
+        lockCounter = 0;
+    }
+
+    /**
+     * Called after a piece was locked outside of a tick (hard drop, hold) so the new one starts clean.
+     */
+    public void onPieceLocked() {
+        lockCounter = 0;
+        gravityCounter = 0;
+    }
+
+    public void setGravity(GameDifficulty difficulty) {
+        record(ReplayEvent.GRAVITY, difficulty.ordinal());
+        gravityTicks = Math.max(1, Math.round(difficulty.getDropDelayMillis() * TICKS_PER_SECOND / 1000f));
+        instantGravity = difficulty.isInstantGravity();
+        gravityCounter = Math.min(gravityCounter, gravityTicks - 1);
+    }
+
+    public int getGravityTicks() {
+        return gravityTicks;
+    }
+
+    /**
+     * Forgets the previous timestamp, e.g. after a pause, so the paused time is not replayed.
+     */
+    public void resetClock() {
+        lastTimestamp = NO_TIMESTAMP;
+        accumulator = 0;
+    }
+
+    /**
+     * Clears all counters for a new game and lets ticks run again after {@link #stop()}.
+     */
+    public void reset() {
+        gravityCounter = 0;
+        lockCounter = 0;
+        heldDirection = 0;
+        heldTicks = 0;
+        tickCount = 0;
+        stopped = false;
+        stateChanged = true;
+        resetClock();
+    }
+
+    /**
+     * No more ticks run until {@link #reset()}; used on game over.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Records DAS presses/releases and gravity changes, the inputs that reach the scheduler
+     * directly instead of going through GameController. Null stops recording.
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    private void record(ReplayEvent event, int argument) {
+        if (recorder != null) {
+            recorder.record(event, tickCount, argument);
+        }
+    }
+
+    /**
+     * Returns whether any tick or shift changed the piece or board since the last call, and clears the flag.
+     */
+    public boolean pollStateChanged() {
+        boolean changed = stateChanged;
+        stateChanged = false;
+        return changed;
+    }
+}
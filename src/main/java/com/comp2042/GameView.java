@@ -0,0 +1,35 @@
+package com.comp2042;
+
+/**
+ * Everything GameController tells its view about. GuiController is the JavaFX implementation;
+ * NullGameView ignores all of it so games can run headless (see HeadlessRunner).
+ */
+public interface GameView {
+
+    void setEventListener(InputEventListener eventListener);
+
+    void setTickScheduler(GameTickScheduler tickScheduler);
+
+    void initGameView(int[][] boardMatrix, ViewData brick, GameDifficulty difficulty);
+
+    /**
+     * Hook the score and lines display up to the game's Score.
+     */
+    void bindScore(Score score);
+
+    void showNextShape(ViewData nextBrick);
+
+    void updateHoldDisplay(ViewData holdBrick);
+
+    void refreshGameBackground(int[][] board);
+
+    void refreshChangedCells(BoardChangeSet changes);
+
+    void showLineClearPopup(ClearRow clearRow);
+
+    void playLineClearSound();
+
+    void updatePauseState(boolean paused);
+
+    void gameOver();
+}
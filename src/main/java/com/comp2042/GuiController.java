@@ -1,10 +1,9 @@
 package com.comp2042;
 
-import javafx.animation.KeyFrame;
+import javafx.animation.AnimationTimer;
 import javafx.animation.FadeTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.TranslateTransition;
-import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
@@ -14,12 +13,12 @@ import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.effect.Reflection;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
-import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
@@ -40,10 +39,11 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.binding.DoubleBinding;
 
 import java.net.URL;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ResourceBundle;
 
-public class GuiController implements Initializable {
+public class GuiController implements Initializable, GameView, ScreenLifecycle {
 
     private static final int BRICK_SIZE = 20;
     private static final int VISIBLE_ROW_OFFSET = 0;
@@ -57,15 +57,32 @@ public class GuiController implements Initializable {
     @FXML private StackPane holdBlockBox;
     @FXML private GridPane nextShapePanel;
     @FXML private GridPane holdShapePanel;
-    @FXML private GridPane ghostPanel;
+    @FXML private Pane ghostPanel;
     @FXML private Label scoreLabel;
     @FXML private Label linesLabel;
 
 
     private Rectangle[][] displayMatrix;
     private Rectangle[][] rectangles;
+    // Canvas backend (see RenderMode); null when the Rectangle grid is used
+    private final RenderMode renderMode = RenderMode.current();
+    private CanvasBoardRenderer canvasRenderer;
+    private Canvas nextPreviewCanvas;
+    private Canvas holdPreviewCanvas;
+    // Last color written to each displayMatrix / brick rectangle, so refreshes only touch changed nodes
+    private int[][] renderedBoard;
+    private int[][] renderedBrick;
+    // Fixed set of ghost cells, moved around with translate instead of being recreated on every input
+    private static final int GHOST_POOL_SIZE = 4;
+    private static final Color GHOST_FILL = Color.web("#FFFFFF", 0.22); // translucent shadow
+    private final Rectangle[] ghostCells = new Rectangle[GHOST_POOL_SIZE];
+    private int nodeUpdatesThisFrame;
+    private int nodeUpdatesLastFrame;
+    private long totalNodeUpdates;
     private InputEventListener eventListener;
-    private Timeline timeLine;
+    private GameTickScheduler tickScheduler;
+    // drives the scheduler with frame timestamps and redraws when a tick changed something
+    private AnimationTimer gameLoop;
     // pixel origin of the top-left cell inside the gamePanel (accounts for padding/border)
     private double gridOriginX = 0;
     private double gridOriginY = 0;
@@ -75,6 +92,9 @@ public class GuiController implements Initializable {
     private StackPane pauseMenuRoot;
     private PauseMenuController pauseMenuController;
     private GameDifficulty currentDifficulty;
+    // which leaderboard game-over scores go to
+    private GameMode gameMode = GameMode.BASIC;
+    private String playerName = "";
 
     private double getCellHeight() { return BRICK_SIZE + gamePanel.getVgap(); }
     private double getCellWidth()  { return BRICK_SIZE + gamePanel.getHgap(); }
@@ -85,11 +105,6 @@ public class GuiController implements Initializable {
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // load font (if available)
-        try {
-            Font.loadFont(getClass().getClassLoader().getResource("digital.ttf").toExternalForm(), 38);
-        } catch (Exception ignored) {}
-
         gamePanel.setFocusTraversable(true);
         gamePanel.requestFocus();
 
@@ -102,9 +117,24 @@ public class GuiController implements Initializable {
                 handleKeyInput(keyEvent);
             }
         });
+        gamePanel.setOnKeyReleased(new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent keyEvent) {
+                handleKeyRelease(keyEvent);
+            }
+        });
 
         gameOverPanel.setVisible(false);
 
+        if (renderMode == RenderMode.CANVAS) {
+            // previews can be shown before initGameView, so their canvases must exist up front
+            double previewSize = 4 * (BRICK_SIZE + nextShapePanel.getHgap());
+            nextPreviewCanvas = new Canvas(previewSize, previewSize);
+            holdPreviewCanvas = new Canvas(previewSize, previewSize);
+            nextShapePanel.getChildren().setAll(nextPreviewCanvas);
+            holdShapePanel.getChildren().setAll(holdPreviewCanvas);
+        }
+
         final Reflection reflection = new Reflection();
         reflection.setFraction(0.8);
         reflection.setTopOpacity(0.9);
@@ -113,6 +143,7 @@ public class GuiController implements Initializable {
         // When scene is attached, add resize listeners to recenter
         gamePanel.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
+                newScene.addPostLayoutPulseListener(this::endFrame);
                 newScene.widthProperty().addListener((o, oldW, newW) -> centerGamePanel());
                 newScene.heightProperty().addListener((o, oldH, newH) -> centerGamePanel());
                 // bind scaling of the entire gameCanvas so UI scales when window is resized
@@ -147,11 +178,36 @@ public class GuiController implements Initializable {
         refreshBrick(eventListener.onRightEvent(new MoveEvent(EventType.RIGHT, EventSource.USER)));
     }
 
+    /**
+     * Start holding a direction (-1 left, +1 right): shifts once now, then auto-repeats from the tick scheduler.
+     */
+    public void pressShift(int direction) {
+        if (!canAcceptInput() || tickScheduler == null) return;
+        tickScheduler.pressShift(direction);
+        refreshIfTicked();
+    }
+
+    public void releaseShift(int direction) {
+        if (tickScheduler != null) {
+            tickScheduler.releaseShift(direction);
+        }
+    }
+
     public void rotate() {
         if (!canAcceptInput()) return;
         refreshBrick(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER)));
     }
 
+    public void rotateRight() {
+        if (!canAcceptInput()) return;
+        refreshBrick(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE_RIGHT, EventSource.USER)));
+    }
+
+    public void rotate180() {
+        if (!canAcceptInput()) return;
+        refreshBrick(eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE_180, EventSource.USER)));
+    }
+
     public void softDrop() {
         if (!canAcceptInput()) return;
         moveDown(new MoveEvent(EventType.DOWN, EventSource.USER));
@@ -177,9 +233,7 @@ public class GuiController implements Initializable {
     }
 
     public void showVictory() {
-        if (timeLine != null) {
-            try { timeLine.stop(); } catch (Exception ignored) {}
-        }
+        stopGameLoop();
         gameOverPanel.showVictory();
         isGameOver.setValue(Boolean.TRUE);
     }
@@ -195,14 +249,21 @@ public class GuiController implements Initializable {
     private void handleKeyInput(KeyEvent keyEvent) {
         if (canAcceptInput()) {
             if (keyEvent.getCode() == KeyCode.LEFT || keyEvent.getCode() == KeyCode.A) {
-                moveLeft();
+                pressShift(-1);
                 keyEvent.consume();
             } else if (keyEvent.getCode() == KeyCode.RIGHT || keyEvent.getCode() == KeyCode.D) {
-                moveRight();
+                pressShift(1);
                 keyEvent.consume();
-            } else if (keyEvent.getCode() == KeyCode.UP || keyEvent.getCode() == KeyCode.W) {
+            } else if (keyEvent.getCode() == KeyCode.UP || keyEvent.getCode() == KeyCode.W
+                    || keyEvent.getCode() == KeyCode.Z) {
                 rotate();
                 keyEvent.consume();
+            } else if (keyEvent.getCode() == KeyCode.X) {
+                rotateRight();
+                keyEvent.consume();
+            } else if (keyEvent.getCode() == KeyCode.C) {
+                rotate180();
+                keyEvent.consume();
             } else if (keyEvent.getCode() == KeyCode.DOWN || keyEvent.getCode() == KeyCode.S) {
                 softDrop();
                 keyEvent.consume();
@@ -224,11 +285,20 @@ public class GuiController implements Initializable {
         }
     }
 
+    private void handleKeyRelease(KeyEvent keyEvent) {
+        if (keyEvent.getCode() == KeyCode.LEFT || keyEvent.getCode() == KeyCode.A) {
+            releaseShift(-1);
+        } else if (keyEvent.getCode() == KeyCode.RIGHT || keyEvent.getCode() == KeyCode.D) {
+            releaseShift(1);
+        }
+    }
+
     /**
      * Initialize the visible grid and the brick rectangles.
      * boardMatrix: full logical board (including hidden rows)
      * brick: current ViewData (brick shape + position)
      */
+    @Override
     public void initGameView(int[][] boardMatrix, ViewData brick, GameDifficulty difficulty) {
         this.currentDifficulty = difficulty;
         // set the preferred size of gamePanel (so centering works)
@@ -239,44 +309,54 @@ public class GuiController implements Initializable {
 
         // Center the gamePanel in the window
 
+        if (renderMode == RenderMode.CANVAS) {
+            initCanvasView(boardMatrix, brick);
+            return;
+        }
+
         // create displayMatrix ONCE and fill visible rows only
         displayMatrix = new Rectangle[boardMatrix.length][boardMatrix[0].length];
+        renderedBoard = new int[boardMatrix.length][boardMatrix[0].length];
         for (int i = VISIBLE_ROW_OFFSET; i < boardMatrix.length; i++) {
             for (int j = 0; j < boardMatrix[i].length; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
                 rectangle.setFill(Color.TRANSPARENT);
+                rectangle.setArcHeight(9);
+                rectangle.setArcWidth(9);
                 displayMatrix[i][j] = rectangle;
                 gamePanel.add(rectangle, j, i - VISIBLE_ROW_OFFSET);
             }
         }
 
         // create rectangles for the current falling brick
-        rectangles = new Rectangle[brick.getBrickData().length][brick.getBrickData()[0].length];
-        for (int i = 0; i < brick.getBrickData().length; i++) {
-            for (int j = 0; j < brick.getBrickData()[i].length; j++) {
+        int[][] brickData = brick.getBrickData();
+        rectangles = new Rectangle[brickData.length][brickData[0].length];
+        renderedBrick = brickData;
+        for (int i = 0; i < brickData.length; i++) {
+            for (int j = 0; j < brickData[i].length; j++) {
                 Rectangle rectangle = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                rectangle.setFill(getFillColor(brick.getBrickData()[i][j]));
+                rectangle.setFill(getFillColor(brickData[i][j]));
+                rectangle.setArcHeight(9);
+                rectangle.setArcWidth(9);
                 rectangles[i][j] = rectangle;
                 brickPanel.add(rectangle, j, i);
             }
         }
 
-        // Initialize ghostPanel with the same grid size as gamePanel
+        // the ghost pool is created once; refreshGhost only moves and shows/hides these
         ghostPanel.getChildren().clear();
-        ghostPanel.getColumnConstraints().clear();
-        ghostPanel.getRowConstraints().clear();
-
-        for (int col = 0; col < boardMatrix[0].length; col++) {
-            ghostPanel.getColumnConstraints().add(new ColumnConstraints(BRICK_SIZE));
-        }
-
-        for (int row = 0; row < boardMatrix.length - VISIBLE_ROW_OFFSET; row++) {
-            ghostPanel.getRowConstraints().add(new RowConstraints(BRICK_SIZE));
+        for (int i = 0; i < GHOST_POOL_SIZE; i++) {
+            Rectangle rect = new Rectangle(BRICK_SIZE, BRICK_SIZE);
+            rect.setFill(GHOST_FILL);
+            rect.setArcHeight(6);
+            rect.setArcWidth(6);
+            rect.setVisible(false);
+            ghostCells[i] = rect;
+            ghostPanel.getChildren().add(rect);
         }
 
 
-        // start timeline
-        createTimeline(difficulty.getDropDelayMillis());
+        startGameLoop();
 
         // center and align brick after layout pass
         Platform.runLater(() -> {
@@ -301,7 +381,34 @@ public class GuiController implements Initializable {
         });
     }
 
-    private Paint getFillColor(int i) {
+    private void initCanvasView(int[][] boardMatrix, ViewData brick) {
+        int visibleRows = getVisibleRowCount(boardMatrix);
+        canvasRenderer = new CanvasBoardRenderer(visibleRows, boardMatrix[0].length, BRICK_SIZE, gamePanel.getHgap());
+        // sits right above the (now empty) gamePanel so its background and border still show
+        gameCanvas.getChildren().add(gameCanvas.getChildren().indexOf(gamePanel) + 1, canvasRenderer.getCanvas());
+        ghostPanel.setVisible(false);
+        brickPanel.setVisible(false);
+
+        startGameLoop();
+
+        Platform.runLater(() -> {
+            gridOriginX = gamePanel.snappedLeftInset();
+            gridOriginY = gamePanel.snappedTopInset();
+            Canvas canvas = canvasRenderer.getCanvas();
+            canvas.setLayoutX(gamePanel.getLayoutX() + gridOriginX);
+            canvas.setLayoutY(gamePanel.getLayoutY() + gridOriginY);
+            // the empty GridPane no longer sizes itself from cells, so reserve room for the canvas
+            gamePanel.setMinWidth(gridOriginX + canvas.getWidth() + gamePanel.snappedRightInset());
+            gamePanel.setMinHeight(gridOriginY + canvas.getHeight() + gamePanel.snappedBottomInset());
+
+            refreshGameBackground(boardMatrix);
+            centerGamePanel();
+            refreshBrick(brick);
+            gamePanel.requestFocus();
+        });
+    }
+
+    static Paint getFillColor(int i) {
         switch (i) {
             case 0: return Color.TRANSPARENT;
             case 1: return Color.AQUA;
@@ -311,11 +418,21 @@ public class GuiController implements Initializable {
             case 5: return Color.RED;
             case 6: return Color.BEIGE;
             case 7: return Color.BURLYWOOD;
+            case Board.GARBAGE_COLOR: return Color.DIMGRAY;
             default: return Color.WHITE;
         }
     }
 
     private void refreshBrick(ViewData brick) {
+        if (!isPause.getValue() && canvasRenderer != null) {
+            int[][] shape = brick.getBrickData();
+            PointInt ghost = brick.getGhostPosition();
+            int ghostY = ghost != null ? ghost.getY() : brick.getyPosition();
+            canvasRenderer.setActivePiece(shape, brick.getxPosition(), brick.getyPosition() - VISIBLE_ROW_OFFSET,
+                    ghostY - VISIBLE_ROW_OFFSET);
+            countNodeUpdates(canvasRenderer.render());
+            return;
+        }
         if (!isPause.getValue()) {
             double cellW = getCellWidth();
             double cellH = getCellHeight();
@@ -324,33 +441,100 @@ public class GuiController implements Initializable {
                 brickPanel.setLayoutX(gridOriginX + brick.getxPosition() * cellW);
                 brickPanel.setLayoutY(gridOriginY + (brick.getyPosition() - VISIBLE_ROW_OFFSET) * cellH);
 
-            for (int i = 0; i < brick.getBrickData().length; i++) {
-                for (int j = 0; j < brick.getBrickData()[i].length; j++) {
-                    setRectangleData(brick.getBrickData()[i][j], rectangles[i][j]);
+            int[][] brickData = brick.getBrickData();
+            int updated = 0;
+            for (int i = 0; i < brickData.length; i++) {
+                for (int j = 0; j < brickData[i].length; j++) {
+                    if (setRectangleData(brickData[i][j], renderedBrick, rectangles, i, j)) {
+                        updated++;
+                    }
                 }
             }
+            countNodeUpdates(updated);
 
             // at end of refreshBrick (after updating brickPanel and rectangles)
-            refreshGhost(brick, eventListener.getBoardMatrix());
+            refreshGhost(brick, brickData);
 
             
         }
     }
 
 
+    @Override
     public void refreshGameBackground(int[][] board) {
-        // update visible rows only
+        if (canvasRenderer != null) {
+            int[][] visible = VISIBLE_ROW_OFFSET == 0 ? board
+                    : Arrays.copyOfRange(board, VISIBLE_ROW_OFFSET, board.length);
+            canvasRenderer.setBackground(visible);
+            countNodeUpdates(canvasRenderer.render());
+            return;
+        }
+        // update visible rows only, and only the cells whose color changed
+        int updated = 0;
         for (int i = VISIBLE_ROW_OFFSET; i < board.length; i++) {
             for (int j = 0; j < board[i].length; j++) {
-                setRectangleData(board[i][j], displayMatrix[i][j]);
+                if (setRectangleData(board[i][j], renderedBoard, displayMatrix, i, j)) {
+                    updated++;
+                }
             }
         }
+        countNodeUpdates(updated);
+    }
+
+    /**
+     * Applies a lock that cleared no rows: only the merged cells can have changed.
+     */
+    @Override
+    public void refreshChangedCells(BoardChangeSet changes) {
+        int updated = 0;
+        for (int i = 0; i < changes.getCellCount(); i++) {
+            int row = changes.getCellRow(i);
+            int col = changes.getCellCol(i);
+            if (row < VISIBLE_ROW_OFFSET) {
+                continue;
+            }
+            if (canvasRenderer != null) {
+                canvasRenderer.setCell(row - VISIBLE_ROW_OFFSET, col, changes.getCellColor(i));
+            } else if (setRectangleData(changes.getCellColor(i), renderedBoard, displayMatrix, row, col)) {
+                updated++;
+            }
+        }
+        if (canvasRenderer != null) {
+            updated = canvasRenderer.render();
+        }
+        countNodeUpdates(updated);
+    }
+
+    /**
+     * Number of rectangles (or canvas cells) repainted during the most recent frame that changed anything.
+     */
+    public int getNodeUpdatesLastFrame() {
+        return nodeUpdatesLastFrame;
+    }
+
+    public long getTotalNodeUpdates() {
+        return totalNodeUpdates;
+    }
+
+    private boolean setRectangleData(int color, int[][] rendered, Rectangle[][] nodes, int row, int col) {
+        if (rendered[row][col] == color) {
+            return false;
+        }
+        rendered[row][col] = color;
+        nodes[row][col].setFill(getFillColor(color));
+        return true;
     }
 
-    private void setRectangleData(int color, Rectangle rectangle) {
-        rectangle.setFill(getFillColor(color));
-        rectangle.setArcHeight(9);
-        rectangle.setArcWidth(9);
+    private void countNodeUpdates(int updated) {
+        nodeUpdatesThisFrame += updated;
+        totalNodeUpdates += updated;
+    }
+
+    private void endFrame() {
+        if (nodeUpdatesThisFrame > 0) {
+            nodeUpdatesLastFrame = nodeUpdatesThisFrame;
+            nodeUpdatesThisFrame = 0;
+        }
     }
 
     private void moveDown(MoveEvent event) {
@@ -382,6 +566,7 @@ public class GuiController implements Initializable {
         return "Combo! +" + score;
     }
 
+    @Override
     public void showLineClearPopup(ClearRow clearRow) {
         if (clearRow == null || clearRow.getLinesRemoved() == 0) {
             return;
@@ -433,10 +618,22 @@ public class GuiController implements Initializable {
         animation.play();
     }
 
+    @Override
+    public void setTickScheduler(GameTickScheduler tickScheduler) {
+        this.tickScheduler = tickScheduler;
+    }
+
+    @Override
     public void setEventListener(InputEventListener eventListener) {
         this.eventListener = eventListener;
     }
 
+    @Override
+    public void bindScore(Score score) {
+        bindScore(score.scoreProperty());
+        bindLinesCleared(score.linesClearedProperty());
+    }
+
     public void bindScore(IntegerProperty scoreProperty) {
         // Bind the provided score property to the score label in the side panel (if present)
         if (scoreLabel != null) {
@@ -464,7 +661,12 @@ public class GuiController implements Initializable {
         }
     }
 
+    @Override
     public void showNextShape(ViewData nextBrick) {
+        if (nextPreviewCanvas != null) {
+            CanvasBoardRenderer.drawPreview(nextPreviewCanvas, nextBrick.getBrickData(), BRICK_SIZE, nextShapePanel.getHgap());
+            return;
+        }
         nextShapePanel.getChildren().clear();
 
         int[][] shape = nextBrick.getBrickData();
@@ -482,6 +684,11 @@ public class GuiController implements Initializable {
     }
 
     public void showHoldShape(ViewData holdBrick) {
+        if (holdPreviewCanvas != null) {
+            CanvasBoardRenderer.drawPreview(holdPreviewCanvas, holdBrick == null ? null : holdBrick.getBrickData(),
+                    BRICK_SIZE, holdShapePanel.getHgap());
+            return;
+        }
         holdShapePanel.getChildren().clear();
 
         if (holdBrick == null) return;
@@ -500,7 +707,12 @@ public class GuiController implements Initializable {
         }
     }
 
+    @Override
     public void updateHoldDisplay(ViewData holdBrick) {
+        if (holdPreviewCanvas != null) {
+            showHoldShape(holdBrick);
+            return;
+        }
         // Use the inner GridPane so the preview is centered and aligned like the "next" preview
         holdShapePanel.getChildren().clear(); // clear previous
         if (holdBrick == null) return;
@@ -521,46 +733,68 @@ public class GuiController implements Initializable {
 
 
 
+    @Override
+    public void playLineClearSound() {
+        SoundManager.playLineClearSound();
+    }
+
+    @Override
     public void gameOver() {
-        timeLine.stop();
+        stopGameLoop();
         gameOverPanel.setVisible(true);
         isGameOver.setValue(Boolean.TRUE);
 
         SoundManager.stopBackgroundMusic();
         SoundManager.playGameOverSound();
         
-        // Save the final score to high score manager
-        HighScoreManager highScoreManager = new HighScoreManager();
-        int finalScore = eventListener.getScore().scoreProperty().get();
-        boolean isNewHighScore = highScoreManager.addScore(finalScore);
-
-        if (isNewHighScore) {
-            gameOverPanel.showNewHighScore();
-        } else {
-            gameOverPanel.hideNewHighScore();
+        // Save the final score in the background; the label shows up once it has been written
+        gameOverPanel.hideNewHighScore();
+        HighScoreManager highScoreManager = new HighScoreManager(gameMode, currentDifficulty);
+        Score finalScore = eventListener.getScore();
+        highScoreManager.addScoreAsync(playerName, finalScore.getScore(), finalScore.getLinesCleared())
+                .thenAcceptAsync(isNewHighScore -> {
+                    // the player may already have started another game
+                    if (isNewHighScore && isGameOver.getValue()) {
+                        gameOverPanel.showNewHighScore();
+                    }
+                }, Platform::runLater)
+                .exceptionally(e -> {
+                    System.err.println("Error saving score: " + e.getMessage());
+                    return null;
+                });
+    }
+
+
+    private void startGameLoop() {
+        if (gameLoop == null) {
+            gameLoop = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    // the scheduler decides how many fixed ticks are due; we only draw the result
+                    tickScheduler.advance(now);
+                    refreshIfTicked();
+                }
+            };
         }
+        // don't count time spent paused or in menus as elapsed game time
+        tickScheduler.resetClock();
+        gameLoop.start();
     }
 
-
-    private void createTimeline(int delayMillis) {
-        if (timeLine != null) {
-            try { timeLine.stop(); } catch (Exception ignored) {}
+    private void refreshIfTicked() {
+        if (tickScheduler.pollStateChanged()) {
+            refreshBrick(eventListener.getViewData());
         }
-        timeLine = new Timeline(new KeyFrame(Duration.millis(delayMillis),
-                ae -> moveDown(new MoveEvent(EventType.DOWN, EventSource.THREAD))
-        ));
-        timeLine.setCycleCount(Timeline.INDEFINITE);
-        timeLine.play();
     }
 
     public void newGame(ActionEvent actionEvent) {
-        timeLine.stop();
+        stopGameLoop();
         gameOverPanel.setVisible(false);
         eventListener.createNewGame();
         gamePanel.requestFocus();
         // Restart background music when starting a new game
         SoundManager.playBackgroundMusic();
-        timeLine.play();
+        startGameLoop();
         isPause.setValue(Boolean.FALSE);
         isGameOver.setValue(Boolean.FALSE);
         gameOverPanel.hideNewHighScore();
@@ -571,6 +805,7 @@ public class GuiController implements Initializable {
         gamePanel.requestFocus();
     }
 
+    @Override
     public void updatePauseState(boolean paused) {
         if (paused) {
             if (pauseMenuRoot == null) {
@@ -589,12 +824,12 @@ public class GuiController implements Initializable {
                 groupNotification.getChildren().add(pauseMenuRoot);
             }
 
-            timeLine.pause();
+            stopGameLoop();
             isPause.set(true);
 
         } else {
             groupNotification.getChildren().remove(pauseMenuRoot);
-            timeLine.play();
+            startGameLoop();
             isPause.set(false);
         }
 
@@ -602,19 +837,43 @@ public class GuiController implements Initializable {
     }
 
     public void stopGameLoop() {
-        if (timeLine != null) {
-            try {
-                timeLine.stop();
-            } catch (Exception ignored) {}
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+    }
+
+    @Override
+    public void onShow() {
+        gamePanel.requestFocus();
+    }
+
+    /**
+     * Stops this board for good. Called by SceneNavigator (or VersusController) when its screen is
+     * left, so the AnimationTimer doesn't keep the old game alive and ticking.
+     */
+    @Override
+    public void dispose() {
+        stopGameLoop();
+        if (eventListener != null) {
+            eventListener.dispose();
         }
     }
 
+    public void setGameMode(GameMode gameMode) {
+        this.gameMode = gameMode;
+    }
+
+    /**
+     * Name the game-over score is filed under; empty for anonymous.
+     */
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
     public void changeGameDifficulty(GameDifficulty difficulty) {
         this.currentDifficulty = difficulty;
-        createTimeline(difficulty.getDropDelayMillis());
-        if (isPause.get()) {
-            timeLine.pause(); // respect paused state when difficulty is changed mid-game
-        }
+        // only the gravity interval changes; the loop keeps running (or stays paused)
+        tickScheduler.setGravity(difficulty);
     }
 
 
@@ -640,55 +899,37 @@ public class GuiController implements Initializable {
 
 
     /**
-     * Draw ghost of current falling brick.
-     * ghost X = brick.getxPosition()
-     * ghost Y = maximum drop before collision
-     *
-     * We add rectangles to ghostPanel at board grid coords (col = j + ghostX, row = i + ghostY - VISIBLE_ROW_OFFSET).
+     * Draw ghost of current falling brick at the landing position the board already computed
+     * (ViewData.getGhostPosition). Reuses the pooled rectangles and only changes their translate.
      */
-    private void refreshGhost(ViewData brick, int[][] boardMatrix) {
-        // defensive
-        if (brick == null || boardMatrix == null) {
-            ghostPanel.getChildren().clear();
-            return;
-        }
-
-        int[][] shape = brick.getBrickData();
-        if (shape == null) {
-            ghostPanel.getChildren().clear();
-            return;
-        }
-
-        // start from falling block's X and Y (ghost must follow X exactly)
-        final int ghostX = brick.getxPosition();
-        int ghostY = brick.getyPosition();
-
-        // compute landing Y: increment while placing at (ghostX, ghostY+1) does NOT intersect
-        while (!MatrixOperations.intersect(boardMatrix, shape, ghostX, ghostY + 1)) {
-            ghostY++;
-        }
-
-        // clear previous ghost and draw new ghost directly on the same board grid
-        ghostPanel.getChildren().clear();
-
-        for (int i = 0; i < shape.length; i++) {
-            for (int j = 0; j < shape[i].length; j++) {
-                if (shape[i][j] != 0) {
-                    int boardCol = j + ghostX;
-                    int boardRow = i + ghostY - VISIBLE_ROW_OFFSET;
-                    
+    private void refreshGhost(ViewData brick, int[][] shape) {
+        PointInt ghost = brick.getGhostPosition();
+        int used = 0;
+        if (ghost != null && displayMatrix != null) {
+            int rows = displayMatrix.length - VISIBLE_ROW_OFFSET;
+            int cols = displayMatrix[0].length;
+            double cellW = getCellWidth();
+            double cellH = getCellHeight();
+            for (int i = 0; i < shape.length && used < GHOST_POOL_SIZE; i++) {
+                for (int j = 0; j < shape[i].length && used < GHOST_POOL_SIZE; j++) {
+                    if (shape[i][j] == 0) {
+                        continue;
+                    }
+                    int boardCol = j + ghost.getX();
+                    int boardRow = i + ghost.getY() - VISIBLE_ROW_OFFSET;
                     // Only draw the ghost block if it's within visible bounds
-                    if (boardCol >= 0 && boardCol < boardMatrix[0].length && 
-                        boardRow >= 0 && boardRow < boardMatrix.length - VISIBLE_ROW_OFFSET) {
-                        Rectangle rect = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                        rect.setFill(Color.web("#FFFFFF", 0.22)); // translucent shadow
-                        rect.setArcHeight(6);
-                        rect.setArcWidth(6);
-                        ghostPanel.add(rect, boardCol, boardRow);
+                    if (boardCol >= 0 && boardCol < cols && boardRow >= 0 && boardRow < rows) {
+                        Rectangle rect = ghostCells[used++];
+                        rect.setTranslateX(boardCol * cellW);
+                        rect.setTranslateY(boardRow * cellH);
+                        rect.setVisible(true);
                     }
                 }
             }
         }
+        for (int i = used; i < GHOST_POOL_SIZE; i++) {
+            ghostCells[i].setVisible(false);
+        }
     }
 
 
@@ -0,0 +1,287 @@
+package com.comp2042;
+
+import com.comp2042.logic.ai.PlacementSearch;
+import com.comp2042.logic.ai.SearchInputPolicy;
+import com.comp2042.logic.ai.SearchSettings;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays games without a window, as fast as the engine allows, and prints how it went.
+ * Meant for load-testing the engine on machines with no display.
+ *
+ * Usage: java -cp ... com.comp2042.HeadlessRunner [--games=N] [--seed=S] [--policy=random|gravity|ai]
+ *        [--difficulty=EASY|MEDIUM|HARD|INSTANT] [--board=simple|bitboard] [--max-ticks=N]
+ *        [--randomizer=uniform|seven_bag|history] [--record=DIR] [--dig[=INTERVAL_TICKS]] [--versus]
+ *
+ * The randomizer defaults to the difficulty's own. Game i is dealt from seed + i, so the same
+ * arguments replay the same piece sequences. With --record every game is also written to
+ * DIR/game-N.cwr, which ReplayPlayer can play back. --dig plays dig games (see DigMode), with
+ * garbage rising every INTERVAL_TICKS ticks if given. --versus plays every game as two players,
+ * each on its own thread, sending each other garbage (see VersusLink); it can't be combined with
+ * --dig, and its recordings are DIR/game-N-p1.cwr and DIR/game-N-p2.cwr.
+ */
+public final class HeadlessRunner {
+
+    private static final int ROWS = 25;
+    private static final int COLS = 10;
+
+    private HeadlessRunner() {
+    }
+
+    /**
+     * Result of one headless game.
+     */
+    public static final class Result {
+        private final long pieces;
+        private final int lines;
+        private final int score;
+        private final long ticks;
+        private final long nanos;
+        private final boolean lost;
+
+        Result(long pieces, int lines, int score, long ticks, long nanos, boolean lost) {
+            this.pieces = pieces;
+            this.lines = lines;
+            this.score = score;
+            this.ticks = ticks;
+            this.nanos = nanos;
+            this.lost = lost;
+        }
+
+        public long getPieces() { return pieces; }
+        public int getLines() { return lines; }
+        public int getScore() { return score; }
+        public long getTicks() { return ticks; }
+        public long getNanos() { return nanos; }
+        public boolean isLost() { return lost; }
+
+        public double getPiecesPerSecond() {
+            return nanos == 0 ? 0 : pieces * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * Plays a single game until it is lost or maxTicks logical ticks have run.
+     */
+    public static Result play(Board board, GameDifficulty difficulty, InputPolicy policy, long maxTicks) {
+        return play(board, difficulty, policy, maxTicks, null);
+    }
+
+    /**
+     * Same, also recording every input into the given recorder (may be null). The recorder is
+     * closed before this returns, so its file is complete.
+     */
+    public static Result play(Board board, GameDifficulty difficulty, InputPolicy policy, long maxTicks,
+                              ReplayRecorder recorder) {
+        return play(board, difficulty, policy, maxTicks, recorder, null);
+    }
+
+    /**
+     * Same, as a dig game if digMode is not null.
+     */
+    public static Result play(Board board, GameDifficulty difficulty, InputPolicy policy, long maxTicks,
+                              ReplayRecorder recorder, DigMode digMode) {
+        GameController game = new GameController(new NullGameView(), difficulty, board);
+        if (recorder != null) {
+            game.setReplayRecorder(recorder);
+        }
+        game.setDigMode(digMode);
+        return run(game, policy, maxTicks, recorder, null);
+    }
+
+    /**
+     * Plays two games against each other, each on its own thread, with garbage going between them
+     * through the given link pair. Both stop as soon as either is lost, or at maxTicks.
+     * Recorders may be null.
+     */
+    public static Result[] playVersus(Board[] boards, GameDifficulty difficulty, InputPolicy[] policies,
+                                      long maxTicks, ReplayRecorder[] recorders, VersusLink[] links)
+            throws InterruptedException {
+        Result[] results = new Result[2];
+        Thread[] threads = new Thread[2];
+        AtomicBoolean finished = new AtomicBoolean();
+        for (int p = 0; p < 2; p++) {
+            int player = p;
+            threads[p] = new Thread(() -> {
+                GameController game = new GameController(new NullGameView(), difficulty, boards[player]);
+                if (recorders[player] != null) {
+                    game.setReplayRecorder(recorders[player]);
+                }
+                game.setVersusLink(links[player]);
+                results[player] = run(game, policies[player], maxTicks, recorders[player], finished);
+            }, "versus-p" + (p + 1));
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return results;
+    }
+
+    // stop, if given, ends the game early once set, and is set when this game is lost
+    private static Result run(GameController game, InputPolicy policy, long maxTicks,
+                              ReplayRecorder recorder, AtomicBoolean stop) {
+        GameTickScheduler scheduler = game.getTickScheduler();
+        policy.onNewGame(game);
+
+        long start = System.nanoTime();
+        while (!game.isGameOver() && scheduler.getTickCount() < maxTicks && (stop == null || !stop.get())) {
+            policy.beforeTick(game);
+            scheduler.runTicks(1);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (stop != null && game.isGameOver()) {
+            stop.set(true);
+        }
+        if (recorder != null) {
+            recorder.close();
+        }
+
+        Score score = game.getScore();
+        return new Result(game.getPiecesLocked(), score.getLinesCleared(), score.getScore(),
+                scheduler.getTickCount(), elapsed, game.isGameOver());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = 10;
+        long seed = System.nanoTime();
+        String policyName = "random";
+        String boardName = "simple";
+        GameDifficulty difficulty = GameDifficulty.MEDIUM;
+        long maxTicks = 1_000_000L;
+        RandomizerType randomizer = null;
+        Path recordDir = null;
+        int digInterval = 0;
+        boolean versus = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--games=")) {
+                games = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--policy=")) {
+                policyName = value(arg);
+            } else if (arg.startsWith("--difficulty=")) {
+                difficulty = GameDifficulty.valueOf(value(arg).toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--board=")) {
+                boardName = value(arg);
+            } else if (arg.startsWith("--max-ticks=")) {
+                maxTicks = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--randomizer=")) {
+                randomizer = RandomizerType.valueOf(value(arg).toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--record=")) {
+                recordDir = Paths.get(value(arg));
+            } else if (arg.equals("--dig")) {
+                digInterval = DigMode.DEFAULT_INTERVAL_TICKS;
+            } else if (arg.startsWith("--dig=")) {
+                digInterval = Integer.parseInt(value(arg));
+            } else if (arg.equals("--versus")) {
+                versus = true;
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        if (versus && digInterval > 0) {
+            throw new IllegalArgumentException("--versus can't be combined with --dig");
+        }
+        if (randomizer == null) {
+            randomizer = difficulty.getRandomizer();
+        }
+
+        System.out.printf(Locale.ROOT, "headless: %d games, seed %d, policy %s, board %s, %s, %s%s%s%n",
+                games, seed, policyName, boardName, difficulty, randomizer,
+                digInterval > 0 ? ", dig every " + digInterval + " ticks" : "", versus ? ", versus" : "");
+        if (versus) {
+            runVersus(games, seed, policyName, boardName, difficulty, maxTicks, randomizer, recordDir);
+            return;
+        }
+
+        long totalPieces = 0;
+        long totalLines = 0;
+        long totalScore = 0;
+        long totalNanos = 0;
+        for (int i = 0; i < games; i++) {
+            long gameSeed = seed + i;
+            Board board = createBoard(boardName, randomizer.create(gameSeed));
+            ReplayRecorder recorder = recordDir == null ? null : new ReplayRecorder(
+                    recordDir.resolve("game-" + (i + 1) + ".cwr"),
+                    new ReplayHeader(gameSeed, randomizer, difficulty, ROWS, COLS, System.currentTimeMillis()));
+            DigMode dig = digInterval > 0 ? new DigMode(COLS, DigMode.DEFAULT_START_ROWS, digInterval,
+                    DigMode.DEFAULT_MESSINESS, gameSeed) : null;
+            Result result = play(board, difficulty, createPolicy(policyName, gameSeed), maxTicks, recorder, dig);
+            System.out.printf(Locale.ROOT, "game %d: pieces=%d lines=%d score=%d ticks=%d pieces/sec=%.0f%n",
+                    i + 1, result.getPieces(), result.getLines(), result.getScore(), result.getTicks(),
+                    result.getPiecesPerSecond());
+            totalPieces += result.getPieces();
+            totalLines += result.getLines();
+            totalScore += result.getScore();
+            totalNanos += result.getNanos();
+        }
+
+        double piecesPerSecond = totalNanos == 0 ? 0 : totalPieces * 1e9 / totalNanos;
+        System.out.printf(Locale.ROOT, "total: pieces=%d lines=%d avg score=%.1f pieces/sec=%.0f%n",
+                totalPieces, totalLines, games == 0 ? 0.0 : (double) totalScore / games, piecesPerSecond);
+    }
+
+    private static void runVersus(int games, long seed, String policyName, String boardName,
+                                  GameDifficulty difficulty, long maxTicks, RandomizerType randomizer,
+                                  Path recordDir) throws InterruptedException {
+        int[] wins = new int[3];
+        for (int i = 0; i < games; i++) {
+            long gameSeed = seed + i;
+            Board[] boards = new Board[2];
+            InputPolicy[] policies = new InputPolicy[2];
+            ReplayRecorder[] recorders = new ReplayRecorder[2];
+            for (int p = 0; p < 2; p++) {
+                // same pieces for both players, different inputs
+                boards[p] = createBoard(boardName, randomizer.create(gameSeed));
+                policies[p] = createPolicy(policyName, gameSeed + 1_000_003L * p);
+                recorders[p] = recordDir == null ? null : new ReplayRecorder(
+                        recordDir.resolve("game-" + (i + 1) + "-p" + (p + 1) + ".cwr"),
+                        new ReplayHeader(gameSeed, randomizer, difficulty, ROWS, COLS, System.currentTimeMillis()));
+            }
+            VersusLink[] links = VersusLink.pair(COLS, gameSeed);
+            Result[] results = playVersus(boards, difficulty, policies, maxTicks, recorders, links);
+
+            // both can top out before either notices the other has; then neither wins
+            int winner = results[0].isLost() == results[1].isLost() ? 0 : results[0].isLost() ? 2 : 1;
+            wins[winner]++;
+            System.out.printf(Locale.ROOT, "game %d: p1 pieces=%d lines=%d sent=%d cancelled=%d"
+                            + " | p2 pieces=%d lines=%d sent=%d cancelled=%d | %s%n",
+                    i + 1, results[0].getPieces(), results[0].getLines(), links[0].getLinesSent(),
+                    links[0].getLinesCancelled(), results[1].getPieces(), results[1].getLines(),
+                    links[1].getLinesSent(), links[1].getLinesCancelled(),
+                    winner == 0 ? "no winner" : "p" + winner + " wins");
+        }
+        System.out.printf(Locale.ROOT, "total: p1 wins=%d p2 wins=%d no winner=%d%n", wins[1], wins[2], wins[0]);
+    }
+
+    private static Board createBoard(String name, BrickGenerator generator) {
+        switch (name) {
+            case "simple": return new SimpleBoard(ROWS, COLS, generator);
+            case "bitboard": return new BitboardBoard(ROWS, COLS, generator);
+            default: throw new IllegalArgumentException("Unknown board: " + name);
+        }
+    }
+
+    private static InputPolicy createPolicy(String name, long seed) {
+        switch (name) {
+            case "random": return new RandomInputPolicy(seed);
+            case "ai": return new SearchInputPolicy(new PlacementSearch(SearchSettings.defaults()));
+            // no input at all, pieces just fall and lock where they spawn
+            case "gravity": return game -> { };
+            default: throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -4,7 +4,7 @@ import java.io.Serializable;
 
 /**
  * Represents a single high score entry.
- * Implements Serializable for file persistence.
+ * Still Serializable so ScoreStore can import highscores.dat files written by older versions.
  */
 public class HighScore implements Serializable, Comparable<HighScore> {
 
@@ -22,6 +22,11 @@ public class HighScore implements Serializable, Comparable<HighScore> {
         this.timestamp = System.currentTimeMillis();
     }
 
+    public HighScore(int score, long timestamp) {
+        this.score = score;
+        this.timestamp = timestamp;
+    }
+
     public int getScore() {
         return score;
     }
@@ -1,88 +1,81 @@
 package com.comp2042;
 
-import java.io.*;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages high scores for the game.
- * Handles loading, saving, and managing the top 5 high scores.
+ * A view of one mode/difficulty leaderboard in the shared ScoreStore, trimmed to the top 5.
+ * Creating one is cheap: nothing is read from disk, the store is already in memory.
  */
 public class HighScoreManager {
 
-    private static final String HIGH_SCORES_FILE = "highscores.dat";
     private static final int MAX_HIGH_SCORES = 5;
-    
-    private List<HighScore> highScores;
+
+    private final ScoreStore store;
+    private final GameMode mode;
+    private final GameDifficulty difficulty;
 
     /**
-     * Constructor that loads existing high scores from file.
+     * Manager for the basic mode on medium, the board older high score files are imported into.
      */
     public HighScoreManager() {
-        this.highScores = new ArrayList<>();
-        loadHighScores();
+        this(GameMode.BASIC, GameDifficulty.MEDIUM);
+    }
+
+    public HighScoreManager(GameMode mode, GameDifficulty difficulty) {
+        this.store = ScoreStore.getInstance();
+        this.mode = mode;
+        this.difficulty = difficulty;
     }
 
     /**
-     * Load high scores from file. If file doesn't exist, start with empty list.
+     * Add a new score to the high scores list.
+     * Every score is kept in the store's history; this reports whether it made the top 5.
+     * 
+     * @param score The score to add
+     * @return true if the score made the top 5, false otherwise
      */
-    private void loadHighScores() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(HIGH_SCORES_FILE))) {
-            highScores = (List<HighScore>) ois.readObject();
-            // Ensure list is sorted in descending order
-            Collections.sort(highScores);
-        } catch (FileNotFoundException e) {
-            // File doesn't exist yet, start with empty list
-            highScores = new ArrayList<>();
-        } catch (IOException | ClassNotFoundException e) {
-            // File corrupted or error reading, start fresh
-            System.err.println("Error loading high scores: " + e.getMessage());
-            highScores = new ArrayList<>();
-        }
+    public boolean addScore(int score) {
+        return addScore(score, 0);
+    }
+
+    public boolean addScore(int score, int linesCleared) {
+        return addScore("", score, linesCleared);
     }
 
     /**
-     * Save high scores to file.
+     * @param player name to file the score under, also used for per-player bests
      */
-    private void saveHighScores() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(HIGH_SCORES_FILE))) {
-            oos.writeObject(highScores);
-        } catch (IOException e) {
-            System.err.println("Error saving high scores: " + e.getMessage());
-        }
+    public boolean addScore(String player, int score, int linesCleared) {
+        int rank = store.submit(new ScoreRecord(mode, difficulty, player, score, linesCleared,
+                System.currentTimeMillis()));
+        return rank >= 1 && rank <= MAX_HIGH_SCORES;
     }
 
     /**
-     * Add a new score to the high scores list.
-     * If the list is not full, simply add the score.
-     * If the list is full, only add if it's higher than the lowest score.
-     * 
-     * @param score The score to add
-     * @return true if the score was added, false otherwise
+     * Like addScore, but the write happens on the PersistenceService thread instead of the caller's.
+     * Use this from the FX thread.
+     *
+     * @return completes with true if the score made the top 5, once it has been stored
      */
-    public boolean addScore(int score) {
-        HighScore newScore = new HighScore(score);
-        
-        // If list is not full, add the score
-        if (highScores.size() < MAX_HIGH_SCORES) {
-            highScores.add(newScore);
-            Collections.sort(highScores);
-            saveHighScores();
-            return true;
-        }
-        
-        // If list is full, check if new score is higher than the lowest
-        HighScore lowestScore = highScores.get(highScores.size() - 1);
-        if (score > lowestScore.getScore()) {
-            highScores.remove(highScores.size() - 1); // Remove lowest
-            highScores.add(newScore);
-            Collections.sort(highScores);
-            saveHighScores();
-            return true;
-        }
-        
-        return false;
+    public CompletableFuture<Boolean> addScoreAsync(String player, int score, int linesCleared) {
+        ScoreRecord record = new ScoreRecord(mode, difficulty, player, score, linesCleared,
+                System.currentTimeMillis());
+        return PersistenceService.getInstance().submitScore(record)
+                .thenApply(rank -> rank >= 1 && rank <= MAX_HIGH_SCORES);
+    }
+
+    /**
+     * The best {@code count} results with their player names, read straight from the leaderboard file.
+     */
+    public List<ScoreRecord> getTopRecords(int count) {
+        return store.getTop(mode, difficulty, count);
+    }
+
+    public int getPlayerBest(String player) {
+        return store.getPlayerBest(player, mode, difficulty);
     }
 
     /**
@@ -91,7 +84,7 @@ public class HighScoreManager {
      * @return List of high scores
      */
     public List<HighScore> getHighScores() {
-        return new ArrayList<>(highScores);
+        return getTopScores(MAX_HIGH_SCORES);
     }
 
     /**
@@ -101,9 +94,10 @@ public class HighScoreManager {
      * @return List of top N scores
      */
     public List<HighScore> getTopScores(int count) {
-        List<HighScore> topScores = new ArrayList<>(highScores);
-        if (topScores.size() > count) {
-            return topScores.subList(0, count);
+        List<ScoreRecord> records = store.getTop(mode, difficulty, count);
+        List<HighScore> topScores = new ArrayList<>(records.size());
+        for (ScoreRecord record : records) {
+            topScores.add(new HighScore(record.getScore(), record.getTimestamp()));
         }
         return topScores;
     }
@@ -115,19 +109,16 @@ public class HighScoreManager {
      * @return true if the score qualifies, false otherwise
      */
     public boolean isHighScore(int score) {
-        if (highScores.size() < MAX_HIGH_SCORES) {
-            return true;
-        }
-        HighScore lowestScore = highScores.get(highScores.size() - 1);
-        return score > lowestScore.getScore();
+        int rank = store.rankFor(mode, difficulty, score);
+        return rank >= 1 && rank <= MAX_HIGH_SCORES;
     }
 
     /**
      * Clear all high scores (for testing purposes).
+     * This wipes every leaderboard in the store, not only this manager's.
      */
     public void clearHighScores() {
-        highScores.clear();
-        saveHighScores();
+        store.clear();
     }
 
     /**
@@ -136,6 +127,6 @@ public class HighScoreManager {
      * @return Number of scores
      */
     public int getScoreCount() {
-        return highScores.size();
+        return store.getTop(mode, difficulty, MAX_HIGH_SCORES).size();
     }
 }
@@ -1,16 +1,14 @@
 package com.comp2042;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.List;
@@ -18,19 +16,20 @@ import java.util.List;
 /**
  * Controller for displaying high scores leaderboard.
  */
-public class HighScoresController {
+public class HighScoresController implements ScreenLifecycle {
 
     @FXML
     private VBox highScoresContainer;
 
-    private HighScoreManager highScoreManager;
+    // leaderboard on screen; versus games all run on medium
+    private GameMode shownMode = GameMode.BASIC;
+    private GameDifficulty shownDifficulty = GameDifficulty.MEDIUM;
     private Scene returnScene;
     private Runnable onBack;
     private Button backButton;
 
     @FXML
     public void initialize() {
-        this.highScoreManager = new HighScoreManager();
         displayHighScores();
     }
 
@@ -47,8 +46,18 @@ public class HighScoresController {
         titleLabel.setStyle("-fx-font-weight: bold;");
         highScoresContainer.getChildren().add(titleLabel);
 
+        // One button per leaderboard
+        HBox boardSelector = new HBox(10);
+        boardSelector.setAlignment(Pos.CENTER);
+        for (GameDifficulty difficulty : GameDifficulty.values()) {
+            boardSelector.getChildren().add(boardButton(capitalize(difficulty.name()), GameMode.BASIC, difficulty));
+        }
+        boardSelector.getChildren().add(boardButton("Versus", GameMode.VERSUS, GameDifficulty.MEDIUM));
+        boardSelector.getChildren().add(boardButton("Dig", GameMode.DIG, GameDifficulty.MEDIUM));
+        highScoresContainer.getChildren().add(boardSelector);
+
         // Get top 5 scores
-        List<HighScore> topScores = highScoreManager.getTopScores(5);
+        List<ScoreRecord> topScores = new HighScoreManager(shownMode, shownDifficulty).getTopRecords(5);
 
         if (topScores.isEmpty()) {
             Label emptyLabel = new Label("No High Scores Yet!");
@@ -59,8 +68,9 @@ public class HighScoresController {
         } else {
             // Display each score with ranking
             for (int i = 0; i < topScores.size(); i++) {
-                HighScore score = topScores.get(i);
-                Label scoreLabel = new Label((i + 1) + ". " + score.getScore() + " points");
+                ScoreRecord score = topScores.get(i);
+                String player = score.getPlayer().isEmpty() ? "" : "  " + score.getPlayer();
+                Label scoreLabel = new Label((i + 1) + ". " + score.getScore() + " points" + player);
                 scoreLabel.setTextFill(Color.WHITE);
                 scoreLabel.setFont(Font.font("Arial", 32));
                 scoreLabel.setStyle("-fx-font-weight: bold; -fx-padding: 10px;");
@@ -81,28 +91,54 @@ public class HighScoresController {
         highScoresContainer.getChildren().add(backButton);
     }
 
+    private Button boardButton(String text, GameMode mode, GameDifficulty difficulty) {
+        Button button = new Button(text);
+        button.getStyleClass().add("cta-button");
+        if (mode == shownMode && difficulty == shownDifficulty) {
+            button.getStyleClass().add("orange");
+        }
+        button.setOnAction(e -> {
+            shownMode = mode;
+            shownDifficulty = difficulty;
+            displayHighScores();
+        });
+        return button;
+    }
+
+    private static String capitalize(String name) {
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
     private void handleBack() {
-        Stage stage = (Stage) highScoresContainer.getScene().getWindow();
         if (returnScene != null) {
-            stage.setScene(returnScene);
-            stage.show();
-            if (onBack != null) {
-                onBack.run();
+            // returning hides this screen, which clears the callback
+            Runnable back = onBack;
+            SceneNavigator.returnTo(returnScene);
+            if (back != null) {
+                back.run();
             }
             return;
         }
         // Default: go back to main menu if no return scene was provided
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/mainMenu.fxml"));
-            Parent root = loader.load();
-            Scene scene = new Scene(root, 800, 600);
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.MAIN_MENU);
         } catch (IOException e) {
             System.err.println("Error loading main menu: " + e.getMessage());
         }
     }
 
+    @Override
+    public void onShow() {
+        // the screen is cached, so scores submitted since the last visit need a redraw
+        displayHighScores();
+    }
+
+    @Override
+    public void onHide() {
+        returnScene = null;
+        onBack = null;
+    }
+
     public void setReturnScene(Scene scene) {
         this.returnScene = scene;
         if (backButton != null) {
@@ -27,6 +27,16 @@ public interface InputEventListener {
 
     void hardDrop();
 
+    /**
+     * Snapshot of the current piece, used by the GUI loop to redraw after scheduler ticks.
+     */
+    ViewData getViewData();
+
     ViewData holdCurrentBrick();
 
+    /**
+     * The game's screen has been closed for good: flush and stop anything still attached to it.
+     */
+    void dispose();
+
 }
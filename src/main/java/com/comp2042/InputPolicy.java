@@ -0,0 +1,16 @@
+package com.comp2042;
+
+/**
+ * Decides what a headless "player" does. HeadlessRunner calls it once before every logical tick,
+ * and it may issue any inputs on the game (moves, rotations, hold, hard drop) or none at all.
+ */
+public interface InputPolicy {
+
+    void beforeTick(GameController game);
+
+    /**
+     * Called when a fresh game starts, before its first tick.
+     */
+    default void onNewGame(GameController game) {
+    }
+}
@@ -1,31 +1,91 @@
 package com.comp2042;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.URL;
-import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
 public class Main extends Application {
 
+    // quit as soon as the main menu is up; used to time start-up and to train the AppCDS archive
+    private static final String EXIT_AFTER_STARTUP = "--exit-after-startup";
+
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // Load the main menu first
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/mainMenu.fxml"));
-        Parent root = loader.load();
-        
+        long loadStart = System.nanoTime();
+
+        // a plain splash that needs no FXML or CSS, so it shows before anything else is loaded
+        Label loading = new Label("Loading...");
+        loading.setStyle("-fx-text-fill: white; -fx-font-size: 24px;");
+        StackPane splash = new StackPane(loading);
+        splash.setStyle("-fx-background-color: #1e1e2e;");
         primaryStage.setTitle("TetrisJFX");
-        Scene scene = new Scene(root, 800, 600);
-        primaryStage.setScene(scene);
         primaryStage.setResizable(true);
+        primaryStage.setScene(new Scene(splash, 800, 600));
         primaryStage.show();
+
+        // everything the menus and the first game need, loaded in parallel off the FX thread
+        SceneNavigator.init(primaryStage);
+        CompletableFuture<Void> resources = CompletableFuture.allOf(
+                SceneNavigator.warmUp(SceneNavigator.MAIN_MENU, SceneNavigator.MODE_MENU,
+                        SceneNavigator.DIFFICULTY_MENU, SceneNavigator.HIGH_SCORES, SceneNavigator.SETTINGS),
+                SoundManager.preloadAudio(),
+                CompletableFuture.runAsync(Main::loadFonts),
+                // opens the score files on the writer thread
+                PersistenceService.getInstance().write(ScoreStore::getInstance));
+
+        boolean exitAfterStartup = getParameters().getRaw().contains(EXIT_AFTER_STARTUP);
+        resources.whenComplete((ignored, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                System.err.println("Error loading resources: " + error.getMessage());
+            }
+            try {
+                SceneNavigator.show(SceneNavigator.MAIN_MENU);
+            } catch (IOException e) {
+                System.err.println("Error loading main menu: " + e.getMessage());
+                Platform.exit();
+                return;
+            }
+            long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println("Startup: main menu after " + sinceJvmStart + " ms (resources loaded in "
+                    + (System.nanoTime() - loadStart) / 1_000_000 + " ms)");
+            if (exitAfterStartup) {
+                Platform.exit();
+            }
+        }));
     }
 
+    @Override
+    public void stop() {
+        // scores and replays are written in the background; make sure they all reach the disk
+        PersistenceService.getInstance().shutdown();
+        if (SoundManager.getLatencyStats().getCount() > 0) {
+            System.out.println("Sound effects: " + SoundManager.getLatencyStats());
+        }
+    }
+
+    private static void loadFonts() {
+        URL font = Main.class.getResource("/digital.ttf");
+        if (font != null) {
+            Font.loadFont(font.toExternalForm(), 38);
+        }
+    }
 
     public static void main(String[] args) {
+        for (String arg : args) {
+            // --renderer=canvas|nodes picks the board rendering backend
+            if (arg.startsWith("--renderer=")) {
+                System.setProperty(RenderMode.PROPERTY, arg.substring("--renderer=".length()));
+            }
+        }
         launch(args);
     }
 }
@@ -2,11 +2,8 @@ package com.comp2042;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
-import javafx.stage.Stage;
 import java.io.IOException;
  
 
@@ -19,13 +16,7 @@ public class MainMenuController {
     private void startGame() {
         try {
             // Open the mode selection menu first
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/modeMenu.fxml"));
-            Parent root = loader.load();
-            Scene scene = new Scene(root, 800, 600);
-
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.MODE_MENU);
         } catch (IOException e) {
             showError("Error loading difficulty menu: " + e.getMessage());
         }
@@ -34,13 +25,7 @@ public class MainMenuController {
     @FXML
     private void showHighScores() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/highScores.fxml"));
-            Parent root = loader.load();
-            Scene scene = new Scene(root, 800, 600);
-
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.HIGH_SCORES);
         } catch (IOException e) {
             showError("Error loading high scores: " + e.getMessage());
         }
@@ -49,18 +34,10 @@ public class MainMenuController {
     @FXML
     private void showSettings() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/settings.fxml"));
-            Parent root = loader.load();
-
-            SettingsController settingsController = loader.getController();
             // Return to current menu after save
             Scene previousScene = menuRoot.getScene();
-            settingsController.setReturnScene(previousScene);
-
-            Scene scene = new Scene(root, 800, 600);
-            Stage stage = (Stage) previousScene.getWindow();
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.<SettingsController>visit(SceneNavigator.SETTINGS,
+                    settingsController -> settingsController.setReturnScene(previousScene));
         } catch (IOException e) {
             showError("Error loading settings: " + e.getMessage());
         }
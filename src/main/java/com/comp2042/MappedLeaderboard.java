@@ -0,0 +1,440 @@
+package com.comp2042;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Leaderboards kept in a fixed-layout file that is memory-mapped with FileChannel.map.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header        64 bytes: magic, version, board count, top capacity, player capacity,
+ *                 player count, covered log length, state, CRC32
+ *   boards        per board: entry count (int), padding (int), games played (long)
+ *   top entries   per board, topCapacity slots sorted best first:
+ *                 timestamp (long), score, lines, player id, padding (ints)
+ *   players       per player: name (length byte + up to 31 UTF-8 bytes), best score per board
+ * </pre>
+ * Every slot has a fixed offset, so reading the top N of a board touches N entries no matter how
+ * many games were ever played, and recording a game writes a few dozen bytes in place (plus the
+ * shift of the entries below it when it makes the board).
+ *
+ * Player ids are handed out in order and never reused; id 0 is the anonymous player that old
+ * high scores and unnamed games are filed under.
+ *
+ * The file mirrors ScoreStore's log up to the covered length. The state field reads DIRTY from
+ * the first change after markClean() until the next one, and the CRC is only checked when it
+ * reads CLEAN, so a file left behind by a crash is recognised and rebuilt from the log.
+ * Not thread-safe; ScoreStore serializes access.
+ */
+public final class MappedLeaderboard {
+
+    private static final int MAGIC = 0x43574C42; // "CWLB"
+    private static final int VERSION = 1;
+    private static final int STATE_CLEAN = 1;
+    private static final int STATE_DIRTY = 2;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_BOARDS = 8;
+    private static final int H_TOP_CAPACITY = 12;
+    private static final int H_PLAYER_CAPACITY = 16;
+    private static final int H_PLAYER_COUNT = 20;
+    private static final int H_COVERED = 24;
+    private static final int H_STATE = 32;
+    private static final int H_CRC = 36;
+
+    private static final int BOARD_BYTES = 16;
+    private static final int ENTRY_BYTES = 24;
+    private static final int NAME_BYTES = 32;
+    public static final int MAX_NAME_BYTES = NAME_BYTES - 1;
+
+    private final MappedByteBuffer buffer;
+    private final int boardCount;
+    private final int topCapacity;
+    private final int playerCapacity;
+    private final int playerBytes;
+    private final int boardsOffset;
+    private final int topOffset;
+    private final int playersOffset;
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    private final boolean wasClean;
+
+    private MappedLeaderboard(MappedByteBuffer buffer, int boardCount, int topCapacity, int playerCapacity,
+                              boolean existing) {
+        this.buffer = buffer;
+        this.boardCount = boardCount;
+        this.topCapacity = topCapacity;
+        this.playerCapacity = playerCapacity;
+        this.playerBytes = NAME_BYTES + 4 * boardCount;
+        this.boardsOffset = HEADER_BYTES;
+        this.topOffset = boardsOffset + boardCount * BOARD_BYTES;
+        this.playersOffset = topOffset + boardCount * topCapacity * ENTRY_BYTES;
+
+        if (existing) {
+            for (int id = 0; id < buffer.getInt(H_PLAYER_COUNT); id++) {
+                playerIds.put(readName(id), id);
+            }
+            wasClean = buffer.getInt(H_STATE) == STATE_CLEAN && buffer.getInt(H_CRC) == checksum();
+        } else {
+            buffer.putInt(H_MAGIC, MAGIC);
+            buffer.putInt(H_VERSION, VERSION);
+            buffer.putInt(H_BOARDS, boardCount);
+            buffer.putInt(H_TOP_CAPACITY, topCapacity);
+            buffer.putInt(H_PLAYER_CAPACITY, playerCapacity);
+            buffer.putInt(H_STATE, STATE_DIRTY);
+            addPlayer("");
+            wasClean = false;
+        }
+    }
+
+    /**
+     * Maps the file, creating it if needed. An existing file with a different layout is recreated;
+     * its player names are carried over so ids stored in the log stay valid.
+     */
+    public static MappedLeaderboard open(Path file, int boardCount, int topCapacity, int playerCapacity)
+            throws IOException {
+        List<String> carriedNames = null;
+        if (Files.exists(file)) {
+            MappedLeaderboard existing = tryMapExisting(file, boardCount, topCapacity, playerCapacity);
+            if (existing != null) {
+                return existing;
+            }
+            carriedNames = readNames(file);
+            Files.delete(file);
+        }
+        int size = HEADER_BYTES + boardCount * BOARD_BYTES + boardCount * topCapacity * ENTRY_BYTES
+                + playerCapacity * (NAME_BYTES + 4 * boardCount);
+        MappedLeaderboard board = new MappedLeaderboard(map(file, size), boardCount, topCapacity,
+                playerCapacity, false);
+        if (carriedNames != null) {
+            for (int id = 1; id < carriedNames.size(); id++) {
+                board.addPlayer(carriedNames.get(id));
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Whether the file was cleanly closed (matching CRC) when it was opened, i.e. whether its
+     * contents can be trusted up to getCoveredLength().
+     */
+    public boolean wasClean() {
+        return wasClean;
+    }
+
+    public long getCoveredLength() {
+        return buffer.getLong(H_COVERED);
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Empties every board and every player's bests, keeping the player names.
+     */
+    public void resetScores() {
+        markDirty();
+        for (int i = boardsOffset; i < playersOffset; i += 8) {
+            buffer.putLong(i, 0L);
+        }
+        for (int id = 0; id < getPlayerCount(); id++) {
+            for (int b = 0; b < boardCount; b++) {
+                buffer.putInt(bestOffset(id, b), 0);
+            }
+        }
+        buffer.putLong(H_COVERED, 0L);
+    }
+
+    /**
+     * Records a game on a board.
+     * @return its 1-based rank, or 0 if it did not make the board
+     */
+    public int add(int board, ScoreRecord record, int playerId) {
+        markDirty();
+        int boardOffset = boardsOffset + board * BOARD_BYTES;
+        buffer.putLong(boardOffset + 8, buffer.getLong(boardOffset + 8) + 1);
+        if (record.getScore() > buffer.getInt(bestOffset(playerId, board))) {
+            buffer.putInt(bestOffset(playerId, board), record.getScore());
+        }
+
+        int count = buffer.getInt(boardOffset);
+        int rank = insertionIndex(board, count, record.getScore(), record.getTimestamp());
+        if (rank >= topCapacity) {
+            return 0;
+        }
+        // shift the entries below down one slot; the last one falls off a full board
+        int last = Math.min(count, topCapacity - 1);
+        for (int i = last; i > rank; i--) {
+            int to = entryOffset(board, i);
+            int from = to - ENTRY_BYTES;
+            buffer.putLong(to, buffer.getLong(from));
+            buffer.putLong(to + 8, buffer.getLong(from + 8));
+            buffer.putLong(to + 16, buffer.getLong(from + 16));
+        }
+        int at = entryOffset(board, rank);
+        buffer.putLong(at, record.getTimestamp());
+        buffer.putInt(at + 8, record.getScore());
+        buffer.putInt(at + 12, record.getLinesCleared());
+        buffer.putInt(at + 16, playerId);
+        buffer.putInt(at + 20, 0);
+        if (count < topCapacity) {
+            buffer.putInt(boardOffset, count + 1);
+        }
+        return rank + 1;
+    }
+
+    /**
+     * The rank a new score would get (it loses ties to older entries), or 0 if it would not make it.
+     */
+    public int rankFor(int board, int score) {
+        int rank = insertionIndex(board, entryCount(board), score, Long.MAX_VALUE);
+        return rank >= topCapacity ? 0 : rank + 1;
+    }
+
+    public int entryCount(int board) {
+        return buffer.getInt(boardsOffset + board * BOARD_BYTES);
+    }
+
+    public long getGamesPlayed(int board) {
+        return buffer.getLong(boardsOffset + board * BOARD_BYTES + 8);
+    }
+
+    /**
+     * Reads the best {@code count} entries of a board straight out of the mapping.
+     */
+    public List<ScoreRecord> getTop(int board, int count, GameMode mode, GameDifficulty difficulty) {
+        int n = Math.min(count, entryCount(board));
+        List<ScoreRecord> top = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int at = entryOffset(board, i);
+            top.add(new ScoreRecord(mode, difficulty, playerName(buffer.getInt(at + 16)),
+                    buffer.getInt(at + 8), buffer.getInt(at + 12), buffer.getLong(at)));
+        }
+        return top;
+    }
+
+    /**
+     * Id for a player name, registering it on first use. Falls back to the anonymous player (0)
+     * once the player table is full.
+     */
+    public int playerId(String name) {
+        if (name == null) {
+            return 0;
+        }
+        String stored = truncateName(name);
+        Integer id = playerIds.get(stored);
+        if (id != null) {
+            return id;
+        }
+        if (isPlayerTableFull()) {
+            return 0;
+        }
+        markDirty();
+        return addPlayer(stored);
+    }
+
+    /**
+     * Id of a player name that is already registered, 0 for null, or -1 if the name is new.
+     */
+    public int findPlayerId(String name) {
+        if (name == null) {
+            return 0;
+        }
+        Integer id = playerIds.get(truncateName(name));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Registers a name the log recorded under the given id if it is the next id to hand out, e.g.
+     * while the file is rebuilt from the log. Ids already taken are left alone; an id past the next
+     * one is ignored, and results filed under it then count as anonymous.
+     */
+    public void restorePlayer(int id, String name) {
+        if (id == getPlayerCount() && !isPlayerTableFull()) {
+            markDirty();
+            addPlayer(name);
+        }
+    }
+
+    public int getPlayerCount() {
+        return buffer.getInt(H_PLAYER_COUNT);
+    }
+
+    public boolean isPlayerTableFull() {
+        return getPlayerCount() == playerCapacity;
+    }
+
+    public String playerName(int id) {
+        return id >= 0 && id < getPlayerCount() ? readName(id) : "";
+    }
+
+    /**
+     * Best score of a player on a board, or 0 if they have not played it.
+     */
+    public int getPlayerBest(String name, int board) {
+        Integer id = name == null ? null : playerIds.get(truncateName(name));
+        return id == null ? 0 : buffer.getInt(bestOffset(id, board));
+    }
+
+    /**
+     * Declares the mapping consistent with the first {@code coveredLength} log bytes and flushes it.
+     */
+    public void markClean(long coveredLength) {
+        buffer.putLong(H_COVERED, coveredLength);
+        buffer.putInt(H_CRC, checksum());
+        buffer.putInt(H_STATE, STATE_CLEAN);
+        buffer.force();
+    }
+
+    private void markDirty() {
+        if (buffer.getInt(H_STATE) != STATE_DIRTY) {
+            buffer.putInt(H_STATE, STATE_DIRTY);
+        }
+    }
+
+    // first slot whose entry ranks after (score, timestamp)
+    private int insertionIndex(int board, int count, int score, long timestamp) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int at = entryOffset(board, mid);
+            int midScore = buffer.getInt(at + 8);
+            if (midScore > score || (midScore == score && buffer.getLong(at) <= timestamp)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int entryOffset(int board, int index) {
+        return topOffset + (board * topCapacity + index) * ENTRY_BYTES;
+    }
+
+    private int bestOffset(int playerId, int board) {
+        return playersOffset + playerId * playerBytes + NAME_BYTES + board * 4;
+    }
+
+    private int addPlayer(String name) {
+        int id = getPlayerCount();
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int at = playersOffset + id * playerBytes;
+        buffer.put(at, (byte) bytes.length);
+        buffer.put(at + 1, bytes);
+        buffer.putInt(H_PLAYER_COUNT, id + 1);
+        playerIds.put(name, id);
+        return id;
+    }
+
+    private String readName(int id) {
+        int at = playersOffset + id * playerBytes;
+        byte[] bytes = new byte[buffer.get(at) & 0xFF];
+        buffer.get(at + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // cut to what fits in a name slot without splitting a UTF-8 sequence
+    static String truncateName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return name;
+        }
+        int end = MAX_NAME_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+
+    // CRC over the whole mapping except the state and CRC fields themselves
+    private int checksum() {
+        crc.reset();
+        ByteBuffer view = buffer.duplicate();
+        view.limit(H_STATE).position(0);
+        crc.update(view);
+        view.limit(buffer.capacity()).position(H_CRC + 4);
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static MappedLeaderboard tryMapExisting(Path file, int boardCount, int topCapacity,
+                                                    int playerCapacity) throws IOException {
+        ByteBuffer header = readHeader(file);
+        if (header == null || header.getInt(H_BOARDS) != boardCount
+                || header.getInt(H_TOP_CAPACITY) != topCapacity
+                || header.getInt(H_PLAYER_CAPACITY) != playerCapacity) {
+            return null;
+        }
+        int size = HEADER_BYTES + boardCount * BOARD_BYTES + boardCount * topCapacity * ENTRY_BYTES
+                + playerCapacity * (NAME_BYTES + 4 * boardCount);
+        if (Files.size(file) != size || header.getInt(H_PLAYER_COUNT) < 1
+                || header.getInt(H_PLAYER_COUNT) > playerCapacity) {
+            return null;
+        }
+        return new MappedLeaderboard(map(file, size), boardCount, topCapacity, playerCapacity, true);
+    }
+
+    // null unless the file starts with a header of this version
+    private static ByteBuffer readHeader(Path file) throws IOException {
+        if (Files.size(file) < HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+        }
+        if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION) {
+            return null;
+        }
+        return header;
+    }
+
+    // player names of a file with another layout, in id order; empty if it cannot be read
+    private static List<String> readNames(Path file) throws IOException {
+        List<String> names = new ArrayList<>();
+        ByteBuffer header = readHeader(file);
+        if (header == null) {
+            return names;
+        }
+        int boards = header.getInt(H_BOARDS);
+        int topCapacity = header.getInt(H_TOP_CAPACITY);
+        int players = header.getInt(H_PLAYER_COUNT);
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+        int base = HEADER_BYTES + boards * BOARD_BYTES + boards * topCapacity * ENTRY_BYTES;
+        int slot = NAME_BYTES + 4 * boards;
+        for (int id = 0; id < players && base + (id + 1) * slot <= data.capacity(); id++) {
+            int at = base + id * slot;
+            byte[] bytes = new byte[Math.min(data.get(at) & 0xFF, MAX_NAME_BYTES)];
+            data.get(at + 1, bytes);
+            names.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return names;
+    }
+}
@@ -1,5 +1,7 @@
 package com.comp2042;
 
+import com.comp2042.logic.bricks.BrickShape;
+
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -28,6 +30,21 @@ public class MatrixOperations {
         return false;
     }
 
+    /**
+     * Same check as {@link #intersect(int[][], int[][], int, int)} but walks the precomputed cells
+     * of a brick orientation instead of its whole matrix.
+     */
+    public static boolean intersect(final int[][] matrix, final BrickShape brick, int x, int y) {
+        for (int i = 0; i < brick.getCellCount(); i++) {
+            int targetX = x + brick.getCellCol(i);
+            int targetY = y + brick.getCellRow(i);
+            if (checkOutOfBound(matrix, targetX, targetY) || matrix[targetY][targetX] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static boolean checkOutOfBound(int[][] matrix, int targetX, int targetY) {
         return targetX < 0 || targetY < 0 || targetY >= matrix.length || targetX >= matrix[0].length;
     }
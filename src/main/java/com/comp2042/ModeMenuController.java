@@ -1,11 +1,7 @@
 package com.comp2042;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 import java.io.IOException;
 
 public class ModeMenuController {
@@ -16,12 +12,7 @@ public class ModeMenuController {
     @FXML
     private void startBasic() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/difficultyMenu.fxml"));
-            Parent root = loader.load();
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-            Scene scene = new Scene(root, 800, 600);
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.DIFFICULTY_MENU);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -30,12 +21,32 @@ public class ModeMenuController {
     @FXML
     private void startVersus() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/versusLayout.fxml"));
-            Parent root = loader.load();
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-            Scene scene = new Scene(root, 1400, 800);
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.VERSUS);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    private void startBattle() {
+        try {
+            SceneNavigator.show(SceneNavigator.BATTLE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    private void startDig() {
+        try {
+            SceneNavigator.<GuiController>show(SceneNavigator.GAME, guiController -> {
+                long seed = System.nanoTime();
+                guiController.setGameMode(GameMode.DIG);
+                GameController game = new GameController(guiController, GameDifficulty.MEDIUM, seed);
+                game.setReplayRecorder(ReplayRecorder.createInReplayDir(
+                        ReplayHeader.forGame(seed, GameDifficulty.MEDIUM), "dig"));
+                game.setDigMode(new DigMode(GameController.BOARD_COLS, seed));
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -44,12 +55,7 @@ public class ModeMenuController {
     @FXML
     private void backToMain() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/mainMenu.fxml"));
-            Parent root = loader.load();
-            Stage stage = (Stage) menuRoot.getScene().getWindow();
-            Scene scene = new Scene(root, 800, 600);
-            stage.setScene(scene);
-            stage.show();
+            SceneNavigator.show(SceneNavigator.MAIN_MENU);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,55 @@
+package com.comp2042;
+
+/**
+ * A view that ignores every callback, for running GameController without JavaFX.
+ */
+public class NullGameView implements GameView {
+
+    @Override
+    public void setEventListener(InputEventListener eventListener) {
+    }
+
+    @Override
+    public void setTickScheduler(GameTickScheduler tickScheduler) {
+    }
+
+    @Override
+    public void initGameView(int[][] boardMatrix, ViewData brick, GameDifficulty difficulty) {
+    }
+
+    @Override
+    public void bindScore(Score score) {
+    }
+
+    @Override
+    public void showNextShape(ViewData nextBrick) {
+    }
+
+    @Override
+    public void updateHoldDisplay(ViewData holdBrick) {
+    }
+
+    @Override
+    public void refreshGameBackground(int[][] board) {
+    }
+
+    @Override
+    public void refreshChangedCells(BoardChangeSet changes) {
+    }
+
+    @Override
+    public void showLineClearPopup(ClearRow clearRow) {
+    }
+
+    @Override
+    public void playLineClearSound() {
+    }
+
+    @Override
+    public void updatePauseState(boolean paused) {
+    }
+
+    @Override
+    public void gameOver() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.comp2042;
+
+/**
+ * Slows another policy down to a human pace: each new piece is left alone for a fixed number of
+ * ticks before the wrapped policy gets to play it. Meant for bots that place a piece per tick
+ * (SearchInputPolicy) and would otherwise bury real players in garbage within seconds.
+ */
+public class PacedInputPolicy implements InputPolicy {
+
+    private final InputPolicy inner;
+    private final int ticksPerPiece;
+    private long currentPiece = -1;
+    private int waited;
+
+    public PacedInputPolicy(InputPolicy inner, int ticksPerPiece) {
+        this.inner = inner;
+        this.ticksPerPiece = ticksPerPiece;
+    }
+
+    @Override
+    public void beforeTick(GameController game) {
+        if (currentPiece != game.getPiecesLocked()) {
+            currentPiece = game.getPiecesLocked();
+            waited = 0;
+        }
+        if (waited < ticksPerPiece) {
+            waited++;
+            return;
+        }
+        inner.beforeTick(game);
+    }
+
+    @Override
+    public void onNewGame(GameController game) {
+        currentPiece = -1;
+        inner.onNewGame(game);
+    }
+}
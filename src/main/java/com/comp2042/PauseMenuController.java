@@ -4,8 +4,6 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.StackPane;
 import javafx.scene.Scene;
-import javafx.stage.Stage;
-import javafx.stage.Window;
 
 import com.comp2042.SoundManager;
 
@@ -27,7 +25,7 @@ public class PauseMenuController {
             }
         });
 
-        mainMenuBtn.setOnAction(e -> navigateTo("/mainMenu.fxml"));
+        mainMenuBtn.setOnAction(e -> navigateTo(SceneNavigator.MAIN_MENU));
         highScoresBtn.setOnAction(e -> navigateToHighScores());
         difficultyBtn.setOnAction(e -> navigateToDifficulty());
         settingsBtn.setOnAction(e -> navigateToSettings());
@@ -42,16 +40,11 @@ public class PauseMenuController {
             if (guiController != null) {
                 guiController.stopGameLoop();
             }
-            if ("/mainMenu.fxml".equals(resourcePath)) {
+            if (SceneNavigator.MAIN_MENU.equals(resourcePath)) {
                 SoundManager.stopBackgroundMusic();
             }
-            Window owner = rootPane.getScene().getWindow();
-            javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource(resourcePath));
-            javafx.scene.Parent root = loader.load();
-            javafx.scene.Scene scene = new javafx.scene.Scene(root, 800, 600);
-            javafx.stage.Stage stage = (javafx.stage.Stage) owner;
-            stage.setScene(scene);
-            stage.show();
+            // leaving for good: the navigator disposes this game
+            SceneNavigator.show(resourcePath);
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -60,21 +53,15 @@ public class PauseMenuController {
     private void navigateToHighScores() {
         try {
             Scene previousScene = rootPane.getScene();
-            Stage stage = (Stage) previousScene.getWindow();
 
-            javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/highScores.fxml"));
-            javafx.scene.Parent root = loader.load();
-            HighScoresController controller = loader.getController();
-            controller.setReturnScene(previousScene);
-            controller.setOnBack(() -> {
-                stage.setScene(previousScene);
-                if (guiController != null) {
-                    guiController.updatePauseState(true); // return to pause menu view, keep game paused
-                }
+            SceneNavigator.<HighScoresController>visit(SceneNavigator.HIGH_SCORES, controller -> {
+                controller.setReturnScene(previousScene);
+                controller.setOnBack(() -> {
+                    if (guiController != null) {
+                        guiController.updatePauseState(true); // return to pause menu view, keep game paused
+                    }
+                });
             });
-
-            stage.setScene(new javafx.scene.Scene(root, 800, 600));
-            stage.show();
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -83,22 +70,16 @@ public class PauseMenuController {
     private void navigateToSettings() {
         try {
             Scene previousScene = rootPane.getScene();
-            Stage stage = (Stage) previousScene.getWindow();
 
-            javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/settings.fxml"));
-            javafx.scene.Parent root = loader.load();
-            SettingsController controller = loader.getController();
-            controller.setReturnScene(previousScene);
-            controller.setOnSaved(() -> {
-                // Return to game and resume
-                stage.setScene(previousScene);
-                if (guiController != null) {
-                    guiController.updatePauseState(false);
-                }
+            SceneNavigator.<SettingsController>visit(SceneNavigator.SETTINGS, controller -> {
+                controller.setReturnScene(previousScene);
+                controller.setOnSaved(() -> {
+                    // Return to game and resume
+                    if (guiController != null) {
+                        guiController.updatePauseState(false);
+                    }
+                });
             });
-
-            stage.setScene(new javafx.scene.Scene(root, 800, 600));
-            stage.show();
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -107,27 +88,21 @@ public class PauseMenuController {
     private void navigateToDifficulty() {
         try {
             Scene previousScene = rootPane.getScene();
-            Stage stage = (Stage) previousScene.getWindow();
-
-            javafx.fxml.FXMLLoader loader = new javafx.fxml.FXMLLoader(getClass().getResource("/difficultyMenu.fxml"));
-            javafx.scene.Parent root = loader.load();
-            DifficultyController controller = loader.getController();
 
-            controller.setReturnScene(previousScene);
-            controller.setOnReturn(() -> {
-                if (guiController != null) {
-                    guiController.updatePauseState(true);
-                }
+            SceneNavigator.<DifficultyController>visit(SceneNavigator.DIFFICULTY_MENU, controller -> {
+                controller.setReturnScene(previousScene);
+                controller.setOnReturn(() -> {
+                    if (guiController != null) {
+                        guiController.updatePauseState(true);
+                    }
+                });
+                controller.setOnDifficultySelected(difficulty -> {
+                    if (guiController != null) {
+                        guiController.changeGameDifficulty(difficulty);
+                        guiController.updatePauseState(true); // keep pause overlay visible after returning
+                    }
+                });
             });
-            controller.setOnDifficultySelected(difficulty -> {
-                if (guiController != null) {
-                    guiController.changeGameDifficulty(difficulty);
-                    guiController.updatePauseState(true); // keep pause overlay visible after returning
-                }
-            });
-
-            stage.setScene(new javafx.scene.Scene(root, 800, 600));
-            stage.show();
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -0,0 +1,173 @@
+package com.comp2042;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Does all of the game's file writes on one background thread, so game over never waits on disk.
+ *
+ * Scores submitted within COALESCE_MILLIS of each other (both boards of a versus game, say) are
+ * written as one batch. Writes are not fsynced one by one; the store is synced every
+ * SYNC_INTERVAL_SECONDS if anything changed, and once more by shutdown(), which Main calls on exit.
+ * Other writers (replay files) queue plain tasks with write() so they share the same thread and
+ * the same final flush.
+ *
+ * Results come back as CompletableFutures completed on the writer thread; JavaFX callers hop back
+ * with {@code thenAcceptAsync(..., Platform::runLater)}.
+ */
+public final class PersistenceService {
+
+    private static final long COALESCE_MILLIS = 50;
+    private static final long SYNC_INTERVAL_SECONDS = 5;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static final class Holder {
+        static final PersistenceService INSTANCE = new PersistenceService(ScoreStore::getInstance);
+    }
+
+    private final ScheduledExecutorService writer;
+    // the store is opened on the writer thread the first time a score is written
+    private final Supplier<ScoreStore> storeSupplier;
+    private ScoreStore store;
+    // written scores not yet synced; only touched on the writer thread
+    private boolean dirty;
+
+    // guarded by this
+    private final List<PendingScore> pending = new ArrayList<>();
+    private boolean drainScheduled;
+
+    public PersistenceService(Supplier<ScoreStore> storeSupplier) {
+        this.storeSupplier = storeSupplier;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "persistence-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::syncIfDirty, SYNC_INTERVAL_SECONDS, SYNC_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    public static PersistenceService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Queues a finished game for the score store.
+     * @return completes with the game's leaderboard rank (0 if it did not place) once written
+     */
+    public CompletableFuture<Integer> submitScore(ScoreRecord record) {
+        PendingScore entry = new PendingScore(record);
+        boolean schedule;
+        synchronized (this) {
+            pending.add(entry);
+            schedule = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (schedule) {
+            try {
+                writer.schedule(this::drainScores, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shut down already (the app is exiting): write on the caller's thread instead
+                drainScores();
+                syncIfDirty();
+            }
+        }
+        return entry.result;
+    }
+
+    /**
+     * Runs a write on the writer thread, after everything queued before it.
+     */
+    public CompletableFuture<Void> write(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, writer);
+        } catch (RejectedExecutionException e) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Blocks until everything queued so far is written and synced.
+     */
+    public void flush() {
+        try {
+            CompletableFuture.runAsync(() -> {
+                drainScores();
+                syncIfDirty();
+            }, writer).join();
+        } catch (RejectedExecutionException e) {
+            // already shut down, which flushed everything
+        }
+    }
+
+    /**
+     * Flushes, closes the score store and stops the writer thread. Called once on application exit.
+     */
+    public void shutdown() {
+        try {
+            writer.execute(() -> {
+                drainScores();
+                syncIfDirty();
+                if (store != null) {
+                    store.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Persistence writer did not finish within " + SHUTDOWN_TIMEOUT_SECONDS + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainScores() {
+        List<PendingScore> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            drainScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (store == null) {
+            store = storeSupplier.get();
+        }
+        for (PendingScore entry : batch) {
+            try {
+                entry.result.complete(store.submit(entry.record));
+            } catch (RuntimeException e) {
+                entry.result.completeExceptionally(e);
+            }
+        }
+        dirty = true;
+    }
+
+    private void syncIfDirty() {
+        if (dirty && store != null) {
+            store.compact();
+            dirty = false;
+        }
+    }
+
+    private static final class PendingScore {
+        final ScoreRecord record;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        PendingScore(ScoreRecord record) {
+            this.record = record;
+        }
+    }
+}
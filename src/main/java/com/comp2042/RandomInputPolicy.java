@@ -0,0 +1,45 @@
+package com.comp2042;
+
+import java.util.Random;
+
+/**
+ * Plays like a button-masher: for every new piece it picks a random rotation and column offset,
+ * performs one input per tick to get there, then hard drops. Cheap and good at filling the board,
+ * which makes it a decent load generator for the engine.
+ */
+public class RandomInputPolicy implements InputPolicy {
+
+    private static final MoveEvent LEFT = new MoveEvent(EventType.LEFT, EventSource.THREAD);
+    private static final MoveEvent RIGHT = new MoveEvent(EventType.RIGHT, EventSource.THREAD);
+    private static final MoveEvent ROTATE = new MoveEvent(EventType.ROTATE, EventSource.THREAD);
+
+    private final Random random;
+    private long plannedPiece = -1;
+    private int rotationsLeft;
+    private int shiftsLeft;
+
+    public RandomInputPolicy(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void beforeTick(GameController game) {
+        if (plannedPiece != game.getPiecesLocked()) {
+            plannedPiece = game.getPiecesLocked();
+            rotationsLeft = random.nextInt(4);
+            shiftsLeft = random.nextInt(11) - 5;
+        }
+        if (rotationsLeft > 0) {
+            game.onRotateEvent(ROTATE);
+            rotationsLeft--;
+        } else if (shiftsLeft < 0) {
+            game.onLeftEvent(LEFT);
+            shiftsLeft++;
+        } else if (shiftsLeft > 0) {
+            game.onRightEvent(RIGHT);
+            shiftsLeft--;
+        } else {
+            game.hardDrop();
+        }
+    }
+}
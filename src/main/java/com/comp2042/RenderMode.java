@@ -0,0 +1,17 @@
+package com.comp2042;
+
+/**
+ * Rendering backend for the game board, chosen once at startup.
+ * Set with -Dtetris.renderer=canvas (or --renderer=canvas on the command line); nodes is the default.
+ */
+public enum RenderMode {
+    NODES,   // one Rectangle per cell in GridPanes
+    CANVAS;  // single Canvas with dirty-cell repainting
+
+    public static final String PROPERTY = "tetris.renderer";
+
+    public static RenderMode current() {
+        String value = System.getProperty(PROPERTY, "");
+        return "canvas".equalsIgnoreCase(value.trim()) ? CANVAS : NODES;
+    }
+}
@@ -0,0 +1,174 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomizerType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A decoded replay file.
+ *
+ * File layout (written by ReplayRecorder):
+ * <pre>
+ *   int     magic "CWRP"
+ *   byte    version
+ *   long    seed
+ *   varint  randomizer ordinal, difficulty ordinal, rows, cols
+ *   varint  start time (epoch millis)
+ *   events until end of file:
+ *     varint  (ticks since previous event << TYPE_BITS) | event code
+ *     varint  argument, only for events where hasArgument()
+ * </pre>
+ * Varints are unsigned LEB128: 7 bits per byte, low bits first, high bit set on all but the last.
+ * Most inputs land within a few ticks of the previous one, so a typical event takes one byte.
+ * A file cut short by a crash is read up to its last complete event.
+ */
+public final class Replay {
+
+    static final int MAGIC = 0x43575250; // "CWRP"
+    static final int VERSION = 1;
+    static final int TYPE_BITS = 5;
+    static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+    private final ReplayHeader header;
+    private ReplayEvent[] events = new ReplayEvent[64];
+    // tick within the event's own game, as GameTickScheduler.getTickCount() reported it
+    private long[] ticks = new long[64];
+    // ticks since the start of the recording, summed over all games
+    private long[] positions = new long[64];
+    private int[] arguments = new int[64];
+    private int size;
+
+    private Replay(ReplayHeader header) {
+        this.header = header;
+    }
+
+    public static Replay read(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    public static Replay read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        long seed = data.readLong();
+        RandomizerType randomizer = RandomizerType.values()[(int) readVarint(data)];
+        GameDifficulty difficulty = GameDifficulty.values()[(int) readVarint(data)];
+        int rows = (int) readVarint(data);
+        int cols = (int) readVarint(data);
+        long startedAt = readVarint(data);
+        Replay replay = new Replay(new ReplayHeader(seed, randomizer, difficulty, rows, cols, startedAt));
+
+        long tick = 0;
+        long gameStart = 0;
+        try {
+            long word;
+            while ((word = readVarintOrEnd(data)) >= 0) {
+                ReplayEvent event = ReplayEvent.fromCode((int) (word & TYPE_MASK));
+                tick += word >>> TYPE_BITS;
+                int argument = event.hasArgument() ? (int) readVarint(data) : 0;
+                replay.add(event, tick, gameStart + tick, argument);
+                if (event == ReplayEvent.NEW_GAME) {
+                    gameStart += tick;
+                    tick = 0;
+                }
+            }
+        } catch (EOFException e) {
+            // the last event was only partly written; keep everything before it
+        }
+        return replay;
+    }
+
+    private void add(ReplayEvent event, long tick, long position, int argument) {
+        if (size == events.length) {
+            int capacity = size * 2;
+            events = Arrays.copyOf(events, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+        }
+        events[size] = event;
+        ticks[size] = tick;
+        positions[size] = position;
+        arguments[size] = argument;
+        size++;
+    }
+
+    public ReplayHeader getHeader() {
+        return header;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ReplayEvent getEvent(int index) {
+        return events[index];
+    }
+
+    public long getTick(int index) {
+        return ticks[index];
+    }
+
+    /**
+     * Ticks from the start of the recording up to this event; what ReplayPlayer.seek() takes.
+     */
+    public long getPosition(int index) {
+        return positions[index];
+    }
+
+    public int getArgument(int index) {
+        return arguments[index];
+    }
+
+    /**
+     * Position of the last recorded event.
+     */
+    public long getLength() {
+        return size == 0 ? 0 : positions[size - 1];
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = readVarintOrEnd(in);
+        if (value < 0) {
+            throw new EOFException();
+        }
+        return value;
+    }
+
+    // -1 if the stream ends cleanly before the first byte
+    private static long readVarintOrEnd(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Malformed varint");
+            }
+        }
+    }
+}
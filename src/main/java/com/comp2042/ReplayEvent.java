@@ -0,0 +1,44 @@
+package com.comp2042;
+
+/**
+ * Everything a replay records. The ordinal is the type code written to disk, so new events go
+ * at the end and existing ones are never reordered.
+ */
+public enum ReplayEvent {
+    LEFT,
+    RIGHT,
+    ROTATE,
+    SOFT_DROP,
+    HARD_DROP,
+    HOLD,
+    // DAS key down/up, see GameTickScheduler.pressShift; the auto-repeat itself is not recorded
+    PRESS_LEFT,
+    PRESS_RIGHT,
+    RELEASE_LEFT,
+    RELEASE_RIGHT,
+    PAUSE,
+    // argument: GameDifficulty ordinal of the new gravity
+    GRAVITY,
+    // tick counting restarts from 0 after this one
+    NEW_GAME,
+    // argument: final score, checked on playback
+    GAME_OVER,
+    // ROTATE above is the counter-clockwise turn
+    ROTATE_RIGHT,
+    ROTATE_180,
+    // argument: hole column of a garbage row pushed in from the bottom
+    GARBAGE;
+
+    private static final ReplayEvent[] VALUES = values();
+
+    public boolean hasArgument() {
+        return this == GRAVITY || this == GAME_OVER || this == GARBAGE;
+    }
+
+    static ReplayEvent fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown replay event code " + code);
+        }
+        return VALUES[code];
+    }
+}
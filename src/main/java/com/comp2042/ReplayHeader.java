@@ -0,0 +1,59 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomizerType;
+
+/**
+ * What a replay needs to rebuild the game it was recorded from: the piece randomizer and its
+ * seed, the starting difficulty and the board size.
+ */
+public final class ReplayHeader {
+
+    private final long seed;
+    private final RandomizerType randomizer;
+    private final GameDifficulty difficulty;
+    private final int rows;
+    private final int cols;
+    private final long startedAtMillis;
+
+    public ReplayHeader(long seed, RandomizerType randomizer, GameDifficulty difficulty, int rows, int cols,
+                        long startedAtMillis) {
+        this.seed = seed;
+        this.randomizer = randomizer;
+        this.difficulty = difficulty;
+        this.rows = rows;
+        this.cols = cols;
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    /**
+     * Header for a game created with GameController(view, difficulty, seed), starting now.
+     */
+    public static ReplayHeader forGame(long seed, GameDifficulty difficulty) {
+        return new ReplayHeader(seed, difficulty.getRandomizer(), difficulty,
+                GameController.BOARD_ROWS, GameController.BOARD_COLS, System.currentTimeMillis());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public RandomizerType getRandomizer() {
+        return randomizer;
+    }
+
+    public GameDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+}
@@ -0,0 +1,164 @@
+package com.comp2042;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Plays a Replay back on a headless GameController, as fast as the engine runs.
+ *
+ * Everything the game does is a function of the seed, the tick count and the recorded inputs,
+ * so running the same ticks and feeding each input back in after the tick it was recorded at
+ * rebuilds the exact game. GAME_OVER events carry the final score, which playback checks.
+ *
+ * Usage: java -cp ... com.comp2042.ReplayPlayer FILE... [--seek=TICK]
+ */
+public class ReplayPlayer {
+
+    private static final MoveEvent LEFT = new MoveEvent(EventType.LEFT, EventSource.USER);
+    private static final MoveEvent RIGHT = new MoveEvent(EventType.RIGHT, EventSource.USER);
+    private static final MoveEvent DOWN = new MoveEvent(EventType.DOWN, EventSource.USER);
+    private static final MoveEvent ROTATE = new MoveEvent(EventType.ROTATE, EventSource.USER);
+    private static final MoveEvent ROTATE_RIGHT = new MoveEvent(EventType.ROTATE_RIGHT, EventSource.USER);
+    private static final MoveEvent ROTATE_180 = new MoveEvent(EventType.ROTATE_180, EventSource.USER);
+
+    private final Replay replay;
+    private GameController game;
+    private GameTickScheduler scheduler;
+    // position at which the current game's tick count started from 0
+    private long gameStart;
+    private int nextEvent;
+
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        restart();
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * The game being played back; read-only use only, or later events may no longer line up.
+     */
+    public GameController getGame() {
+        return game;
+    }
+
+    /**
+     * Ticks played since the start of the recording.
+     */
+    public long getPosition() {
+        return gameStart + scheduler.getTickCount();
+    }
+
+    public boolean isFinished() {
+        return nextEvent == replay.size();
+    }
+
+    /**
+     * Moves playback to the given position. Going forward only runs the ticks in between;
+     * going back starts over from the first tick, which at engine speed is still quick.
+     * Positions past a game over stop at the game over.
+     */
+    public void seek(long position) {
+        if (position < getPosition()) {
+            restart();
+        }
+        while (nextEvent < replay.size() && replay.getPosition(nextEvent) <= position) {
+            runUntil(replay.getPosition(nextEvent));
+            apply(nextEvent++);
+        }
+        runUntil(position);
+    }
+
+    public void playToEnd() {
+        seek(replay.getLength());
+    }
+
+    private void restart() {
+        ReplayHeader header = replay.getHeader();
+        Board board = new BitboardBoard(header.getRows(), header.getCols(),
+                header.getRandomizer().create(header.getSeed()));
+        game = new GameController(new NullGameView(), header.getDifficulty(), board);
+        scheduler = game.getTickScheduler();
+        gameStart = 0;
+        nextEvent = 0;
+    }
+
+    private void runUntil(long position) {
+        long ticks = position - getPosition();
+        while (ticks > 0 && !scheduler.isStopped()) {
+            int batch = (int) Math.min(ticks, Integer.MAX_VALUE);
+            scheduler.runTicks(batch);
+            ticks -= batch;
+        }
+    }
+
+    private void apply(int index) {
+        switch (replay.getEvent(index)) {
+            case LEFT: game.onLeftEvent(LEFT); break;
+            case RIGHT: game.onRightEvent(RIGHT); break;
+            case ROTATE: game.onRotateEvent(ROTATE); break;
+            case ROTATE_RIGHT: game.onRotateEvent(ROTATE_RIGHT); break;
+            case ROTATE_180: game.onRotateEvent(ROTATE_180); break;
+            case SOFT_DROP: game.onDownEvent(DOWN); break;
+            case HARD_DROP: game.hardDrop(); break;
+            case HOLD: game.holdCurrentBrick(); break;
+            case PRESS_LEFT: scheduler.pressShift(-1); break;
+            case PRESS_RIGHT: scheduler.pressShift(1); break;
+            case RELEASE_LEFT: scheduler.releaseShift(-1); break;
+            case RELEASE_RIGHT: scheduler.releaseShift(1); break;
+            case PAUSE: game.togglePause(); break;
+            case GRAVITY: scheduler.setGravity(GameDifficulty.values()[replay.getArgument(index)]); break;
+            case GARBAGE: game.addGarbageRow(replay.getArgument(index)); break;
+            case NEW_GAME:
+                gameStart += scheduler.getTickCount();
+                game.createNewGame();
+                break;
+            case GAME_OVER:
+                int score = game.getScore().getScore();
+                if (!game.isGameOver() || score != replay.getArgument(index)) {
+                    throw new IllegalStateException("Replay diverged at tick " + replay.getPosition(index)
+                            + ": recorded game over with score " + replay.getArgument(index)
+                            + ", playback has " + (game.isGameOver() ? "game over" : "game running")
+                            + " with score " + score);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled replay event " + replay.getEvent(index));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        long seekTo = -1;
+        for (String arg : args) {
+            if (arg.startsWith("--seek=")) {
+                seekTo = Long.parseLong(arg.substring("--seek=".length()));
+            } else {
+                files.add(arg);
+            }
+        }
+        for (String file : files) {
+            Replay replay = Replay.read(Paths.get(file));
+            ReplayPlayer player = new ReplayPlayer(replay);
+            long start = System.nanoTime();
+            if (seekTo >= 0) {
+                player.seek(seekTo);
+            } else {
+                player.playToEnd();
+            }
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            long ticks = player.getPosition();
+            double realSeconds = ticks / (double) GameTickScheduler.TICKS_PER_SECOND;
+            Score score = player.getGame().getScore();
+            System.out.printf(Locale.ROOT,
+                    "%s: %d events, tick %d, pieces=%d lines=%d score=%d, %.1f ms (%.0fx real time)%n",
+                    file, replay.size(), ticks, player.getGame().getPiecesLocked(), score.getLinesCleared(),
+                    score.getScore(), elapsed / 1e6, realSeconds * 1e9 / elapsed);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.comp2042;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes a replay (see Replay for the format) as the game is played.
+ *
+ * record() only packs the event into an in-memory buffer, so it is cheap enough to call from
+ * the input handlers on the FX thread. Full buffers, and every game over, are handed to the
+ * PersistenceService writer thread, which appends them to the file in order; nothing on the FX
+ * thread touches disk, and whatever is still queued is written by the flush on exit.
+ */
+public class ReplayRecorder {
+
+    public static final Path REPLAY_DIR = Paths.get("replays");
+
+    private static final int FLUSH_THRESHOLD = 4096;
+
+    private final Path file;
+    private byte[] buffer = new byte[FLUSH_THRESHOLD + 64];
+    private int length;
+    private long lastTick;
+    private CompletableFuture<Void> lastWrite;
+    private volatile boolean failed;
+
+    public ReplayRecorder(Path file, ReplayHeader header) {
+        this.file = file;
+        writeHeader(header);
+        // get the header onto disk right away so even a game that crashes leaves a readable file
+        flush();
+    }
+
+    /**
+     * Records into a new file under REPLAY_DIR, named after the start time and the given tag.
+     */
+    public static ReplayRecorder createInReplayDir(ReplayHeader header, String tag) {
+        return new ReplayRecorder(REPLAY_DIR.resolve(header.getStartedAtMillis() + "-" + tag + ".cwr"), header);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @param tick the scheduler tick count when the event happened
+     */
+    public void record(ReplayEvent event, long tick) {
+        record(event, tick, 0);
+    }
+
+    public void record(ReplayEvent event, long tick, int argument) {
+        // ticks only go backwards when a new game resets the scheduler, which NEW_GAME accounts for
+        long delta = Math.max(0, tick - lastTick);
+        writeVarint((delta << Replay.TYPE_BITS) | event.ordinal());
+        if (event.hasArgument()) {
+            writeVarint(argument);
+        }
+        lastTick = event == ReplayEvent.NEW_GAME ? 0 : tick;
+        if (length >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands everything recorded so far to the writer thread and returns without waiting.
+     */
+    public void flush() {
+        if (length == 0 || failed) {
+            length = 0;
+            return;
+        }
+        byte[] chunk = Arrays.copyOf(buffer, length);
+        length = 0;
+        lastWrite = PersistenceService.getInstance().write(() -> append(chunk));
+    }
+
+    /**
+     * Flushes and waits until the file holds everything recorded.
+     */
+    public void close() {
+        flush();
+        if (lastWrite == null) {
+            return;
+        }
+        try {
+            lastWrite.join();
+        } catch (CompletionException e) {
+            System.err.println("Error writing replay: " + e.getCause().getMessage());
+        }
+    }
+
+    private void append(byte[] chunk) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(file, chunk, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // a broken replay should never take the game down; stop recording instead
+            failed = true;
+            System.err.println("Error writing replay " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void writeHeader(ReplayHeader header) {
+        writeInt(Replay.MAGIC);
+        writeByte(Replay.VERSION);
+        writeInt((int) (header.getSeed() >>> 32));
+        writeInt((int) header.getSeed());
+        writeVarint(header.getRandomizer().ordinal());
+        writeVarint(header.getDifficulty().ordinal());
+        writeVarint(header.getRows());
+        writeVarint(header.getCols());
+        writeVarint(header.getStartedAtMillis());
+    }
+
+    private void writeInt(int value) {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int b) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = (byte) b;
+    }
+}
@@ -0,0 +1,199 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickShape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental line-clear engine for a board stored as matrix[row][col].
+ *
+ * Instead of rebuilding the whole matrix after every lock (see MatrixOperations.checkRemoving),
+ * it keeps a fill count per row, remembers which rows the last merge touched, and only checks
+ * those rows. Full rows are removed by moving row references down in place and recycling the
+ * cleared row arrays as the new empty rows at the top. A lock that clears nothing therefore
+ * costs O(piece rows) and allocates only the returned ClearRow.
+ *
+ * Garbage rows come in from the bottom the same way: the row arrays move up one and the top
+ * one is refilled as the new bottom row.
+ *
+ * It also keeps the board's Zobrist hash (see ZobristKeys) up to date the same way: merges
+ * re-term the rows they touch, clears re-term only the rows that moved.
+ */
+public final class RowClearEngine {
+
+    private final int rows;
+    private final int cols;
+    private final int[] fillCounts;
+    private final long[] rowContents;
+    private final long emptyHash;
+    private final int[] clearedScratch;
+    private final int[][] recycledRows;
+
+    // Range of rows written by merges since the last clear check, inclusive.
+    private int touchedTop;
+    private int touchedBottom;
+    // Highest row (smallest index) holding any block; rows above it are known to be empty.
+    private int stackTop;
+    private long boardHash;
+
+    public RowClearEngine(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.fillCounts = new int[rows];
+        this.rowContents = new long[rows];
+        this.emptyHash = ZobristKeys.emptyBoard(rows);
+        this.clearedScratch = new int[rows];
+        this.recycledRows = new int[rows][];
+        reset();
+    }
+
+    /**
+     * Forget all counts; call whenever the matrix is replaced by an empty one.
+     */
+    public void reset() {
+        Arrays.fill(fillCounts, 0);
+        Arrays.fill(rowContents, 0);
+        boardHash = emptyHash;
+        touchedTop = rows;
+        touchedBottom = -1;
+        stackTop = rows;
+    }
+
+    /**
+     * Writes the brick into the matrix in place and updates the per-row fill counts.
+     * Cells outside the board are ignored, like MatrixOperations.merge.
+     */
+    public void merge(int[][] matrix, BrickShape brick, int x, int y) {
+        int color = brick.getColor();
+        for (int i = 0; i < brick.getCellCount(); i++) {
+            int targetY = y + brick.getCellRow(i);
+            int targetX = x + brick.getCellCol(i);
+            if (targetY < 0 || targetY >= rows || targetX < 0 || targetX >= cols) {
+                continue;
+            }
+            if (matrix[targetY][targetX] == 0) {
+                fillCounts[targetY]++;
+                long oldContent = rowContents[targetY];
+                rowContents[targetY] = oldContent ^ ZobristKeys.column(targetX);
+                boardHash ^= ZobristKeys.rowTerm(oldContent, targetY) ^ ZobristKeys.rowTerm(rowContents[targetY], targetY);
+            }
+            matrix[targetY][targetX] = color;
+            touchedTop = Math.min(touchedTop, targetY);
+            touchedBottom = Math.max(touchedBottom, targetY);
+            stackTop = Math.min(stackTop, targetY);
+        }
+    }
+
+    /**
+     * Removes any full rows among those touched since the last call and compacts the matrix in place.
+     * The returned ClearRow references the live matrix rather than a copy.
+     */
+    public ClearRow clearTouchedRows(int[][] matrix) {
+        int clearedCount = 0;
+        for (int r = touchedTop; r <= touchedBottom; r++) {
+            if (fillCounts[r] == cols) {
+                clearedScratch[clearedCount++] = r;
+            }
+        }
+        touchedTop = rows;
+        touchedBottom = -1;
+
+        if (clearedCount == 0) {
+            return new ClearRow(0, matrix, 0, List.of());
+        }
+
+        List<Integer> clearedRows = new ArrayList<>(clearedCount);
+        for (int i = 0; i < clearedCount; i++) {
+            clearedRows.add(clearedScratch[i]);
+        }
+        compact(matrix, clearedCount);
+
+        int scoreBonus = 50 * clearedCount * clearedCount;
+        return new ClearRow(clearedCount, matrix, scoreBonus, clearedRows);
+    }
+
+    /**
+     * Pushes a garbage row in from the bottom: every row moves up one and the top row's array is
+     * reused as the new bottom row, so only row references move.
+     * @return false if the top row had blocks in it, which are now gone
+     */
+    public boolean pushGarbageRow(int[][] matrix, int holeColumn, int color) {
+        boolean fits = fillCounts[0] == 0;
+        // empty rows above the stack hash the same before and after the move
+        int firstMoved = Math.max(0, stackTop - 1);
+        rehashRows(firstMoved, rows - 1);
+        int[] recycled = matrix[0];
+        System.arraycopy(matrix, 1, matrix, 0, rows - 1);
+        System.arraycopy(fillCounts, 1, fillCounts, 0, rows - 1);
+        System.arraycopy(rowContents, 1, rowContents, 0, rows - 1);
+        Arrays.fill(recycled, color);
+        recycled[holeColumn] = 0;
+        matrix[rows - 1] = recycled;
+        fillCounts[rows - 1] = cols - 1;
+        rowContents[rows - 1] = ZobristKeys.rowContent(((1 << cols) - 1) & ~(1 << holeColumn));
+        rehashRows(firstMoved, rows - 1);
+        stackTop = Math.max(0, stackTop - 1);
+        // rows merged but not yet checked moved up with everything else
+        if (touchedBottom > 0) {
+            touchedTop = Math.max(0, touchedTop - 1);
+            touchedBottom--;
+        } else {
+            touchedTop = rows;
+            touchedBottom = -1;
+        }
+        return fits;
+    }
+
+    public int getFillCount(int row) {
+        return fillCounts[row];
+    }
+
+    /**
+     * Zobrist hash of the current occupancy, maintained incrementally.
+     */
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    private void compact(int[][] matrix, int clearedCount) {
+        // Rows below the lowest cleared row never move; everything between it and the top of the
+        // stack shifts down by the number of cleared rows beneath it.
+        int lowestCleared = clearedScratch[clearedCount - 1];
+        int firstMoved = stackTop;
+        rehashRows(firstMoved, lowestCleared);
+        int next = clearedCount - 1;
+        int recycled = 0;
+        int write = lowestCleared;
+        for (int read = lowestCleared; read >= stackTop; read--) {
+            if (next >= 0 && clearedScratch[next] == read) {
+                recycledRows[recycled++] = matrix[read];
+                next--;
+                continue;
+            }
+            matrix[write] = matrix[read];
+            fillCounts[write] = fillCounts[read];
+            rowContents[write] = rowContents[read];
+            write--;
+        }
+        // Cleared row arrays come back as the empty rows at the top of the stack.
+        for (int i = 0; i < recycled; i++, write--) {
+            int[] row = recycledRows[i];
+            Arrays.fill(row, 0);
+            recycledRows[i] = null;
+            matrix[write] = row;
+            fillCounts[write] = 0;
+            rowContents[write] = 0;
+        }
+        stackTop = Math.min(rows, stackTop + clearedCount);
+        rehashRows(firstMoved, lowestCleared);
+    }
+
+    // XORs the terms of rows [from, to] in or out of the board hash
+    private void rehashRows(int from, int to) {
+        for (int r = from; r <= to; r++) {
+            boardHash ^= ZobristKeys.rowTerm(rowContents[r], r);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.comp2042;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Switches the stage between screens, parsing each menu's FXML only once.
+ *
+ * Menus are cached: the first visit loads the FXML (or picks up the copy warmUp() parsed on a
+ * background thread) and later visits reuse the same root, controller and Scene. Their
+ * controllers refresh in ScreenLifecycle.onShow() and forget per-visit state in onHide().
+ *
+ * The game screens (RESETTABLE) are loaded fresh every time, and the old one is disposed as soon
+ * as the player moves on, which stops its game loop instead of leaving it ticking in the
+ * background. The one exception is visit(): a screen opened from the pause menu keeps the game
+ * alive so returnTo() can go back to it.
+ *
+ * Everything except warmUp() must be called on the FX thread.
+ */
+public final class SceneNavigator {
+
+    public static final String MAIN_MENU = "/mainMenu.fxml";
+    public static final String MODE_MENU = "/modeMenu.fxml";
+    public static final String DIFFICULTY_MENU = "/difficultyMenu.fxml";
+    public static final String HIGH_SCORES = "/highScores.fxml";
+    public static final String SETTINGS = "/settings.fxml";
+    public static final String GAME = "/gameLayout.fxml";
+    public static final String VERSUS = "/versusLayout.fxml";
+    public static final String BATTLE = "/battleLayout.fxml";
+
+    private static final Set<String> RESETTABLE = Set.of(GAME, VERSUS, BATTLE);
+
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 600;
+    private static final double VERSUS_WIDTH = 1400;
+    private static final double VERSUS_HEIGHT = 800;
+
+    // parsed menus, possibly still loading on a background thread
+    private static final Map<String, CompletableFuture<Screen>> cache = new ConcurrentHashMap<>();
+
+    private static Stage stage;
+    private static Screen current;
+    // the screen a visit() was made from, kept alive until returnTo() or the next show()
+    private static Screen suspended;
+
+    private SceneNavigator() {
+    }
+
+    public static void init(Stage primaryStage) {
+        stage = primaryStage;
+    }
+
+    /**
+     * Parses the given menus on background threads, in parallel, so their first visit is instant.
+     * Scenes are still created on the FX thread, on first show.
+     *
+     * @return completes when all of them are parsed (or failed; show() reports the error)
+     */
+    public static CompletableFuture<Void> warmUp(String... paths) {
+        List<CompletableFuture<Screen>> loading = new ArrayList<>();
+        for (String path : paths) {
+            if (!RESETTABLE.contains(path)) {
+                loading.add(cache.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return load(p);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })));
+            }
+        }
+        return CompletableFuture.allOf(loading.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null);
+    }
+
+    /**
+     * Replaces the current screen. A game screen being left is disposed.
+     * @return the new screen's controller
+     */
+    public static <C> C show(String path) throws IOException {
+        return show(path, null);
+    }
+
+    /**
+     * @param setup called with the controller before the screen goes on the stage, e.g. to start a game
+     */
+    public static <C> C show(String path, Consumer<C> setup) throws IOException {
+        Screen screen = screen(path);
+        if (suspended != null && suspended != screen) {
+            retire(suspended);
+        }
+        suspended = null;
+        if (current != null && current != screen) {
+            retire(current);
+        }
+        return present(screen, setup);
+    }
+
+    /**
+     * Shows a screen on top of the current one, which stays alive (its game paused, not disposed)
+     * so returnTo() can bring it back. Used for menus opened from the pause menu.
+     */
+    public static <C> C visit(String path, Consumer<C> setup) throws IOException {
+        Screen screen = screen(path);
+        if (current != null && current != screen) {
+            suspended = current;
+            hide(current);
+        }
+        return present(screen, setup);
+    }
+
+    /**
+     * Goes back to a screen shown earlier, normally the one a visit() started from.
+     */
+    public static void returnTo(Scene scene) {
+        Screen target = null;
+        if (suspended != null && suspended.scene == scene) {
+            target = suspended;
+            suspended = null;
+        } else {
+            for (CompletableFuture<Screen> cached : cache.values()) {
+                if (cached.isDone() && !cached.isCompletedExceptionally() && cached.join().scene == scene) {
+                    target = cached.join();
+                }
+            }
+        }
+        if (target == null) {
+            // not one of ours; just put it up
+            stage.setScene(scene);
+            stage.show();
+            return;
+        }
+        if (current != null && current != target) {
+            hide(current);
+        }
+        present(target, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> C present(Screen screen, Consumer<C> setup) {
+        C controller = (C) screen.controller;
+        if (setup != null) {
+            setup.accept(controller);
+        }
+        if (screen.scene == null) {
+            screen.scene = new Scene(screen.root, screen.width, screen.height);
+        }
+        current = screen;
+        stage.setScene(screen.scene);
+        stage.show();
+        if (controller instanceof ScreenLifecycle) {
+            ((ScreenLifecycle) controller).onShow();
+        }
+        return controller;
+    }
+
+    private static void hide(Screen screen) {
+        if (screen.controller instanceof ScreenLifecycle) {
+            ((ScreenLifecycle) screen.controller).onHide();
+        }
+    }
+
+    private static void retire(Screen screen) {
+        hide(screen);
+        if (screen.resettable && screen.controller instanceof ScreenLifecycle) {
+            ((ScreenLifecycle) screen.controller).dispose();
+        }
+    }
+
+    private static Screen screen(String path) throws IOException {
+        if (RESETTABLE.contains(path)) {
+            return load(path);
+        }
+        CompletableFuture<Screen> cached = cache.get(path);
+        if (cached == null) {
+            Screen screen = load(path);
+            cache.put(path, CompletableFuture.completedFuture(screen));
+            return screen;
+        }
+        try {
+            // waits if a warm-up is still parsing it
+            return cached.join();
+        } catch (CompletionException e) {
+            cache.remove(path);
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private static Screen load(String path) throws IOException {
+        FXMLLoader loader = new FXMLLoader(SceneNavigator.class.getResource(path));
+        Parent root = loader.load();
+        boolean wide = VERSUS.equals(path) || BATTLE.equals(path);
+        return new Screen(root, loader.getController(), RESETTABLE.contains(path),
+                wide ? VERSUS_WIDTH : WIDTH, wide ? VERSUS_HEIGHT : HEIGHT);
+    }
+
+    private static final class Screen {
+        final Parent root;
+        final Object controller;
+        final boolean resettable;
+        final double width;
+        final double height;
+        // created on first show, on the FX thread
+        Scene scene;
+
+        Screen(Parent root, Object controller, boolean resettable, double width, double height) {
+            this.root = root;
+            this.controller = controller;
+            this.resettable = resettable;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
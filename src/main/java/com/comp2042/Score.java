@@ -3,54 +3,98 @@ package com.comp2042;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+/**
+ * GUI-facing score: the numbers live in a ScoreCounter, and the JavaFX properties are only created
+ * (and kept in sync) once something asks for them. Keeping them in a nested class means a headless
+ * game never even loads the JavaFX property classes.
+ */
 public final class Score {
 
-    private final IntegerProperty score = new SimpleIntegerProperty(0);
-    private final IntegerProperty combo = new SimpleIntegerProperty(0);
-    private final IntegerProperty linesCleared = new SimpleIntegerProperty(0);
-    private final IntegerProperty highScore = new SimpleIntegerProperty(0);
+    private final ScoreCounter counter = new ScoreCounter();
+    private Properties properties;
 
     public IntegerProperty scoreProperty() {
-        return score;
+        return properties().score;
     }
 
     public IntegerProperty comboProperty() {
-        return combo;
+        return properties().combo;
     }
 
     public IntegerProperty linesClearedProperty() {
-        return linesCleared;
+        return properties().linesCleared;
     }
 
     public IntegerProperty highScoreProperty() {
-        return highScore;
+        return properties().highScore;
+    }
+
+    public ScoreCounter getCounter() {
+        return counter;
+    }
+
+    public int getScore() {
+        return counter.getScore();
+    }
+
+    public int getCombo() {
+        return counter.getCombo();
+    }
+
+    public int getLinesCleared() {
+        return counter.getLinesCleared();
     }
 
     public void add(int points) {
-        int comboMultiplier = Math.max(1, combo.get());
-        int finalPoints = points * comboMultiplier;
-        score.setValue(score.getValue() + finalPoints);
-        
-        if (score.getValue() > highScore.get()) {
-            highScore.setValue(score.getValue());
-        }
+        counter.add(points);
+        sync();
     }
 
     public void addCombo() {
-        combo.setValue(combo.get() + 1);
+        counter.addCombo();
+        sync();
     }
 
     public void resetCombo() {
-        combo.setValue(0);
+        counter.resetCombo();
+        sync();
     }
 
     public void addLinesCleared(int lines) {
-        linesCleared.setValue(linesCleared.getValue() + lines);
+        counter.addLinesCleared(lines);
+        sync();
     }
 
     public void reset() {
-        score.setValue(0);
-        combo.setValue(0);
-        linesCleared.setValue(0);
+        counter.reset();
+        sync();
+    }
+
+    private Properties properties() {
+        if (properties == null) {
+            properties = new Properties();
+            properties.sync(counter);
+        }
+        return properties;
+    }
+
+    private void sync() {
+        if (properties != null) {
+            properties.sync(counter);
+        }
+    }
+
+    private static final class Properties {
+        private final IntegerProperty score = new SimpleIntegerProperty(0);
+        private final IntegerProperty combo = new SimpleIntegerProperty(0);
+        private final IntegerProperty linesCleared = new SimpleIntegerProperty(0);
+        private final IntegerProperty highScore = new SimpleIntegerProperty(0);
+
+        void sync(ScoreCounter counter) {
+            score.set(counter.getScore());
+            combo.set(counter.getCombo());
+            linesCleared.set(counter.getLinesCleared());
+            highScore.set(counter.getHighScore());
+        }
     }
 }
@@ -0,0 +1,55 @@
+package com.comp2042;
+
+/**
+ * Plain-int score bookkeeping with no JavaFX dependency, so the engine can keep score headless.
+ * Score wraps one of these and mirrors it into properties for the GUI.
+ */
+public final class ScoreCounter {
+
+    private int score;
+    private int combo;
+    private int linesCleared;
+    private int highScore;
+
+    public void add(int points) {
+        int comboMultiplier = Math.max(1, combo);
+        score += points * comboMultiplier;
+        if (score > highScore) {
+            highScore = score;
+        }
+    }
+
+    public void addCombo() {
+        combo++;
+    }
+
+    public void resetCombo() {
+        combo = 0;
+    }
+
+    public void addLinesCleared(int lines) {
+        linesCleared += lines;
+    }
+
+    public void reset() {
+        score = 0;
+        combo = 0;
+        linesCleared = 0;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getCombo() {
+        return combo;
+    }
+
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    public int getHighScore() {
+        return highScore;
+    }
+}
@@ -0,0 +1,70 @@
+package com.comp2042;
+
+import java.util.Comparator;
+
+/**
+ * One finished game as kept by ScoreStore.
+ */
+public final class ScoreRecord {
+
+    /** Highest score first; ties go to whoever got there first, like HighScore. */
+    public static final Comparator<ScoreRecord> BEST_FIRST = (a, b) -> {
+        if (a.score != b.score) {
+            return Integer.compare(b.score, a.score);
+        }
+        return Long.compare(a.timestamp, b.timestamp);
+    };
+
+    private final GameMode mode;
+    private final GameDifficulty difficulty;
+    private final String player;
+    private final int score;
+    private final int linesCleared;
+    private final long timestamp;
+
+    public ScoreRecord(GameMode mode, GameDifficulty difficulty, int score, int linesCleared, long timestamp) {
+        this(mode, difficulty, "", score, linesCleared, timestamp);
+    }
+
+    /**
+     * @param player name the game is filed under; "" for anonymous
+     */
+    public ScoreRecord(GameMode mode, GameDifficulty difficulty, String player, int score, int linesCleared,
+                       long timestamp) {
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.player = player;
+        this.score = score;
+        this.linesCleared = linesCleared;
+        this.timestamp = timestamp;
+    }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    public GameDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return score + " points";
+    }
+}
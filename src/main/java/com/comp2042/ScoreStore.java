@@ -0,0 +1,418 @@
+package com.comp2042;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps every finished game and a top-K leaderboard per mode and difficulty.
+ *
+ * Two files live in the store directory:
+ * <ul>
+ *   <li>scores.log: every result ever submitted, as fixed-size records (CRC32 + payload), only
+ *       ever appended to. The first result of a new player is preceded by a record of their name
+ *       and id, so the log alone is enough to rebuild everything. A record torn by a crash fails
+ *       its checksum and is cut off on the next open.</li>
+ *   <li>leaderboard.map: a MappedLeaderboard holding the top-K lists, game counts and per-player
+ *       bests, plus how many log bytes they already include. Updated in place on every submit and
+ *       marked clean (CRC + flush) every COMPACT_AFTER new records, on close, and whenever the
+ *       PersistenceService runs its periodic sync.</li>
+ * </ul>
+ * Opening maps the leaderboard and then only reads the log records written after it was last
+ * marked clean, so start-up cost does not grow with the number of games in the log. After a
+ * crash, or if the file is missing or damaged, it is rebuilt from the whole log once.
+ *
+ * One shared instance is used by the game (getInstance()); all methods are synchronized.
+ * I/O errors are reported on stderr, like HighScoreManager did. A result that cannot be written to
+ * the log is not recorded at all; if the files cannot be opened the store does nothing.
+ */
+public final class ScoreStore {
+
+    public static final int TOP_K = 100;
+
+    public static final int MAX_PLAYERS = 1024;
+
+    static final int RECORD_BYTES = 24;
+    // crc (4) | timestamp (8) | score (4) | lines (4) | mode (1) | difficulty (1) | player id (2)
+    private static final int PAYLOAD_BYTES = RECORD_BYTES - 4;
+    // a name takes two record slots: crc (4, over the other 44 bytes) | name bytes 0-15 |
+    // NAME_RECORD in the mode byte | name length | player id (2) | name bytes 16-30, zero padded
+    static final int NAME_RECORD_BYTES = 2 * RECORD_BYTES;
+    private static final int MODE_OFFSET = 20;
+    private static final byte NAME_RECORD = (byte) 0xFF;
+    private static final int NAME_HEAD_BYTES = MODE_OFFSET - 4;
+    private static final int COMPACT_AFTER = 64;
+    private static final int SCAN_CHUNK_RECORDS = 4096;
+
+    private static final Path DEFAULT_DIR = Paths.get("scores");
+    private static final Path LEGACY_FILE = Paths.get("highscores.dat");
+
+    private static final GameMode[] MODES = GameMode.values();
+    private static final GameDifficulty[] DIFFICULTIES = GameDifficulty.values();
+
+    private static final class Holder {
+        static final ScoreStore INSTANCE = new ScoreStore(DEFAULT_DIR, LEGACY_FILE);
+    }
+
+    private final Path logFile;
+    private final Path leaderboardFile;
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(NAME_RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+
+    // null when the files could not be opened; the store then does nothing
+    private FileChannel log;
+    private MappedLeaderboard leaderboard;
+    private long logLength;
+
+    public ScoreStore(Path dir) {
+        this(dir, null);
+    }
+
+    /**
+     * @param legacyFile serialized highscores.dat to import when the store is created for the first time
+     */
+    ScoreStore(Path dir, Path legacyFile) {
+        this.logFile = dir.resolve("scores.log");
+        this.leaderboardFile = dir.resolve("leaderboard.map");
+        open(dir, legacyFile);
+    }
+
+    public static ScoreStore getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Stores a finished game.
+     * @return its 1-based rank on its leaderboard, or 0 if it did not make the top K or could
+     *         not be written to the log
+     */
+    public synchronized int submit(ScoreRecord record) {
+        if (log == null) {
+            return 0;
+        }
+        // the leaderboard only ever holds what the log does, or a rebuild would lose it again
+        int playerId = logPlayer(record.getPlayer());
+        if (playerId < 0 || !appendToLog(record, playerId)) {
+            return 0;
+        }
+        int rank = leaderboard.add(board(record.getMode(), record.getDifficulty()), record, playerId);
+        if (logLength - leaderboard.getCoveredLength() >= (long) COMPACT_AFTER * RECORD_BYTES) {
+            compact();
+        }
+        return rank;
+    }
+
+    /**
+     * The rank a score would get if it were submitted now, or 0 if it would not make the top K.
+     */
+    public synchronized int rankFor(GameMode mode, GameDifficulty difficulty, int score) {
+        return log == null ? 0 : leaderboard.rankFor(board(mode, difficulty), score);
+    }
+
+    /**
+     * The best {@code count} results (at most TOP_K), best first. Reads only those entries.
+     */
+    public synchronized List<ScoreRecord> getTop(GameMode mode, GameDifficulty difficulty, int count) {
+        if (log == null) {
+            return new ArrayList<>();
+        }
+        return leaderboard.getTop(board(mode, difficulty), count, mode, difficulty);
+    }
+
+    public synchronized long getGamesPlayed(GameMode mode, GameDifficulty difficulty) {
+        return log == null ? 0 : leaderboard.getGamesPlayed(board(mode, difficulty));
+    }
+
+    /**
+     * A player's best score on one leaderboard, or 0 if they have no result there.
+     */
+    public synchronized int getPlayerBest(String player, GameMode mode, GameDifficulty difficulty) {
+        return log == null ? 0 : leaderboard.getPlayerBest(player, board(mode, difficulty));
+    }
+
+    /**
+     * Makes the leaderboard file consistent with the log written so far, so the next start only
+     * reads what comes after.
+     */
+    public synchronized void compact() {
+        if (log == null) {
+            return;
+        }
+        try {
+            // the log must hold everything the leaderboard claims to cover
+            log.force(false);
+            leaderboard.markClean(logLength);
+        } catch (IOException e) {
+            System.err.println("Error compacting scores: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forgets every result on every leaderboard, including the history in the log.
+     * Player names are kept.
+     */
+    public synchronized void clear() {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.truncate(0);
+            logLength = 0;
+            leaderboard.resetScores();
+            leaderboard.markClean(0);
+        } catch (IOException e) {
+            System.err.println("Error clearing scores: " + e.getMessage());
+        }
+    }
+
+    public synchronized void close() {
+        if (log == null) {
+            return;
+        }
+        if (logLength != leaderboard.getCoveredLength()) {
+            compact();
+        }
+        closeQuietly();
+    }
+
+    private static int board(GameMode mode, GameDifficulty difficulty) {
+        return mode.ordinal() * DIFFICULTIES.length + difficulty.ordinal();
+    }
+
+    private void open(Path dir, Path legacyFile) {
+        try {
+            Files.createDirectories(dir);
+            boolean firstRun = !Files.exists(logFile);
+            log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            leaderboard = MappedLeaderboard.open(leaderboardFile, MODES.length * DIFFICULTIES.length, TOP_K,
+                    MAX_PLAYERS);
+            long covered = leaderboard.getCoveredLength();
+            long from = covered;
+            if (!leaderboard.wasClean() || covered > log.size() || covered % RECORD_BYTES != 0) {
+                leaderboard.resetScores();
+                from = 0;
+            }
+            logLength = replayLog(from);
+            if (logLength < log.size()) {
+                // drop a torn or corrupt tail so new records stay aligned
+                log.truncate(logLength);
+            }
+            if (firstRun && legacyFile != null && Files.exists(legacyFile)) {
+                importLegacy(legacyFile);
+            }
+            if (logLength != covered || from != covered) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Error opening score store: " + e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Adds the log records from the given offset to the leaderboards.
+     * @return the offset just past the last valid record
+     */
+    private long replayLog(long from) throws IOException {
+        long position = from;
+        long size = log.size();
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK_RECORDS * RECORD_BYTES);
+        while (position + RECORD_BYTES <= size) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), (size - position) / RECORD_BYTES * RECORD_BYTES));
+            while (chunk.hasRemaining()) {
+                if (log.read(chunk, position + chunk.position()) < 0) {
+                    break;
+                }
+            }
+            chunk.flip();
+            while (chunk.remaining() >= RECORD_BYTES) {
+                int length = recordLength(chunk);
+                if (chunk.remaining() < length) {
+                    if (position + length > size) {
+                        return position;
+                    }
+                    // a name record split by the chunk end; the next chunk starts with it
+                    break;
+                }
+                if (!applyRecord(chunk, length)) {
+                    return position;
+                }
+                position += length;
+            }
+        }
+        return position;
+    }
+
+    // the player's id; a new name is written to the log before it gets one. -1 if that write failed
+    private int logPlayer(String name) {
+        int id = leaderboard.findPlayerId(name);
+        if (id >= 0 || leaderboard.isPlayerTableFull()) {
+            // a full table files newcomers under the anonymous player, which needs no record
+            return Math.max(id, 0);
+        }
+        String stored = MappedLeaderboard.truncateName(name);
+        recordBuffer.clear();
+        encodeName(leaderboard.getPlayerCount(), stored.getBytes(StandardCharsets.UTF_8), recordBuffer);
+        if (!writeRecord()) {
+            return -1;
+        }
+        return leaderboard.playerId(stored);
+    }
+
+    private boolean appendToLog(ScoreRecord record, int playerId) {
+        recordBuffer.clear();
+        encodeRecord(record, playerId, recordBuffer);
+        return writeRecord();
+    }
+
+    // false if the record could not be written; logLength is then unchanged, so the next record
+    // overwrites whatever part of it did reach the file
+    private boolean writeRecord() {
+        recordBuffer.flip();
+        int length = recordBuffer.remaining();
+        try {
+            while (recordBuffer.hasRemaining()) {
+                log.write(recordBuffer, logLength + recordBuffer.position());
+            }
+            logLength += length;
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving score: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void encodeRecord(ScoreRecord record, int playerId, ByteBuffer out) {
+        int start = out.position();
+        out.putInt(0); // checksum, filled in below
+        out.putLong(record.getTimestamp());
+        out.putInt(record.getScore());
+        out.putInt(record.getLinesCleared());
+        out.put((byte) record.getMode().ordinal());
+        out.put((byte) record.getDifficulty().ordinal());
+        out.putShort((short) playerId);
+        crc.reset();
+        crc.update(out.array(), start + 4, PAYLOAD_BYTES);
+        out.putInt(start, (int) crc.getValue());
+    }
+
+    private void encodeName(int playerId, byte[] name, ByteBuffer out) {
+        int start = out.position();
+        for (int i = 0; i < NAME_RECORD_BYTES; i++) {
+            out.put(start + i, (byte) 0);
+        }
+        int head = Math.min(name.length, NAME_HEAD_BYTES);
+        out.put(start + 4, name, 0, head);
+        out.put(start + MODE_OFFSET, NAME_RECORD);
+        out.put(start + MODE_OFFSET + 1, (byte) name.length);
+        out.putShort(start + MODE_OFFSET + 2, (short) playerId);
+        out.put(start + RECORD_BYTES, name, head, name.length - head);
+        out.position(start + NAME_RECORD_BYTES);
+        crc.reset();
+        crc.update(out.array(), start + 4, NAME_RECORD_BYTES - 4);
+        out.putInt(start, (int) crc.getValue());
+    }
+
+    // bytes taken by the record at the buffer's position, going by its mode byte
+    private static int recordLength(ByteBuffer in) {
+        return in.get(in.position() + MODE_OFFSET) == NAME_RECORD ? NAME_RECORD_BYTES : RECORD_BYTES;
+    }
+
+    // false if the checksum or the field values do not check out
+    private boolean applyRecord(ByteBuffer in, int length) {
+        int stored = in.getInt();
+        crc.reset();
+        crc.update(in.array(), in.arrayOffset() + in.position(), length - 4);
+        if ((int) crc.getValue() != stored) {
+            return false;
+        }
+        if (length == NAME_RECORD_BYTES) {
+            return applyName(in);
+        }
+        long timestamp = in.getLong();
+        int score = in.getInt();
+        int lines = in.getInt();
+        int mode = in.get();
+        int difficulty = in.get();
+        int playerId = in.getShort() & 0xFFFF;
+        if (mode < 0 || mode >= MODES.length || difficulty < 0 || difficulty >= DIFFICULTIES.length
+                || playerId >= MAX_PLAYERS) {
+            return false;
+        }
+        if (playerId >= leaderboard.getPlayerCount()) {
+            // no name on record for this id (a log from before name records); a later newcomer
+            // gets this id, so the result must not be left in their slot
+            playerId = 0;
+        }
+        ScoreRecord record = new ScoreRecord(MODES[mode], DIFFICULTIES[difficulty], score, lines, timestamp);
+        leaderboard.add(board(record.getMode(), record.getDifficulty()), record, playerId);
+        return true;
+    }
+
+    private boolean applyName(ByteBuffer in) {
+        int start = in.position() - 4;
+        int length = in.get(start + MODE_OFFSET + 1) & 0xFF;
+        int playerId = in.getShort(start + MODE_OFFSET + 2) & 0xFFFF;
+        in.position(start + NAME_RECORD_BYTES);
+        if (length > MappedLeaderboard.MAX_NAME_BYTES) {
+            return false;
+        }
+        byte[] name = new byte[length];
+        int head = Math.min(length, NAME_HEAD_BYTES);
+        in.get(start + 4, name, 0, head);
+        in.get(start + RECORD_BYTES, name, head, length - head);
+        leaderboard.restorePlayer(playerId, new String(name, StandardCharsets.UTF_8));
+        return true;
+    }
+
+    private void importLegacy(Path legacyFile) {
+        // only what the old format ever contained may be deserialized: the list, its Object[]
+        // backing array and HighScore entries
+        ObjectInputFilter filter = ObjectInputFilter.Config.createFilter(
+                "maxdepth=5;maxarray=100000;java.util.ArrayList;java.lang.Object;com.comp2042.HighScore;!*");
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(legacyFile));
+             ObjectInputStream in = new ObjectInputStream(file)) {
+            in.setObjectInputFilter(filter);
+            Object loaded = in.readObject();
+            if (!(loaded instanceof List)) {
+                return;
+            }
+            // the old file had one list for everything, so it becomes the basic/medium board
+            for (Object entry : (List<?>) loaded) {
+                if (entry instanceof HighScore) {
+                    HighScore old = (HighScore) entry;
+                    submit(new ScoreRecord(GameMode.BASIC, GameDifficulty.MEDIUM, old.getScore(), 0,
+                            old.getTimestamp()));
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Error importing " + legacyFile + ": " + e.getMessage());
+        }
+    }
+
+    private void closeQuietly() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Error closing score log: " + e.getMessage());
+            }
+            log = null;
+        }
+        leaderboard = null;
+    }
+}
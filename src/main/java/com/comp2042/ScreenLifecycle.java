@@ -0,0 +1,28 @@
+package com.comp2042;
+
+/**
+ * Hooks SceneNavigator calls on screen controllers that implement this. All run on the FX thread.
+ */
+public interface ScreenLifecycle {
+
+    /**
+     * The screen was put on the stage. Cached screens get this on every visit, so it is the place
+     * to refresh whatever may have changed since last time.
+     */
+    default void onShow() {
+    }
+
+    /**
+     * Another screen replaced this one. Forget anything set up for this visit only
+     * (return scenes, callbacks), since a cached screen is reused by the next caller.
+     */
+    default void onHide() {
+    }
+
+    /**
+     * A resettable screen is being thrown away: stop its loops and let go of its game.
+     * Cached screens never get this.
+     */
+    default void dispose() {
+    }
+}
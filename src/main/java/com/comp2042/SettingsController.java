@@ -1,16 +1,13 @@
 package com.comp2042;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Slider;
-import javafx.stage.Stage;
 import java.io.IOException;
 
-public class SettingsController {
+public class SettingsController implements ScreenLifecycle {
 
     @FXML private Slider musicSlider;
     @FXML private Slider sfxSlider;
@@ -41,20 +38,16 @@ public class SettingsController {
 
     private void navigateBack() {
         try {
-            Stage stage = (Stage) saveButton.getScene().getWindow();
-
+            // going back hides this screen, which clears the callback
+            Runnable saved = onSaved;
             if (returnScene != null) {
-                stage.setScene(returnScene);
-                stage.show();
+                SceneNavigator.returnTo(returnScene);
             } else {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/mainMenu.fxml"));
-                Parent root = loader.load();
-                stage.setScene(new Scene(root, 800, 600));
-                stage.show();
+                SceneNavigator.show(SceneNavigator.MAIN_MENU);
             }
 
-            if (onSaved != null) {
-                onSaved.run();
+            if (saved != null) {
+                saved.run();
             }
         } catch (IOException e) {
             Alert alert = new Alert(Alert.AlertType.ERROR);
@@ -65,6 +58,19 @@ public class SettingsController {
         }
     }
 
+    @Override
+    public void onShow() {
+        // cached screen: show the volumes as they are now
+        musicSlider.setValue(SoundManager.getMasterVolume());
+        sfxSlider.setValue(SoundManager.getSfxVolume());
+    }
+
+    @Override
+    public void onHide() {
+        returnScene = null;
+        onSaved = null;
+    }
+
     public void setReturnScene(Scene scene) {
         this.returnScene = scene;
     }
@@ -2,10 +2,14 @@ package com.comp2042;
 
 import com.comp2042.logic.bricks.Brick;
 import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
 import com.comp2042.logic.bricks.RandomBrickGenerator;
 
 import com.comp2042.PointInt;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class SimpleBoard implements Board {
 
     // width = number of columns, height = number of rows
@@ -14,9 +18,16 @@ public class SimpleBoard implements Board {
     private final BrickGenerator brickGenerator;
     private final BrickRotator brickRotator;
     private int[][] currentGameMatrix;
-    private PointInt currentOffset;
+    // Mutated in place by moves and rotations so the steady-state hot path does not allocate.
+    private final PointInt currentOffset = new PointInt(0, 0);
     private final Score score;
+    private final RowClearEngine rowClearEngine;
+    private final BoardChangeSet changeSet = new BoardChangeSet();
+    private final SurfaceProfile surface;
     private Brick nextBrick;
+    // Landing row of the current brick; recomputed lazily after anything that could change it.
+    private int ghostY;
+    private boolean ghostValid;
 
     private static final int ROTATION_STATES = 4;
 
@@ -25,14 +36,20 @@ public class SimpleBoard implements Board {
     // Internally we want currentGameMatrix[row][col] so interpret the first arg as rows (height)
     // and the second as cols (width).
     public SimpleBoard(int rows, int cols) {
+        this(rows, cols, new RandomBrickGenerator());
+    }
+
+    public SimpleBoard(int rows, int cols, BrickGenerator brickGenerator) {
         this.width = cols;
         this.height = rows;
         // matrix indexed as [rows][cols]
         currentGameMatrix = new int[height][width];
-        brickGenerator = new RandomBrickGenerator();
+        this.brickGenerator = brickGenerator;
         nextBrick = brickGenerator.getBrick();
         brickRotator = new BrickRotator();
         score = new Score();
+        rowClearEngine = new RowClearEngine(height, width);
+        surface = new SurfaceProfile(height, width, (row, col) -> currentGameMatrix[row][col] != 0);
     }
 
     @Override
@@ -51,35 +68,52 @@ public class SimpleBoard implements Board {
         return tryMove(1, 0);
     }
 
+    @Override
+    public int dropToBottom() {
+        int distance = getGhostY() - currentOffset.y;
+        currentOffset.y += distance;
+        return distance;
+    }
+
     @Override
     public boolean rotateLeftBrick() {
+        return rotate(1);
+    }
+
+    @Override
+    public boolean rotateRightBrick() {
+        return rotate(3);
+    }
+
+    @Override
+    public boolean rotateBrick180() {
+        return rotate(2);
+    }
+
+    private boolean rotate(int turns) {
         int from = brickRotator.getCurrentOrientation();
-        int to = (from + 1) % brickRotator.getOrientationCount();
-        int[][] rotatedShape = brickRotator.getShapeAt(to);
+        int to = (from + turns) % brickRotator.getOrientationCount();
+        BrickShape rotatedShape = brickRotator.getShapeAt(to);
 
-        for (PointInt kick : SrsKickTable.getKickData(brickRotator.getBrick(), from, to)) {
-            int testX = currentOffset.getX() + kick.getX();
-            int testY = currentOffset.getY() - kick.getY(); // kick tables use +Y as up
-            if (!MatrixOperations.intersect(currentGameMatrix, rotatedShape, testX, testY)) {
-                currentOffset = new PointInt(testX, testY);
-                brickRotator.setCurrentShape(to);
-                return true;
-            }
-        }
-        // as a safety net (helps near tight walls/floors even if tables mismatch shapes)
-        int[][] fallbackOffsets = { {-2,0}, {-1,0}, {1,0}, {2,0}, {0,-1}, {0,1} };
-        for (int[] off : fallbackOffsets) {
-            int testX = currentOffset.getX() + off[0];
-            int testY = currentOffset.getY() + off[1];
+        int[] kicks = SrsKickTable.getKicks(brickRotator.getBrick().getType(), from, to);
+        for (int i = 0; i < kicks.length; i++) {
+            int testX = currentOffset.x + SrsKickTable.kickX(kicks[i]);
+            int testY = currentOffset.y + SrsKickTable.kickY(kicks[i]);
             if (!MatrixOperations.intersect(currentGameMatrix, rotatedShape, testX, testY)) {
-                currentOffset = new PointInt(testX, testY);
-                brickRotator.setCurrentShape(to);
+                applyRotation(to, testX, testY);
                 return true;
             }
         }
         return false;
     }
 
+    private void applyRotation(int orientation, int x, int y) {
+        currentOffset.x = x;
+        currentOffset.y = y;
+        brickRotator.setCurrentShape(orientation);
+        ghostValid = false;
+    }
+
 
     @Override
     public boolean createNewBrick() {
@@ -89,19 +123,15 @@ public class SimpleBoard implements Board {
 
         // Generate a new next brick
         nextBrick = brickGenerator.getBrick();
+        ghostValid = false;
 
         // Center the new brick horizontally on the board
-        int[][] shape = brickRotator.getCurrentShape();
-        int shapeWidth = shape[0].length;
-        int boardCols = currentGameMatrix[0].length;
-        int startX = Math.round((boardCols - shapeWidth) / 2.0f);
-        if (startX < 0) {
-            startX = 0;
-        }
-    currentOffset = new PointInt(startX, 0);
+        BrickShape shape = brickRotator.getCurrentBrickShape();
+        currentOffset.x = shape.getSpawnX(width);
+        currentOffset.y = 0;
 
         // Return true if new brick immediately collides (game over)
-        return MatrixOperations.intersect(currentGameMatrix, shape, (int) currentOffset.getX(), (int) currentOffset.getY());
+        return MatrixOperations.intersect(currentGameMatrix, shape, currentOffset.x, currentOffset.y);
     }
 
 
@@ -110,6 +140,11 @@ public class SimpleBoard implements Board {
         return MatrixOperations.copy(currentGameMatrix);
     }
 
+    @Override
+    public void readRow(int row, int[] target, int offset) {
+        System.arraycopy(currentGameMatrix[row], 0, target, offset, width);
+    }
+
 
     @Override
     public ViewData getViewData() {
@@ -121,7 +156,7 @@ public class SimpleBoard implements Board {
             currentShape,
             (int) currentOffset.getX(),
             (int) currentOffset.getY(),
-            nextBrick.getShapeMatrix().get(0),
+            nextBrick.getShape(0).toMatrix(),
             ghostPos
         );
     }
@@ -129,15 +164,67 @@ public class SimpleBoard implements Board {
 
     @Override
     public void mergeBrickToBackground() {
-        currentGameMatrix = MatrixOperations.merge(currentGameMatrix, brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY());
+        // merge in place; the clear engine remembers which rows this touched
+        BrickShape shape = brickRotator.getCurrentBrickShape();
+        recordMerge(shape);
+        rowClearEngine.merge(currentGameMatrix, shape, currentOffset.x, currentOffset.y);
+        ghostValid = false;
     }
 
     @Override
     public ClearRow clearRows() {
-        ClearRow clearRow = MatrixOperations.checkRemoving(currentGameMatrix);
-        currentGameMatrix = clearRow.getNewMatrix();
+        // only the rows touched by the last merge can have become full
+        ClearRow clearRow = rowClearEngine.clearTouchedRows(currentGameMatrix);
+        changeSet.setClearedRowCount(clearRow.getLinesRemoved());
+        if (clearRow.getLinesRemoved() > 0) {
+            surface.rowsCleared(clearRow.getClearedRows().get(0), clearRow.getLinesRemoved());
+            ghostValid = false;
+        }
         return clearRow;
+    }
+
+    @Override
+    public boolean addGarbageRow(int holeColumn) {
+        if (holeColumn < 0 || holeColumn >= width) {
+            throw new IllegalArgumentException("Hole column " + holeColumn + " is off the board");
+        }
+        boolean fits = rowClearEngine.pushGarbageRow(currentGameMatrix, holeColumn, GARBAGE_COLOR);
+        surface.rowPushedUp(holeColumn);
+        ghostValid = false;
+        // the board moved up one row, so one row up always clears the overlap unless that is off the top
+        BrickShape shape = brickRotator.getCurrentBrickShape();
+        if (MatrixOperations.intersect(currentGameMatrix, shape, currentOffset.x, currentOffset.y)) {
+            if (MatrixOperations.intersect(currentGameMatrix, shape, currentOffset.x, currentOffset.y - 1)) {
+                return false;
+            }
+            currentOffset.y--;
+        }
+        return fits;
+    }
+
+    @Override
+    public BoardChangeSet getLastChangeSet() {
+        return changeSet;
+    }
+
+    @Override
+    public long getBoardHash() {
+        return rowClearEngine.getBoardHash();
+    }
 
+    // called before the merge writes the cells, so the surface can tell which ones were empty
+    private void recordMerge(BrickShape shape) {
+        changeSet.reset();
+        for (int i = 0; i < shape.getCellCount(); i++) {
+            int row = currentOffset.y + shape.getCellRow(i);
+            int col = currentOffset.x + shape.getCellCol(i);
+            if (row >= 0 && row < height && col >= 0 && col < width) {
+                if (currentGameMatrix[row][col] == 0) {
+                    surface.addCell(row, col);
+                }
+                changeSet.addCell(row, col, shape.getColor());
+            }
+        }
     }
 
     @Override
@@ -150,15 +237,19 @@ public class SimpleBoard implements Board {
     public void newGame() {
         // ensure matrix dimensions are [rows][cols]
         currentGameMatrix = new int[height][width];
+        rowClearEngine.reset();
+        surface.reset();
+        changeSet.reset();
+        ghostValid = false;
         score.reset();
         createNewBrick();
     }
     
     public ViewData getNextBrickViewData() {
         return new ViewData(
-            nextBrick.getShapeMatrix().get(0),
+            nextBrick.getShape(0).toMatrix(),
             0, 0,
-            nextBrick.getShapeMatrix().get(0)
+            nextBrick.getShape(0).toMatrix()
         );
     }
 
@@ -166,7 +257,7 @@ public class SimpleBoard implements Board {
         int[][] shape = brickRotator.getCurrentShape(); // current brick shape
         int x = currentOffset.getX(); // current X position
         int y = currentOffset.getY(); // current Y position
-        int[][] nextShapeMatrix = nextBrick.getShapeMatrix().get(0); // for next brick preview
+        int[][] nextShapeMatrix = nextBrick.getShape(0).toMatrix(); // for next brick preview
         PointInt ghostPos = getGhostPosition(); // ghost brick position
 
         return new ViewData(shape, x, y, nextShapeMatrix, ghostPos);
@@ -175,23 +266,30 @@ public class SimpleBoard implements Board {
 
 
     public PointInt getGhostPosition() {
-        int[][] matrix = MatrixOperations.copy(currentGameMatrix);
-        int[][] shape = brickRotator.getCurrentShape();
-
-        // Use the board's current offset for X
-        int ghostX = currentOffset.x;
-
-        // Start from current Y.
-        int ghostY = currentOffset.y;
+        return new PointInt(currentOffset.x, getGhostY());
+    }
 
-        // Move down until *next step* collides.
-        while (!MatrixOperations.intersect(matrix, shape, ghostX, ghostY + 1)) {
-            ghostY++;
+    /**
+     * Row the current brick would land on, read off the surface profile in O(piece width).
+     * The result is cached until the brick moves sideways, rotates, or the board changes.
+     */
+    @Override
+    public int getGhostY() {
+        if (ghostValid) {
+            return ghostY;
         }
-
-        PointInt ghost = new PointInt(ghostX, ghostY);
-
-        return ghost;
+        BrickShape shape = brickRotator.getCurrentBrickShape();
+        int distance = surface.dropDistance(shape, currentOffset.x, currentOffset.y);
+        int landingY = currentOffset.y + Math.max(distance, 0);
+        if (distance < 0) {
+            // under an overhang the surface says nothing; step down until the next step collides
+            while (!MatrixOperations.intersect(currentGameMatrix, shape, currentOffset.x, landingY + 1)) {
+                landingY++;
+            }
+        }
+        ghostY = landingY;
+        ghostValid = true;
+        return ghostY;
     }
 
     @Override
@@ -199,14 +297,9 @@ public class SimpleBoard implements Board {
         brickRotator.setBrick(brick);
         
         // Center the brick horizontally on the board
-        int[][] shape = brickRotator.getCurrentShape();
-        int shapeWidth = shape[0].length;
-        int boardCols = currentGameMatrix[0].length;
-        int startX = Math.round((boardCols - shapeWidth) / 2.0f);
-        if (startX < 0) {
-            startX = 0;
-        }
-        currentOffset = new PointInt(startX, 0);
+        currentOffset.x = brickRotator.getCurrentBrickShape().getSpawnX(width);
+        currentOffset.y = 0;
+        ghostValid = false;
     }
 
     @Override
@@ -214,21 +307,64 @@ public class SimpleBoard implements Board {
         return brickRotator.getBrick();
     }
 
+    @Override
+    public BrickShape getCurrentShape() {
+        return brickRotator.getCurrentBrickShape();
+    }
+
+    @Override
+    public int getBrickX() {
+        return currentOffset.x;
+    }
+
+    @Override
+    public int getBrickY() {
+        return currentOffset.y;
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        return nextBrick;
+    }
+
+    @Override
+    public List<Brick> getPreview(int count) {
+        List<Brick> preview = new ArrayList<>(count);
+        if (count > 0) {
+            preview.add(nextBrick);
+            preview.addAll(brickGenerator.getPreview(count - 1));
+        }
+        return preview;
+    }
+
     @Override
     public boolean isBrickGrounded() {
-        int[][] shape = brickRotator.getCurrentShape();
-        return MatrixOperations.intersect(currentGameMatrix, shape, currentOffset.getX(), currentOffset.getY() + 1);
+        BrickShape shape = brickRotator.getCurrentBrickShape();
+        return MatrixOperations.intersect(currentGameMatrix, shape, currentOffset.x, currentOffset.y + 1);
+    }
+
+    @Override
+    public int getColumnHeight(int col) {
+        return surface.getColumnHeight(col);
+    }
+
+    @Override
+    public int getHoleCount(int col) {
+        return surface.getHoleCount(col);
     }
 
     private boolean tryMove(int dx, int dy) {
-        int[][] currentMatrix = MatrixOperations.copy(currentGameMatrix);
-        PointInt p = new PointInt(currentOffset);
-        p.translate(dx, dy);
-        boolean conflict = MatrixOperations.intersect(currentMatrix, brickRotator.getCurrentShape(), p.getX(), p.getY());
-        if (conflict) {
+        // intersect only reads the matrix, so test against the live board and move the offset in place
+        int x = currentOffset.x + dx;
+        int y = currentOffset.y + dy;
+        if (MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentBrickShape(), x, y)) {
             return false;
         }
-        currentOffset = p;
+        currentOffset.translate(dx, dy);
+        // dropping straight down never changes where the brick lands
+        if (dx != 0) {
+            ghostValid = false;
+        }
         return true;
     }
 }
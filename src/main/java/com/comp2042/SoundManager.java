@@ -1,33 +1,59 @@
 package com.comp2042;
 
+import javafx.application.Platform;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import java.net.URL;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Background music streams through one MediaPlayer. Sound effects are decoded once into
+ * VoicePools, and every trigger's latency is recorded in getLatencyStats(). Both are prepared on
+ * background threads by preloadAudio() during start-up.
+ */
 public class SoundManager {
 
     private static final String GAME_MUSIC_PATH = "/inGameMusic.mp3";
+    private static final String LINE_CLEAR_PATH = "/lineClearMusic.mp3";
+    private static final String GAME_OVER_PATH = "/gameOverMusic.mp3";
+
+    // enough for back-to-back clears on both versus boards; more than that starts stealing
+    private static final int LINE_CLEAR_VOICES = 4;
+    private static final int GAME_OVER_VOICES = 2;
+
+    private static final AudioLatencyStats latencyStats = new AudioLatencyStats();
+
+    // null until preloadAudio() runs; these complete with null if the file is missing
+    private static CompletableFuture<VoicePool> lineClearVoices;
+    private static CompletableFuture<VoicePool> gameOverVoices;
+    private static CompletableFuture<MediaPlayer> backgroundMusic;
 
     private static MediaPlayer backgroundMusicPlayer;
+    // FX thread only: whether the music should be playing, and whether a start is waiting on the load
+    private static boolean musicWanted;
+    private static boolean musicStartPending;
     private static double masterVolume = 0.5;
     private static double sfxVolume = 0.8;
     private static boolean sfxEnabled = true;
 
     /**
-     * Play background music on loop.
+     * Play background music on loop. If the music is still loading it starts once it is ready,
+     * unless stopBackgroundMusic() is called first; this never waits for the load.
      */
     public static void playBackgroundMusic() {
+        musicWanted = true;
         try {
             if (backgroundMusicPlayer == null) {
-                URL resource = SoundManager.class.getResource(GAME_MUSIC_PATH);
-                if (resource == null) {
-                    System.out.println("inGameMusic.mp3 not found!");
+                preloadAudio();
+                backgroundMusicPlayer = backgroundMusic.getNow(null);
+                if (backgroundMusicPlayer == null) {
+                    if (!backgroundMusic.isDone() && !musicStartPending) {
+                        musicStartPending = true;
+                        backgroundMusic.thenRun(() -> Platform.runLater(SoundManager::startLoadedMusic));
+                    }
                     return;
                 }
-
-                Media media = new Media(resource.toString());
-                backgroundMusicPlayer = new MediaPlayer(media);
-                backgroundMusicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
             }
 
             backgroundMusicPlayer.setVolume(masterVolume);
@@ -42,49 +68,107 @@ public class SoundManager {
      * Stop the background music.
      */
     public static void stopBackgroundMusic() {
+        musicWanted = false;
         if (backgroundMusicPlayer != null) {
             backgroundMusicPlayer.stop();
         }
     }
 
+    /**
+     * Starts decoding the sound effects and opening the music on background threads, all in
+     * parallel. Called once at start-up; a sound effect triggered before it is ready is skipped.
+     *
+     * @return completes when everything is loaded
+     */
+    public static synchronized CompletableFuture<Void> preloadAudio() {
+        if (lineClearVoices == null) {
+            lineClearVoices = CompletableFuture.supplyAsync(() -> loadVoices(LINE_CLEAR_PATH, LINE_CLEAR_VOICES));
+            gameOverVoices = CompletableFuture.supplyAsync(() -> loadVoices(GAME_OVER_PATH, GAME_OVER_VOICES));
+            backgroundMusic = CompletableFuture.supplyAsync(SoundManager::loadBackgroundMusic);
+        }
+        return CompletableFuture.allOf(lineClearVoices, gameOverVoices, backgroundMusic);
+    }
+
     /**
      * Play line clear sound effect.
      */
     public static void playLineClearSound() {
-        playSoundEffect("/lineClearMusic.mp3", 0.8);
+        playSoundEffect(lineClearVoices(), 0.8);
     }
 
     /**
      * Play game over sound effect.
      */
     public static void playGameOverSound() {
-        playSoundEffect("/gameOverMusic.mp3", 0.9);
+        playSoundEffect(gameOverVoices(), 0.9);
+    }
+
+    public static AudioLatencyStats getLatencyStats() {
+        return latencyStats;
+    }
+
+    private static synchronized CompletableFuture<VoicePool> lineClearVoices() {
+        preloadAudio();
+        return lineClearVoices;
+    }
+
+    private static synchronized CompletableFuture<VoicePool> gameOverVoices() {
+        preloadAudio();
+        return gameOverVoices;
+    }
+
+    private static MediaPlayer loadBackgroundMusic() {
+        URL resource = SoundManager.class.getResource(GAME_MUSIC_PATH);
+        if (resource == null) {
+            System.out.println("inGameMusic.mp3 not found!");
+            return null;
+        }
+        MediaPlayer player = new MediaPlayer(new Media(resource.toString()));
+        player.setCycleCount(MediaPlayer.INDEFINITE);
+        return player;
+    }
+
+    private static VoicePool loadVoices(String resourcePath, int size) {
+        URL resource = SoundManager.class.getResource(resourcePath);
+        if (resource == null) {
+            System.err.println("Sound file not found: " + resourcePath);
+            return null;
+        }
+        return new VoicePool(resource.toString(), size);
+    }
+
+    private static void startLoadedMusic() {
+        musicStartPending = false;
+        if (musicWanted) {
+            playBackgroundMusic();
+        }
     }
 
     /**
-     * Generic method to play a sound effect with specified volume.
+     * Generic method to play a sound effect with specified volume. Called on the FX thread, so a
+     * clip that has not finished loading is dropped rather than waited for.
      */
-    private static void playSoundEffect(String resourcePath, double volume) {
+    private static void playSoundEffect(CompletableFuture<VoicePool> voices, double volume) {
         if (!sfxEnabled || sfxVolume <= 0) {
             return;
         }
 
+        long triggeredAt = System.nanoTime();
         try {
-            URL resource = SoundManager.class.getResource(resourcePath);
-            if (resource != null) {
-                Media media = new Media(resource.toString());
-
-                // Create a new player for each sound effect so rapid triggers do not cut each other off.
-                MediaPlayer player = new MediaPlayer(media);
-                player.setVolume(clamp(volume * sfxVolume));
-                player.play();
-
-                // Stop and release resources when finished.
-                player.setOnEndOfMedia(player::dispose);
-            } else {
-                System.err.println("Sound file not found: " + resourcePath);
+            VoicePool pool = voices.getNow(null);
+            if (pool == null) {
+                latencyStats.recordDropped();
+                return;
+            }
+            if (pool.play(clamp(volume * sfxVolume))) {
+                latencyStats.recordSteal();
             }
+            latencyStats.recordPlayback(System.nanoTime() - triggeredAt);
+        } catch (CompletionException e) {
+            latencyStats.recordDropped();
+            System.err.println("Failed to play sound: " + e.getCause().getMessage());
         } catch (Exception e) {
+            latencyStats.recordDropped();
             System.err.println("Failed to play sound: " + e.getMessage());
         }
     }
@@ -0,0 +1,74 @@
+package com.comp2042;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free queue of ints between two threads: exactly one thread offers and exactly
+ * one thread polls. Versus boards send each other garbage through these, and battle boards get
+ * their key presses from the FX thread this way.
+ *
+ * It is a Lamport ring. The producer is the only writer of tail and the consumer the only writer
+ * of head; each publishes its index with a release store (lazySet) after touching the slot, and
+ * reads the other side's index with a volatile load, so a value is always fully written before
+ * the consumer can see it and neither side ever waits for the other. Each side also keeps a
+ * plain copy of the other's index and only re-reads the shared one when the copy says the ring
+ * looks full (or empty), which keeps the two threads off each other's cache lines most of the time.
+ */
+final class SpscIntQueue {
+
+    static final int EMPTY = -1;
+
+    private final int[] slots;
+    private final int mask;
+    // next slot to read; written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+    // next slot to write; written by the producer only
+    private final AtomicLong tail = new AtomicLong();
+    // the producer's last look at head
+    private long cachedHead;
+    // the consumer's last look at tail
+    private long cachedTail;
+
+    /**
+     * @param capacity rounded up to a power of two, at least 2
+     */
+    SpscIntQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        slots = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Producer side.
+     * @return false if the ring is full; the value was not added
+     */
+    boolean offer(int value) {
+        long t = tail.get();
+        if (t - cachedHead == slots.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == slots.length) {
+                return false;
+            }
+        }
+        slots[(int) t & mask] = value;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side.
+     * @return the oldest value, or EMPTY
+     */
+    int poll() {
+        long h = head.get();
+        if (h == cachedTail) {
+            cachedTail = tail.get();
+            if (h == cachedTail) {
+                return EMPTY;
+            }
+        }
+        int value = slots[(int) h & mask];
+        head.lazySet(h + 1);
+        return value;
+    }
+}
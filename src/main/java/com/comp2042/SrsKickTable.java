@@ -1,81 +1,127 @@
 package com.comp2042;
 
-import com.comp2042.logic.bricks.Brick;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import com.comp2042.logic.bricks.BrickType;
 
 /**
- * Super Rotation System wall-kick data for guideline pieces.
- * The offsets are defined using the standard orientation order (0 = spawn, 1 = right, 2 = 180, 3 = left).
+ * Wall-kick offsets for every piece and rotation, looked up by array index.
+ *
+ * The data is the Super Rotation System's, in its standard orientation order (0 = spawn, 1 = right,
+ * 2 = 180, 3 = left). SRS has no 180 kicks, so those use the common SRS+ set. Every list then ends
+ * with the boards' old safety-net offsets (one or two cells sideways, one up or down), since this
+ * game's shapes don't sit exactly where SRS expects and some rotations only fit that way.
+ *
+ * Offsets are packed into one int each and already flipped into board coordinates (+Y is down), so
+ * a rotation attempt is a plain loop over a shared array:
+ * <pre>
+ *     for (int kick : SrsKickTable.getKicks(type, from, to)) {
+ *         tryAt(x + SrsKickTable.kickX(kick), y + SrsKickTable.kickY(kick));
+ *     }
+ * </pre>
  */
 public final class SrsKickTable {
 
-    private static final Map<String, List<PointInt>> JLSTZ_KICKS = new HashMap<>();
-    private static final Map<String, List<PointInt>> I_KICKS = new HashMap<>();
+    private static final BrickType[] TYPES = BrickType.values();
+
+    // [type][from][to]; the arrays are shared and must not be modified
+    private static final int[][][][] KICKS = new int[TYPES.length][4][4][];
+
+    // tried after the table's own offsets, in board coordinates
+    private static final int[] FALLBACK = {-2, 0, -1, 0, 1, 0, 2, 0, 0, -1, 0, 1};
 
     static {
-        // JLSTZ kicks
-        JLSTZ_KICKS.put("0>1", offsets(0, 0, -1, 0, -1, 1, 0, -2, -1, -2));
-        JLSTZ_KICKS.put("1>0", offsets(0, 0, 1, 0, 1, -1, 0, 2, 1, 2));
-        JLSTZ_KICKS.put("1>2", offsets(0, 0, 1, 0, 1, -1, 0, 2, 1, 2));
-        JLSTZ_KICKS.put("2>1", offsets(0, 0, -1, 0, -1, 1, 0, -2, -1, -2));
-        JLSTZ_KICKS.put("2>3", offsets(0, 0, 1, 0, 1, 1, 0, -2, 1, -2));
-        JLSTZ_KICKS.put("3>2", offsets(0, 0, -1, 0, -1, -1, 0, 2, -1, 2));
-        JLSTZ_KICKS.put("3>0", offsets(0, 0, -1, 0, -1, -1, 0, 2, -1, 2));
-        JLSTZ_KICKS.put("0>3", offsets(0, 0, 1, 0, 1, 1, 0, -2, 1, -2));
-
-        // I piece kicks
-        I_KICKS.put("0>1", offsets(0, 0, -2, 0, 1, 0, -2, -1, 1, 2));
-        I_KICKS.put("1>0", offsets(0, 0, 2, 0, -1, 0, 2, 1, -1, -2));
-        I_KICKS.put("1>2", offsets(0, 0, -1, 0, 2, 0, -1, 2, 2, -1));
-        I_KICKS.put("2>1", offsets(0, 0, 1, 0, -2, 0, 1, -2, -2, 1));
-        I_KICKS.put("2>3", offsets(0, 0, 2, 0, -1, 0, 2, 1, -1, -2));
-        I_KICKS.put("3>2", offsets(0, 0, -2, 0, 1, 0, -2, -1, 1, 2));
-        I_KICKS.put("3>0", offsets(0, 0, 1, 0, -2, 0, 1, -2, -2, 1));
-        I_KICKS.put("0>3", offsets(0, 0, -1, 0, 2, 0, -1, 2, 2, -1));
+        // guideline data, +Y up, indexed by from * 4 + to
+        int[][] jlstz = new int[16][];
+        jlstz[index(0, 1)] = new int[] {0, 0, -1, 0, -1, 1, 0, -2, -1, -2};
+        jlstz[index(1, 0)] = new int[] {0, 0, 1, 0, 1, -1, 0, 2, 1, 2};
+        jlstz[index(1, 2)] = new int[] {0, 0, 1, 0, 1, -1, 0, 2, 1, 2};
+        jlstz[index(2, 1)] = new int[] {0, 0, -1, 0, -1, 1, 0, -2, -1, -2};
+        jlstz[index(2, 3)] = new int[] {0, 0, 1, 0, 1, 1, 0, -2, 1, -2};
+        jlstz[index(3, 2)] = new int[] {0, 0, -1, 0, -1, -1, 0, 2, -1, 2};
+        jlstz[index(3, 0)] = new int[] {0, 0, -1, 0, -1, -1, 0, 2, -1, 2};
+        jlstz[index(0, 3)] = new int[] {0, 0, 1, 0, 1, 1, 0, -2, 1, -2};
+
+        int[][] i = new int[16][];
+        i[index(0, 1)] = new int[] {0, 0, -2, 0, 1, 0, -2, -1, 1, 2};
+        i[index(1, 0)] = new int[] {0, 0, 2, 0, -1, 0, 2, 1, -1, -2};
+        i[index(1, 2)] = new int[] {0, 0, -1, 0, 2, 0, -1, 2, 2, -1};
+        i[index(2, 1)] = new int[] {0, 0, 1, 0, -2, 0, 1, -2, -2, 1};
+        i[index(2, 3)] = new int[] {0, 0, 2, 0, -1, 0, 2, 1, -1, -2};
+        i[index(3, 2)] = new int[] {0, 0, -2, 0, 1, 0, -2, -1, 1, 2};
+        i[index(3, 0)] = new int[] {0, 0, 1, 0, -2, 0, 1, -2, -2, 1};
+        i[index(0, 3)] = new int[] {0, 0, -1, 0, 2, 0, -1, 2, 2, -1};
+
+        // 180 turns (SRS+), shared by every piece but O
+        int[][] half = new int[16][];
+        half[index(0, 2)] = new int[] {0, 0, 0, 1, 1, 1, -1, 1, 1, 0, -1, 0};
+        half[index(2, 0)] = new int[] {0, 0, 0, -1, -1, -1, 1, -1, -1, 0, 1, 0};
+        half[index(1, 3)] = new int[] {0, 0, 1, 0, 1, 2, 1, 1, 0, 2, 0, 1};
+        half[index(3, 1)] = new int[] {0, 0, -1, 0, -1, 2, -1, 1, 0, 2, 0, 1};
+
+        int[] noKick = {0, 0};
+        for (BrickType type : TYPES) {
+            int[][] quarter = type == BrickType.I ? i : jlstz;
+            for (int from = 0; from < 4; from++) {
+                for (int to = 0; to < 4; to++) {
+                    int[] guideline = type == BrickType.O ? null
+                            : Math.abs(from - to) == 2 ? half[index(from, to)] : quarter[index(from, to)];
+                    KICKS[type.ordinal()][from][to] = build(guideline != null ? guideline : noKick);
+                }
+            }
+        }
     }
 
     private SrsKickTable() {
     }
 
     /**
-     * Returns a copy of the kick offsets to try for a given rotation transition.
-     * Offsets are expressed in guideline coordinates (positive Y is up) and must be flipped for matrix rows.
+     * Packed kick offsets to try, in order, when turning a piece from one orientation (0-3) to another.
+     * The array is shared: callers must not modify it.
      */
-    public static List<PointInt> getKickData(Brick brick, int fromOrientation, int toOrientation) {
-        String key = normalize(fromOrientation) + ">" + normalize(toOrientation);
-        boolean isIPiece = brick.getClass().getSimpleName().startsWith("IBrick");
-        boolean isOPiece = brick.getClass().getSimpleName().startsWith("OBrick");
+    public static int[] getKicks(BrickType type, int fromOrientation, int toOrientation) {
+        return KICKS[type.ordinal()][fromOrientation][toOrientation];
+    }
 
-        if (isOPiece) {
-            return List.of(new PointInt(0, 0));
-        }
+    /**
+     * Columns to move by (positive is right).
+     */
+    public static int kickX(int kick) {
+        return kick >> 16;
+    }
 
-        List<PointInt> raw = isIPiece ? I_KICKS.getOrDefault(key, defaultKick()) : JLSTZ_KICKS.getOrDefault(key, defaultKick());
-        List<PointInt> copy = new ArrayList<>(raw.size());
-        for (PointInt p : raw) {
-            copy.add(new PointInt(p));
-        }
-        return copy;
+    /**
+     * Rows to move by (positive is down).
+     */
+    public static int kickY(int kick) {
+        return (short) kick;
     }
 
-    private static int normalize(int value) {
-        int mod = value % 4;
-        return mod < 0 ? mod + 4 : mod;
+    private static int index(int from, int to) {
+        return from * 4 + to;
     }
 
-    private static List<PointInt> offsets(int... coords) {
-        List<PointInt> list = new ArrayList<>();
-        for (int i = 0; i + 1 < coords.length; i += 2) {
-            list.add(new PointInt(coords[i], coords[i + 1]));
-        }
-        return list;
+    private static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
     }
 
-    private static List<PointInt> defaultKick() {
-        return List.of(new PointInt(0, 0));
+    // guideline offsets flipped to board rows, then the fallback offsets that aren't already in the list
+    private static int[] build(int[] guideline) {
+        int[] kicks = new int[guideline.length / 2 + FALLBACK.length / 2];
+        int count = 0;
+        for (int k = 0; k < guideline.length; k += 2) {
+            kicks[count++] = pack(guideline[k], -guideline[k + 1]);
+        }
+        for (int k = 0; k < FALLBACK.length; k += 2) {
+            int kick = pack(FALLBACK[k], FALLBACK[k + 1]);
+            boolean seen = false;
+            for (int j = 0; j < count; j++) {
+                seen |= kicks[j] == kick;
+            }
+            if (!seen) {
+                kicks[count++] = kick;
+            }
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(kicks, 0, trimmed, 0, count);
+        return trimmed;
     }
 }
@@ -0,0 +1,164 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickShape;
+
+import java.util.Arrays;
+
+/**
+ * Per-column surface of a board: the topmost filled row of every column and how many empty cells
+ * (holes) lie underneath it. Both are kept up to date on merge, clear and garbage, so the boards can answer
+ * "where does this piece land" from the piece's bottom profile in O(piece width) instead of
+ * stepping it down one row at a time.
+ *
+ * Merges update the columns a cell lands in. Clears shift the tops of columns that stand above
+ * the cleared rows; only a column whose top was the highest cleared row is re-scanned, since
+ * its new top is wherever the next block below happens to be.
+ *
+ * Rows grow downwards as on the boards; an empty column has its top at {@code rows}.
+ */
+public final class SurfaceProfile {
+
+    /**
+     * Read access to the board's cells, used when a column has to be re-scanned after a clear.
+     */
+    public interface Cells {
+        boolean isFilled(int row, int col);
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int[] columnTops;
+    private final int[] holes;
+    private final Cells cells;
+
+    public SurfaceProfile(int rows, int cols, Cells cells) {
+        this.rows = rows;
+        this.cols = cols;
+        this.columnTops = new int[cols];
+        this.holes = new int[cols];
+        this.cells = cells;
+        reset();
+    }
+
+    public void reset() {
+        Arrays.fill(columnTops, rows);
+        Arrays.fill(holes, 0);
+    }
+
+    /**
+     * A block was written into a cell that was empty.
+     */
+    public void addCell(int row, int col) {
+        int top = columnTops[col];
+        if (row < top) {
+            // everything between the new block and the old top is now covered
+            holes[col] += top - row - 1;
+            columnTops[col] = row;
+        } else {
+            holes[col]--;
+        }
+    }
+
+    /**
+     * Full rows were removed and everything above them moved down.
+     * @param highestCleared the smallest cleared row index, as it was before the clear
+     */
+    public void rowsCleared(int highestCleared, int count) {
+        if (count == 0) {
+            return;
+        }
+        for (int c = 0; c < cols; c++) {
+            // a full row has a block in every column, so no top lies below the highest cleared row
+            if (columnTops[c] < highestCleared) {
+                columnTops[c] += count;
+            } else {
+                rescan(c, highestCleared + count);
+            }
+        }
+    }
+
+    /**
+     * A garbage row came in at the bottom and everything moved up one row.
+     */
+    public void rowPushedUp(int holeColumn) {
+        for (int c = 0; c < cols; c++) {
+            int top = columnTops[c];
+            if (top == 0) {
+                // its top block went off the board
+                rescan(c, 0);
+            } else if (c == holeColumn) {
+                // an empty column stays empty; otherwise the hole is covered
+                if (top < rows) {
+                    columnTops[c] = top - 1;
+                    holes[c]++;
+                }
+            } else {
+                columnTops[c] = Math.min(top, rows) - 1;
+            }
+        }
+    }
+
+    /**
+     * Rows counted from the floor up to and including the column's top block; 0 for an empty column.
+     */
+    public int getColumnHeight(int col) {
+        return rows - columnTops[col];
+    }
+
+    /**
+     * Row index of the column's top block, or the board height if the column is empty.
+     */
+    public int getColumnTop(int col) {
+        return columnTops[col];
+    }
+
+    public int getHoleCount(int col) {
+        return holes[col];
+    }
+
+    /**
+     * How many rows the shape can fall from (x, y) before it rests on a block or the floor.
+     *
+     * Only exact when every column of the piece is above that column's top, which is always the
+     * case for a piece coming down from the spawn. A piece tucked under an overhang gets -1 and
+     * the caller has to step it down the slow way.
+     */
+    public int dropDistance(BrickShape shape, int x, int y) {
+        int distance = rows;
+        for (int c = shape.getMinCol(); c <= shape.getMaxCol(); c++) {
+            int bottom = shape.getBottomRow(c);
+            if (bottom < 0) {
+                continue;
+            }
+            int col = x + c;
+            if (col < 0 || col >= cols) {
+                return -1;
+            }
+            int gap = columnTops[col] - (y + bottom) - 1;
+            if (gap < 0) {
+                return -1;
+            }
+            distance = Math.min(distance, gap);
+        }
+        return distance;
+    }
+
+    // finds the column's top from the given row down, after the rows above it have shifted
+    private void rescan(int col, int from) {
+        int top = rows;
+        for (int r = from; r < rows; r++) {
+            if (cells.isFilled(r, col)) {
+                top = r;
+                break;
+            }
+        }
+        int empty = 0;
+        for (int r = top + 1; r < rows; r++) {
+            if (!cells.isFilled(r, col)) {
+                empty++;
+            }
+        }
+        columnTops[col] = top;
+        holes[col] = empty;
+    }
+}
@@ -0,0 +1,87 @@
+package com.comp2042;
+
+import java.util.Random;
+
+/**
+ * Who a player's attacks go to when there is more than one opponent. With a single opponent
+ * every strategy picks that one.
+ */
+public enum Targeting {
+
+    /** A different opponent in turn for every attack, so everyone gets an even share. */
+    EVEN {
+        @Override
+        int pick(int self, BattleRoster roster, Random random, int lastTarget, int lastAttacker) {
+            int players = roster.size();
+            int from = lastTarget >= 0 ? lastTarget : self;
+            for (int step = 1; step <= players; step++) {
+                int candidate = (from + step) % players;
+                if (candidate != self && roster.isAlive(candidate)) {
+                    return candidate;
+                }
+            }
+            return -1;
+        }
+    },
+
+    /** Any opponent still in, at random. */
+    RANDOM {
+        @Override
+        int pick(int self, BattleRoster roster, Random random, int lastTarget, int lastAttacker) {
+            return randomOpponent(self, roster, random);
+        }
+    },
+
+    /** The opponent with the tallest stack, i.e. the one closest to topping out. */
+    KO {
+        @Override
+        int pick(int self, BattleRoster roster, Random random, int lastTarget, int lastAttacker) {
+            int best = -1;
+            int bestHeight = -1;
+            for (int p = 0; p < roster.size(); p++) {
+                if (p != self && roster.isAlive(p) && roster.getStackHeight(p) > bestHeight) {
+                    best = p;
+                    bestHeight = roster.getStackHeight(p);
+                }
+            }
+            return best;
+        }
+    },
+
+    /** Whoever attacked this player last; a random opponent until someone has. */
+    ATTACKER {
+        @Override
+        int pick(int self, BattleRoster roster, Random random, int lastTarget, int lastAttacker) {
+            if (lastAttacker >= 0 && roster.isAlive(lastAttacker)) {
+                return lastAttacker;
+            }
+            return randomOpponent(self, roster, random);
+        }
+    };
+
+    /**
+     * @param lastTarget the player attacked last time, or -1
+     * @param lastAttacker the player whose garbage arrived last, or -1
+     * @return the player to attack, or -1 if every opponent is out
+     */
+    abstract int pick(int self, BattleRoster roster, Random random, int lastTarget, int lastAttacker);
+
+    private static int randomOpponent(int self, BattleRoster roster, Random random) {
+        int count = 0;
+        for (int p = 0; p < roster.size(); p++) {
+            if (p != self && roster.isAlive(p)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return -1;
+        }
+        int chosen = random.nextInt(count);
+        for (int p = 0; p < roster.size(); p++) {
+            if (p != self && roster.isAlive(p) && chosen-- == 0) {
+                return p;
+            }
+        }
+        return -1;
+    }
+}
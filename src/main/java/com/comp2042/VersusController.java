@@ -10,13 +10,12 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.StackPane;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
 
-public class VersusController implements Initializable {
+public class VersusController implements Initializable, ScreenLifecycle {
 
     @FXML
     private AnchorPane rootPane;
@@ -38,35 +37,51 @@ public class VersusController implements Initializable {
     @FXML
     private void backToMenu() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/modeMenu.fxml"));
-            Parent root = loader.load();
-            Stage stage = (Stage) rootPane.getScene().getWindow();
-            Scene scene = new Scene(root, 800, 600);
-            stage.setScene(scene);
-            stage.show();
+            // the navigator disposes this screen, stopping both boards
+            SceneNavigator.show(SceneNavigator.MODE_MENU);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    @Override
+    public void dispose() {
+        if (leftGui != null) leftGui.dispose();
+        if (rightGui != null) rightGui.dispose();
+    }
+
     private void loadBoards() {
+        // both players get the same seed, so they are dealt the same pieces in the same order
+        long seed = System.nanoTime();
+        // each board clears lines into the other's garbage queue
+        VersusLink[] links = VersusLink.pair(GameController.BOARD_COLS, seed);
         try {
-            FXMLLoader leftLoader = new FXMLLoader(getClass().getResource("/gameLayout.fxml"));
+            FXMLLoader leftLoader = new FXMLLoader(getClass().getResource(SceneNavigator.GAME));
             Parent leftRoot = leftLoader.load();
             leftGui = leftLoader.getController();
+            leftGui.setGameMode(GameMode.VERSUS);
+            leftGui.setPlayerName("Player 1");
             leftContainer.getChildren().setAll(leftRoot);
-            new GameController(leftGui, GameDifficulty.MEDIUM);
+            GameController left = new GameController(leftGui, GameDifficulty.MEDIUM, seed);
+            left.setReplayRecorder(ReplayRecorder.createInReplayDir(
+                    ReplayHeader.forGame(seed, GameDifficulty.MEDIUM), "versus-left"));
+            left.setVersusLink(links[0]);
             leftGui.gameOverProperty().addListener((obs, oldV, newV) -> {
                 if (Boolean.TRUE.equals(newV)) {
                     handleGameOver(false); // left lost, right wins
                 }
             });
 
-            FXMLLoader rightLoader = new FXMLLoader(getClass().getResource("/gameLayout.fxml"));
+            FXMLLoader rightLoader = new FXMLLoader(getClass().getResource(SceneNavigator.GAME));
             Parent rightRoot = rightLoader.load();
             rightGui = rightLoader.getController();
+            rightGui.setGameMode(GameMode.VERSUS);
+            rightGui.setPlayerName("Player 2");
             rightContainer.getChildren().setAll(rightRoot);
-            new GameController(rightGui, GameDifficulty.MEDIUM);
+            GameController right = new GameController(rightGui, GameDifficulty.MEDIUM, seed);
+            right.setReplayRecorder(ReplayRecorder.createInReplayDir(
+                    ReplayHeader.forGame(seed, GameDifficulty.MEDIUM), "versus-right"));
+            right.setVersusLink(links[1]);
             rightGui.gameOverProperty().addListener((obs, oldV, newV) -> {
                 if (Boolean.TRUE.equals(newV)) {
                     handleGameOver(true); // right lost, left wins
@@ -83,18 +98,19 @@ public class VersusController implements Initializable {
             return;
         }
         scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handleKey);
+        scene.addEventFilter(KeyEvent.KEY_RELEASED, this::handleKeyRelease);
         rootPane.requestFocus();
     }
 
     private void handleKey(KeyEvent event) {
         if (leftGui != null) {
             if (event.getCode() == KeyCode.A) {
-                leftGui.moveLeft();
+                leftGui.pressShift(-1);
                 event.consume();
                 return;
             }
             if (event.getCode() == KeyCode.D) {
-                leftGui.moveRight();
+                leftGui.pressShift(1);
                 event.consume();
                 return;
             }
@@ -103,6 +119,16 @@ public class VersusController implements Initializable {
                 event.consume();
                 return;
             }
+            if (event.getCode() == KeyCode.E) {
+                leftGui.rotateRight();
+                event.consume();
+                return;
+            }
+            if (event.getCode() == KeyCode.Q) {
+                leftGui.rotate180();
+                event.consume();
+                return;
+            }
             if (event.getCode() == KeyCode.S) {
                 leftGui.softDrop();
                 event.consume();
@@ -122,12 +148,12 @@ public class VersusController implements Initializable {
 
         if (rightGui != null) {
             if (event.getCode() == KeyCode.LEFT) {
-                rightGui.moveLeft();
+                rightGui.pressShift(-1);
                 event.consume();
                 return;
             }
             if (event.getCode() == KeyCode.RIGHT) {
-                rightGui.moveRight();
+                rightGui.pressShift(1);
                 event.consume();
                 return;
             }
@@ -136,6 +162,16 @@ public class VersusController implements Initializable {
                 event.consume();
                 return;
             }
+            if (event.getCode() == KeyCode.K) {
+                rightGui.rotateRight();
+                event.consume();
+                return;
+            }
+            if (event.getCode() == KeyCode.L) {
+                rightGui.rotate180();
+                event.consume();
+                return;
+            }
             if (event.getCode() == KeyCode.DOWN) {
                 rightGui.softDrop();
                 event.consume();
@@ -163,6 +199,24 @@ public class VersusController implements Initializable {
         }
     }
 
+    // releasing a direction key stops that board's auto-repeat (DAS/ARR)
+    private void handleKeyRelease(KeyEvent event) {
+        if (leftGui != null) {
+            if (event.getCode() == KeyCode.A) {
+                leftGui.releaseShift(-1);
+            } else if (event.getCode() == KeyCode.D) {
+                leftGui.releaseShift(1);
+            }
+        }
+        if (rightGui != null) {
+            if (event.getCode() == KeyCode.LEFT) {
+                rightGui.releaseShift(-1);
+            } else if (event.getCode() == KeyCode.RIGHT) {
+                rightGui.releaseShift(1);
+            }
+        }
+    }
+
     private void togglePauseBoth() {
         if (leftGui != null) leftGui.togglePauseFromOutside();
         if (rightGui != null) rightGui.togglePauseFromOutside();
@@ -0,0 +1,250 @@
+package com.comp2042;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * One player's end of the garbage exchange in versus and battle games.
+ *
+ * Every ordered pair of players has its own SpscIntQueue, so each game only ever writes the
+ * queues it sends on and reads the ones it receives on; the engines can run on separate threads
+ * without sharing a lock. Who an attack goes to is up to the link's Targeting, which looks at the
+ * other players through a shared BattleRoster. Everything here is called by the owning
+ * GameController on its own thread.
+ *
+ * Incoming attacks are picked up every tick into a pending list. A line clear first cancels
+ * pending garbage, oldest first, and only what is left over is sent on. Garbage that survives is
+ * pushed in on the next lock that clears nothing, once it has waited GARBAGE_DELAY_TICKS, and at
+ * most MAX_ROWS_PER_LOCK rows at a time; the rest waits for the following lock. All rows of one
+ * attack share a hole column.
+ */
+public final class VersusLink {
+
+    public static final int GARBAGE_DELAY_TICKS = 30;
+    public static final int MAX_ROWS_PER_LOCK = 8;
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final int player;
+    // indexed by the other player; null at this player's own index
+    private final SpscIntQueue[] outgoing;
+    private final SpscIntQueue[] incoming;
+    private final BattleRoster roster;
+    private final Random random;
+    private final int cols;
+    private Targeting targeting = Targeting.EVEN;
+    private int lastTarget = -1;
+    private int lastAttacker = -1;
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private int pendingLines;
+    // attack lines that did not fit in a full outgoing queue; sent with the next attack
+    private int unsent;
+    private long linesSent;
+    private long linesCancelled;
+
+    private VersusLink(int player, SpscIntQueue[] outgoing, SpscIntQueue[] incoming, BattleRoster roster,
+                       int cols, long seed) {
+        this.player = player;
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.roster = roster;
+        this.cols = cols;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Two connected ends: what one sends, the other receives.
+     */
+    public static VersusLink[] pair(int cols, long seed) {
+        return connect(2, cols, seed);
+    }
+
+    /**
+     * One end per player, each able to attack any of the others.
+     */
+    public static VersusLink[] connect(int players, int cols, long seed) {
+        if (players < 2) {
+            throw new IllegalArgumentException("need at least 2 players, got " + players);
+        }
+        // queues[from][to]
+        SpscIntQueue[][] queues = new SpscIntQueue[players][players];
+        for (int from = 0; from < players; from++) {
+            for (int to = 0; to < players; to++) {
+                if (from != to) {
+                    queues[from][to] = new SpscIntQueue(QUEUE_CAPACITY);
+                }
+            }
+        }
+        BattleRoster roster = new BattleRoster(players);
+        VersusLink[] links = new VersusLink[players];
+        for (int p = 0; p < players; p++) {
+            SpscIntQueue[] in = new SpscIntQueue[players];
+            for (int from = 0; from < players; from++) {
+                in[from] = queues[from][p];
+            }
+            links[p] = new VersusLink(p, queues[p], in, roster, cols, seed + p);
+        }
+        return links;
+    }
+
+    /**
+     * Set before the game starts; the link's thread reads it on every attack.
+     */
+    public void setTargeting(Targeting targeting) {
+        this.targeting = targeting;
+    }
+
+    public Targeting getTargeting() {
+        return targeting;
+    }
+
+    /**
+     * Picks up attacks the other players have sent since the last call.
+     */
+    void receive(long tick) {
+        for (int from = 0; from < incoming.length; from++) {
+            SpscIntQueue queue = incoming[from];
+            if (queue == null) {
+                continue;
+            }
+            int lines;
+            while ((lines = queue.poll()) != SpscIntQueue.EMPTY) {
+                pending.addLast(new Pending(lines, random.nextInt(cols), tick));
+                pendingLines += lines;
+                lastAttacker = from;
+            }
+        }
+    }
+
+    /**
+     * Uses an attack to cancel pending garbage and sends the rest to the target.
+     * @return lines actually sent
+     */
+    int send(int attack, long tick) {
+        receive(tick);
+        int left = attack;
+        while (left > 0 && !pending.isEmpty()) {
+            Pending oldest = pending.peekFirst();
+            int cancelled = Math.min(left, oldest.lines);
+            oldest.lines -= cancelled;
+            pendingLines -= cancelled;
+            linesCancelled += cancelled;
+            left -= cancelled;
+            if (oldest.lines == 0) {
+                pending.removeFirst();
+            }
+        }
+        int total = left + unsent;
+        if (total > 0) {
+            int target = targeting.pick(player, roster, random, lastTarget, lastAttacker);
+            if (target < 0) {
+                // nobody left to attack
+                unsent = 0;
+            } else if (outgoing[target].offer(total)) {
+                lastTarget = target;
+                unsent = 0;
+                linesSent += total;
+            } else {
+                unsent = total;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Pushes in the garbage that is due, up to MAX_ROWS_PER_LOCK rows. Called after a lock that
+     * cleared nothing; the game redraws the board once afterwards rather than once per row.
+     * @return the number of rows pushed in
+     */
+    int insertDue(GameController game, long tick) {
+        int budget = MAX_ROWS_PER_LOCK;
+        while (budget > 0 && !pending.isEmpty() && !game.isGameOver()) {
+            Pending oldest = pending.peekFirst();
+            if (tick - oldest.arrivedAt < GARBAGE_DELAY_TICKS) {
+                break;
+            }
+            int rows = Math.min(budget, oldest.lines);
+            for (int i = 0; i < rows; i++) {
+                game.pushGarbageRow(oldest.hole);
+            }
+            budget -= rows;
+            oldest.lines -= rows;
+            pendingLines -= rows;
+            if (oldest.lines == 0) {
+                pending.removeFirst();
+            }
+        }
+        return MAX_ROWS_PER_LOCK - budget;
+    }
+
+    /**
+     * Tells the others how tall this player's stack is, for targeting.
+     */
+    void publishStackHeight(int height) {
+        roster.setStackHeight(player, height);
+    }
+
+    /**
+     * This player topped out; nobody targets it any more.
+     */
+    void knockedOut() {
+        roster.setAlive(player, false);
+    }
+
+    /**
+     * Drops everything pending or in flight towards this player, for a new game.
+     */
+    void reset() {
+        for (SpscIntQueue queue : incoming) {
+            if (queue != null) {
+                while (queue.poll() != SpscIntQueue.EMPTY) {
+                    // discard
+                }
+            }
+        }
+        pending.clear();
+        pendingLines = 0;
+        unsent = 0;
+        lastTarget = -1;
+        lastAttacker = -1;
+        roster.setStackHeight(player, 0);
+        roster.setAlive(player, true);
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Garbage lines received but not pushed in yet.
+     */
+    public int getPendingLines() {
+        return pendingLines;
+    }
+
+    /**
+     * The player attacked last, or -1.
+     */
+    public int getLastTarget() {
+        return lastTarget;
+    }
+
+    public long getLinesSent() {
+        return linesSent;
+    }
+
+    public long getLinesCancelled() {
+        return linesCancelled;
+    }
+
+    private static final class Pending {
+        int lines;
+        final int hole;
+        final long arrivedAt;
+
+        Pending(int lines, int hole, long arrivedAt) {
+            this.lines = lines;
+            this.hole = hole;
+            this.arrivedAt = arrivedAt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.comp2042;
+
+import javafx.scene.media.AudioClip;
+
+/**
+ * A fixed number of decoded copies of one sound effect.
+ *
+ * Each voice is an AudioClip, so the file is decoded once when the pool is built and playing it
+ * later creates no objects. A play takes a voice that has gone quiet; if all of them are still
+ * sounding, the one that started longest ago is cut off and reused (voice stealing), so a burst of
+ * triggers can never pile up more than {@code size} overlapping copies.
+ */
+final class VoicePool {
+
+    private final AudioClip[] voices;
+    private final long[] startedAt;
+    private int next;
+
+    /**
+     * Decodes the sound {@code size} times; slow, so build pools off the FX thread.
+     */
+    VoicePool(String url, int size) {
+        voices = new AudioClip[size];
+        startedAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            voices[i] = new AudioClip(url);
+        }
+    }
+
+    /**
+     * @return true if a voice that was still playing had to be stolen
+     */
+    synchronized boolean play(double volume) {
+        int voice = -1;
+        for (int i = 0; i < voices.length; i++) {
+            int candidate = (next + i) % voices.length;
+            if (!voices[candidate].isPlaying()) {
+                voice = candidate;
+                break;
+            }
+        }
+        boolean stolen = voice < 0;
+        if (stolen) {
+            voice = 0;
+            for (int i = 1; i < voices.length; i++) {
+                if (startedAt[i] < startedAt[voice]) {
+                    voice = i;
+                }
+            }
+            voices[voice].stop();
+        }
+        voices[voice].play(volume);
+        startedAt[voice] = System.nanoTime();
+        next = (voice + 1) % voices.length;
+        return stolen;
+    }
+}
@@ -0,0 +1,101 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist-style hashing of game states (occupancy only, colors are ignored).
+ *
+ * A plain per-cell Zobrist hash would have to be rebuilt cell by cell whenever a line clear shifts
+ * rows down. Instead each row gets a content hash (XOR of its filled columns' keys), and the board
+ * hash is the XOR over all rows of {@link #rowTerm(long, int)}, which mixes the content with the row
+ * index. A merge then only updates the rows it touched, and a clear only re-terms the rows that moved.
+ *
+ * The keys come from a fixed seed so hashes are stable between runs.
+ */
+public final class ZobristKeys {
+
+    public static final int MAX_COLUMNS = 64;
+    public static final int MAX_QUEUE = 8;
+
+    private static final int PIECES = BrickType.values().length;
+    private static final long[] COLUMN_KEYS = new long[MAX_COLUMNS];
+    private static final long[] CURRENT_KEYS = new long[PIECES];
+    private static final long[] HOLD_KEYS = new long[PIECES];
+    private static final long[][] QUEUE_KEYS = new long[MAX_QUEUE][PIECES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x2042_7E72_15L);
+        for (int c = 0; c < MAX_COLUMNS; c++) {
+            COLUMN_KEYS[c] = random.nextLong();
+        }
+        for (int p = 0; p < PIECES; p++) {
+            CURRENT_KEYS[p] = random.nextLong();
+            HOLD_KEYS[p] = random.nextLong();
+            for (int slot = 0; slot < MAX_QUEUE; slot++) {
+                QUEUE_KEYS[slot][p] = random.nextLong();
+            }
+        }
+    }
+
+    private ZobristKeys() {
+    }
+
+    public static long column(int col) {
+        return COLUMN_KEYS[col];
+    }
+
+    /**
+     * Content hash of a row given as a bitmask of filled columns (bit c = column c).
+     */
+    public static long rowContent(int mask) {
+        long content = 0;
+        while (mask != 0) {
+            content ^= COLUMN_KEYS[Integer.numberOfTrailingZeros(mask)];
+            mask &= mask - 1;
+        }
+        return content;
+    }
+
+    /**
+     * A row's contribution to the board hash. Non-linear in the content so the same row at a
+     * different height, or two rows swapping places, hashes differently.
+     */
+    public static long rowTerm(long rowContent, int row) {
+        return mix(rowContent ^ ((row + 1) * 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Hash of a board with the given number of rows and nothing in it.
+     */
+    public static long emptyBoard(int rows) {
+        long hash = 0;
+        for (int r = 0; r < rows; r++) {
+            hash ^= rowTerm(0, r);
+        }
+        return hash;
+    }
+
+    public static long current(BrickType type) {
+        return CURRENT_KEYS[type.ordinal()];
+    }
+
+    /**
+     * Key for the hold slot; an empty slot (null) contributes nothing.
+     */
+    public static long hold(BrickType type) {
+        return type == null ? 0 : HOLD_KEYS[type.ordinal()];
+    }
+
+    public static long queue(int slot, BrickType type) {
+        return QUEUE_KEYS[slot][type.ordinal()];
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
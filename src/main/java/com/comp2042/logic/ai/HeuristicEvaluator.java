@@ -0,0 +1,72 @@
+package com.comp2042.logic.ai;
+
+/**
+ * Scores a board after a placement as a weighted sum of four features:
+ * aggregate column height, lines cleared, holes (empty cells under a filled one) and bumpiness
+ * (height difference between neighbouring columns). Higher is better.
+ *
+ * The default weights are the widely used ones tuned by Yiyuan Lee's genetic search for
+ * this exact feature set.
+ */
+public final class HeuristicEvaluator {
+
+    private final double heightWeight;
+    private final double linesWeight;
+    private final double holesWeight;
+    private final double bumpinessWeight;
+
+    public HeuristicEvaluator(double heightWeight, double linesWeight, double holesWeight, double bumpinessWeight) {
+        this.heightWeight = heightWeight;
+        this.linesWeight = linesWeight;
+        this.holesWeight = holesWeight;
+        this.bumpinessWeight = bumpinessWeight;
+    }
+
+    public static HeuristicEvaluator defaults() {
+        return new HeuristicEvaluator(-0.510066, 0.760666, -0.35663, -0.184483);
+    }
+
+    /**
+     * @param lines lines cleared along the way to this board (all placements in the searched line)
+     */
+    public double evaluate(SearchBoard board, int lines) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int[] columnHeights = new int[width];
+        int seen = 0;
+        int holes = 0;
+        for (int r = 0; r < height; r++) {
+            int row = board.getRow(r);
+            // empty cells in columns that already had a block above
+            holes += Integer.bitCount(seen & ~row);
+            int fresh = row & ~seen;
+            while (fresh != 0) {
+                int c = Integer.numberOfTrailingZeros(fresh);
+                columnHeights[c] = height - r;
+                fresh &= fresh - 1;
+            }
+            seen |= row;
+        }
+
+        int aggregateHeight = 0;
+        int bumpiness = 0;
+        for (int c = 0; c < width; c++) {
+            aggregateHeight += columnHeights[c];
+            if (c > 0) {
+                bumpiness += Math.abs(columnHeights[c] - columnHeights[c - 1]);
+            }
+        }
+        return heightWeight * aggregateHeight
+                + linesTerm(lines)
+                + holesWeight * holes
+                + bumpinessWeight * bumpiness;
+    }
+
+    /**
+     * The part of {@link #evaluate} that depends on lines cleared; it is additive, so searches can
+     * cache values independently of how many lines were cleared on the way to a position.
+     */
+    public double linesTerm(int lines) {
+        return linesWeight * lines;
+    }
+}
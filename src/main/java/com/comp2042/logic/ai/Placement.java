@@ -0,0 +1,78 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.logic.bricks.BrickType;
+
+/**
+ * One way to lock a piece: which piece (current or hold), its final orientation and offset, and the
+ * inputs that get it there from where the search found it (the spawn position for a held or queued
+ * piece). The inputs stop before the final hard drop.
+ */
+public final class Placement {
+
+    public static final byte LEFT = 0;
+    public static final byte RIGHT = 1;
+    public static final byte DOWN = 2;
+    public static final byte ROTATE = 3;
+    public static final byte ROTATE_RIGHT = 4;
+    public static final byte ROTATE_180 = 5;
+
+    private final BrickType piece;
+    private final boolean useHold;
+    private final int orientation;
+    private final int x;
+    private final int y;
+    private final byte[] moves;
+
+    Placement(BrickType piece, boolean useHold, int orientation, int x, int y, byte[] moves) {
+        this.piece = piece;
+        this.useHold = useHold;
+        this.orientation = orientation;
+        this.x = x;
+        this.y = y;
+        this.moves = moves;
+    }
+
+    Placement withHold(boolean hold) {
+        return new Placement(piece, hold, orientation, x, y, moves);
+    }
+
+    public BrickType getPiece() {
+        return piece;
+    }
+
+    /**
+     * True when the hold key has to be pressed first.
+     */
+    public boolean isUseHold() {
+        return useHold;
+    }
+
+    public int getOrientation() {
+        return orientation;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * One of LEFT, RIGHT, DOWN, ROTATE (counter-clockwise), ROTATE_RIGHT, ROTATE_180.
+     */
+    public byte getMove(int index) {
+        return moves[index];
+    }
+
+    @Override
+    public String toString() {
+        return "Placement(" + piece + (useHold ? " via hold" : "") + ", o=" + orientation + ", x=" + x + ", y=" + y
+                + ", " + moves.length + " moves)";
+    }
+}
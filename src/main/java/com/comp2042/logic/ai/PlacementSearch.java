@@ -0,0 +1,301 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.Board;
+import com.comp2042.ZobristKeys;
+import com.comp2042.logic.bricks.Brick;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Picks where to put the current piece by looking a few pieces ahead.
+ *
+ * Every node expands the placements of the piece in play, plus the hold alternative (swap with the
+ * held piece, or with the next preview piece when hold is empty, exactly like
+ * GameController.holdCurrentBrick). Children are scored with the HeuristicEvaluator, the best
+ * beamWidth are expanded further, and a node's value is the best value found below it.
+ * Subtrees that still have at least two plies to go are forked onto the ForkJoinPool;
+ * the last ply is evaluated inline since it is too small to be worth a task.
+ *
+ * Different move orders often reach the same position, so subtree values are cached in a
+ * TranspositionTable keyed by the board's Zobrist hash plus the current, hold and queued pieces.
+ * The table outlives a single call, so positions searched for the previous piece are reused too.
+ */
+public final class PlacementSearch {
+
+    // value of a line that tops out: worse than any board the evaluator can produce
+    private static final double DEATH_SCORE = -1e9;
+    private static final int DEFAULT_TABLE_SIZE = 1 << 16;
+
+    private final SearchSettings settings;
+    private final HeuristicEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+
+    public PlacementSearch(SearchSettings settings) {
+        this(settings, HeuristicEvaluator.defaults(), ForkJoinPool.commonPool(),
+                new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+    /**
+     * @param table cache for subtree values, or null to search without one
+     */
+    public PlacementSearch(SearchSettings settings, HeuristicEvaluator evaluator, ForkJoinPool pool,
+                           TranspositionTable table) {
+        this.settings = settings;
+        this.evaluator = evaluator;
+        this.pool = pool;
+        this.table = table;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Best placement for the board's current piece, or null if nothing fits (the game is lost).
+     * @param hold the piece in the hold slot, or null
+     */
+    public Placement findBest(Board board, Brick hold) {
+        // a line of depth pieces uses at most depth queued pieces (one more is pulled in by an
+        // empty-hold swap), so that much preview is always enough
+        int previewDepth = Math.min(settings.getDepth(), ZobristKeys.MAX_QUEUE);
+        // the root's hash is the one the board already maintains, so the transposition table keys
+        // line up with Board.getBoardHash() without rehashing the playfield
+        SearchBoard root = SearchBoard.fromBoard(board);
+        // the piece may have fallen or moved since it spawned, and the moves must replay from there
+        List<Placement> placements = ReachabilityFinder.find(root, board.getCurrentBrick(),
+                board.getCurrentShape().getOrientation(), board.getBrickX(), board.getBrickY());
+        return findBest(root, board.getCurrentBrick(), placements, hold, board.getPreview(previewDepth));
+    }
+
+    /**
+     * Best placement for a piece that has just spawned on the given matrix.
+     */
+    public Placement findBest(int[][] boardMatrix, Brick current, Brick hold, List<Brick> preview) {
+        SearchBoard root = SearchBoard.fromMatrix(boardMatrix);
+        return findBest(root, current, ReachabilityFinder.find(root, current), hold, preview);
+    }
+
+    private Placement findBest(SearchBoard root, Brick current, List<Placement> placements, Brick hold,
+                               List<Brick> preview) {
+        long deadline = System.nanoTime() + settings.getTimeBudgetMillis() * 1_000_000L;
+        Search search = new Search(preview.toArray(new Brick[0]), deadline);
+        if (table != null) {
+            table.newSearch();
+        }
+        return pool.invoke(new RootTask(search, root, current, placements, hold));
+    }
+
+    /**
+     * Per-call state shared by all tasks of one search.
+     */
+    private final class Search {
+        private final Brick[] queue;
+        private final long deadline;
+
+        Search(Brick[] queue, long deadline) {
+            this.queue = queue;
+            this.deadline = deadline;
+        }
+
+        boolean outOfTime() {
+            return System.nanoTime() > deadline;
+        }
+
+        Brick queued(int index) {
+            return index < queue.length ? queue[index] : null;
+        }
+
+        /**
+         * All placements reachable from this node, each with the state the next ply starts from.
+         */
+        List<Child> expand(SearchBoard board, Brick current, Brick hold, int nextIndex, int lines) {
+            return expand(board, current, ReachabilityFinder.find(board, current), hold, nextIndex, lines);
+        }
+
+        /**
+         * As above, with the current piece's own placements already found; a piece swapped in
+         * through hold always starts from its spawn point.
+         */
+        List<Child> expand(SearchBoard board, Brick current, List<Placement> placements, Brick hold, int nextIndex,
+                           int lines) {
+            List<Child> children = new ArrayList<>();
+            addChildren(children, board, current, placements, false, hold, queued(nextIndex), nextIndex + 1, lines);
+            if (settings.isUseHold()) {
+                if (hold != null) {
+                    if (hold.getType() != current.getType()) {
+                        addChildren(children, board, hold, ReachabilityFinder.find(board, hold), true, current,
+                                queued(nextIndex), nextIndex + 1, lines);
+                    }
+                } else if (queued(nextIndex) != null) {
+                    Brick swapped = queued(nextIndex);
+                    addChildren(children, board, swapped, ReachabilityFinder.find(board, swapped), true, current,
+                            queued(nextIndex + 1), nextIndex + 2, lines);
+                }
+            }
+            return children;
+        }
+
+        private void addChildren(List<Child> out, SearchBoard board, Brick piece, List<Placement> placements,
+                                 boolean viaHold, Brick hold, Brick nextCurrent, int nextIndex, int lines) {
+            for (Placement placement : placements) {
+                SearchBoard after = board.place(piece.getShape(placement.getOrientation()),
+                        placement.getX(), placement.getY());
+                int total = lines + after.getLinesCleared();
+                out.add(new Child(viaHold ? placement.withHold(true) : placement, after, hold, nextCurrent,
+                        nextIndex, total, evaluator.evaluate(after, total)));
+            }
+        }
+
+        /**
+         * Value of the best line below a child, searching depthLeft more pieces.
+         */
+        double value(Child child, int depthLeft) {
+            if (depthLeft == 0 || child.current == null || outOfTime()) {
+                return child.staticScore;
+            }
+            if (table == null) {
+                return search(child, depthLeft);
+            }
+            // cached without the lines-so-far term, which depends on the path rather than the position
+            long key = key(child);
+            double cached = table.lookup(key, depthLeft);
+            if (!Double.isNaN(cached)) {
+                return cached + evaluator.linesTerm(child.lines);
+            }
+            double value = search(child, depthLeft);
+            if (!outOfTime()) {
+                // a search that ran out of time may have cut corners, so only complete ones are kept
+                table.store(key, depthLeft, value - evaluator.linesTerm(child.lines));
+            }
+            return value;
+        }
+
+        private long key(Child child) {
+            long key = child.board.getHash()
+                    ^ ZobristKeys.current(child.current.getType())
+                    ^ ZobristKeys.hold(child.hold == null ? null : child.hold.getType());
+            for (int i = child.nextIndex, slot = 0; i < queue.length && slot < ZobristKeys.MAX_QUEUE; i++, slot++) {
+                key ^= ZobristKeys.queue(slot, queue[i].getType());
+            }
+            return key;
+        }
+
+        private double search(Child child, int depthLeft) {
+            List<Child> children = expand(child.board, child.current, child.hold, child.nextIndex, child.lines);
+            if (children.isEmpty()) {
+                return DEATH_SCORE;
+            }
+            if (depthLeft == 1) {
+                double best = DEATH_SCORE;
+                for (Child c : children) {
+                    best = Math.max(best, c.staticScore);
+                }
+                return best;
+            }
+            List<Child> beam = beam(children);
+            List<SubtreeTask> tasks = new ArrayList<>(beam.size());
+            for (Child c : beam) {
+                tasks.add(new SubtreeTask(this, c, depthLeft - 1));
+            }
+            double best = DEATH_SCORE;
+            for (SubtreeTask task : RecursiveTask.invokeAll(tasks)) {
+                best = Math.max(best, task.join());
+            }
+            return best;
+        }
+
+        List<Child> beam(List<Child> children) {
+            if (children.size() <= settings.getBeamWidth()) {
+                return children;
+            }
+            List<Child> sorted = new ArrayList<>(children);
+            Collections.sort(sorted, (a, b) -> Double.compare(b.staticScore, a.staticScore));
+            return sorted.subList(0, settings.getBeamWidth());
+        }
+    }
+
+    private static final class Child {
+        final Placement placement;
+        final SearchBoard board;
+        final Brick hold;
+        final Brick current;
+        final int nextIndex;
+        final int lines;
+        final double staticScore;
+
+        Child(Placement placement, SearchBoard board, Brick hold, Brick current, int nextIndex, int lines,
+              double staticScore) {
+            this.placement = placement;
+            this.board = board;
+            this.hold = hold;
+            this.current = current;
+            this.nextIndex = nextIndex;
+            this.lines = lines;
+            this.staticScore = staticScore;
+        }
+    }
+
+    // fork/join tasks are never serialized
+    @SuppressWarnings("serial")
+    private final class RootTask extends RecursiveTask<Placement> {
+        private final Search search;
+        private final SearchBoard board;
+        private final Brick current;
+        private final List<Placement> placements;
+        private final Brick hold;
+
+        RootTask(Search search, SearchBoard board, Brick current, List<Placement> placements, Brick hold) {
+            this.search = search;
+            this.board = board;
+            this.current = current;
+            this.placements = placements;
+            this.hold = hold;
+        }
+
+        @Override
+        protected Placement compute() {
+            List<Child> children = search.expand(board, current, placements, hold, 0, 0);
+            if (children.isEmpty()) {
+                return null;
+            }
+            // every root move gets searched; the beam only narrows the deeper plies
+            List<SubtreeTask> tasks = new ArrayList<>(children.size());
+            for (Child child : children) {
+                tasks.add(new SubtreeTask(search, child, settings.getDepth() - 1));
+            }
+            Placement best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (SubtreeTask task : RecursiveTask.invokeAll(tasks)) {
+                double value = task.join();
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = task.child.placement;
+                }
+            }
+            return best;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class SubtreeTask extends RecursiveTask<Double> {
+        private final Search search;
+        private final Child child;
+        private final int depthLeft;
+
+        SubtreeTask(Search search, Child child, int depthLeft) {
+            this.search = search;
+            this.child = child;
+            this.depthLeft = depthLeft;
+        }
+
+        @Override
+        protected Double compute() {
+            return search.value(child, depthLeft);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.SrsKickTable;
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickShape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds every resting position a piece can reach from its spawn point, or from wherever it is now,
+ * with the game's own inputs (left, right, soft drop, and all three rotations with their kicks), so
+ * tucks and spins are found as well as plain drops.
+ *
+ * Rotation mirrors the boards exactly: the first offset from SrsKickTable that fits wins, so every
+ * path this class returns replays the same way in the real game.
+ */
+public final class ReachabilityFinder {
+
+    // shapes are at most 4x4, so offsets stay within [-3, width) and [-3, height)
+    private static final int PAD = 3;
+
+    // orientation steps of the three rotate inputs, and the moves that record them
+    private static final int[] TURNS = {1, 3, 2};
+    private static final byte[] TURN_MOVES = {Placement.ROTATE, Placement.ROTATE_RIGHT, Placement.ROTATE_180};
+
+    private ReachabilityFinder() {
+    }
+
+    /**
+     * All distinct landing placements for the brick, deduplicated by the cells they cover.
+     */
+    public static List<Placement> find(SearchBoard board, Brick brick) {
+        return find(board, brick, 0, brick.getShape(0).getSpawnX(board.getWidth()), 0);
+    }
+
+    /**
+     * As find(board, brick), but for a piece that is already in play: the paths start from its
+     * orientation and offset rather than from the spawn point, so they replay correctly after it
+     * has fallen or been moved.
+     */
+    public static List<Placement> find(SearchBoard board, Brick brick, int orientation, int startX, int startY) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int orientations = brick.getOrientationCount();
+        int xRange = width + PAD;
+        int yRange = height + PAD;
+        int states = orientations * xRange * yRange;
+
+        List<Placement> result = new ArrayList<>();
+        if (board.collides(brick.getShape(orientation), startX, startY)) {
+            return result;
+        }
+
+        int[] parent = new int[states];
+        byte[] via = new byte[states];
+        boolean[] seen = new boolean[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+
+        int start = encode(orientation, startX, startY, xRange, yRange);
+        seen[start] = true;
+        parent[start] = -1;
+        queue[tail++] = start;
+
+        Set<Long> footprints = new HashSet<>();
+        while (head < tail) {
+            int state = queue[head++];
+            int o = state / (xRange * yRange);
+            int rest = state % (xRange * yRange);
+            int y = rest / xRange - PAD;
+            int x = rest % xRange - PAD;
+            BrickShape shape = brick.getShape(o);
+
+            if (!board.collides(shape, x - 1, y)) {
+                tail = visit(encode(o, x - 1, y, xRange, yRange), state, Placement.LEFT, seen, parent, via, queue, tail);
+            }
+            if (!board.collides(shape, x + 1, y)) {
+                tail = visit(encode(o, x + 1, y, xRange, yRange), state, Placement.RIGHT, seen, parent, via, queue, tail);
+            }
+            for (int r = 0; r < TURNS.length && orientations > 1; r++) {
+                int to = (o + TURNS[r]) % orientations;
+                BrickShape rotated = brick.getShape(to);
+                int[] kicks = SrsKickTable.getKicks(brick.getType(), o, to);
+                for (int i = 0; i < kicks.length; i++) {
+                    int testX = x + SrsKickTable.kickX(kicks[i]);
+                    int testY = y + SrsKickTable.kickY(kicks[i]);
+                    if (!board.collides(rotated, testX, testY)) {
+                        tail = visit(encode(to, testX, testY, xRange, yRange), state, TURN_MOVES[r],
+                                seen, parent, via, queue, tail);
+                        break;
+                    }
+                }
+            }
+            // soft drop is tried last so that, among equally short paths, shifts and rotations happen
+            // high up and the drop at the end can be left to the hard drop
+            if (board.collides(shape, x, y + 1)) {
+                long footprint = footprint(shape, x, y, width);
+                if (footprints.add(footprint)) {
+                    result.add(new Placement(brick.getType(), false, o, x, y, path(state, parent, via)));
+                }
+            } else {
+                tail = visit(encode(o, x, y + 1, xRange, yRange), state, Placement.DOWN, seen, parent, via, queue, tail);
+            }
+        }
+        return result;
+    }
+
+    private static int visit(int next, int from, byte move, boolean[] seen, int[] parent, byte[] via,
+                             int[] queue, int tail) {
+        if (!seen[next]) {
+            seen[next] = true;
+            parent[next] = from;
+            via[next] = move;
+            queue[tail++] = next;
+        }
+        return tail;
+    }
+
+    private static int encode(int o, int x, int y, int xRange, int yRange) {
+        return (o * yRange + (y + PAD)) * xRange + (x + PAD);
+    }
+
+    private static byte[] path(int state, int[] parent, byte[] via) {
+        int length = 0;
+        for (int s = state; parent[s] >= 0; s = parent[s]) {
+            length++;
+        }
+        byte[] moves = new byte[length];
+        int i = length;
+        for (int s = state; parent[s] >= 0; s = parent[s]) {
+            moves[--i] = via[s];
+        }
+        // the hard drop that follows covers any trailing soft drops
+        int end = length;
+        while (end > 0 && moves[end - 1] == Placement.DOWN) {
+            end--;
+        }
+        if (end == length) {
+            return moves;
+        }
+        byte[] trimmed = new byte[end];
+        System.arraycopy(moves, 0, trimmed, 0, end);
+        return trimmed;
+    }
+
+    // covered cells packed 16 bits each (pieces have 4 cells); identical footprints from different orientations collapse
+    private static long footprint(BrickShape shape, int x, int y, int width) {
+        int[] cells = new int[shape.getCellCount()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (y + shape.getCellRow(i)) * width + (x + shape.getCellCol(i));
+        }
+        Arrays.sort(cells);
+        long key = 0;
+        for (int cell : cells) {
+            key = (key << 16) | cell;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,176 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.Board;
+import com.comp2042.ZobristKeys;
+import com.comp2042.logic.bricks.BrickShape;
+
+/**
+ * Compact, immutable playfield used by the AI: one int per row with bit c set when column c is
+ * filled (the same idea as BitboardBoard, minus the colors). Placing a piece returns a new board,
+ * so search branches can share parents freely across threads.
+ *
+ * Collision follows MatrixOperations.intersect: anything outside the playfield, including above
+ * row 0, counts as a hit.
+ *
+ * Each board carries its Zobrist hash, computed the same way as Board.getBoardHash(), and
+ * updated per touched row when a piece is placed.
+ */
+public final class SearchBoard {
+
+    private final int width;
+    private final int height;
+    private final int fullRowMask;
+    private final int[] rows;
+    private final int linesCleared;
+    private final long hash;
+
+    private SearchBoard(int width, int height, int[] rows, int linesCleared, long hash) {
+        this.width = width;
+        this.height = height;
+        this.fullRowMask = (1 << width) - 1;
+        this.rows = rows;
+        this.linesCleared = linesCleared;
+        this.hash = hash;
+    }
+
+    /**
+     * Snapshot of a board matrix as returned by Board.getBoardMatrix(); any non-zero cell is filled.
+     */
+    public static SearchBoard fromMatrix(int[][] matrix) {
+        int[] rows = toRows(matrix);
+        long hash = 0;
+        for (int r = 0; r < rows.length; r++) {
+            hash ^= ZobristKeys.rowTerm(ZobristKeys.rowContent(rows[r]), r);
+        }
+        return new SearchBoard(matrix[0].length, matrix.length, rows, 0, hash);
+    }
+
+    /**
+     * Snapshot of a live board. The hash is the one the board keeps up to date on every lock
+     * (Board.getBoardHash()) rather than being worked out again row by row.
+     */
+    public static SearchBoard fromBoard(Board board) {
+        int[][] matrix = board.getBoardMatrix();
+        return new SearchBoard(matrix[0].length, matrix.length, toRows(matrix), 0, board.getBoardHash());
+    }
+
+    private static int[] toRows(int[][] matrix) {
+        int height = matrix.length;
+        int width = matrix[0].length;
+        if (width > Integer.SIZE - 1) {
+            throw new IllegalArgumentException("SearchBoard supports at most " + (Integer.SIZE - 1) + " columns");
+        }
+        int[] rows = new int[height];
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                if (matrix[r][c] != 0) {
+                    rows[r] |= 1 << c;
+                }
+            }
+        }
+        return rows;
+    }
+
+    public boolean collides(BrickShape shape, int x, int y) {
+        if (x + shape.getMinCol() < 0 || x + shape.getMaxCol() >= width) {
+            return true;
+        }
+        for (int r = shape.getMinRow(); r <= shape.getMaxRow(); r++) {
+            int mask = shape.getRowMask(r);
+            if (mask == 0) {
+                continue;
+            }
+            int targetY = y + r;
+            if (targetY < 0 || targetY >= height) {
+                return true;
+            }
+            if ((rows[targetY] & shiftMask(mask, x)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Locks the shape at (x, y), clears full rows and returns the resulting board.
+     * The caller must have checked that the position does not collide.
+     */
+    public SearchBoard place(BrickShape shape, int x, int y) {
+        int[] next = rows.clone();
+        long nextHash = hash;
+        int lowestFull = -1;
+        for (int r = shape.getMinRow(); r <= shape.getMaxRow(); r++) {
+            int mask = shape.getRowMask(r);
+            if (mask != 0) {
+                int row = y + r;
+                next[row] |= shiftMask(mask, x);
+                if (next[row] == fullRowMask) {
+                    lowestFull = row;
+                }
+                nextHash ^= term(rows[row], row) ^ term(next[row], row);
+            }
+        }
+        if (lowestFull < 0) {
+            return new SearchBoard(width, height, next, 0, nextHash);
+        }
+
+        // rows at or above the lowest full one can move: take their terms out, compact, put them back
+        for (int r = 0; r <= lowestFull; r++) {
+            nextHash ^= term(next[r], r);
+        }
+        int cleared = 0;
+        int write = lowestFull;
+        for (int read = lowestFull; read >= 0; read--) {
+            if (next[read] == fullRowMask) {
+                cleared++;
+                continue;
+            }
+            next[write--] = next[read];
+        }
+        for (; write >= 0; write--) {
+            next[write] = 0;
+        }
+        for (int r = 0; r <= lowestFull; r++) {
+            nextHash ^= term(next[r], r);
+        }
+        return new SearchBoard(width, height, next, cleared, nextHash);
+    }
+
+    private static long term(int rowMask, int row) {
+        return ZobristKeys.rowTerm(ZobristKeys.rowContent(rowMask), row);
+    }
+
+    private static int shiftMask(int mask, int x) {
+        return x >= 0 ? mask << x : mask >>> -x;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getRow(int row) {
+        return rows[row];
+    }
+
+    public int getFullRowMask() {
+        return fullRowMask;
+    }
+
+    /**
+     * Zobrist hash of the occupancy; equal to Board.getBoardHash() for the same cells.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Rows removed by the place() call that produced this board.
+     */
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+}
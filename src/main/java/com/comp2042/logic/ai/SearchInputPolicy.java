@@ -0,0 +1,55 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.EventSource;
+import com.comp2042.EventType;
+import com.comp2042.GameController;
+import com.comp2042.InputPolicy;
+import com.comp2042.MoveEvent;
+
+/**
+ * Bot player: asks PlacementSearch where each new piece should go, then replays the inputs
+ * and hard drops, all within a single tick.
+ */
+public class SearchInputPolicy implements InputPolicy {
+
+    private static final MoveEvent LEFT = new MoveEvent(EventType.LEFT, EventSource.THREAD);
+    private static final MoveEvent RIGHT = new MoveEvent(EventType.RIGHT, EventSource.THREAD);
+    private static final MoveEvent DOWN = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+    private static final MoveEvent ROTATE = new MoveEvent(EventType.ROTATE, EventSource.THREAD);
+    private static final MoveEvent ROTATE_RIGHT = new MoveEvent(EventType.ROTATE_RIGHT, EventSource.THREAD);
+    private static final MoveEvent ROTATE_180 = new MoveEvent(EventType.ROTATE_180, EventSource.THREAD);
+
+    private final PlacementSearch search;
+
+    public SearchInputPolicy(PlacementSearch search) {
+        this.search = search;
+    }
+
+    @Override
+    public void beforeTick(GameController game) {
+        if (game.isGameOver()) {
+            return;
+        }
+        Placement placement = search.findBest(game.getBoard(), game.getHeldBrick());
+        if (placement != null) {
+            apply(game, placement);
+        }
+        game.hardDrop();
+    }
+
+    private void apply(GameController game, Placement placement) {
+        if (placement.isUseHold()) {
+            game.holdCurrentBrick();
+        }
+        for (int i = 0; i < placement.getMoveCount(); i++) {
+            switch (placement.getMove(i)) {
+                case Placement.LEFT: game.onLeftEvent(LEFT); break;
+                case Placement.RIGHT: game.onRightEvent(RIGHT); break;
+                case Placement.DOWN: game.onDownEvent(DOWN); break;
+                case Placement.ROTATE_RIGHT: game.onRotateEvent(ROTATE_RIGHT); break;
+                case Placement.ROTATE_180: game.onRotateEvent(ROTATE_180); break;
+                default: game.onRotateEvent(ROTATE); break;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.comp2042.logic.ai;
+
+/**
+ * Knobs for PlacementSearch.
+ *
+ * depth: how many pieces to place per line of search (1 = greedy, only the current piece).
+ *        findBest(Board, Brick) asks the board for as much preview as this needs.
+ * timeBudgetMillis: once exceeded, unexpanded nodes are scored as leaves and the best move so far wins.
+ * beamWidth: how many of the best-looking children are expanded below the root level.
+ * useHold: whether the search may swap with the hold piece.
+ */
+public final class SearchSettings {
+
+    private final int depth;
+    private final long timeBudgetMillis;
+    private final int beamWidth;
+    private final boolean useHold;
+
+    public SearchSettings(int depth, long timeBudgetMillis, int beamWidth, boolean useHold) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be at least 1, got " + depth);
+        }
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("beamWidth must be at least 1, got " + beamWidth);
+        }
+        this.depth = depth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.beamWidth = beamWidth;
+        this.useHold = useHold;
+    }
+
+    public static SearchSettings defaults() {
+        return new SearchSettings(2, 50, 12, true);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    public boolean isUseHold() {
+        return useHold;
+    }
+}
@@ -0,0 +1,143 @@
+package com.comp2042.logic.ai;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size cache of search results keyed by 64-bit Zobrist keys, shared by all search threads
+ * without locks.
+ *
+ * Each slot is two longs: {@code key ^ data} and {@code data}. A reader recomputes the key from
+ * both words and only trusts the entry if it matches, so a torn write from a racing thread shows
+ * up as a miss instead of a wrong value (the classic "lockless hashing" trick).
+ *
+ * The table is direct-mapped. A slot holding a different position is overwritten when the old
+ * entry comes from an earlier search (see {@link #newSearch()}) or was searched no deeper than the
+ * new one; otherwise the new result is dropped.
+ */
+public final class TranspositionTable {
+
+    // data layout: value as float bits (63..32) | valid (16) | depth (15..8) | age (7..0)
+    private static final long VALID = 1L << 16;
+    private static final int MAX_DEPTH = 0xFF;
+
+    private final AtomicLongArray slots;
+    private final int indexMask;
+    private volatile int age;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity number of entries; rounded up to a power of two
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("capacity must be in 1.." + (1 << 28) + ", got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicLongArray(size * 2);
+        this.indexMask = size - 1;
+    }
+
+    /**
+     * Cached value for the key if it was searched at least minDepth deep, otherwise NaN.
+     */
+    public double lookup(long key, int minDepth) {
+        int slot = index(key);
+        long check = slots.get(slot);
+        long data = slots.get(slot + 1);
+        if ((data & VALID) != 0 && (check ^ data) == key && depth(data) >= minDepth) {
+            hits.increment();
+            return Float.intBitsToFloat((int) (data >>> 32));
+        }
+        misses.increment();
+        return Double.NaN;
+    }
+
+    public void store(long key, int depth, double value) {
+        int slot = index(key);
+        int currentAge = age;
+        long data = ((long) Float.floatToRawIntBits((float) value) << 32)
+                | VALID
+                | ((long) Math.min(depth, MAX_DEPTH) << 8)
+                | (currentAge & 0xFF);
+
+        long oldCheck = slots.get(slot);
+        long oldData = slots.get(slot + 1);
+        if ((oldData & VALID) != 0 && (oldCheck ^ oldData) != key) {
+            boolean stale = (oldData & 0xFF) != (currentAge & 0xFF);
+            if (!stale && depth(oldData) > depth) {
+                return; // keep the deeper result from this search
+            }
+            evictions.increment();
+        }
+        slots.set(slot, key ^ data);
+        slots.set(slot + 1, data);
+        stores.increment();
+    }
+
+    /**
+     * Marks the start of a new search; older entries still hit but are the first to be replaced.
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+        hits.reset();
+        misses.reset();
+        stores.reset();
+        evictions.reset();
+    }
+
+    public int getCapacity() {
+        return indexMask + 1;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "TranspositionTable(capacity=%d, hits=%d, misses=%d, hit rate=%.1f%%, stores=%d, evictions=%d)",
+                getCapacity(), getHits(), getMisses(), getHitRate() * 100, getStores(), getEvictions());
+    }
+
+    private int index(long key) {
+        // the low bits of a Zobrist key are as random as the high ones
+        return ((int) key & indexMask) * 2;
+    }
+
+    private static int depth(long data) {
+        return (int) (data >>> 8) & MAX_DEPTH;
+    }
+}
@@ -4,5 +4,18 @@ import java.util.List;
 
 public interface Brick {
 
+    /**
+     * Returns a fresh copy of every orientation matrix. Kept for views and older callers;
+     * engine code should use {@link #getShape(int)} which never copies.
+     */
     List<int[][]> getShapeMatrix();
+
+    BrickType getType();
+
+    int getOrientationCount();
+
+    /**
+     * Precomputed, immutable data for the given orientation (0 = spawn, 1 = right, 2 = 180, 3 = left).
+     */
+    BrickShape getShape(int orientation);
 }
@@ -1,8 +1,16 @@
 package com.comp2042.logic.bricks;
 
+import java.util.List;
+
 public interface BrickGenerator {
 
     Brick getBrick();
 
     Brick getNextBrick();
+
+    /**
+     * The next {@code count} bricks getBrick() will return, in order, without consuming them.
+     * Generators produce more pieces on demand, so any depth can be asked for.
+     */
+    List<Brick> getPreview(int count);
 }
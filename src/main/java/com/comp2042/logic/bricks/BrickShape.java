@@ -0,0 +1,191 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * Immutable, precomputed data for one orientation of one brick type.
+ *
+ * Each Brick implementation builds its table once at class-load time, so the engine can ask for
+ * cells, masks and profiles without copying shape matrices on every move. Coordinates are relative
+ * to the top-left corner of the square shape matrix, rows growing downwards.
+ */
+public final class BrickShape {
+
+    private final BrickType type;
+    private final int orientation;
+    private final int size;
+    private final int color;
+    private final int[][] matrix;
+    private final int[] cellRows;
+    private final int[] cellCols;
+    private final int[] rowMasks;
+    private final int[] topRows;
+    private final int[] bottomRows;
+    private final int minRow;
+    private final int maxRow;
+    private final int minCol;
+    private final int maxCol;
+
+    private BrickShape(BrickType type, int orientation, int[][] source) {
+        this.type = type;
+        this.orientation = orientation;
+        this.size = source.length;
+        this.matrix = new int[size][];
+        this.rowMasks = new int[size];
+        this.topRows = new int[size];
+        this.bottomRows = new int[size];
+
+        int cells = 0;
+        for (int r = 0; r < size; r++) {
+            matrix[r] = source[r].clone();
+            for (int c = 0; c < size; c++) {
+                if (matrix[r][c] != 0) {
+                    cells++;
+                }
+            }
+        }
+        cellRows = new int[cells];
+        cellCols = new int[cells];
+
+        int firstColor = 0;
+        int top = size, bottom = -1, left = size, right = -1;
+        int i = 0;
+        for (int c = 0; c < size; c++) {
+            topRows[c] = -1;
+            bottomRows[c] = -1;
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (matrix[r][c] == 0) {
+                    continue;
+                }
+                if (firstColor == 0) {
+                    firstColor = matrix[r][c];
+                }
+                cellRows[i] = r;
+                cellCols[i] = c;
+                i++;
+                rowMasks[r] |= 1 << c;
+                if (topRows[c] < 0) {
+                    topRows[c] = r;
+                }
+                bottomRows[c] = r;
+                top = Math.min(top, r);
+                bottom = Math.max(bottom, r);
+                left = Math.min(left, c);
+                right = Math.max(right, c);
+            }
+        }
+        this.color = firstColor;
+        this.minRow = top;
+        this.maxRow = bottom;
+        this.minCol = left;
+        this.maxCol = right;
+    }
+
+    /**
+     * Builds the orientation table for one brick type from its square shape matrices.
+     */
+    static BrickShape[] table(BrickType type, int[][]... orientations) {
+        BrickShape[] shapes = new BrickShape[orientations.length];
+        for (int o = 0; o < orientations.length; o++) {
+            shapes[o] = new BrickShape(type, o, orientations[o]);
+        }
+        return shapes;
+    }
+
+    public BrickType getType() {
+        return type;
+    }
+
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Side length of the square shape matrix.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getColor() {
+        return color;
+    }
+
+    public int getCellCount() {
+        return cellRows.length;
+    }
+
+    public int getCellRow(int cell) {
+        return cellRows[cell];
+    }
+
+    public int getCellCol(int cell) {
+        return cellCols[cell];
+    }
+
+    public int getCell(int row, int col) {
+        return matrix[row][col];
+    }
+
+    /**
+     * Bitmask of filled columns in a shape row; bit c is set when column c is filled.
+     */
+    public int getRowMask(int row) {
+        return rowMasks[row];
+    }
+
+    /**
+     * Topmost filled row in a shape column, or -1 if the column is empty.
+     */
+    public int getTopRow(int col) {
+        return topRows[col];
+    }
+
+    /**
+     * Lowest filled row in a shape column, or -1 if the column is empty.
+     */
+    public int getBottomRow(int col) {
+        return bottomRows[col];
+    }
+
+    /**
+     * Number of filled rows spanned by a shape column, 0 if the column is empty.
+     */
+    public int getColumnHeight(int col) {
+        return topRows[col] < 0 ? 0 : bottomRows[col] - topRows[col] + 1;
+    }
+
+    public int getMinRow() {
+        return minRow;
+    }
+
+    public int getMaxRow() {
+        return maxRow;
+    }
+
+    public int getMinCol() {
+        return minCol;
+    }
+
+    public int getMaxCol() {
+        return maxCol;
+    }
+
+    /**
+     * Column offset that centers the shape matrix on a board of the given width.
+     */
+    public int getSpawnX(int boardCols) {
+        return Math.max(0, Math.round((boardCols - size) / 2.0f));
+    }
+
+    /**
+     * Fresh copy of the shape matrix, for views that need an int[][].
+     */
+    public int[][] toMatrix() {
+        int[][] copy = new int[size][];
+        for (int r = 0; r < size; r++) {
+            copy[r] = matrix[r].clone();
+        }
+        return copy;
+    }
+}
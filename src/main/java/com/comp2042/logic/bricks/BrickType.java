@@ -0,0 +1,12 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * The seven guideline tetrominoes. The ordinal + 1 is the color id the brick writes into the board.
+ */
+public enum BrickType {
+    I, J, L, O, S, T, Z;
+
+    public int getColor() {
+        return ordinal() + 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.comp2042.logic.bricks;
+
+import java.util.Arrays;
+
+/**
+ * Hands out a given list of pieces over and over. Meant for scripted setups, benchmarks and
+ * replays where the exact sequence matters more than randomness.
+ */
+public class FixedSequenceGenerator extends QueuedBrickGenerator {
+
+    private final BrickType[] sequence;
+    private int index;
+
+    public FixedSequenceGenerator(BrickType... sequence) {
+        if (sequence.length == 0) {
+            throw new IllegalArgumentException("Sequence needs at least one piece");
+        }
+        this.sequence = Arrays.copyOf(sequence, sequence.length);
+    }
+
+    @Override
+    protected BrickType nextType() {
+        BrickType type = sequence[index];
+        index = (index + 1) % sequence.length;
+        return type;
+    }
+}
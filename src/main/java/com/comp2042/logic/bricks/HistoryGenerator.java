@@ -0,0 +1,53 @@
+package com.comp2042.logic.bricks;
+
+import java.util.Random;
+
+/**
+ * Arcade-style history randomizer (as in TGM2): remembers the last four pieces and rerolls up
+ * to six times when the pick is one of them. Repeats are rare but still possible, and unlike the
+ * 7-bag there is no fixed cycle a player can count.
+ */
+public class HistoryGenerator extends QueuedBrickGenerator {
+
+    private static final int HISTORY_SIZE = 4;
+    private static final int ROLLS = 6;
+    private static final BrickType[] TYPES = BrickType.values();
+    // the first piece is never an S, Z or O, so a new game never starts with an overhang
+    private static final BrickType[] FIRST = {BrickType.I, BrickType.J, BrickType.L, BrickType.T};
+
+    private final Random random;
+    // ring of the most recent pieces, seeded with S/Z so those are less likely early on
+    private final BrickType[] history = {BrickType.Z, BrickType.S, BrickType.S, BrickType.Z};
+    private int historyIndex;
+    private boolean first = true;
+
+    public HistoryGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    protected BrickType nextType() {
+        BrickType type;
+        if (first) {
+            first = false;
+            type = FIRST[random.nextInt(FIRST.length)];
+        } else {
+            type = TYPES[random.nextInt(TYPES.length)];
+            for (int roll = 1; roll < ROLLS && inHistory(type); roll++) {
+                type = TYPES[random.nextInt(TYPES.length)];
+            }
+        }
+        history[historyIndex] = type;
+        historyIndex = (historyIndex + 1) % HISTORY_SIZE;
+        return type;
+    }
+
+    private boolean inHistory(BrickType type) {
+        for (BrickType recent : history) {
+            if (recent == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.comp2042.logic.bricks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Base for generators that decide one piece type at a time. Pieces are drawn into a queue ahead
+ * of time, so getNextBrick() and getPreview(n) can look as far ahead as the caller wants while
+ * getBrick() still returns exactly the same sequence.
+ */
+public abstract class QueuedBrickGenerator implements BrickGenerator {
+
+    // Bricks are immutable, so one instance per type is shared by every generator.
+    private static final Brick[] BRICKS = {
+            new IBrick(), new JBrick(), new LBrick(), new OBrick(), new SBrick(), new TBrick(), new ZBrick()
+    };
+
+    private final Deque<Brick> queue = new ArrayDeque<>();
+
+    /**
+     * Decides the type of the piece after everything already queued.
+     */
+    protected abstract BrickType nextType();
+
+    public static Brick brickOf(BrickType type) {
+        return BRICKS[type.ordinal()];
+    }
+
+    @Override
+    public Brick getBrick() {
+        fill(2);
+        return queue.poll();
+    }
+
+    @Override
+    public Brick getNextBrick() {
+        fill(1);
+        return queue.peek();
+    }
+
+    @Override
+    public List<Brick> getPreview(int count) {
+        fill(count);
+        List<Brick> preview = new ArrayList<>(count);
+        Iterator<Brick> it = queue.iterator();
+        for (int i = 0; i < count; i++) {
+            preview.add(it.next());
+        }
+        return preview;
+    }
+
+    private void fill(int size) {
+        while (queue.size() < size) {
+            queue.add(brickOf(nextType()));
+        }
+    }
+}
@@ -1,40 +1,34 @@
 package com.comp2042.logic.bricks;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
-import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
 
-public class RandomBrickGenerator implements BrickGenerator {
+/**
+ * Picks every piece uniformly at random. Simple, but nothing stops long droughts of one piece;
+ * see SevenBagGenerator and HistoryGenerator for fairer sequences.
+ */
+public class RandomBrickGenerator extends QueuedBrickGenerator {
 
-    private final List<Brick> brickList;
+    private static final BrickType[] TYPES = BrickType.values();
 
-    private final Deque<Brick> nextBricks = new ArrayDeque<>();
+    private final Random random;
 
     public RandomBrickGenerator() {
-        brickList = new ArrayList<>();
-        brickList.add(new IBrick());
-        brickList.add(new JBrick());
-        brickList.add(new LBrick());
-        brickList.add(new OBrick());
-        brickList.add(new SBrick());
-        brickList.add(new TBrick());
-        brickList.add(new ZBrick());
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
+        this(new Random());
     }
 
-    @Override
-    public Brick getBrick() {
-        if (nextBricks.size() <= 1) {
-            nextBricks.add(brickList.get(ThreadLocalRandom.current().nextInt(brickList.size())));
-        }
-        return nextBricks.poll();
+    /**
+     * Same seed, same piece sequence; used by headless runs so results can be reproduced.
+     */
+    public RandomBrickGenerator(long seed) {
+        this(new Random(seed));
+    }
+
+    private RandomBrickGenerator(Random random) {
+        this.random = random;
     }
 
     @Override
-    public Brick getNextBrick() {
-        return nextBricks.peek();
+    protected BrickType nextType() {
+        return TYPES[random.nextInt(TYPES.length)];
     }
 }
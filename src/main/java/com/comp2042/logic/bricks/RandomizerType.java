@@ -0,0 +1,19 @@
+package com.comp2042.logic.bricks;
+
+/**
+ * The seedable randomizers a game mode can pick from. The same type and seed always deal the
+ * same pieces, which is what replays and bot comparisons rely on.
+ */
+public enum RandomizerType {
+    UNIFORM,
+    SEVEN_BAG,
+    HISTORY;
+
+    public BrickGenerator create(long seed) {
+        switch (this) {
+            case SEVEN_BAG: return new SevenBagGenerator(seed);
+            case HISTORY: return new HistoryGenerator(seed);
+            default: return new RandomBrickGenerator(seed);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.comp2042.logic.bricks;
+
+import java.util.Random;
+
+/**
+ * Guideline "7-bag" randomizer: deals all seven pieces in a shuffled order, then reshuffles.
+ * Every piece shows up once per seven, so at most twelve other pieces can come between two
+ * of the same kind.
+ */
+public class SevenBagGenerator extends QueuedBrickGenerator {
+
+    private final Random random;
+    private final BrickType[] bag = BrickType.values();
+    private int index = bag.length;
+
+    public SevenBagGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    protected BrickType nextType() {
+        if (index == bag.length) {
+            shuffle();
+            index = 0;
+        }
+        return bag[index++];
+    }
+
+    // Fisher-Yates, drawing from our own Random so the order only depends on the seed
+    private void shuffle() {
+        for (int i = bag.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            BrickType tmp = bag[i];
+            bag[i] = bag[j];
+            bag[j] = tmp;
+        }
+    }
+}
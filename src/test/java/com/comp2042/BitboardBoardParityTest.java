@@ -0,0 +1,195 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a SimpleBoard and a BitboardBoard through the same pieces and the same random inputs and
+ * checks after every step that they agree on everything a caller can see.
+ */
+class BitboardBoardParityTest {
+
+    private static final int ROWS = 25;
+    private static final int COLS = 10;
+    private static final int STEPS = 5000;
+
+    @Test
+    void randomPlayMatchesSimpleBoard() {
+        for (long seed = 0; seed < 20; seed++) {
+            play(seed, false);
+        }
+    }
+
+    @Test
+    void plannedPlayWithClearsMatchesSimpleBoard() {
+        // pieces are steered to a reasonable spot, so rows actually fill up and clear
+        for (long seed = 0; seed < 20; seed++) {
+            play(seed, true);
+        }
+    }
+
+    private void play(long seed, boolean planned) {
+        Board simple = new SimpleBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed));
+        Board bitboard = new BitboardBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed));
+        simple.newGame();
+        bitboard.newGame();
+        Random inputs = new Random(seed * 31 + 7);
+        int linesCleared = 0;
+        int[] plan = null;
+
+        for (int step = 0; step < STEPS; step++) {
+            String where = "seed " + seed + " step " + step;
+            int input = inputs.nextInt(8);
+            if (planned) {
+                if (plan == null) {
+                    plan = plan(simple);
+                }
+                input = plannedInput(simple, plan);
+            }
+            boolean moved;
+            switch (input) {
+                case 0: moved = check(simple.moveBrickLeft(), bitboard.moveBrickLeft(), where); break;
+                case 1: moved = check(simple.moveBrickRight(), bitboard.moveBrickRight(), where); break;
+                case 2: moved = check(simple.rotateLeftBrick(), bitboard.rotateLeftBrick(), where); break;
+                case 3: moved = check(simple.rotateRightBrick(), bitboard.rotateRightBrick(), where); break;
+                case 4: moved = check(simple.rotateBrick180(), bitboard.rotateBrick180(), where); break;
+                default: moved = check(simple.moveBrickDown(), bitboard.moveBrickDown(), where); break;
+            }
+            if (!moved && input >= 5) {
+                simple.mergeBrickToBackground();
+                bitboard.mergeBrickToBackground();
+                ClearRow simpleClear = simple.clearRows();
+                ClearRow bitboardClear = bitboard.clearRows();
+                assertEquals(simpleClear.getLinesRemoved(), bitboardClear.getLinesRemoved(), where);
+                assertEquals(simpleClear.getClearedRows(), bitboardClear.getClearedRows(), where);
+                linesCleared += simpleClear.getLinesRemoved();
+                plan = null;
+                boolean toppedOut = check(simple.createNewBrick(), bitboard.createNewBrick(), where);
+                if (toppedOut) {
+                    simple.newGame();
+                    bitboard.newGame();
+                }
+            }
+            assertSameState(simple, bitboard, where);
+        }
+        if (planned) {
+            // otherwise the clear path was never compared
+            assertTrue(linesCleared > 0, "no rows cleared for seed " + seed);
+        }
+    }
+
+    // rotations still to do, then the target column; rotates first, then shifts, then drops
+    private static int plannedInput(Board board, int[] plan) {
+        if (plan[0] > 0) {
+            plan[0]--;
+            return 2;
+        }
+        int x = board.getViewData().getxPosition();
+        if (x != plan[1] && plan[2]-- > 0) {
+            return x < plan[1] ? 1 : 0;
+        }
+        return 5;
+    }
+
+    // greedy spot for the current piece: most full rows, then fewest holes, then lowest stack
+    private static int[] plan(Board board) {
+        int[][] matrix = board.getBoardMatrix();
+        List<int[][]> shapes = board.getCurrentBrick().getShapeMatrix();
+        int best = Integer.MIN_VALUE;
+        int[] plan = {0, 0, COLS};
+        for (int r = 0; r < shapes.size(); r++) {
+            int[][] shape = shapes.get(r);
+            for (int x = -2; x < COLS; x++) {
+                if (MatrixOperations.intersect(matrix, shape, x, 0)) {
+                    continue;
+                }
+                int y = 0;
+                while (!MatrixOperations.intersect(matrix, shape, x, y + 1)) {
+                    y++;
+                }
+                int score = score(MatrixOperations.merge(matrix, shape, x, y));
+                if (score > best) {
+                    best = score;
+                    plan = new int[] {r, x, COLS};
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static int score(int[][] matrix) {
+        int full = 0;
+        int holes = 0;
+        int height = 0;
+        for (int[] row : matrix) {
+            boolean isFull = true;
+            for (int cell : row) {
+                isFull &= cell != 0;
+            }
+            full += isFull ? 1 : 0;
+        }
+        for (int c = 0; c < COLS; c++) {
+            boolean covered = false;
+            for (int r = 0; r < ROWS; r++) {
+                if (matrix[r][c] != 0) {
+                    if (!covered) {
+                        height += ROWS - r;
+                    }
+                    covered = true;
+                } else if (covered) {
+                    holes++;
+                }
+            }
+        }
+        return full * 100 - holes * 40 - height * 5;
+    }
+
+    private static boolean check(boolean simple, boolean bitboard, String where) {
+        assertEquals(simple, bitboard, where);
+        return simple;
+    }
+
+    private static void assertSameState(Board simple, Board bitboard, String where) {
+        assertArrayEquals(simple.getBoardMatrix(), bitboard.getBoardMatrix(), where);
+        assertArrayEquals(rowsOf(simple), rowsOf(bitboard), where);
+        assertArrayEquals(flatten(simple.getBoardMatrix()), rowsOf(bitboard), where);
+        assertEquals(simple.getGhostY(), bitboard.getGhostY(), where);
+        ViewData a = simple.getViewData();
+        ViewData b = bitboard.getViewData();
+        assertEquals(a.getxPosition(), b.getxPosition(), where);
+        assertEquals(a.getyPosition(), b.getyPosition(), where);
+        assertArrayEquals(a.getBrickData(), b.getBrickData(), where);
+        assertEquals(a.getGhostPosition().getY(), b.getGhostPosition().getY(), where);
+        assertEquals(simple.isBrickGrounded(), bitboard.isBrickGrounded(), where);
+        assertEquals(simple.getBoardHash(), bitboard.getBoardHash(), where);
+    }
+
+    // the board read row by row into one array, as BattleSeat snapshots it; unwritten cells stay -1
+    private static int[] rowsOf(Board board) {
+        int[][] matrix = board.getBoardMatrix();
+        int cols = matrix[0].length;
+        int[] cells = new int[matrix.length * cols];
+        Arrays.fill(cells, -1);
+        for (int r = 0; r < matrix.length; r++) {
+            board.readRow(r, cells, r * cols);
+        }
+        return cells;
+    }
+
+    private static int[] flatten(int[][] matrix) {
+        int cols = matrix[0].length;
+        int[] cells = new int[matrix.length * cols];
+        for (int r = 0; r < matrix.length; r++) {
+            System.arraycopy(matrix[r], 0, cells, r * cols, cols);
+        }
+        return cells;
+    }
+}
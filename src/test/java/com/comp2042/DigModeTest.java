@@ -0,0 +1,120 @@
+package com.comp2042;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DigModeTest {
+
+    private static final int COLS = GameController.BOARD_COLS;
+    private static final int INTERVAL = 30;
+
+    @Test
+    void gameStartsWithGarbageAtTheBottom() {
+        GameController game = digGame(0.5, 1);
+
+        int[][] matrix = game.getBoardMatrix();
+        assertEquals(8, holes(game).size());
+        for (int r = 0; r < matrix.length - 8; r++) {
+            assertEquals(-1, hole(matrix[r]), "row " + r);
+        }
+    }
+
+    @Test
+    void messinessPicksHowOftenTheHoleMoves() {
+        for (long seed = 0; seed < 10; seed++) {
+            List<Integer> straight = holes(digGame(0, seed));
+            for (int hole : straight) {
+                assertEquals(straight.get(0), hole, "seed " + seed);
+            }
+            List<Integer> ragged = holes(digGame(1, seed));
+            for (int i = 1; i < ragged.size(); i++) {
+                assertNotEquals(ragged.get(i - 1), ragged.get(i), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void sameSeedDigsTheSameHoles() {
+        assertEquals(holes(digGame(0.7, 42)), holes(digGame(0.7, 42)));
+    }
+
+    @Test
+    void rowRisesEveryInterval() {
+        GameController game = digGame(0.5, 3);
+        GameTickScheduler scheduler = game.getTickScheduler();
+
+        scheduler.runTicks(INTERVAL - 1);
+        assertEquals(8, holes(game).size());
+        scheduler.runTicks(1);
+        assertEquals(9, holes(game).size());
+        scheduler.runTicks(INTERVAL);
+        assertEquals(10, holes(game).size());
+    }
+
+    @Test
+    void pausedGameGetsNoGarbage() {
+        GameController game = digGame(0.5, 3);
+        game.togglePause();
+        game.getTickScheduler().runTicks(3 * INTERVAL);
+
+        assertEquals(8, holes(game).size());
+    }
+
+    @Test
+    void newGameStartsOverWithTheStartingRows() {
+        GameController game = digGame(0.5, 3);
+        game.getTickScheduler().runTicks(2 * INTERVAL);
+        game.createNewGame();
+
+        assertEquals(8, holes(game).size());
+        game.getTickScheduler().runTicks(INTERVAL - 1);
+        assertEquals(8, holes(game).size());
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DigMode(1, 8, INTERVAL, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DigMode(COLS, 8, 0, 0.5, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DigMode(COLS, 8, INTERVAL, 1.5, 0));
+    }
+
+    private static GameController digGame(double messiness, long seed) {
+        GameController game = new GameController(new NullGameView(), GameDifficulty.MEDIUM, seed);
+        game.setDigMode(new DigMode(COLS, 8, INTERVAL, messiness, seed));
+        return game;
+    }
+
+    // hole columns of the garbage rows, oldest (topmost) first
+    private static List<Integer> holes(GameController game) {
+        List<Integer> holes = new ArrayList<>();
+        for (int[] row : game.getBoardMatrix()) {
+            int hole = hole(row);
+            if (hole >= 0) {
+                holes.add(hole);
+            }
+        }
+        return holes;
+    }
+
+    // the empty column of a garbage row, or -1 if the row isn't one
+    private static int hole(int[] row) {
+        int hole = -1;
+        for (int c = 0; c < row.length; c++) {
+            if (row[c] == 0) {
+                if (hole >= 0) {
+                    return -1;
+                }
+                hole = c;
+            } else if (row[c] != Board.GARBAGE_COLOR) {
+                return -1;
+            }
+        }
+        return hole;
+    }
+}
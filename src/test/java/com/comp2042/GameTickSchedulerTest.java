@@ -0,0 +1,198 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickType;
+import com.comp2042.logic.bricks.FixedSequenceGenerator;
+import org.junit.jupiter.api.Test;
+
+import static com.comp2042.GameTickScheduler.ARR_TICKS;
+import static com.comp2042.GameTickScheduler.DAS_TICKS;
+import static com.comp2042.GameTickScheduler.LOCK_DELAY_TICKS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameTickSchedulerTest {
+
+    private static final int ROWS = GameController.BOARD_ROWS;
+    private static final int COLS = GameController.BOARD_COLS;
+
+    @Test
+    void gravityMovesOneRowEveryGravityInterval() {
+        GameController game = game(GameDifficulty.MEDIUM, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        int gravity = scheduler.getGravityTicks();
+        int spawnY = game.getBoard().getBrickY();
+
+        assertEquals(24, gravity);
+        scheduler.runTicks(gravity - 1);
+        assertEquals(spawnY, game.getBoard().getBrickY());
+        scheduler.runTicks(1);
+        assertEquals(spawnY + 1, game.getBoard().getBrickY());
+        scheduler.runTicks(gravity);
+        assertEquals(spawnY + 2, game.getBoard().getBrickY());
+    }
+
+    @Test
+    void heldShiftRepeatsAfterDasEveryArr() {
+        GameController game = game(GameDifficulty.EASY, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        Board board = game.getBoard();
+        int x = board.getBrickX();
+
+        scheduler.pressShift(-1);
+        assertEquals(x - 1, board.getBrickX(), "the press itself shifts once");
+        scheduler.runTicks(DAS_TICKS - 1);
+        assertEquals(x - 1, board.getBrickX());
+        scheduler.runTicks(1);
+        assertEquals(x - 2, board.getBrickX(), "first repeat on the DAS tick");
+        scheduler.runTicks(ARR_TICKS - 1);
+        assertEquals(x - 2, board.getBrickX());
+        scheduler.runTicks(1);
+        assertEquals(x - 3, board.getBrickX());
+
+        scheduler.releaseShift(-1);
+        scheduler.runTicks(DAS_TICKS + ARR_TICKS);
+        assertEquals(x - 3, board.getBrickX(), "no repeat after release");
+    }
+
+    @Test
+    void repeatedKeyDownDoesNotRestartDas() {
+        GameController game = game(GameDifficulty.EASY, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        Board board = game.getBoard();
+        int x = board.getBrickX();
+
+        scheduler.pressShift(1);
+        scheduler.runTicks(DAS_TICKS - 1);
+        // OS key repeat sends the press again while the key is still down
+        scheduler.pressShift(1);
+        assertEquals(x + 1, board.getBrickX());
+        scheduler.runTicks(1);
+        assertEquals(x + 2, board.getBrickX());
+    }
+
+    @Test
+    void groundedPieceLocksOnTheLockDelayTick() {
+        GameController game = game(GameDifficulty.EASY, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        game.getBoard().dropToBottom();
+
+        scheduler.runTicks(LOCK_DELAY_TICKS - 1);
+        assertEquals(0, game.getPiecesLocked());
+        scheduler.runTicks(1);
+        assertEquals(1, game.getPiecesLocked());
+        assertEquals(LOCK_DELAY_TICKS, scheduler.getTickCount());
+    }
+
+    @Test
+    void moveOnTheGroundRestartsTheLockDelay() {
+        GameController game = game(GameDifficulty.EASY, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        game.getBoard().dropToBottom();
+
+        scheduler.runTicks(LOCK_DELAY_TICKS - 5);
+        game.onLeftEvent(event(EventType.LEFT));
+        assertTrue(game.getBoard().isBrickGrounded());
+        scheduler.runTicks(LOCK_DELAY_TICKS - 1);
+        assertEquals(0, game.getPiecesLocked());
+        scheduler.runTicks(1);
+        assertEquals(1, game.getPiecesLocked());
+    }
+
+    @Test
+    void autoRepeatOnTheGroundRestartsTheLockDelay() {
+        GameController game = game(GameDifficulty.EASY, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        Board board = game.getBoard();
+        board.dropToBottom();
+        int x = board.getBrickX();
+
+        scheduler.runTicks(LOCK_DELAY_TICKS - 5);
+        scheduler.pressShift(-1);
+        scheduler.runTicks(DAS_TICKS);
+        scheduler.releaseShift(-1);
+        assertEquals(x - 2, board.getBrickX());
+        // the count starts over from the repeat on the DAS tick, not from the press; the repeat
+        // happens inside that tick, which already counts as the first tick of the new delay
+        scheduler.runTicks(LOCK_DELAY_TICKS - 2);
+        assertEquals(0, game.getPiecesLocked());
+        scheduler.runTicks(1);
+        assertEquals(1, game.getPiecesLocked());
+    }
+
+    @Test
+    void rotationOnTheGroundRestartsTheLockDelay() {
+        GameController game = game(GameDifficulty.EASY, BrickType.T);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        Board board = game.getBoard();
+        board.dropToBottom();
+        int y = board.getBrickY();
+
+        scheduler.runTicks(LOCK_DELAY_TICKS - 5);
+        // standing the T up keeps its bottom row, so it turns in place without a kick
+        game.onRotateEvent(event(EventType.ROTATE_RIGHT));
+        assertEquals(y, board.getBrickY());
+        assertTrue(board.isBrickGrounded());
+        scheduler.runTicks(LOCK_DELAY_TICKS - 1);
+        assertEquals(0, game.getPiecesLocked());
+        scheduler.runTicks(1);
+        assertEquals(1, game.getPiecesLocked());
+    }
+
+    @Test
+    void instantGravityLandsOnTheFirstTickAndStillWaitsTheLockDelay() {
+        GameController game = game(GameDifficulty.INSTANT, BrickType.I);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        Board landing = new SimpleBoard(ROWS, COLS, new FixedSequenceGenerator(BrickType.I));
+        landing.createNewBrick();
+        landing.dropToBottom();
+
+        scheduler.runTicks(1);
+        assertEquals(landing.getBrickY(), game.getBoard().getBrickY());
+        assertTrue(game.getBoard().isBrickGrounded());
+        scheduler.runTicks(LOCK_DELAY_TICKS - 2);
+        assertEquals(0, game.getPiecesLocked());
+        scheduler.runTicks(1);
+        assertEquals(1, game.getPiecesLocked());
+        // the next piece is on the floor one tick after it spawns
+        scheduler.runTicks(1);
+        assertTrue(game.getBoard().isBrickGrounded());
+    }
+
+    @Test
+    void instantGravityPiecesSlideAlongTheStack() {
+        GameController game = game(GameDifficulty.INSTANT, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        scheduler.runTicks(1);
+        int x = game.getBoard().getBrickX();
+        int y = game.getBoard().getBrickY();
+
+        scheduler.pressShift(-1);
+        scheduler.runTicks(DAS_TICKS);
+        scheduler.releaseShift(-1);
+        assertEquals(x - 2, game.getBoard().getBrickX());
+        assertEquals(y, game.getBoard().getBrickY());
+        assertEquals(0, game.getPiecesLocked());
+    }
+
+    @Test
+    void pausedGameDoesNotFallOrLock() {
+        GameController game = game(GameDifficulty.EASY, BrickType.O);
+        GameTickScheduler scheduler = game.getTickScheduler();
+        game.getBoard().dropToBottom();
+        game.togglePause();
+
+        scheduler.runTicks(3 * LOCK_DELAY_TICKS);
+        assertEquals(0, game.getPiecesLocked());
+        assertFalse(scheduler.isStopped());
+    }
+
+    private static GameController game(GameDifficulty difficulty, BrickType type) {
+        Board board = new SimpleBoard(ROWS, COLS, new FixedSequenceGenerator(type));
+        return new GameController(new NullGameView(), difficulty, board);
+    }
+
+    private static MoveEvent event(EventType type) {
+        return new MoveEvent(type, EventSource.THREAD);
+    }
+}
@@ -0,0 +1,205 @@
+package com.comp2042;
+
+import com.comp2042.logic.ai.SearchBoard;
+import com.comp2042.logic.bricks.BrickType;
+import com.comp2042.logic.bricks.FixedSequenceGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garbage rows on both boards. BitboardBoard keeps its rows in a ring, so these push the base
+ * round the ring several times and clear rows on both sides of the middle, which it removes
+ * by moving different halves of the stack.
+ */
+class GarbageRowTest {
+
+    private static final int ROWS = 25;
+    private static final int COLS = 10;
+    private static final int G = Board.GARBAGE_COLOR;
+    // two rows each, so more than enough to take BitboardBoard's ring round once
+    private static final int WRAP_LAYERS = ROWS / 2 + 1;
+
+    @Test
+    void garbageComesInAtTheBottomWithOneHole() {
+        for (Board board : iBoards()) {
+            assertTrue(board.addGarbageRow(3));
+            assertTrue(board.addGarbageRow(7));
+
+            int[][] matrix = board.getBoardMatrix();
+            assertArrayEquals(garbage(3), matrix[ROWS - 2], name(board));
+            assertArrayEquals(garbage(7), matrix[ROWS - 1], name(board));
+            assertArrayEquals(new int[COLS], matrix[ROWS - 3], name(board));
+            assertEquals(2, board.getColumnHeight(0), name(board));
+            assertEquals(1, board.getColumnHeight(3), name(board));
+            assertEquals(1, board.getHoleCount(7), name(board));
+            assertEquals(SearchBoard.fromMatrix(matrix).getHash(), board.getBoardHash(), name(board));
+            assertThrows(IllegalArgumentException.class, () -> board.addGarbageRow(COLS));
+        }
+    }
+
+    @Test
+    void clearsAboveAndBelowTheMiddleOfTheRing() {
+        for (Board board : iBoards(WRAP_LAYERS)) {
+            // clearing the bottom rows turns the ring back one slot per row, round it once
+            for (int layer = 0; layer < WRAP_LAYERS; layer++) {
+                for (int col = 0; col < COLS; col += 2) {
+                    ClearRow cleared = drop(board, col);
+                    assertEquals(col == COLS - 2 ? 2 : 0, cleared.getLinesRemoved(), name(board));
+                }
+            }
+            assertArrayEquals(new int[ROWS][COLS], board.getBoardMatrix(), name(board));
+            // rows 5-8 with the hole in column 0, rows 9-24 with it in column 1
+            for (int i = 0; i < 4; i++) {
+                assertTrue(board.addGarbageRow(0));
+            }
+            for (int i = 0; i < 16; i++) {
+                assertTrue(board.addGarbageRow(1));
+            }
+
+            // an upright I in column 0 fills rows 5-8: the cleared rows are in the top half
+            assertEquals(4, dropUprightI(board, 0).getLinesRemoved(), name(board));
+            int[][] matrix = board.getBoardMatrix();
+            for (int r = 0; r < ROWS; r++) {
+                assertArrayEquals(r < 9 ? new int[COLS] : garbage(1), matrix[r], name(board) + " row " + r);
+            }
+
+            // and one in column 1 fills rows 21-24: bottom half
+            assertEquals(4, dropUprightI(board, 1).getLinesRemoved(), name(board));
+            matrix = board.getBoardMatrix();
+            for (int r = 0; r < ROWS; r++) {
+                assertArrayEquals(r < 13 ? new int[COLS] : garbage(1), matrix[r], name(board) + " row " + r);
+            }
+            assertEquals(SearchBoard.fromMatrix(matrix).getHash(), board.getBoardHash(), name(board));
+        }
+    }
+
+    @Test
+    void garbageThatLeavesThePieceNoRoomTopsOut() {
+        for (Board board : iBoards()) {
+            int pushes = 0;
+            while (board.addGarbageRow(pushes % COLS)) {
+                pushes++;
+                assertTrue(pushes <= ROWS, name(board));
+            }
+            // the flat I spawns in row 1: the stack reaches it on push 24, which lifts it into row 0,
+            // and the next push has nowhere left to put it
+            assertEquals(ROWS - 1, pushes, name(board));
+            assertEquals(-1, board.getViewData().getyPosition(), name(board));
+        }
+    }
+
+    @Test
+    void boardsAgreeUnderRandomGarbageAndClears() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            Board simple = new SimpleBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed));
+            Board bitboard = new BitboardBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed));
+            simple.newGame();
+            bitboard.newGame();
+            for (int piece = 0; piece < 500; piece++) {
+                int shift = random.nextInt(9) - 4;
+                int turns = random.nextInt(4);
+                for (Board board : new Board[]{simple, bitboard}) {
+                    for (int t = 0; t < turns; t++) {
+                        board.rotateLeftBrick();
+                    }
+                    for (int s = 0; s < Math.abs(shift); s++) {
+                        if (shift < 0) {
+                            board.moveBrickLeft();
+                        } else {
+                            board.moveBrickRight();
+                        }
+                    }
+                    board.dropToBottom();
+                    board.mergeBrickToBackground();
+                    board.clearRows();
+                }
+                int garbage = random.nextInt(3);
+                for (int g = 0; g < garbage; g++) {
+                    int hole = random.nextInt(COLS);
+                    assertEquals(simple.addGarbageRow(hole), bitboard.addGarbageRow(hole), "seed " + seed);
+                }
+                boolean simpleOver = simple.createNewBrick();
+                assertEquals(simpleOver, bitboard.createNewBrick(), "seed " + seed);
+                if (simpleOver) {
+                    simple.newGame();
+                    bitboard.newGame();
+                }
+                String where = "seed " + seed + " piece " + piece;
+                assertArrayEquals(simple.getBoardMatrix(), bitboard.getBoardMatrix(), where);
+                assertEquals(simple.getBoardHash(), bitboard.getBoardHash(), where);
+            }
+        }
+    }
+
+    private static Board[] iBoards() {
+        return iBoards(0);
+    }
+
+    // a board of each kind dealing the given number of layers of five O pieces, then only I pieces
+    private static Board[] iBoards(int oLayers) {
+        BrickType[] sequence = new BrickType[oLayers * COLS / 2 + 2];
+        Arrays.fill(sequence, BrickType.O);
+        sequence[sequence.length - 2] = BrickType.I;
+        sequence[sequence.length - 1] = BrickType.I;
+        Board[] boards = {
+                new SimpleBoard(ROWS, COLS, new FixedSequenceGenerator(sequence)),
+                new BitboardBoard(ROWS, COLS, new FixedSequenceGenerator(sequence))
+        };
+        for (Board board : boards) {
+            board.newGame();
+        }
+        return boards;
+    }
+
+    private static ClearRow dropUprightI(Board board, int col) {
+        assertTrue(board.rotateLeftBrick());
+        return drop(board, col);
+    }
+
+    // moves the current piece so its leftmost block is in the given column, drops and locks it
+    private static ClearRow drop(Board board, int col) {
+        ViewData view = board.getViewData();
+        int steps = col - view.getxPosition() - leftmostColumn(view.getBrickData());
+        for (int s = 0; s < Math.abs(steps); s++) {
+            assertTrue(steps < 0 ? board.moveBrickLeft() : board.moveBrickRight(), name(board));
+        }
+        board.dropToBottom();
+        board.mergeBrickToBackground();
+        ClearRow cleared = board.clearRows();
+        assertFalse(board.createNewBrick());
+        return cleared;
+    }
+
+    private static int leftmostColumn(int[][] shape) {
+        int left = shape.length;
+        for (int[] row : shape) {
+            for (int c = 0; c < row.length; c++) {
+                if (row[c] != 0) {
+                    left = Math.min(left, c);
+                }
+            }
+        }
+        return left;
+    }
+
+    private static int[] garbage(int hole) {
+        int[] row = new int[COLS];
+        Arrays.fill(row, G);
+        row[hole] = 0;
+        return row;
+    }
+
+    private static String name(Board board) {
+        return board.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,102 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Moving, rotating and the ghost/grounded checks run several times per frame, so they must not
+ * allocate. Measured with the per-thread allocation counter after a warm-up, so class loading and
+ * lazily built tables do not count.
+ */
+class HotPathAllocationTest {
+
+    private static final int WARM_UP = 50_000;
+    private static final int MEASURED = 200_000;
+    private static final int ATTEMPTS = 3;
+    private static final int[] ROW = new int[10];
+
+    @Test
+    void simpleBoardMovesDoNotAllocate() {
+        assertNoAllocation(new SimpleBoard(25, 10, RandomizerType.SEVEN_BAG.create(1)));
+    }
+
+    @Test
+    void bitboardBoardMovesDoNotAllocate() {
+        assertNoAllocation(new BitboardBoard(25, 10, RandomizerType.SEVEN_BAG.create(1)));
+    }
+
+    @Test
+    void bitboardLockThatClearsNothingOnlyAllocatesItsResult() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        Board board = new BitboardBoard(25, 10, RandomizerType.SEVEN_BAG.create(1));
+        board.newGame();
+        board.dropToBottom();
+        long sink = lock(board, WARM_UP);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        sink += lock(board, MEASURED);
+        long perLock = (threads.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+
+        // a ClearRow at most; copying the board or boxing the row list would be far more
+        assertTrue(perLock < 64, perLock + " bytes per lock (sink " + sink + ")");
+    }
+
+    // merges the resting piece over and over; its cells are already set, so no row ever fills
+    private static long lock(Board board, int rounds) {
+        long sink = 0;
+        for (int i = 0; i < rounds; i++) {
+            board.mergeBrickToBackground();
+            sink += board.clearRows().getLinesRemoved();
+        }
+        return sink;
+    }
+
+    private static void assertNoAllocation(Board board) {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        board.newGame();
+        long sink = run(board, WARM_UP);
+
+        // the JIT can still now and then leave a few stray bytes on this thread (a recompile, a
+        // deoptimization); a real allocation on the hot path would show up in every attempt
+        long allocated = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < ATTEMPTS && allocated != 0; attempt++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            sink += run(board, MEASURED);
+            allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        }
+
+        assertEquals(0, allocated, "bytes allocated over " + MEASURED + " rounds (sink " + sink + ")");
+    }
+
+    // left, right, all three rotations, grounded, ghost row and a row snapshot; the piece never locks
+    private static long run(Board board, int rounds) {
+        long sink = 0;
+        for (int i = 0; i < rounds; i++) {
+            sink += board.moveBrickLeft() ? 1 : 0;
+            sink += board.moveBrickRight() ? 1 : 0;
+            sink += board.rotateLeftBrick() ? 1 : 0;
+            sink += board.rotateRightBrick() ? 1 : 0;
+            sink += board.rotateBrick180() ? 1 : 0;
+            sink += board.isBrickGrounded() ? 1 : 0;
+            sink += board.getGhostY();
+            board.readRow(i % 25, ROW, 0);
+            sink += ROW[i % ROW.length];
+        }
+        return sink;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "no per-thread allocation counter on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "no per-thread allocation counter on this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
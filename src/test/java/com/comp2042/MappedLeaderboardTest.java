@@ -0,0 +1,202 @@
+package com.comp2042;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedLeaderboardTest {
+
+    private static final int BOARDS = 3;
+    private static final int TOP = 4;
+    private static final int PLAYERS = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fileHasTheDocumentedLayout() throws IOException {
+        Path file = file();
+        MappedLeaderboard board = open();
+        int ann = board.playerId("ann");
+        board.add(1, record(500, 7), ann);
+        board.markClean(48);
+
+        // header, boards, top entries, players
+        int playersOffset = 64 + BOARDS * 16 + BOARDS * TOP * 24;
+        assertEquals(playersOffset + PLAYERS * (32 + 4 * BOARDS), Files.size(file));
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(0x43574C42, bytes.getInt(0));
+        assertEquals(BOARDS, bytes.getInt(8));
+        assertEquals(TOP, bytes.getInt(12));
+        assertEquals(PLAYERS, bytes.getInt(16));
+        assertEquals(2, bytes.getInt(20));
+        assertEquals(48L, bytes.getLong(24));
+
+        assertEquals(1, bytes.getInt(64 + 16));
+        assertEquals(1L, bytes.getLong(64 + 16 + 8));
+        int entry = 64 + BOARDS * 16 + TOP * 24;
+        assertEquals(7L, bytes.getLong(entry));
+        assertEquals(500, bytes.getInt(entry + 8));
+        assertEquals(5, bytes.getInt(entry + 12));
+        assertEquals(ann, bytes.getInt(entry + 16));
+
+        int player = playersOffset + ann * (32 + 4 * BOARDS);
+        assertEquals(3, bytes.get(player));
+        assertEquals("ann", new String(bytes.array(), player + 1, 3, StandardCharsets.UTF_8));
+        assertEquals(500, bytes.getInt(player + 32 + 4));
+    }
+
+    @Test
+    void entriesAreRankedBestFirstWithTiesToTheOlder() throws IOException {
+        MappedLeaderboard board = open();
+        assertEquals(1, board.add(0, record(300, 1), 0));
+        assertEquals(1, board.add(0, record(500, 2), 0));
+        assertEquals(3, board.add(0, record(300, 3), 0));
+        assertEquals(2, board.add(0, record(400, 4), 0));
+        // full: the worst entry falls off, and a score below all of them does not get in
+        assertEquals(2, board.add(0, record(450, 5), 0));
+        assertEquals(0, board.add(0, record(100, 6), 0));
+
+        assertEquals(List.of(500, 450, 400, 300), scores(board, 0));
+        assertEquals(1L, board.getTop(0, TOP, GameMode.BASIC, GameDifficulty.MEDIUM).get(3).getTimestamp());
+        assertEquals(TOP, board.entryCount(0));
+        assertEquals(6, board.getGamesPlayed(0));
+        assertEquals(0, board.getGamesPlayed(1));
+        assertEquals(4, board.rankFor(0, 350));
+        assertEquals(0, board.rankFor(0, 300), "ties lose to entries already on the board");
+        assertEquals(2, board.getTop(0, 2, GameMode.BASIC, GameDifficulty.MEDIUM).size());
+    }
+
+    @Test
+    void playerBestsAndNamesAreKeptPerBoard() throws IOException {
+        MappedLeaderboard board = open();
+        int ann = board.playerId("ann");
+        int bob = board.playerId("bob");
+        assertEquals(ann, board.playerId("ann"));
+        board.add(0, record(300, 1), ann);
+        board.add(0, record(200, 2), ann);
+        board.add(2, record(900, 3), bob);
+
+        assertEquals(300, board.getPlayerBest("ann", 0));
+        assertEquals(0, board.getPlayerBest("ann", 2));
+        assertEquals(900, board.getPlayerBest("bob", 2));
+        assertEquals(0, board.getPlayerBest("nobody", 0));
+        assertEquals("bob", board.getTop(2, 1, GameMode.BASIC, GameDifficulty.MEDIUM).get(0).getPlayer());
+    }
+
+    @Test
+    void longNamesAreCutWithoutSplittingACharacter() throws IOException {
+        MappedLeaderboard board = open();
+        String name = "é".repeat(20);
+        int id = board.playerId(name);
+
+        String stored = board.playerName(id);
+        assertTrue(stored.getBytes(StandardCharsets.UTF_8).length <= MappedLeaderboard.MAX_NAME_BYTES);
+        assertEquals("é".repeat(15), stored);
+        assertEquals(id, board.playerId(name));
+    }
+
+    @Test
+    void fullPlayerTableFallsBackToAnonymous() throws IOException {
+        MappedLeaderboard board = open();
+        for (int i = 1; i < PLAYERS; i++) {
+            assertEquals(i, board.playerId("p" + i));
+        }
+        assertEquals(0, board.playerId("one too many"));
+    }
+
+    @Test
+    void cleanFileIsTrustedOnReopen() throws IOException {
+        MappedLeaderboard board = open();
+        assertFalse(board.wasClean());
+        board.add(0, record(300, 1), board.playerId("ann"));
+        board.markClean(24);
+
+        MappedLeaderboard reopened = open();
+        assertTrue(reopened.wasClean());
+        assertEquals(24, reopened.getCoveredLength());
+        assertEquals(List.of(300), scores(reopened, 0));
+        assertEquals(300, reopened.getPlayerBest("ann", 0));
+    }
+
+    @Test
+    void changeAfterMarkCleanLeavesTheFileDirty() throws IOException {
+        MappedLeaderboard board = open();
+        board.markClean(0);
+        board.add(0, record(300, 1), 0);
+
+        assertFalse(open().wasClean());
+    }
+
+    @Test
+    void corruptedCleanFileIsNotTrusted() throws IOException {
+        MappedLeaderboard board = open();
+        board.add(0, record(300, 1), 0);
+        board.markClean(24);
+        byte[] bytes = Files.readAllBytes(file());
+        bytes[64 + BOARDS * 16 + 8] ^= 1;
+        Files.write(file(), bytes);
+
+        assertFalse(open().wasClean());
+    }
+
+    @Test
+    void resetScoresKeepsPlayers() throws IOException {
+        MappedLeaderboard board = open();
+        int ann = board.playerId("ann");
+        board.add(0, record(300, 1), ann);
+        board.resetScores();
+
+        assertEquals(0, board.entryCount(0));
+        assertEquals(0, board.getGamesPlayed(0));
+        assertEquals(0, board.getPlayerBest("ann", 0));
+        assertEquals(ann, board.playerId("ann"));
+    }
+
+    @Test
+    void otherLayoutIsRecreatedKeepingPlayerIds() throws IOException {
+        MappedLeaderboard board = open();
+        int ann = board.playerId("ann");
+        int bob = board.playerId("bob");
+        board.add(0, record(300, 1), ann);
+        board.markClean(24);
+
+        MappedLeaderboard bigger = MappedLeaderboard.open(file(), BOARDS + 1, TOP * 2, PLAYERS);
+        assertFalse(bigger.wasClean());
+        assertEquals(BOARDS + 1, bigger.getBoardCount());
+        assertEquals(0, bigger.entryCount(0));
+        assertEquals(ann, bigger.playerId("ann"));
+        assertEquals(bob, bigger.playerId("bob"));
+    }
+
+    private Path file() {
+        return dir.resolve("leaderboard.map");
+    }
+
+    private MappedLeaderboard open() throws IOException {
+        return MappedLeaderboard.open(file(), BOARDS, TOP, PLAYERS);
+    }
+
+    private static ScoreRecord record(int score, long timestamp) {
+        return new ScoreRecord(GameMode.BASIC, GameDifficulty.MEDIUM, score, score / 100, timestamp);
+    }
+
+    private static List<Integer> scores(MappedLeaderboard board, int index) {
+        List<Integer> scores = new ArrayList<>();
+        for (ScoreRecord record : board.getTop(index, TOP, GameMode.BASIC, GameDifficulty.MEDIUM)) {
+            scores.add(record.getScore());
+        }
+        return scores;
+    }
+}
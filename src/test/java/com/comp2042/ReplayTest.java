@@ -0,0 +1,143 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayTest {
+
+    // magic, version, seed, four one-byte varints and a two-byte start time
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 4 + 2;
+    private static final ReplayHeader HEADER = new ReplayHeader(0x0123_4567_89AB_CDEFL, RandomizerType.HISTORY,
+            GameDifficulty.HARD, GameController.BOARD_ROWS, GameController.BOARD_COLS, 300);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void eventsAreVarintEncoded() throws IOException {
+        Path file = dir.resolve("events.cwr");
+        ReplayRecorder recorder = new ReplayRecorder(file, HEADER);
+        recorder.record(ReplayEvent.RIGHT, 3);
+        recorder.record(ReplayEvent.GRAVITY, 4, 200);
+        recorder.record(ReplayEvent.HARD_DROP, 4 + 128);
+        recorder.close();
+
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] events = Arrays.copyOfRange(bytes, HEADER_BYTES, bytes.length);
+        // (3 << 5) | RIGHT in one byte; (1 << 5) | GRAVITY, then 200 in two bytes low bits first;
+        // (128 << 5) | HARD_DROP = 4100 in two bytes
+        assertArrayEquals(new byte[]{0x61, 0x2B, (byte) 0xC8, 0x01, (byte) 0x84, 0x20}, events);
+    }
+
+    @Test
+    void headerAndEventsRoundTrip() throws IOException {
+        Path file = dir.resolve("roundtrip.cwr");
+        ReplayRecorder recorder = new ReplayRecorder(file, HEADER);
+        recorder.record(ReplayEvent.PRESS_LEFT, 0);
+        recorder.record(ReplayEvent.GARBAGE, 10, Integer.MAX_VALUE);
+        recorder.record(ReplayEvent.GAME_OVER, 1L << 40, 0);
+        recorder.record(ReplayEvent.NEW_GAME, (1L << 40) + 5);
+        recorder.record(ReplayEvent.ROTATE_180, 7);
+        recorder.close();
+
+        Replay replay = Replay.read(file);
+        ReplayHeader header = replay.getHeader();
+        assertEquals(HEADER.getSeed(), header.getSeed());
+        assertEquals(RandomizerType.HISTORY, header.getRandomizer());
+        assertEquals(GameDifficulty.HARD, header.getDifficulty());
+        assertEquals(GameController.BOARD_ROWS, header.getRows());
+        assertEquals(GameController.BOARD_COLS, header.getCols());
+        assertEquals(300, header.getStartedAtMillis());
+
+        assertEquals(5, replay.size());
+        assertEquals(ReplayEvent.GARBAGE, replay.getEvent(1));
+        assertEquals(Integer.MAX_VALUE, replay.getArgument(1));
+        assertEquals(1L << 40, replay.getTick(2));
+        // ticks restart after NEW_GAME; positions keep counting
+        assertEquals(ReplayEvent.ROTATE_180, replay.getEvent(4));
+        assertEquals(7, replay.getTick(4));
+        assertEquals((1L << 40) + 5 + 7, replay.getPosition(4));
+        assertEquals(replay.getPosition(4), replay.getLength());
+    }
+
+    @Test
+    void truncatedFileKeepsTheCompleteEvents() throws IOException {
+        Path file = dir.resolve("torn.cwr");
+        ReplayRecorder recorder = new ReplayRecorder(file, HEADER);
+        recorder.record(ReplayEvent.LEFT, 1);
+        recorder.record(ReplayEvent.GRAVITY, 2, 1000);
+        recorder.close();
+        byte[] bytes = Files.readAllBytes(file);
+
+        Replay replay = Replay.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertEquals(1, replay.size());
+        assertEquals(ReplayEvent.LEFT, replay.getEvent(0));
+    }
+
+    @Test
+    void otherFilesAreRejected() {
+        byte[] bytes = new byte[32];
+        assertThrows(IOException.class, () -> Replay.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void playbackRebuildsTheRecordedGame() throws IOException {
+        for (long seed = 1; seed <= 5; seed++) {
+            checkRoundTrip(seed, null);
+        }
+    }
+
+    @Test
+    void playbackRebuildsADigGame() throws IOException {
+        checkRoundTrip(9, new DigMode(GameController.BOARD_COLS, 9));
+    }
+
+    private void checkRoundTrip(long seed, DigMode digMode) throws IOException {
+        GameDifficulty difficulty = GameDifficulty.MEDIUM;
+        ReplayHeader header = new ReplayHeader(seed, difficulty.getRandomizer(), difficulty,
+                GameController.BOARD_ROWS, GameController.BOARD_COLS, 0);
+        Path file = dir.resolve("game-" + seed + ".cwr");
+        Board board = new BitboardBoard(header.getRows(), header.getCols(), header.getRandomizer().create(seed));
+        HeadlessRunner.Result result = HeadlessRunner.play(board, difficulty, new RandomInputPolicy(seed), 20_000,
+                new ReplayRecorder(file, header), digMode);
+        int[][] finalMatrix = board.getBoardMatrix();
+
+        Replay replay = Replay.read(file);
+        assertTrue(result.getPieces() > 10, "seed " + seed);
+        assertEquals(digMode != null, contains(replay, ReplayEvent.GARBAGE), "seed " + seed);
+        ReplayPlayer player = new ReplayPlayer(replay);
+        // a seek back has to start over and land on the same game
+        player.seek(replay.getLength() / 2);
+        player.seek(replay.getLength() / 4);
+        player.seek(result.getTicks());
+
+        GameController game = player.getGame();
+        String where = "seed " + seed;
+        assertEquals(result.getScore(), game.getScore().getScore(), where);
+        assertEquals(result.getLines(), game.getScore().getLinesCleared(), where);
+        assertEquals(result.getPieces(), game.getPiecesLocked(), where);
+        assertEquals(result.isLost(), game.isGameOver(), where);
+        assertArrayEquals(finalMatrix, game.getBoardMatrix(), where);
+    }
+
+    private static boolean contains(Replay replay, ReplayEvent event) {
+        for (int i = 0; i < replay.size(); i++) {
+            if (replay.getEvent(i) == event) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
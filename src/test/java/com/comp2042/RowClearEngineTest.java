@@ -0,0 +1,128 @@
+package com.comp2042;
+
+import com.comp2042.logic.ai.SearchBoard;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickType;
+import com.comp2042.logic.bricks.FixedSequenceGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowClearEngineTest {
+
+    private static final int ROWS = 20;
+    private static final int COLS = 10;
+
+    @Test
+    void fullRowsAreRemovedInPlace() {
+        int[][] matrix = new int[ROWS][COLS];
+        RowClearEngine engine = new RowClearEngine(ROWS, COLS);
+        BrickShape o = new FixedSequenceGenerator(BrickType.O).getBrick().getShape(0);
+        // the O sits in rows 1-2, columns 1-2 of its matrix: a stack of three O's in columns 0-1
+        // (rows 14-19), then two layers of four beside it fill rows 16-19
+        for (int y = ROWS - 3; y >= ROWS - 7; y -= 2) {
+            engine.merge(matrix, o, -1, y);
+        }
+        int[][] rowsBefore = matrix.clone();
+        for (int x = 1; x < COLS - 1; x += 2) {
+            engine.merge(matrix, o, x, ROWS - 3);
+            engine.merge(matrix, o, x, ROWS - 5);
+        }
+
+        ClearRow cleared = engine.clearTouchedRows(matrix);
+
+        assertEquals(4, cleared.getLinesRemoved());
+        assertEquals(List.of(16, 17, 18, 19), cleared.getClearedRows());
+        assertEquals(50 * 4 * 4, cleared.getScoreBonus());
+        assertArrayEquals(matrix, cleared.getNewMatrix());
+        // the third O dropped four rows and nothing else is left
+        for (int r = 0; r < ROWS; r++) {
+            int[] expected = new int[COLS];
+            if (r >= ROWS - 2) {
+                expected[0] = o.getColor();
+                expected[1] = o.getColor();
+            }
+            assertArrayEquals(expected, matrix[r], "row " + r);
+            assertEquals(r >= ROWS - 2 ? 2 : 0, engine.getFillCount(r), "row " + r);
+        }
+        // row 14 moved down to 18 and the cleared arrays came back as rows above it
+        assertSame(rowsBefore[14], matrix[18]);
+        assertSame(rowsBefore[15], matrix[19]);
+        assertTrue(List.of(matrix).containsAll(List.of(rowsBefore)), "row arrays are reused, not replaced");
+    }
+
+    @Test
+    void lockWithoutAClearLeavesTheBoardAlone() {
+        int[][] matrix = new int[ROWS][COLS];
+        RowClearEngine engine = new RowClearEngine(ROWS, COLS);
+        engine.merge(matrix, new FixedSequenceGenerator(BrickType.T).getBrick().getShape(0), 3, ROWS - 2);
+        int[][] rowsBefore = matrix.clone();
+
+        ClearRow cleared = engine.clearTouchedRows(matrix);
+
+        assertEquals(0, cleared.getLinesRemoved());
+        assertTrue(cleared.getClearedRows().isEmpty());
+        assertArrayEquals(rowsBefore, matrix);
+    }
+
+    @Test
+    void matchesRebuildingTheMatrix() {
+        int clears = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            BrickGenerator bricks = RandomizerType.SEVEN_BAG.create(seed);
+            int[][] matrix = new int[ROWS][COLS];
+            int[][] reference = new int[ROWS][COLS];
+            RowClearEngine engine = new RowClearEngine(ROWS, COLS);
+            for (int piece = 0; piece < 1000; piece++) {
+                BrickShape shape = bricks.getBrick().getShape(random.nextInt(4));
+                int x = -shape.getMinCol() + random.nextInt(COLS - (shape.getMaxCol() - shape.getMinCol()));
+                int y = -shape.getMinRow();
+                if (MatrixOperations.intersect(matrix, shape, x, y)) {
+                    matrix = new int[ROWS][COLS];
+                    reference = new int[ROWS][COLS];
+                    engine.reset();
+                    continue;
+                }
+                while (!MatrixOperations.intersect(matrix, shape, x, y + 1)) {
+                    y++;
+                }
+                engine.merge(matrix, shape, x, y);
+                ClearRow expected = MatrixOperations.checkRemoving(
+                        MatrixOperations.merge(reference, shape.toMatrix(), x, y));
+                ClearRow actual = engine.clearTouchedRows(matrix);
+                reference = expected.getNewMatrix();
+
+                String where = "seed " + seed + " piece " + piece;
+                assertEquals(expected.getLinesRemoved(), actual.getLinesRemoved(), where);
+                assertEquals(expected.getClearedRows(), actual.getClearedRows(), where);
+                assertEquals(expected.getScoreBonus(), actual.getScoreBonus(), where);
+                assertArrayEquals(reference, matrix, where);
+                for (int r = 0; r < ROWS; r++) {
+                    assertEquals(filled(matrix[r]), engine.getFillCount(r), where + " row " + r);
+                }
+                assertEquals(SearchBoard.fromMatrix(matrix).getHash(), engine.getBoardHash(), where);
+                clears += actual.getLinesRemoved();
+            }
+        }
+        assertTrue(clears > 0, "no piece cleared a row");
+    }
+
+    private static int filled(int[] row) {
+        int count = 0;
+        for (int cell : row) {
+            if (cell != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
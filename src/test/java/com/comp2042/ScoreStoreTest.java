@@ -0,0 +1,236 @@
+package com.comp2042;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resultsSurviveReopening() {
+        ScoreStore store = new ScoreStore(dir);
+        assertEquals(1, store.submit(record("ann", 300)));
+        assertEquals(1, store.submit(record("bob", 500)));
+        assertEquals(3, store.submit(record("ann", 100)));
+        store.close();
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertEquals(List.of(500, 300, 100), scores(reopened));
+        assertEquals(3, reopened.getGamesPlayed(GameMode.BASIC, GameDifficulty.MEDIUM));
+        assertEquals(300, reopened.getPlayerBest("ann", GameMode.BASIC, GameDifficulty.MEDIUM));
+        assertEquals(2, reopened.rankFor(GameMode.BASIC, GameDifficulty.MEDIUM, 400));
+        reopened.close();
+    }
+
+    @Test
+    void tornTailIsCutOff() throws IOException {
+        ScoreStore store = new ScoreStore(dir);
+        store.submit(record("ann", 300));
+        store.submit(record("bob", 500));
+        store.close();
+        long length = Files.size(log());
+        // half a record, as if the game died mid-write
+        Files.write(log(), new byte[ScoreStore.RECORD_BYTES / 2], StandardOpenOption.APPEND);
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertEquals(length, Files.size(log()));
+        reopened.submit(record("cat", 400));
+        reopened.close();
+
+        ScoreStore again = new ScoreStore(dir);
+        assertEquals(List.of(500, 400, 300), scores(again));
+        again.close();
+    }
+
+    @Test
+    void rebuildStopsAtACorruptRecord() throws IOException {
+        ScoreStore store = new ScoreStore(dir);
+        store.submit(record("ann", 300));
+        store.submit(record("bob", 500));
+        store.submit(record("bob", 400));
+        store.close();
+        byte[] bytes = Files.readAllBytes(log());
+        int lastRecord = bytes.length - ScoreStore.RECORD_BYTES;
+        bytes[lastRecord + 10] ^= 1;
+        Files.write(log(), bytes);
+        // without the leaderboard file everything comes from the log
+        Files.delete(dir.resolve("leaderboard.map"));
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertEquals(List.of(500, 300), scores(reopened));
+        assertEquals(lastRecord, Files.size(log()));
+        reopened.close();
+    }
+
+    @Test
+    void playerNamesAreRebuiltFromTheLog() throws IOException {
+        ScoreStore store = new ScoreStore(dir);
+        store.submit(record("ann", 300));
+        store.submit(record("bob", 500));
+        store.submit(record("ann", 400));
+        store.close();
+        Files.delete(dir.resolve("leaderboard.map"));
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertEquals(List.of("bob", "ann", "ann"), players(reopened));
+        assertEquals(400, reopened.getPlayerBest("ann", GameMode.BASIC, GameDifficulty.MEDIUM));
+        // a newcomer gets the next id, not one of theirs
+        reopened.submit(record("cat", 100));
+        assertEquals(100, reopened.getPlayerBest("cat", GameMode.BASIC, GameDifficulty.MEDIUM));
+        assertEquals(500, reopened.getPlayerBest("bob", GameMode.BASIC, GameDifficulty.MEDIUM));
+        reopened.close();
+    }
+
+    @Test
+    void nameRecordAcrossAScanChunkIsRead() throws IOException {
+        ScoreStore store = new ScoreStore(dir);
+        // anonymous results write no name records, so this puts "ann"'s one right on the chunk edge
+        for (int i = 0; i < 4095; i++) {
+            store.submit(new ScoreRecord(GameMode.BASIC, GameDifficulty.MEDIUM, 10, 0, i));
+        }
+        store.submit(record("ann", 300));
+        store.close();
+        Files.delete(dir.resolve("leaderboard.map"));
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertEquals(4096, reopened.getGamesPlayed(GameMode.BASIC, GameDifficulty.MEDIUM));
+        assertEquals("ann", players(reopened).get(0));
+        reopened.close();
+    }
+
+    @Test
+    void resultsOfUnnamedIdsCountAsAnonymous() throws IOException {
+        // a log whose player 3 never had its name recorded
+        Files.createDirectories(dir);
+        Files.write(log(), scoreRecord(3, 900));
+
+        ScoreStore store = new ScoreStore(dir);
+        assertEquals(List.of(""), players(store));
+        store.submit(record("ann", 100));
+        store.submit(record("bob", 200));
+        store.submit(record("cat", 300));
+        // cat is handed id 3 and must not inherit the unnamed best
+        assertEquals(300, store.getPlayerBest("cat", GameMode.BASIC, GameDifficulty.MEDIUM));
+        assertEquals(List.of("", "cat", "bob", "ann"), players(store));
+        store.close();
+    }
+
+    @Test
+    void dirtyLeaderboardIsRebuiltFromTheLog() throws ReflectiveOperationException, IOException {
+        ScoreStore store = new ScoreStore(dir);
+        store.submit(record("ann", 300));
+        store.compact();
+        store.submit(record("bob", 500));
+        // crash: bob is in the log and the leaderboard file is left marked dirty
+        channel(store).close();
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertEquals(List.of(500, 300), scores(reopened));
+        assertEquals(2, reopened.getGamesPlayed(GameMode.BASIC, GameDifficulty.MEDIUM));
+        reopened.close();
+    }
+
+    @Test
+    void failedWriteLeavesTheLeaderboardAlone() throws ReflectiveOperationException, IOException {
+        ScoreStore store = new ScoreStore(dir);
+        store.submit(record("ann", 300));
+        channel(store).close();
+
+        assertEquals(0, store.submit(record("bob", 500)));
+        assertEquals(List.of(300), scores(store));
+        assertEquals(1, store.getGamesPlayed(GameMode.BASIC, GameDifficulty.MEDIUM));
+    }
+
+    @Test
+    void legacyScoresAreImportedOnce() throws IOException {
+        Path legacy = dir.resolve("highscores.dat");
+        ArrayList<HighScore> old = new ArrayList<>();
+        old.add(new HighScore(700, 1L));
+        old.add(new HighScore(200, 2L));
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(legacy))) {
+            out.writeObject(old);
+        }
+        Path storeDir = dir.resolve("scores");
+
+        ScoreStore store = new ScoreStore(storeDir, legacy);
+        assertEquals(List.of(700, 200), scores(store));
+        assertEquals(1L, store.getTop(GameMode.BASIC, GameDifficulty.MEDIUM, 1).get(0).getTimestamp());
+        store.close();
+
+        ScoreStore reopened = new ScoreStore(storeDir, legacy);
+        assertEquals(List.of(700, 200), scores(reopened));
+        reopened.close();
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        ScoreStore store = new ScoreStore(dir);
+        store.submit(record("ann", 300));
+        store.clear();
+        store.close();
+
+        ScoreStore reopened = new ScoreStore(dir);
+        assertTrue(scores(reopened).isEmpty());
+        assertEquals(0, reopened.getGamesPlayed(GameMode.BASIC, GameDifficulty.MEDIUM));
+        reopened.close();
+    }
+
+    private Path log() {
+        return dir.resolve("scores.log");
+    }
+
+    private static ScoreRecord record(String player, int score) {
+        return new ScoreRecord(GameMode.BASIC, GameDifficulty.MEDIUM, player, score, score / 100, score);
+    }
+
+    private static List<String> players(ScoreStore store) {
+        List<String> players = new ArrayList<>();
+        for (ScoreRecord record : store.getTop(GameMode.BASIC, GameDifficulty.MEDIUM, ScoreStore.TOP_K)) {
+            players.add(record.getPlayer());
+        }
+        return players;
+    }
+
+    // a basic/medium result in the log's record format
+    private static byte[] scoreRecord(int playerId, int score) {
+        ByteBuffer record = ByteBuffer.allocate(ScoreStore.RECORD_BYTES);
+        record.putInt(0).putLong(1L).putInt(score).putInt(0)
+                .put((byte) GameMode.BASIC.ordinal()).put((byte) GameDifficulty.MEDIUM.ordinal())
+                .putShort((short) playerId);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, ScoreStore.RECORD_BYTES - 4);
+        record.putInt(0, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static List<Integer> scores(ScoreStore store) {
+        List<Integer> scores = new ArrayList<>();
+        for (ScoreRecord record : store.getTop(GameMode.BASIC, GameDifficulty.MEDIUM, ScoreStore.TOP_K)) {
+            scores.add(record.getScore());
+        }
+        return scores;
+    }
+
+    private static FileChannel channel(ScoreStore store) throws ReflectiveOperationException {
+        Field field = ScoreStore.class.getDeclaredField("log");
+        field.setAccessible(true);
+        return (FileChannel) field.get(store);
+    }
+}
@@ -0,0 +1,98 @@
+package com.comp2042;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpscIntQueueTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(2, fill(new SpscIntQueue(1)));
+        assertEquals(8, fill(new SpscIntQueue(5)));
+        assertEquals(8, fill(new SpscIntQueue(8)));
+        assertEquals(16, fill(new SpscIntQueue(9)));
+    }
+
+    @Test
+    void valuesComeOutInOrderAcrossWraparound() {
+        SpscIntQueue queue = new SpscIntQueue(4);
+        int next = 0;
+        int expected = 0;
+        // uneven batches so head and tail land on every slot, many times round the ring
+        for (int round = 0; round < 1000; round++) {
+            int batch = 1 + round % 4;
+            for (int i = 0; i < batch; i++) {
+                assertTrue(queue.offer(next++));
+            }
+            for (int i = 0; i < batch; i++) {
+                assertEquals(expected++, queue.poll());
+            }
+            assertEquals(SpscIntQueue.EMPTY, queue.poll());
+        }
+    }
+
+    @Test
+    void fullQueueRefusesUntilSomethingIsTaken() {
+        SpscIntQueue queue = new SpscIntQueue(4);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.offer(round * 4 + i));
+            }
+            assertFalse(queue.offer(-2));
+            assertEquals(round * 4, queue.poll());
+            assertTrue(queue.offer(round * 4 + 4));
+            for (int i = 1; i <= 4; i++) {
+                assertEquals(round * 4 + i, queue.poll());
+            }
+            assertEquals(SpscIntQueue.EMPTY, queue.poll());
+        }
+    }
+
+    @Test
+    void producerAndConsumerThreadsSeeEveryValueInOrder() throws InterruptedException {
+        int count = 1_000_000;
+        SpscIntQueue queue = new SpscIntQueue(16);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(i)) {
+                    // yield rather than spin, so this also finishes on a single core
+                    Thread.yield();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int expected = 0; expected < count; ) {
+                int value = queue.poll();
+                if (value == SpscIntQueue.EMPTY) {
+                    Thread.yield();
+                } else if (value != expected++) {
+                    failure.set("expected " + (expected - 1) + " but got " + value);
+                    return;
+                }
+            }
+        });
+        producer.start();
+        consumer.start();
+        producer.join(30_000);
+        consumer.join(30_000);
+
+        assertFalse(producer.isAlive() || consumer.isAlive(), "threads did not finish");
+        assertNull(failure.get());
+        assertEquals(SpscIntQueue.EMPTY, queue.poll());
+    }
+
+    private static int fill(SpscIntQueue queue) {
+        int count = 0;
+        while (queue.offer(count)) {
+            count++;
+        }
+        return count;
+    }
+}
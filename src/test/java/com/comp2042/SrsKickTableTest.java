@@ -0,0 +1,199 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickType;
+import com.comp2042.logic.bricks.FixedSequenceGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SrsKickTableTest {
+
+    // the boards' own offsets, tried after the table's
+    private static final int[][] FALLBACK = {{-2, 0}, {-1, 0}, {1, 0}, {2, 0}, {0, -1}, {0, 1}};
+
+    @Test
+    void quarterTurnsUseTheGuidelineKicksFlippedToBoardRows() {
+        // guideline 0->R for J, L, S, T, Z: (0,0) (-1,0) (-1,+1) (0,-2) (-1,-2), +Y up
+        for (BrickType type : new BrickType[]{BrickType.J, BrickType.L, BrickType.S, BrickType.T, BrickType.Z}) {
+            assertStartsWith(SrsKickTable.getKicks(type, 0, 1), 0, 0, -1, 0, -1, -1, 0, 2, -1, 2);
+        }
+        // guideline L->0: (0,0) (-1,0) (-1,-1) (0,+2) (-1,+2)
+        assertStartsWith(SrsKickTable.getKicks(BrickType.T, 3, 0), 0, 0, -1, 0, -1, 1, 0, -2, -1, -2);
+        // I 0->R: (0,0) (-2,0) (+1,0) (-2,-1) (+1,+2)
+        assertStartsWith(SrsKickTable.getKicks(BrickType.I, 0, 1), 0, 0, -2, 0, 1, 0, -2, 1, 1, -2);
+        // I R->2: (0,0) (-1,0) (+2,0) (-1,+2) (+2,-1)
+        assertStartsWith(SrsKickTable.getKicks(BrickType.I, 1, 2), 0, 0, -1, 0, 2, 0, -1, -2, 2, 1);
+    }
+
+    @Test
+    void quarterTurnKicksMirrorTheirReverse() {
+        for (BrickType type : BrickType.values()) {
+            for (int from = 0; from < 4; from++) {
+                for (int to : new int[]{(from + 1) % 4, (from + 3) % 4}) {
+                    int[] there = SrsKickTable.getKicks(type, from, to);
+                    int[] back = SrsKickTable.getKicks(type, to, from);
+                    int guideline = type == BrickType.O ? 1 : 5;
+                    for (int k = 0; k < guideline; k++) {
+                        assertEquals(-SrsKickTable.kickX(there[k]), SrsKickTable.kickX(back[k]), type + " " + from + "->" + to);
+                        assertEquals(-SrsKickTable.kickY(there[k]), SrsKickTable.kickY(back[k]), type + " " + from + "->" + to);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void halfTurnsUseTheSrsPlusKicks() {
+        // SRS+ 0->2: (0,0) (0,+1) (+1,+1) (-1,+1) (+1,0) (-1,0), +Y up
+        for (BrickType type : BrickType.values()) {
+            if (type != BrickType.O) {
+                assertStartsWith(SrsKickTable.getKicks(type, 0, 2), 0, 0, 0, -1, 1, -1, -1, -1, 1, 0, -1, 0);
+                assertStartsWith(SrsKickTable.getKicks(type, 1, 3), 0, 0, 1, 0, 1, -2, 1, -1, 0, -2, 0, -1);
+            }
+        }
+    }
+
+    @Test
+    void oPieceOnlyHasTheFallback() {
+        for (int from = 0; from < 4; from++) {
+            for (int to = 0; to < 4; to++) {
+                int[] kicks = SrsKickTable.getKicks(BrickType.O, from, to);
+                assertEquals(1 + FALLBACK.length, kicks.length);
+                assertStartsWith(kicks, 0, 0);
+            }
+        }
+    }
+
+    @Test
+    void everyListStartsInPlaceAndEndsWithTheFallbackWithoutRepeats() {
+        for (BrickType type : BrickType.values()) {
+            for (int from = 0; from < 4; from++) {
+                for (int to = 0; to < 4; to++) {
+                    int[] kicks = SrsKickTable.getKicks(type, from, to);
+                    String where = type + " " + from + "->" + to;
+                    assertEquals(0, kicks[0], where);
+                    Set<Integer> seen = new HashSet<>();
+                    for (int kick : kicks) {
+                        assertTrue(seen.add(kick), where + " repeats a kick");
+                    }
+                    for (int[] offset : FALLBACK) {
+                        assertTrue(seen.contains((offset[0] << 16) | (offset[1] & 0xFFFF)), where);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void boardsTurnWithTheFirstKickThatFits() {
+        for (long seed = 0; seed < 10; seed++) {
+            checkRotations(new SimpleBoard(25, 10, RandomizerType.SEVEN_BAG.create(seed)), seed);
+            checkRotations(new BitboardBoard(25, 10, RandomizerType.SEVEN_BAG.create(seed)), seed);
+        }
+    }
+
+    @Test
+    void halfTurnOnOpenGroundIsTwoQuarterTurns() {
+        for (BrickType type : BrickType.values()) {
+            Board once = boardWith(type);
+            Board twice = boardWith(type);
+            for (int turn = 0; turn < 4; turn++) {
+                assertTrue(once.rotateBrick180());
+                assertTrue(twice.rotateLeftBrick());
+                assertTrue(twice.rotateLeftBrick());
+                ViewData a = once.getViewData();
+                ViewData b = twice.getViewData();
+                assertArrayEquals(b.getBrickData(), a.getBrickData(), type.toString());
+                assertEquals(b.getxPosition(), a.getxPosition(), type.toString());
+                assertEquals(b.getyPosition(), a.getyPosition(), type.toString());
+            }
+        }
+    }
+
+    // random shifts and turns in all three directions, each checked against the kick table
+    private static void checkRotations(Board board, long seed) {
+        Random random = new Random(seed);
+        board.newGame();
+        int kicked = 0;
+        for (int piece = 0; piece < 300; piece++) {
+            int orientation = 0;
+            for (int step = 0; step < 12; step++) {
+                switch (random.nextInt(5)) {
+                    case 0: board.moveBrickLeft(); break;
+                    case 1: board.moveBrickRight(); break;
+                    case 2: board.moveBrickDown(); break;
+                    default:
+                        int turns = 1 + random.nextInt(3);
+                        int[] expected = expectedTurn(board, orientation, turns);
+                        boolean turned = turns == 1 ? board.rotateLeftBrick()
+                                : turns == 2 ? board.rotateBrick180() : board.rotateRightBrick();
+                        String where = board.getClass().getSimpleName() + " seed " + seed + " piece " + piece;
+                        assertEquals(expected != null, turned, where);
+                        if (turned) {
+                            ViewData view = board.getViewData();
+                            orientation = (orientation + turns) % 4;
+                            assertEquals(expected[0], view.getxPosition(), where);
+                            assertEquals(expected[1], view.getyPosition(), where);
+                            assertArrayEquals(board.getCurrentBrick().getShape(orientation).toMatrix(),
+                                    view.getBrickData(), where);
+                            if (expected[2] > 0) {
+                                kicked++;
+                            }
+                        }
+                        break;
+                }
+            }
+            board.dropToBottom();
+            board.mergeBrickToBackground();
+            board.clearRows();
+            if (board.createNewBrick()) {
+                board.newGame();
+            }
+        }
+        assertTrue(kicked > 0, "no rotation needed a kick");
+    }
+
+    // {x, y, index of the kick used} where the turn should land, or null if nothing fits
+    private static int[] expectedTurn(Board board, int from, int turns) {
+        Brick brick = board.getCurrentBrick();
+        int to = (from + turns) % 4;
+        BrickShape shape = brick.getShape(to);
+        int[][] matrix = board.getBoardMatrix();
+        ViewData view = board.getViewData();
+        int[] kicks = SrsKickTable.getKicks(brick.getType(), from, to);
+        for (int k = 0; k < kicks.length; k++) {
+            int x = view.getxPosition() + SrsKickTable.kickX(kicks[k]);
+            int y = view.getyPosition() + SrsKickTable.kickY(kicks[k]);
+            if (!MatrixOperations.intersect(matrix, shape, x, y)) {
+                return new int[]{x, y, k};
+            }
+        }
+        return null;
+    }
+
+    // a board whose first piece is the given type, moved down a few rows into open space
+    private static Board boardWith(BrickType type) {
+        Board board = new SimpleBoard(25, 10, new FixedSequenceGenerator(type));
+        board.newGame();
+        for (int i = 0; i < 5; i++) {
+            board.moveBrickDown();
+        }
+        return board;
+    }
+
+    private static void assertStartsWith(int[] kicks, int... offsets) {
+        for (int k = 0; k < offsets.length / 2; k++) {
+            assertEquals(offsets[2 * k], SrsKickTable.kickX(kicks[k]), "x of kick " + k);
+            assertEquals(offsets[2 * k + 1], SrsKickTable.kickY(kicks[k]), "y of kick " + k);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.comp2042;
+
+import com.comp2042.logic.bricks.BrickShape;
+import com.comp2042.logic.bricks.BrickType;
+import com.comp2042.logic.bricks.FixedSequenceGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SurfaceProfileTest {
+
+    private static final int ROWS = 20;
+    private static final int COLS = 10;
+
+    @Test
+    void tracksTopsAndHolesThroughMergesClearsAndGarbage() {
+        for (long seed = 0; seed < 50; seed++) {
+            Random random = new Random(seed);
+            int[][] matrix = new int[ROWS][COLS];
+            SurfaceProfile surface = new SurfaceProfile(ROWS, COLS, (row, col) -> matrix[row][col] != 0);
+            for (int step = 0; step < 400; step++) {
+                int op = random.nextInt(10);
+                if (op < 7) {
+                    int row = random.nextInt(ROWS);
+                    int col = random.nextInt(COLS);
+                    if (matrix[row][col] == 0) {
+                        matrix[row][col] = 1;
+                        surface.addCell(row, col);
+                    }
+                } else if (op < 9) {
+                    clearRandomRows(matrix, surface, random);
+                } else {
+                    int hole = random.nextInt(COLS);
+                    System.arraycopy(matrix, 1, matrix, 0, ROWS - 1);
+                    matrix[ROWS - 1] = new int[COLS];
+                    for (int c = 0; c < COLS; c++) {
+                        matrix[ROWS - 1][c] = c == hole ? 0 : 8;
+                    }
+                    surface.rowPushedUp(hole);
+                }
+                assertMatches(matrix, surface, "seed " + seed + " step " + step);
+            }
+        }
+    }
+
+    @Test
+    void dropDistanceMatchesSteppingDown() {
+        Random random = new Random(3);
+        int exact = 0;
+        for (int board = 0; board < 30; board++) {
+            int[][] matrix = randomStack(random);
+            SurfaceProfile surface = profileOf(matrix);
+            for (BrickType type : BrickType.values()) {
+                for (int orientation = 0; orientation < 4; orientation++) {
+                    BrickShape shape = new FixedSequenceGenerator(type).getBrick().getShape(orientation);
+                    for (int x = -shape.getMinCol(); x + shape.getMaxCol() < COLS; x++) {
+                        for (int y = -shape.getMinRow(); y + shape.getMaxRow() < ROWS; y++) {
+                            if (MatrixOperations.intersect(matrix, shape, x, y)) {
+                                continue;
+                            }
+                            int fall = 0;
+                            while (!MatrixOperations.intersect(matrix, shape, x, y + fall + 1)) {
+                                fall++;
+                            }
+                            int distance = surface.dropDistance(shape, x, y);
+                            String where = type + "/" + orientation + " at " + x + "," + y;
+                            if (distance >= 0) {
+                                assertEquals(fall, distance, where);
+                                exact++;
+                            } else {
+                                assertTrue(underOverhang(surface, shape, x, y), where);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(exact > 0);
+    }
+
+    @Test
+    void boardsGhostMatchesSteppingDown() {
+        for (long seed = 0; seed < 10; seed++) {
+            checkGhost(new SimpleBoard(25, COLS, RandomizerType.SEVEN_BAG.create(seed)), seed);
+            checkGhost(new BitboardBoard(25, COLS, RandomizerType.SEVEN_BAG.create(seed)), seed);
+        }
+    }
+
+    private static void checkGhost(Board board, long seed) {
+        Random random = new Random(seed);
+        board.newGame();
+        for (int piece = 0; piece < 300; piece++) {
+            for (int step = 0; step < 10; step++) {
+                switch (random.nextInt(5)) {
+                    case 0: board.moveBrickLeft(); break;
+                    case 1: board.moveBrickRight(); break;
+                    case 2: board.rotateLeftBrick(); break;
+                    case 3: board.rotateRightBrick(); break;
+                    default: board.moveBrickDown(); break;
+                }
+                ViewData view = board.getViewData();
+                int y = view.getyPosition();
+                int[][] matrix = board.getBoardMatrix();
+                int[][] shape = view.getBrickData();
+                while (!MatrixOperations.intersect(matrix, shape, view.getxPosition(), y + 1)) {
+                    y++;
+                }
+                String where = board.getClass().getSimpleName() + " seed " + seed + " piece " + piece;
+                assertEquals(y, ghostY(board), where);
+                assertMatches(matrix, board, where);
+            }
+            board.dropToBottom();
+            board.mergeBrickToBackground();
+            board.clearRows();
+            if (piece % 20 == 19 && !board.addGarbageRow(random.nextInt(COLS))) {
+                board.newGame();
+            }
+            if (board.createNewBrick()) {
+                board.newGame();
+            }
+        }
+    }
+
+    private static int ghostY(Board board) {
+        return board instanceof SimpleBoard ? ((SimpleBoard) board).getGhostY() : ((BitboardBoard) board).getGhostY();
+    }
+
+    // fills and then removes a few random rows, as a clear would
+    private static void clearRandomRows(int[][] matrix, SurfaceProfile surface, Random random) {
+        int count = 1 + random.nextInt(4);
+        int first = random.nextInt(ROWS - count + 1);
+        // the cleared rows need not be adjacent: skip one row in the middle now and then
+        boolean gap = count > 1 && first + count < ROWS && random.nextBoolean();
+        boolean[] cleared = new boolean[ROWS];
+        for (int i = 0, r = first; i < count; i++, r++) {
+            if (gap && i == count / 2) {
+                r++;
+            }
+            cleared[r] = true;
+            for (int c = 0; c < COLS; c++) {
+                if (matrix[r][c] == 0) {
+                    matrix[r][c] = 1;
+                    surface.addCell(r, c);
+                }
+            }
+        }
+        int write = ROWS - 1;
+        for (int read = ROWS - 1; read >= 0; read--) {
+            if (!cleared[read]) {
+                matrix[write--] = matrix[read];
+            }
+        }
+        while (write >= 0) {
+            matrix[write--] = new int[COLS];
+        }
+        surface.rowsCleared(first, count);
+    }
+
+    private static int[][] randomStack(Random random) {
+        int[][] matrix = new int[ROWS][COLS];
+        for (int c = 0; c < COLS; c++) {
+            int height = random.nextInt(ROWS / 2);
+            for (int r = ROWS - height; r < ROWS; r++) {
+                matrix[r][c] = random.nextInt(4) == 0 ? 0 : 1;
+            }
+        }
+        // a few overhangs
+        for (int i = 0; i < 3; i++) {
+            matrix[ROWS / 2 + random.nextInt(ROWS / 4)][random.nextInt(COLS)] = 1;
+        }
+        return matrix;
+    }
+
+    // filled bottom-up, so every block below a column's top is added as filling a hole
+    private static SurfaceProfile profileOf(int[][] matrix) {
+        SurfaceProfile surface = new SurfaceProfile(ROWS, COLS, (row, col) -> matrix[row][col] != 0);
+        for (int r = ROWS - 1; r >= 0; r--) {
+            for (int c = 0; c < COLS; c++) {
+                if (matrix[r][c] != 0) {
+                    surface.addCell(r, c);
+                }
+            }
+        }
+        return surface;
+    }
+
+    private static boolean underOverhang(SurfaceProfile surface, BrickShape shape, int x, int y) {
+        for (int c = shape.getMinCol(); c <= shape.getMaxCol(); c++) {
+            int bottom = shape.getBottomRow(c);
+            if (bottom >= 0 && y + bottom >= surface.getColumnTop(x + c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertMatches(int[][] matrix, SurfaceProfile surface, String where) {
+        for (int c = 0; c < COLS; c++) {
+            assertEquals(top(matrix, c), surface.getColumnTop(c), where + " column " + c);
+            assertEquals(ROWS - top(matrix, c), surface.getColumnHeight(c), where + " column " + c);
+            assertEquals(holes(matrix, c), surface.getHoleCount(c), where + " column " + c);
+        }
+    }
+
+    private static void assertMatches(int[][] matrix, Board board, String where) {
+        for (int c = 0; c < COLS; c++) {
+            assertEquals(matrix.length - top(matrix, c), board.getColumnHeight(c), where + " column " + c);
+            assertEquals(holes(matrix, c), board.getHoleCount(c), where + " column " + c);
+        }
+    }
+
+    private static int top(int[][] matrix, int col) {
+        for (int r = 0; r < matrix.length; r++) {
+            if (matrix[r][col] != 0) {
+                return r;
+            }
+        }
+        return matrix.length;
+    }
+
+    private static int holes(int[][] matrix, int col) {
+        int holes = 0;
+        for (int r = top(matrix, col) + 1; r < matrix.length; r++) {
+            if (matrix[r][col] == 0) {
+                holes++;
+            }
+        }
+        return holes;
+    }
+}
@@ -0,0 +1,199 @@
+package com.comp2042;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersusLinkTest {
+
+    private static final int COLS = GameController.BOARD_COLS;
+    private static final int DELAY = VersusLink.GARBAGE_DELAY_TICKS;
+
+    @Test
+    void attackArrivesAsPendingGarbage() {
+        VersusLink[] links = VersusLink.pair(COLS, 1);
+
+        assertEquals(3, links[0].send(3, 0));
+        links[1].receive(0);
+
+        assertEquals(3, links[1].getPendingLines());
+        assertEquals(3, links[0].getLinesSent());
+        assertEquals(1, links[0].getLastTarget());
+    }
+
+    @Test
+    void clearCancelsPendingGarbageOldestFirst() {
+        VersusLink[] links = VersusLink.pair(COLS, 1);
+        links[0].send(2, 0);
+        links[1].receive(0);
+        links[0].send(3, 10);
+        links[1].receive(10);
+
+        // cancels the first attack and one line of the second, sends nothing
+        assertEquals(0, links[1].send(3, 20));
+        assertEquals(2, links[1].getPendingLines());
+        assertEquals(3, links[1].getLinesCancelled());
+        links[0].receive(20);
+        assertEquals(0, links[0].getPendingLines());
+
+        // what is left over after cancelling goes across
+        assertEquals(4, links[1].send(6, 30));
+        assertEquals(0, links[1].getPendingLines());
+        links[0].receive(30);
+        assertEquals(4, links[0].getPendingLines());
+    }
+
+    @Test
+    void garbageWaitsForTheDelay() {
+        VersusLink[] links = VersusLink.pair(COLS, 2);
+        GameController game = game(links[1]);
+        links[0].send(2, 0);
+        links[1].receive(100);
+
+        links[1].insertDue(game, 100 + DELAY - 1);
+        assertEquals(0, holes(game).size());
+        assertEquals(2, links[1].getPendingLines());
+
+        links[1].insertDue(game, 100 + DELAY);
+        assertEquals(2, holes(game).size());
+        assertEquals(0, links[1].getPendingLines());
+    }
+
+    @Test
+    void onlyMaxRowsGoInPerLockAndEachAttackKeepsItsHole() {
+        VersusLink[] links = VersusLink.pair(COLS, 3);
+        GameController game = game(links[1]);
+        links[0].send(6, 0);
+        links[0].send(5, 0);
+        links[1].receive(0);
+
+        links[1].insertDue(game, DELAY);
+        List<Integer> holes = holes(game);
+        assertEquals(VersusLink.MAX_ROWS_PER_LOCK, holes.size());
+        assertEquals(11 - VersusLink.MAX_ROWS_PER_LOCK, links[1].getPendingLines());
+        // oldest first: the 6 rows of the first attack are pushed in first and end up on top
+        for (int i = 1; i < 6; i++) {
+            assertEquals(holes.get(0), holes.get(i));
+        }
+        assertEquals(holes.get(6), holes.get(7));
+
+        links[1].insertDue(game, DELAY + 1);
+        assertEquals(11, holes(game).size());
+        assertEquals(0, links[1].getPendingLines());
+        List<Integer> all = holes(game);
+        for (int i = 7; i < 11; i++) {
+            assertEquals(all.get(6), all.get(i));
+        }
+    }
+
+    @Test
+    void allTheGarbageOfOneLockIsDrawnOnce() {
+        VersusLink[] links = VersusLink.pair(COLS, 8);
+        RefreshCountingView view = new RefreshCountingView();
+        GameController game = new GameController(view, GameDifficulty.MEDIUM, 7);
+        game.setVersusLink(links[1]);
+        links[0].send(6, 0);
+        links[0].send(5, 0);
+        links[1].receive(0);
+        game.getTickScheduler().runTicks(DELAY);
+        view.refreshes = 0;
+
+        game.hardDrop();
+        assertEquals(VersusLink.MAX_ROWS_PER_LOCK, holes(game).size());
+        assertEquals(1, view.refreshes);
+    }
+
+    @Test
+    void attackThatDoesNotFitIsSentWithTheNextOne() {
+        VersusLink[] links = VersusLink.pair(COLS, 4);
+        // nobody reads player 1's queue, so it fills up
+        int sends = 0;
+        while (links[0].getLinesSent() == sends) {
+            links[0].send(1, 0);
+            sends++;
+            assertTrue(sends < 1000);
+        }
+        long delivered = links[0].getLinesSent();
+        links[1].receive(0);
+        assertEquals(delivered, links[1].getPendingLines());
+
+        links[0].send(2, 1);
+        links[1].receive(1);
+        // the line that did not fit plus this attack
+        assertEquals(delivered + 3, links[1].getPendingLines());
+    }
+
+    @Test
+    void knockedOutPlayerIsNotAttacked() {
+        VersusLink[] links = VersusLink.connect(3, COLS, 5);
+        links[1].knockedOut();
+
+        for (int i = 0; i < 4; i++) {
+            links[0].send(1, i);
+        }
+        links[1].receive(4);
+        links[2].receive(4);
+        assertEquals(0, links[1].getPendingLines());
+        assertEquals(4, links[2].getPendingLines());
+
+        links[2].knockedOut();
+        links[0].send(2, 5);
+        assertEquals(4, links[0].getLinesSent(), "with nobody left the attack goes nowhere");
+    }
+
+    @Test
+    void resetDropsPendingAndInFlightGarbage() {
+        VersusLink[] links = VersusLink.pair(COLS, 6);
+        links[0].send(3, 0);
+        links[1].receive(0);
+        links[0].send(2, 1);
+        links[1].knockedOut();
+
+        links[1].reset();
+        links[1].receive(2);
+        assertEquals(0, links[1].getPendingLines());
+        links[0].send(1, 3);
+        links[1].receive(3);
+        assertEquals(1, links[1].getPendingLines(), "back in the game after a reset");
+    }
+
+    private static final class RefreshCountingView extends NullGameView {
+        int refreshes;
+
+        @Override
+        public void refreshGameBackground(int[][] board) {
+            refreshes++;
+        }
+    }
+
+    private static GameController game(VersusLink link) {
+        GameController game = new GameController(new NullGameView(), GameDifficulty.MEDIUM, 7);
+        game.setVersusLink(link);
+        return game;
+    }
+
+    // hole columns of the garbage rows, top to bottom
+    private static List<Integer> holes(GameController game) {
+        List<Integer> holes = new ArrayList<>();
+        for (int[] row : game.getBoardMatrix()) {
+            int hole = -1;
+            boolean garbage = true;
+            for (int c = 0; c < row.length && garbage; c++) {
+                if (row[c] == 0) {
+                    garbage = hole < 0;
+                    hole = c;
+                } else {
+                    garbage = row[c] == Board.GARBAGE_COLOR;
+                }
+            }
+            if (garbage && hole >= 0) {
+                holes.add(hole);
+            }
+        }
+        return holes;
+    }
+}
@@ -0,0 +1,179 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.BitboardBoard;
+import com.comp2042.Board;
+import com.comp2042.EventSource;
+import com.comp2042.EventType;
+import com.comp2042.GameController;
+import com.comp2042.GameDifficulty;
+import com.comp2042.MoveEvent;
+import com.comp2042.NullGameView;
+import com.comp2042.logic.bricks.BrickType;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A placement is only useful if pressing its moves in the real game puts the piece where the
+ * search scored it, so every check here replays placements through GameController the way
+ * SearchInputPolicy does and compares where the piece ends up.
+ */
+class PlacementReplayTest {
+
+    private static final int ROWS = GameController.BOARD_ROWS;
+    private static final int COLS = GameController.BOARD_COLS;
+    private static final SearchSettings SETTINGS = new SearchSettings(2, 1000, 6, true);
+
+    @Test
+    void everyReachablePlacementReplays() {
+        int placements = 0;
+        int tucks = 0;
+        int kicks = 0;
+        int tSpins = 0;
+        for (long seed = 0; seed < 12; seed++) {
+            Board probe = ruggedGame(seed, new Random(seed)).getBoard();
+            SearchBoard board = SearchBoard.fromBoard(probe);
+            for (Placement placement : ReachabilityFinder.find(board, probe.getCurrentBrick())) {
+                // each placement gets a fresh copy of the same game
+                GameController game = ruggedGame(seed, new Random(seed));
+                kicks += assertLandsAt(game, placement, "seed " + seed);
+                placements++;
+                if (isTuck(placement)) {
+                    tucks++;
+                    tSpins += placement.getPiece() == BrickType.T && isRotation(last(placement)) ? 1 : 0;
+                }
+            }
+        }
+        // otherwise the interesting paths were never replayed
+        assertTrue(placements > 200, placements + " placements");
+        assertTrue(tucks > 0, "no tuck under an overhang");
+        assertTrue(kicks > 0, "no rotation that needed a kick");
+        assertTrue(tSpins > 0, "no T-spin");
+    }
+
+    @Test
+    void botOnlyChoosesPlacementsTheGameCanReach() {
+        PlacementSearch search = new PlacementSearch(SETTINGS);
+        int held = 0;
+        int pieces = 0;
+        for (long seed = 0; seed < 4; seed++) {
+            Board board = new BitboardBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed));
+            GameController game = new GameController(new NullGameView(), GameDifficulty.MEDIUM, board);
+            for (int piece = 0; piece < 60 && !game.isGameOver(); piece++) {
+                Placement placement = search.findBest(board, game.getHeldBrick());
+                assertNotNull(placement, "seed " + seed + " piece " + piece);
+                held += placement.isUseHold() ? 1 : 0;
+                assertLandsAt(game, placement, "seed " + seed + " piece " + piece);
+                game.hardDrop();
+                pieces++;
+            }
+        }
+        assertEquals(240, pieces, "a bot game topped out");
+        assertTrue(held > 0, "the search never swapped with hold");
+    }
+
+    @Test
+    void bestPlacementReplaysAfterThePieceHasFallen() {
+        PlacementSearch search = new PlacementSearch(SETTINGS);
+        int fell = 0;
+        for (long seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            GameController game = ruggedGame(seed, random);
+            // what a paced bot sees: gravity has already moved the piece when it starts to plan
+            int rows = 1 + random.nextInt(4);
+            for (int i = 0; i < rows && game.gravityStep(); i++) {
+                fell++;
+            }
+            if (random.nextBoolean()) {
+                game.shift(random.nextBoolean() ? -1 : 1);
+            }
+
+            Placement placement = search.findBest(game.getBoard(), game.getHeldBrick());
+            assertNotNull(placement, "seed " + seed);
+            assertLandsAt(game, placement, "seed " + seed);
+        }
+        assertTrue(fell > 0, "no piece fell before the search");
+    }
+
+    // a stack with overhangs and wells, so that where a move starts from matters
+    static GameController ruggedGame(long seed, Random random) {
+        Board board = new BitboardBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed));
+        GameController game = new GameController(new NullGameView(), GameDifficulty.MEDIUM, board);
+        for (int piece = 0; piece < 14; piece++) {
+            for (int r = random.nextInt(4); r > 0; r--) {
+                board.rotateLeftBrick();
+            }
+            int shift = random.nextInt(9) - 4;
+            for (int i = 0; i < Math.abs(shift); i++) {
+                game.shift(shift);
+            }
+            game.hardDrop();
+        }
+        return game;
+    }
+
+    /**
+     * Presses the placement's moves, drops the piece onto the stack without locking it, and checks
+     * it is the piece, orientation and offset the search promised.
+     * @return how many of the rotations had to kick the piece off its place
+     */
+    static int assertLandsAt(GameController game, Placement placement, String where) {
+        if (placement.isUseHold()) {
+            game.holdCurrentBrick();
+        }
+        Board board = game.getBoard();
+        int kicks = 0;
+        for (int i = 0; i < placement.getMoveCount(); i++) {
+            int x = board.getBrickX();
+            int y = board.getBrickY();
+            switch (placement.getMove(i)) {
+                case Placement.LEFT: game.onLeftEvent(event(EventType.LEFT)); break;
+                case Placement.RIGHT: game.onRightEvent(event(EventType.RIGHT)); break;
+                case Placement.DOWN: game.onDownEvent(event(EventType.DOWN)); break;
+                case Placement.ROTATE_RIGHT: game.onRotateEvent(event(EventType.ROTATE_RIGHT)); break;
+                case Placement.ROTATE_180: game.onRotateEvent(event(EventType.ROTATE_180)); break;
+                default: game.onRotateEvent(event(EventType.ROTATE)); break;
+            }
+            if (isRotation(placement.getMove(i)) && (board.getBrickX() != x || board.getBrickY() != y)) {
+                kicks++;
+            }
+        }
+        board.dropToBottom();
+        String message = where + ": " + placement;
+        assertEquals(placement.getPiece(), board.getCurrentBrick().getType(), message);
+        assertEquals(placement.getOrientation(), board.getCurrentShape().getOrientation(), message);
+        assertEquals(placement.getX(), board.getBrickX(), message);
+        assertEquals(placement.getY(), board.getBrickY(), message);
+        return kicks;
+    }
+
+    // a shift or turn after a soft drop: somewhere a straight drop from above cannot get to
+    private static boolean isTuck(Placement placement) {
+        boolean dropped = false;
+        for (int i = 0; i < placement.getMoveCount(); i++) {
+            if (placement.getMove(i) == Placement.DOWN) {
+                dropped = true;
+            } else if (dropped) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte last(Placement placement) {
+        return placement.getMove(placement.getMoveCount() - 1);
+    }
+
+    private static boolean isRotation(byte move) {
+        return move == Placement.ROTATE || move == Placement.ROTATE_RIGHT || move == Placement.ROTATE_180;
+    }
+
+    private static MoveEvent event(EventType type) {
+        return new MoveEvent(type, EventSource.THREAD);
+    }
+}
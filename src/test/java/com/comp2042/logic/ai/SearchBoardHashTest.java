@@ -0,0 +1,112 @@
+package com.comp2042.logic.ai;
+
+import com.comp2042.BitboardBoard;
+import com.comp2042.Board;
+import com.comp2042.SimpleBoard;
+import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickGenerator;
+import com.comp2042.logic.bricks.RandomizerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The search keys its transposition table on SearchBoard hashes and seeds the root from
+ * Board.getBoardHash(), so the two must agree for the same cells, and placing a piece must give
+ * the same hash as hashing the result from scratch.
+ */
+class SearchBoardHashTest {
+
+    private static final int ROWS = 25;
+    private static final int COLS = 10;
+
+    @Test
+    void boardHashMatchesSearchBoardHash() {
+        for (long seed = 0; seed < 10; seed++) {
+            checkBoard(new SimpleBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed)), seed);
+            checkBoard(new BitboardBoard(ROWS, COLS, RandomizerType.SEVEN_BAG.create(seed)), seed);
+        }
+    }
+
+    @Test
+    void placeUpdatesHashIncrementally() {
+        Random random = new Random(7);
+        int clears = 0;
+        for (int game = 0; game < 50; game++) {
+            SearchBoard board = SearchBoard.fromMatrix(new int[ROWS][COLS]);
+            BrickGenerator bricks = RandomizerType.SEVEN_BAG.create(game);
+            for (int piece = 0; piece < 200; piece++) {
+                Brick brick = bricks.getBrick();
+                List<Placement> placements = ReachabilityFinder.find(board, brick);
+                if (placements.isEmpty()) {
+                    break;
+                }
+                board = placeLowest(board, brick, placements, random);
+                clears += board.getLinesCleared();
+                assertEquals(SearchBoard.fromMatrix(toMatrix(board)).getHash(), board.getHash(),
+                        "game " + game + " piece " + piece);
+            }
+        }
+        assertTrue(clears > 0, "no placement cleared a row");
+    }
+
+    // hard drops to random columns, with the odd garbage row, checking after every lock
+    private static void checkBoard(Board board, long seed) {
+        Random random = new Random(seed);
+        board.newGame();
+        for (int piece = 0; piece < 300; piece++) {
+            for (int shift = random.nextInt(6); shift > 0; shift--) {
+                if (random.nextBoolean()) {
+                    board.moveBrickLeft();
+                } else {
+                    board.moveBrickRight();
+                }
+            }
+            board.dropToBottom();
+            board.mergeBrickToBackground();
+            board.clearRows();
+            if (board.createNewBrick()) {
+                board.newGame();
+            }
+            if (piece % 25 == 24 && !board.addGarbageRow(random.nextInt(COLS))) {
+                board.newGame();
+            }
+            String where = board.getClass().getSimpleName() + " seed " + seed + " piece " + piece;
+            assertEquals(SearchBoard.fromMatrix(board.getBoardMatrix()).getHash(), board.getBoardHash(), where);
+            assertEquals(board.getBoardHash(), SearchBoard.fromBoard(board).getHash(), where);
+        }
+    }
+
+    // mostly the clearing or lowest placement, so rows do get cleared, with some random ones mixed in
+    private static SearchBoard placeLowest(SearchBoard board, Brick brick, List<Placement> placements, Random random) {
+        if (random.nextInt(4) == 0) {
+            Placement placement = placements.get(random.nextInt(placements.size()));
+            return board.place(brick.getShape(placement.getOrientation()), placement.getX(), placement.getY());
+        }
+        SearchBoard best = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (Placement placement : placements) {
+            SearchBoard next = board.place(brick.getShape(placement.getOrientation()), placement.getX(), placement.getY());
+            int score = next.getLinesCleared() * 100 + placement.getY();
+            if (score > bestScore) {
+                best = next;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static int[][] toMatrix(SearchBoard board) {
+        int[][] matrix = new int[board.getHeight()][board.getWidth()];
+        for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+                matrix[r][c] = (board.getRow(r) >> c) & 1;
+            }
+        }
+        return matrix;
+    }
+}
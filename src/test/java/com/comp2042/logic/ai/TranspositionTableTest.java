@@ -0,0 +1,121 @@
+package com.comp2042.logic.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TranspositionTableTest {
+
+    private static final int CAPACITY = 16;
+    // same slot as KEY in a table of CAPACITY entries, different key
+    private static final long KEY = 0x1234_5678_9ABC_DEF3L;
+    private static final long COLLIDING = KEY + ((long) CAPACITY << 20);
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(16, new TranspositionTable(9).getCapacity());
+        assertEquals(16, new TranspositionTable(16).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void storedValueIsFoundAtOrBelowItsDepth() {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 3, 1.5);
+
+        assertEquals(1.5, table.lookup(KEY, 3));
+        assertEquals(1.5, table.lookup(KEY, 1));
+        assertTrue(Double.isNaN(table.lookup(KEY, 4)), "shallower result must not answer a deeper probe");
+        assertTrue(Double.isNaN(table.lookup(KEY + 1, 0)), "empty slot");
+        assertEquals(2, table.getHits());
+        assertEquals(2, table.getMisses());
+        assertEquals(1, table.getStores());
+        assertEquals(0.5, table.getHitRate());
+    }
+
+    @Test
+    void differentKeyInTheSameSlotIsAMiss() {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 2, 4.0);
+
+        assertTrue(Double.isNaN(table.lookup(COLLIDING, 0)));
+        assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    void deeperEntryFromTheSameSearchIsKept() {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 5, 1.0);
+        table.store(COLLIDING, 2, 2.0);
+
+        assertEquals(1.0, table.lookup(KEY, 0));
+        assertTrue(Double.isNaN(table.lookup(COLLIDING, 0)));
+        assertEquals(1, table.getStores());
+        assertEquals(0, table.getEvictions());
+    }
+
+    @Test
+    void entryIsReplacedByAsDeepOrFromANewerSearch() {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 2, 1.0);
+        table.store(COLLIDING, 2, 2.0);
+        assertEquals(2.0, table.lookup(COLLIDING, 0));
+        assertEquals(1, table.getEvictions());
+
+        // a deeper entry from an earlier search is stale and gives way too
+        table.store(KEY, 9, 3.0);
+        table.newSearch();
+        table.store(COLLIDING, 1, 4.0);
+        assertEquals(4.0, table.lookup(COLLIDING, 0));
+        assertTrue(Double.isNaN(table.lookup(KEY, 0)));
+        assertEquals(3, table.getEvictions());
+    }
+
+    @Test
+    void sameKeyIsOverwrittenWithoutEviction() {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 4, 1.0);
+        table.store(KEY, 1, 2.0);
+
+        assertEquals(2.0, table.lookup(KEY, 0));
+        assertEquals(0, table.getEvictions());
+    }
+
+    @Test
+    void tornEntryIsAMissNotAWrongValue() throws ReflectiveOperationException {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 2, 1.0);
+
+        // as if another thread's store had written the data word but not yet the check word
+        AtomicLongArray slots = slots(table);
+        int slot = (int) (KEY & (CAPACITY - 1)) * 2;
+        long data = slots.get(slot + 1);
+        slots.set(slot + 1, data ^ ((long) Float.floatToRawIntBits(7f) << 32));
+
+        assertTrue(Double.isNaN(table.lookup(KEY, 0)));
+    }
+
+    @Test
+    void clearForgetsEntriesAndCounters() {
+        TranspositionTable table = new TranspositionTable(CAPACITY);
+        table.store(KEY, 2, 1.0);
+        table.lookup(KEY, 0);
+        table.clear();
+
+        assertTrue(Double.isNaN(table.lookup(KEY, 0)));
+        assertEquals(0, table.getHits());
+        assertEquals(1, table.getMisses());
+        assertEquals(0, table.getStores());
+    }
+
+    private static AtomicLongArray slots(TranspositionTable table) throws ReflectiveOperationException {
+        Field field = TranspositionTable.class.getDeclaredField("slots");
+        field.setAccessible(true);
+        return (AtomicLongArray) field.get(table);
+    }
+}
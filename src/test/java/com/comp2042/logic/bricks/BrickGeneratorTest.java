@@ -0,0 +1,89 @@
+package com.comp2042.logic.bricks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BrickGeneratorTest {
+
+    private static final int PIECES = 700;
+
+    @Test
+    void sameSeedDealsTheSameSequence() {
+        for (RandomizerType randomizer : RandomizerType.values()) {
+            for (long seed = 0; seed < 5; seed++) {
+                assertEquals(deal(randomizer.create(seed), PIECES), deal(randomizer.create(seed), PIECES),
+                        randomizer + " seed " + seed);
+            }
+            assertNotEquals(deal(randomizer.create(1), PIECES), deal(randomizer.create(2), PIECES),
+                    randomizer.toString());
+        }
+    }
+
+    @Test
+    void everySevenBagHoldsEachPieceOnce() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<BrickType> pieces = deal(RandomizerType.SEVEN_BAG.create(seed), PIECES);
+            for (int bag = 0; bag < PIECES; bag += 7) {
+                Set<BrickType> seen = EnumSet.noneOf(BrickType.class);
+                seen.addAll(pieces.subList(bag, bag + 7));
+                assertEquals(EnumSet.allOf(BrickType.class), seen, "seed " + seed + " bag at " + bag);
+            }
+        }
+    }
+
+    @Test
+    void previewIsWhatGetBrickDealsLater() {
+        for (RandomizerType randomizer : RandomizerType.values()) {
+            BrickGenerator generator = randomizer.create(7);
+            List<Brick> preview = generator.getPreview(20);
+            for (int i = 0; i < preview.size(); i++) {
+                // looking ahead by different amounts along the way must not reshuffle anything
+                assertEquals(preview.subList(i, preview.size()), generator.getPreview(preview.size() - i),
+                        randomizer + " after " + i);
+                assertSame(preview.get(i), generator.getNextBrick(), randomizer + " piece " + i);
+                assertSame(preview.get(i), generator.getBrick(), randomizer + " piece " + i);
+            }
+        }
+    }
+
+    @Test
+    void deepPreviewDealsTheSameSequenceAsNoPreview() {
+        for (RandomizerType randomizer : RandomizerType.values()) {
+            BrickGenerator peeked = randomizer.create(11);
+            peeked.getPreview(PIECES);
+            assertEquals(deal(randomizer.create(11), PIECES), deal(peeked, PIECES), randomizer.toString());
+        }
+    }
+
+    @Test
+    void fixedSequenceRepeatsFromTheStart() {
+        BrickGenerator generator = new FixedSequenceGenerator(BrickType.T, BrickType.I, BrickType.T, BrickType.O);
+        List<BrickType> pieces = deal(generator, 10);
+
+        assertEquals(List.of(BrickType.T, BrickType.I, BrickType.T, BrickType.O,
+                BrickType.T, BrickType.I, BrickType.T, BrickType.O,
+                BrickType.T, BrickType.I), pieces);
+    }
+
+    @Test
+    void fixedSequenceNeedsAPiece() {
+        assertThrows(IllegalArgumentException.class, FixedSequenceGenerator::new);
+    }
+
+    private static List<BrickType> deal(BrickGenerator generator, int count) {
+        List<BrickType> pieces = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            pieces.add(generator.getBrick().getType());
+        }
+        return pieces;
+    }
+}